@@ -0,0 +1,90 @@
+package com.emsa.audit;
+
+import com.emsa.security.JwtPrincipal;
+import com.emsa.util.ClientIp;
+import org.aspectj.lang.JoinPoint;
+import org.aspectj.lang.annotation.AfterReturning;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.expression.MethodBasedEvaluationContext;
+import org.springframework.core.DefaultParameterNameDiscoverer;
+import org.springframework.core.ParameterNameDiscoverer;
+import org.springframework.expression.Expression;
+import org.springframework.expression.spel.standard.SpelExpressionParser;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Records every successful {@link Audited} service call. Only the actor, client IP and arguments are captured
+ * on the request thread; the entity id expression and the details are evaluated by the writer thread.
+ * Inside a transaction the event is published after commit, so rolled-back changes are never logged.
+ */
+@Aspect
+@Component
+public class AuditAspect {
+
+    private static final SpelExpressionParser PARSER = new SpelExpressionParser();
+    private static final ParameterNameDiscoverer PARAMETER_NAMES = new DefaultParameterNameDiscoverer();
+
+    @Autowired
+    private AuditLogWriter auditLogWriter;
+
+    private final Map<Method, Expression> entityIdExpressions = new ConcurrentHashMap<>();
+
+    @AfterReturning(pointcut = "@annotation(audited) && within(com.emsa.service..*)", returning = "result")
+    public void record(JoinPoint joinPoint, Audited audited, Object result) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Object[] args = joinPoint.getArgs();
+
+        AuditEvent event = AuditEvent.builder()
+                .accountId(currentAccountId())
+                .action(audited.action())
+                .entityName(audited.entity())
+                .entityId(entityId(audited, method, args, result))
+                .details(() -> AuditDetails.of(args))
+                .ipAddress(ClientIp.current())
+                .build();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    auditLogWriter.publish(event);
+                }
+            });
+        } else {
+            auditLogWriter.publish(event);
+        }
+    }
+
+    private Supplier<Long> entityId(Audited audited, Method method, Object[] args, Object result) {
+        if (audited.entityId().isEmpty()) {
+            return null;
+        }
+        Expression expression = entityIdExpressions.computeIfAbsent(method,
+                m -> PARSER.parseExpression(audited.entityId()));
+        return () -> {
+            MethodBasedEvaluationContext context =
+                    new MethodBasedEvaluationContext(null, method, args, PARAMETER_NAMES);
+            context.setVariable("result", result);
+            return expression.getValue(context, Long.class);
+        };
+    }
+
+    private static Long currentAccountId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof JwtPrincipal principal) {
+            return principal.getAccountId();
+        }
+        return null;
+    }
+}
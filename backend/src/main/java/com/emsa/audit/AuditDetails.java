@@ -0,0 +1,51 @@
+package com.emsa.audit;
+
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.StringJoiner;
+
+/**
+ * Renders the request DTO handed to an audited method as "field=value" pairs. Only fields that were
+ * supplied are listed, which for the partial-update requests is exactly what changed. Passwords are masked.
+ */
+final class AuditDetails {
+
+    private static final String REQUEST_PACKAGE = "com.emsa.dto.request";
+    private static final int MAX_LENGTH = 1000;
+
+    private AuditDetails() {
+    }
+
+    static String of(Object[] args) {
+        for (Object arg : args) {
+            if (arg != null && REQUEST_PACKAGE.equals(arg.getClass().getPackageName())) {
+                return describe(arg);
+            }
+        }
+        return null;
+    }
+
+    private static String describe(Object request) {
+        StringJoiner joiner = new StringJoiner(", ");
+        for (PropertyDescriptor property : BeanUtils.getPropertyDescriptors(request.getClass())) {
+            Method getter = property.getReadMethod();
+            if (getter == null || getter.getDeclaringClass() == Object.class) {
+                continue;
+            }
+            Object value;
+            try {
+                value = getter.invoke(request);
+            } catch (ReflectiveOperationException e) {
+                continue;
+            }
+            if (value != null) {
+                boolean secret = property.getName().toLowerCase().contains("password");
+                joiner.add(property.getName() + "=" + (secret ? "***" : value));
+            }
+        }
+        String details = joiner.toString();
+        return details.length() > MAX_LENGTH ? details.substring(0, MAX_LENGTH) : details;
+    }
+}
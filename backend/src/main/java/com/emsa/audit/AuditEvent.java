@@ -0,0 +1,48 @@
+package com.emsa.audit;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+import java.util.function.Supplier;
+
+/**
+ * One audit record on its way to the audit_logs table. Built on the request thread, written by the
+ * {@link AuditLogWriter} thread. The entity id and details may be supplied lazily so that the work of
+ * producing them also happens on the writer thread.
+ */
+@Getter
+@Builder
+public class AuditEvent {
+    private final Long accountId;
+    private final String action;
+    private final String entityName;
+    private final Supplier<Long> entityId;
+    private final Supplier<String> details;
+    private final String ipAddress;
+    @Builder.Default
+    private final LocalDateTime createdAt = LocalDateTime.now();
+
+    public static class AuditEventBuilder {
+
+        public AuditEventBuilder entityId(Long entityId) {
+            this.entityId = () -> entityId;
+            return this;
+        }
+
+        public AuditEventBuilder entityId(Supplier<Long> entityId) {
+            this.entityId = entityId;
+            return this;
+        }
+
+        public AuditEventBuilder details(String details) {
+            this.details = () -> details;
+            return this;
+        }
+
+        public AuditEventBuilder details(Supplier<String> details) {
+            this.details = details;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,106 @@
+package com.emsa.audit;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the monthly RANGE partitions of audit_logs rolling (see database/migrations/009_audit_logs_partitioning.sql).
+ * Partitions for the coming months are split off the catch-all {@code pmax}, and months older than the retention
+ * window are removed with DROP PARTITION, which is a metadata operation rather than a row-by-row DELETE.
+ * Does nothing unless the database is MySQL and the table is partitioned.
+ */
+@Slf4j
+@Component
+public class AuditLogPartitionMaintenance {
+
+    private static final Pattern MONTHLY = Pattern.compile("p(\\d{4})(\\d{2})");
+    private static final DateTimeFormatter NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final String CATCH_ALL = "pmax";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${emsa.audit.retention-months:12}")
+    private int retentionMonths;
+
+    @Value("${emsa.audit.partitions-ahead:3}")
+    private int partitionsAhead;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${emsa.audit.partition-cron:0 30 2 * * *}")
+    public void maintain() {
+        String product = jdbcTemplate.execute((ConnectionCallback<String>) c -> c.getMetaData().getDatabaseProductName());
+        if (!"MySQL".equalsIgnoreCase(product)) {
+            return;
+        }
+        List<String> partitions = jdbcTemplate.queryForList(
+                "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+                "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'audit_logs' AND PARTITION_NAME IS NOT NULL " +
+                "ORDER BY PARTITION_ORDINAL_POSITION", String.class);
+        if (partitions.isEmpty()) {
+            log.info("audit_logs is not partitioned; skipping partition maintenance");
+            return;
+        }
+        YearMonth now = YearMonth.now();
+        addUpcoming(partitions, now.plusMonths(partitionsAhead));
+        dropExpired(partitions, now.minusMonths(retentionMonths));
+    }
+
+    private void addUpcoming(List<String> partitions, YearMonth through) {
+        YearMonth next = partitions.stream()
+                .map(AuditLogPartitionMaintenance::monthOf)
+                .filter(Objects::nonNull)
+                .max(YearMonth::compareTo)
+                .map(m -> m.plusMonths(1))
+                .orElse(YearMonth.now());
+        if (next.isAfter(through)) {
+            return;
+        }
+        StringJoiner definitions = new StringJoiner(", ");
+        for (YearMonth month = next; !month.isAfter(through); month = month.plusMonths(1)) {
+            definitions.add("PARTITION " + month.format(NAME) +
+                    " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + "')");
+        }
+        if (partitions.contains(CATCH_ALL)) {
+            jdbcTemplate.execute("ALTER TABLE audit_logs REORGANIZE PARTITION " + CATCH_ALL + " INTO (" +
+                    definitions + ", PARTITION " + CATCH_ALL + " VALUES LESS THAN (MAXVALUE))");
+        } else {
+            jdbcTemplate.execute("ALTER TABLE audit_logs ADD PARTITION (" + definitions + ")");
+        }
+        log.info("Added audit_logs partitions {} through {}", next, through);
+    }
+
+    private void dropExpired(List<String> partitions, YearMonth oldestKept) {
+        StringJoiner expired = new StringJoiner(", ");
+        for (String name : partitions) {
+            YearMonth month = monthOf(name);
+            if (month != null && month.isBefore(oldestKept)) {
+                expired.add(name);
+            }
+        }
+        if (expired.length() > 0) {
+            jdbcTemplate.execute("ALTER TABLE audit_logs DROP PARTITION " + expired);
+            log.info("Dropped expired audit_logs partitions: {}", expired);
+        }
+    }
+
+    private static YearMonth monthOf(String partitionName) {
+        Matcher m = MONTHLY.matcher(partitionName);
+        return m.matches() ? YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))) : null;
+    }
+}
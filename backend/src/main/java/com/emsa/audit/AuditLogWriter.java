@@ -0,0 +1,207 @@
+package com.emsa.audit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking audit pipeline. Request threads {@link #publish} into a bounded lock-free queue; a single
+ * writer thread drains it and inserts the events into audit_logs in JDBC batches.
+ */
+@Slf4j
+@Component
+public class AuditLogWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO audit_logs (account_id, action, entity_name, entity_id, details, ip_address, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${emsa.audit.queue-capacity:10000}")
+    private int capacity;
+
+    @Value("${emsa.audit.flush-size:500}")
+    private int flushSize;
+
+    @Value("${emsa.audit.flush-interval-ms:1000}")
+    private long flushIntervalMs;
+
+    @Value("${emsa.audit.backpressure:DROP_NEWEST}")
+    private BackpressurePolicy policy;
+
+    private final ConcurrentLinkedQueue<AuditEvent> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger depth = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    private volatile boolean running;
+    private Thread writerThread;
+
+    @PostConstruct
+    void start() {
+        Gauge.builder("emsa.audit.queue.depth", depth, AtomicInteger::get)
+                .description("Audit events waiting to be written")
+                .register(meterRegistry);
+        FunctionCounter.builder("emsa.audit.dropped", dropped, AtomicLong::get)
+                .description("Audit events discarded because the queue was full")
+                .register(meterRegistry);
+        FunctionCounter.builder("emsa.audit.written", written, AtomicLong::get)
+                .register(meterRegistry);
+        FunctionCounter.builder("emsa.audit.failed", failed, AtomicLong::get)
+                .description("Audit events lost to write errors")
+                .register(meterRegistry);
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "audit-log-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    /**
+     * Queues an event without blocking. Returns false if the event was dropped.
+     */
+    public boolean publish(AuditEvent event) {
+        if (depth.incrementAndGet() > capacity) {
+            switch (policy) {
+                case DROP_NEWEST -> {
+                    depth.decrementAndGet();
+                    dropped.incrementAndGet();
+                    return false;
+                }
+                case DROP_OLDEST -> {
+                    if (queue.poll() != null) {
+                        depth.decrementAndGet();
+                    }
+                    dropped.incrementAndGet();
+                }
+                case CALLER_RUNS -> {
+                    depth.decrementAndGet();
+                    write(List.of(event));
+                    return true;
+                }
+            }
+        }
+        queue.offer(event);
+        if (depth.get() >= flushSize) {
+            LockSupport.unpark(writerThread);
+        }
+        return true;
+    }
+
+    public int getQueueDepth() {
+        return depth.get();
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    private void runWriter() {
+        List<AuditEvent> batch = new ArrayList<>(flushSize);
+        try {
+            while (running) {
+                if (depth.get() < flushSize) {
+                    LockSupport.parkNanos(this, TimeUnit.MILLISECONDS.toNanos(flushIntervalMs));
+                }
+                drainGuarded(batch);
+            }
+            drainGuarded(batch);
+        } finally {
+            if (running) {
+                log.error("Audit writer stopped unexpectedly; audit events will be dropped once {} are queued",
+                        capacity);
+            }
+        }
+    }
+
+    // Nothing thrown by one batch may end the writer thread; nobody would restart it
+    private void drainGuarded(List<AuditEvent> batch) {
+        try {
+            drainAll(batch);
+        } catch (Throwable ex) {
+            failed.addAndGet(batch.size());
+            log.error("Failed to write {} audit events", batch.size(), ex);
+            batch.clear();
+        }
+    }
+
+    private void drainAll(List<AuditEvent> batch) {
+        while (true) {
+            AuditEvent event;
+            while (batch.size() < flushSize && (event = queue.poll()) != null) {
+                batch.add(event);
+            }
+            if (batch.isEmpty()) {
+                return;
+            }
+            depth.addAndGet(-batch.size());
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    private void write(List<AuditEvent> batch) {
+        try {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch, batch.size(), (ps, e) -> {
+                ps.setObject(1, e.getAccountId(), Types.BIGINT);
+                ps.setString(2, e.getAction());
+                ps.setString(3, e.getEntityName());
+                ps.setObject(4, resolve(e.getEntityId()), Types.BIGINT);
+                ps.setString(5, resolve(e.getDetails()));
+                ps.setString(6, e.getIpAddress());
+                ps.setTimestamp(7, Timestamp.valueOf(e.getCreatedAt()));
+            });
+            written.addAndGet(batch.size());
+        } catch (RuntimeException ex) {
+            failed.addAndGet(batch.size());
+            log.error("Failed to write {} audit events", batch.size(), ex);
+        }
+    }
+
+    // A failing expression costs the event its id or details, not the whole batch
+    private static <T> T resolve(Supplier<T> source) {
+        if (source == null) {
+            return null;
+        }
+        try {
+            return source.get();
+        } catch (RuntimeException ex) {
+            log.warn("Could not resolve audit value: {}", ex.getMessage());
+            return null;
+        }
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        LockSupport.unpark(writerThread);
+        writerThread.join(TimeUnit.SECONDS.toMillis(30));
+        if (writerThread.isAlive()) {
+            log.warn("Audit writer did not drain within 30s; {} events left in queue", depth.get());
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.emsa.audit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a service method whose successful completion is recorded in audit_logs by {@link AuditAspect}.
+ * {@link #entityId()} is a SpEL expression over the method parameters (by name) and {@code #result}.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Audited {
+
+    String action();
+
+    String entity();
+
+    String entityId() default "";
+}
@@ -0,0 +1,10 @@
+package com.emsa.audit;
+
+/**
+ * What {@link AuditLogWriter#publish} does when the queue is full.
+ */
+public enum BackpressurePolicy {
+    DROP_NEWEST,  // discard the incoming event
+    DROP_OLDEST,  // evict the oldest queued event to make room
+    CALLER_RUNS   // write the event synchronously on the calling thread
+}
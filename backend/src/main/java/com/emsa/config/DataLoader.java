@@ -1,12 +1,17 @@
 package com.emsa.config;
 
 import com.emsa.entity.*;
+import com.emsa.dto.request.KpiRequest;
+import com.emsa.dto.request.WorkLogRequest;
 import com.emsa.repository.*;
+import com.emsa.service.KpiService;
+import com.emsa.service.WorkLogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Component;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
@@ -25,9 +30,6 @@ public class DataLoader implements CommandLineRunner {
     @Autowired
     private TaskRepository taskRepository;
 
-    @Autowired
-    private KpiRepository kpiRepository;
-
     @Autowired
     private LeaveRequestRepository leaveRequestRepository;
 
@@ -40,6 +42,12 @@ public class DataLoader implements CommandLineRunner {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private WorkLogService workLogService;
+
+    @Autowired
+    private KpiService kpiService;
+
     @Override
     public void run(String... args) {
         // Only seed if no accounts exist
@@ -177,7 +185,7 @@ public class DataLoader implements CommandLineRunner {
                 .build());
 
         // Create Tasks
-        taskRepository.save(Task.builder()
+        Task dashboardTask = taskRepository.save(Task.builder()
                 .project(proj1)
                 .assignedTo(emp1)
                 .assignedBy(manager1)
@@ -186,7 +194,6 @@ public class DataLoader implements CommandLineRunner {
                 .status("IN_PROGRESS")
                 .priority("HIGH")
                 .dueDate(LocalDate.of(2024, 4, 30))
-                .hoursLogged(12.5)
                 .build());
 
         taskRepository.save(Task.builder()
@@ -198,10 +205,9 @@ public class DataLoader implements CommandLineRunner {
                 .status("TODO")
                 .priority("HIGH")
                 .dueDate(LocalDate.of(2024, 5, 15))
-                .hoursLogged(0.0)
                 .build());
 
-        taskRepository.save(Task.builder()
+        Task onboardingTask = taskRepository.save(Task.builder()
                 .project(proj2)
                 .assignedTo(emp3)
                 .assignedBy(manager2)
@@ -210,42 +216,20 @@ public class DataLoader implements CommandLineRunner {
                 .status("DONE")
                 .priority("MEDIUM")
                 .dueDate(LocalDate.of(2024, 3, 31))
-                .hoursLogged(8.0)
-                .build());
-
-        // Create KPIs
-        kpiRepository.save(Kpi.builder()
-                .employee(emp1)
-                .assignedBy(manager1)
-                .title("Complete 3 feature releases")
-                .description("Deliver 3 major features in Q1")
-                .targetValue("3 releases")
-                .achievedValue("2 releases")
-                .status("IN_PROGRESS")
-                .dueDate(LocalDateTime.of(2024, 3, 31, 23, 59, 59))
                 .build());
 
-        kpiRepository.save(Kpi.builder()
-                .employee(emp2)
-                .assignedBy(manager1)
-                .title("Reduce bug count by 30%")
-                .description("Improve code quality and reduce production bugs")
-                .targetValue("30% reduction")
-                .achievedValue(null)
-                .status("PENDING")
-                .dueDate(LocalDateTime.of(2024, 6, 30, 23, 59, 59))
-                .build());
+        // Log time through the ledger so the task, daily and employee totals agree with it
+        logHours(emp1, dashboardTask, LocalDate.of(2024, 4, 8), 8.0);
+        logHours(emp1, dashboardTask, LocalDate.of(2024, 4, 9), 4.5);
+        logHours(emp3, onboardingTask, LocalDate.of(2024, 3, 25), 8.0);
 
-        kpiRepository.save(Kpi.builder()
-                .employee(emp3)
-                .assignedBy(manager2)
-                .title("Process 100% new hires on time")
-                .description("Ensure all onboarding is completed within 5 days")
-                .targetValue("100%")
-                .achievedValue("95%")
-                .status("IN_PROGRESS")
-                .dueDate(LocalDateTime.of(2024, 12, 31, 23, 59, 59))
-                .build());
+        // Create KPIs; an achieved value becomes the first measurement and the rollups follow
+        createKpi(manager1, emp1, "Complete 3 feature releases", "Deliver 3 major features in Q1",
+                "3", "2", "releases", "IN_PROGRESS", LocalDateTime.of(2024, 3, 31, 23, 59, 59));
+        createKpi(manager1, emp2, "Reduce bug count by 30%", "Improve code quality and reduce production bugs",
+                "30", null, "% reduction", "PENDING", LocalDateTime.of(2024, 6, 30, 23, 59, 59));
+        createKpi(manager2, emp3, "Process 100% new hires on time", "Ensure all onboarding is completed within 5 days",
+                "100", "95", "%", "IN_PROGRESS", LocalDateTime.of(2024, 12, 31, 23, 59, 59));
 
         // Create Leave Requests
         leaveRequestRepository.save(LeaveRequest.builder()
@@ -318,4 +302,26 @@ public class DataLoader implements CommandLineRunner {
         System.out.println("   user1 / user123");
         System.out.println("   Projects, Tasks, KPIs, Leave Requests, Reviews, Audit Logs created");
     }
+
+    private void createKpi(Account assignedBy, Account employee, String title, String description, String target,
+                           String achieved, String unit, String status, LocalDateTime dueDate) {
+        KpiRequest request = new KpiRequest();
+        request.setEmployeeId(employee.getAccountId());
+        request.setTitle(title);
+        request.setDescription(description);
+        request.setTargetValue(new BigDecimal(target));
+        request.setAchievedValue(achieved != null ? new BigDecimal(achieved) : null);
+        request.setUnit(unit);
+        request.setStatus(status);
+        request.setDueDate(dueDate);
+        kpiService.createKpi(assignedBy.getAccountId(), request);
+    }
+
+    private void logHours(Account account, Task task, LocalDate workDate, double hours) {
+        WorkLogRequest request = new WorkLogRequest();
+        request.setTaskId(task.getTaskId());
+        request.setWorkDate(workDate);
+        request.setHours(hours);
+        workLogService.logHours(account.getAccountId(), request);
+    }
 }
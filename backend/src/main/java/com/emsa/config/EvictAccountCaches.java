@@ -0,0 +1,20 @@
+package com.emsa.config;
+
+import org.springframework.cache.annotation.CacheEvict;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a write to accounts. Account data shows up in every cache (login lookups, role lists, department
+ * head counts, calibration names and departments), and such writes are rare, so all of them are cleared.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@CacheEvict(cacheNames = {CacheConfig.ACCOUNTS_BY_USERNAME, CacheConfig.ACCOUNTS_BY_ROLE, CacheConfig.DEPARTMENTS,
+                         CacheConfig.REVIEW_CALIBRATION},
+            allEntries = true)
+public @interface EvictAccountCaches {
+}
@@ -0,0 +1,62 @@
+package com.emsa.config;
+
+import com.emsa.search.DocumentType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class ExecutorConfig {
+
+    // BCrypt is CPU-bound, so one thread per core; a full queue makes the submitting thread hash instead
+    @Bean
+    public ThreadPoolTaskExecutor passwordHashExecutor(
+            @Value("${emsa.import.hash-threads:#{T(java.lang.Runtime).getRuntime().availableProcessors()}}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(1000);
+        executor.setThreadNamePrefix("password-hash-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // Dashboard queries fan out here; a full queue sheds the section instead of making the request wait
+    @Bean
+    public ThreadPoolTaskExecutor dashboardExecutor(@Value("${emsa.dashboard.threads:8}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(threads * 25);
+        executor.setThreadNamePrefix("dashboard-");
+        executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+        executor.initialize();
+        return executor;
+    }
+
+    // One loader per searchable table while the search index is rebuilt
+    @Bean
+    public ThreadPoolTaskExecutor searchIndexExecutor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(DocumentType.values().length);
+        executor.setMaxPoolSize(DocumentType.values().length);
+        executor.setThreadNamePrefix("search-index-");
+        executor.initialize();
+        return executor;
+    }
+
+    // Review cycle launches run here, one per cycle at a time; they are few and each is a single long loop
+    @Bean
+    public ThreadPoolTaskExecutor reviewLaunchExecutor(@Value("${emsa.review-launch.threads:2}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setThreadNamePrefix("review-launch-");
+        executor.initialize();
+        return executor;
+    }
+}
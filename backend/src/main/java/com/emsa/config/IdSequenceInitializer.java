@@ -0,0 +1,57 @@
+package com.emsa.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Moves every id_sequences row past the highest id already in its table. Entity ids come from pooled
+ * table generators (blocks of 50 handed out per fetch); on a database that was populated while the tables
+ * still used AUTO_INCREMENT, the generator would otherwise start at 1 and collide with existing rows.
+ * Runs before {@link DataLoader}.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class IdSequenceInitializer implements ApplicationRunner {
+
+    // sequence name (= table) -> id column
+    private static final Map<String, String> SEQUENCES = Map.of(
+            "accounts", "account_id",
+            "departments", "department_id",
+            "kpis", "kpi_id",
+            "kpi_measurements", "measurement_id",
+            "leave_requests", "request_id",
+            "performance_reviews", "review_id",
+            "projects", "project_id",
+            "review_cycle_launches", "launch_id",
+            "tasks", "task_id",
+            "work_logs", "log_id");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        SEQUENCES.forEach((table, idColumn) -> {
+            Long next = jdbcTemplate.queryForObject(
+                    "SELECT COALESCE(MAX(" + idColumn + "), 0) + 1 FROM " + table, Long.class);
+            int updated = jdbcTemplate.update(
+                    "UPDATE id_sequences SET next_val = ? WHERE sequence_name = ? AND next_val < ?", next, table, next);
+            Integer rows = jdbcTemplate.queryForObject(
+                    "SELECT COUNT(*) FROM id_sequences WHERE sequence_name = ?", Integer.class, table);
+            if (rows == 0) {
+                jdbcTemplate.update("INSERT INTO id_sequences (sequence_name, next_val) VALUES (?, ?)", table, next);
+            } else if (updated > 0 && next > 1) {
+                log.info("Advanced id sequence {} to {}", table, next);
+            }
+        });
+    }
+}
@@ -0,0 +1,23 @@
+package com.emsa.config;
+
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Re-runs a transactional update that lost an optimistic-lock race, from a fresh read, a bounded number of
+ * times with jittered backoff. Only for updates that are safe to repeat against newer state: ones that set
+ * absolute values, or whose transition checks reject a real conflict on the retry.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Retryable(retryFor = OptimisticLockingFailureException.class,
+           maxAttemptsExpression = "${emsa.retry.max-attempts:3}",
+           backoff = @Backoff(delayExpression = "${emsa.retry.backoff-ms:20}", multiplier = 2, random = true))
+public @interface RetryOnConflict {
+}
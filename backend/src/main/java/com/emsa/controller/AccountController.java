@@ -1,8 +1,13 @@
 package com.emsa.controller;
 
 import com.emsa.dto.request.*;
+import com.emsa.dto.response.AccountImportReport;
 import com.emsa.dto.response.AccountResponse;
 import com.emsa.dto.response.ApiResponse;
+import com.emsa.dto.response.CursorPage;
+import com.emsa.export.ExportFormat;
+import com.emsa.security.JwtPrincipal;
+import com.emsa.service.AccountImportService;
 import com.emsa.service.AccountService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,9 +16,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -24,6 +30,9 @@ public class AccountController {
     @Autowired
     private AccountService accountService;
 
+    @Autowired
+    private AccountImportService accountImportService;
+
     @PostMapping
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Create account [ADMIN only]", description = "Create ADMIN, MANAGER, EMPLOYEE, or USER account")
@@ -33,11 +42,23 @@ public class AccountController {
                 .body(ApiResponse.success("Account created successfully", response));
     }
 
+    @PostMapping(value = "/import", consumes = {"text/csv", "application/x-ndjson", "text/plain"})
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Bulk import accounts [ADMIN only]",
+               description = "Body is CSV with a header row, or NDJSON (format=ndjson). Fields as in create account; " +
+                             "departmentName and reportingManagerUsername may be used instead of ids. Returns a per-row error report")
+    public ResponseEntity<ApiResponse<AccountImportReport>> importAccounts(@RequestParam(defaultValue = "csv") String format,
+                                                                           InputStream body) {
+        AccountImportReport report = accountImportService.importAccounts(body, ExportFormat.from(format));
+        return ResponseEntity.ok(ApiResponse.success("Imported " + report.getImported() + " of " + report.getTotalRows() + " rows", report));
+    }
+
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all accounts [ADMIN only]")
-    public ResponseEntity<ApiResponse<List<AccountResponse>>> getAllAccounts() {
-        return ResponseEntity.ok(ApiResponse.success("Accounts retrieved", accountService.getAllAccounts()));
+    @Operation(summary = "Get all accounts [ADMIN only]", description = "Newest first; pass nextCursor back as cursor for the next page")
+    public ResponseEntity<ApiResponse<CursorPage<AccountResponse>>> getAllAccounts(@RequestParam(required = false) String cursor,
+                                                                                   @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success("Accounts retrieved", accountService.getAllAccounts(cursor, size)));
     }
 
     @GetMapping("/role/{role}")
@@ -56,8 +77,8 @@ public class AccountController {
 
     @GetMapping("/me")
     @Operation(summary = "Get my profile [All roles]")
-    public ResponseEntity<ApiResponse<AccountResponse>> getMyProfile(Authentication authentication) {
-        return ResponseEntity.ok(ApiResponse.success("Profile retrieved", accountService.getMyProfile(authentication.getName())));
+    public ResponseEntity<ApiResponse<AccountResponse>> getMyProfile(@AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("Profile retrieved", accountService.getMyProfile(principal.getAccountId())));
     }
 
     @PutMapping("/{id}")
@@ -70,9 +91,9 @@ public class AccountController {
 
     @PutMapping("/me")
     @Operation(summary = "Update my profile [All roles]", description = "Employees can update their own basic info")
-    public ResponseEntity<ApiResponse<AccountResponse>> updateMyProfile(Authentication authentication,
+    public ResponseEntity<ApiResponse<AccountResponse>> updateMyProfile(@AuthenticationPrincipal JwtPrincipal principal,
                                                                          @RequestBody UpdateAccountRequest request) {
-        return ResponseEntity.ok(ApiResponse.success("Profile updated", accountService.updateMyProfile(authentication.getName(), request)));
+        return ResponseEntity.ok(ApiResponse.success("Profile updated", accountService.updateMyProfile(principal.getAccountId(), request)));
     }
 
     @PatchMapping("/{id}/deactivate")
@@ -110,16 +131,40 @@ public class AccountController {
 
     @PatchMapping("/me/change-password")
     @Operation(summary = "Change my password [All roles]")
-    public ResponseEntity<ApiResponse<Void>> changePassword(Authentication authentication,
+    public ResponseEntity<ApiResponse<Void>> changePassword(@AuthenticationPrincipal JwtPrincipal principal,
                                                              @Valid @RequestBody ChangePasswordRequest request) {
-        accountService.changeMyPassword(authentication.getName(), request);
+        accountService.changeMyPassword(principal.getAccountId(), request);
         return ResponseEntity.ok(ApiResponse.success("Password changed successfully", null));
     }
 
     @GetMapping("/team")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    @Operation(summary = "Get team members [MANAGER, ADMIN]")
-    public ResponseEntity<ApiResponse<List<AccountResponse>>> getTeamMembers(Authentication authentication) {
-        return ResponseEntity.ok(ApiResponse.success("Team members retrieved", accountService.getTeamMembers(authentication.getName())));
+    @Operation(summary = "Get team members [MANAGER, ADMIN]",
+               description = "depth limits how many levels below you are included (default 1 = direct reports, 0 = everyone)")
+    public ResponseEntity<ApiResponse<List<AccountResponse>>> getTeamMembers(@AuthenticationPrincipal JwtPrincipal principal,
+                                                                             @RequestParam(required = false) Integer depth) {
+        return ResponseEntity.ok(ApiResponse.success("Team members retrieved", accountService.getTeamMembers(principal.getAccountId(), depth)));
+    }
+
+    @GetMapping("/me/chain-of-command")
+    @Operation(summary = "Get my managers up to the top of the org chart [All roles]")
+    public ResponseEntity<ApiResponse<List<AccountResponse>>> getMyChainOfCommand(@AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("Chain of command retrieved", accountService.getChainOfCommand(principal.getAccountId())));
+    }
+
+    @GetMapping("/{id}/subtree")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get everyone reporting to an account [ADMIN, MANAGER]",
+               description = "Nearest first; depth as for /team, but defaulting to the whole subtree")
+    public ResponseEntity<ApiResponse<List<AccountResponse>>> getSubtree(@PathVariable Long id,
+                                                                         @RequestParam(defaultValue = "0") Integer depth) {
+        return ResponseEntity.ok(ApiResponse.success("Subtree retrieved", accountService.getSubordinates(id, depth)));
+    }
+
+    @GetMapping("/{id}/chain-of-command")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get an account's managers, direct manager first [ADMIN, MANAGER]")
+    public ResponseEntity<ApiResponse<List<AccountResponse>>> getChainOfCommand(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success("Chain of command retrieved", accountService.getChainOfCommand(id)));
     }
 }
@@ -1,16 +1,19 @@
 package com.emsa.controller;
 
+import com.emsa.dto.request.AuditLogFilter;
 import com.emsa.dto.response.ApiResponse;
 import com.emsa.dto.response.AuditLogResponse;
+import com.emsa.dto.response.CursorPage;
 import com.emsa.service.impl.AuditLogService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
-import java.util.List;
+import java.time.LocalDateTime;
 
 @RestController
 @RequestMapping("/api/audit-logs")
@@ -22,15 +25,42 @@ public class AuditLogController {
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all audit logs [ADMIN only]")
-    public ResponseEntity<ApiResponse<List<AuditLogResponse>>> getAll() {
-        return ResponseEntity.ok(ApiResponse.success("Audit logs retrieved", auditLogService.getAllLogs()));
+    @Operation(summary = "Get all audit logs [ADMIN only]", description = "Newest first; pass nextCursor back as cursor for the next page")
+    public ResponseEntity<ApiResponse<CursorPage<AuditLogResponse>>> getAll(@RequestParam(required = false) String cursor,
+                                                                            @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success("Audit logs retrieved", auditLogService.getAllLogs(cursor, size)));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Search audit logs [ADMIN only]",
+               description = "All filters are optional and combined with AND; 'from' is inclusive, 'to' exclusive. Newest first, keyset paged")
+    public ResponseEntity<ApiResponse<CursorPage<AuditLogResponse>>> search(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entityName,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) Long actorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .from(from)
+                .to(to)
+                .action(action)
+                .entityName(entityName)
+                .entityId(entityId)
+                .actorId(actorId)
+                .build();
+        return ResponseEntity.ok(ApiResponse.success("Audit logs retrieved", auditLogService.search(filter, cursor, size)));
     }
 
     @GetMapping("/account/{accountId}")
     @PreAuthorize("hasRole('ADMIN')")
     @Operation(summary = "Get audit logs by account [ADMIN only]")
-    public ResponseEntity<ApiResponse<List<AuditLogResponse>>> getByAccount(@PathVariable Long accountId) {
-        return ResponseEntity.ok(ApiResponse.success("Logs retrieved", auditLogService.getLogsByAccount(accountId)));
+    public ResponseEntity<ApiResponse<CursorPage<AuditLogResponse>>> getByAccount(@PathVariable Long accountId,
+                                                                                  @RequestParam(required = false) String cursor,
+                                                                                  @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success("Logs retrieved", auditLogService.getLogsByAccount(accountId, cursor, size)));
     }
 }
@@ -0,0 +1,32 @@
+package com.emsa.controller;
+
+import com.emsa.dto.response.ApiResponse;
+import com.emsa.dto.response.DashboardResponse;
+import com.emsa.security.JwtPrincipal;
+import com.emsa.service.DashboardService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/dashboard")
+@Tag(name = "Dashboard", description = "Role-aware dashboard counts and snippets")
+public class DashboardController {
+
+    @Autowired
+    private DashboardService dashboardService;
+
+    @GetMapping
+    @Operation(summary = "Get my dashboard [All roles]",
+               description = "Org-wide counts for ADMIN, team counts for MANAGER, own tasks and requests for everyone. " +
+                             "Sections that miss the time budget are listed in 'unavailable'")
+    public ResponseEntity<ApiResponse<DashboardResponse>> getDashboard(@AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("Dashboard retrieved",
+                dashboardService.getDashboard(principal.getAccountId(), principal.getRole())));
+    }
+}
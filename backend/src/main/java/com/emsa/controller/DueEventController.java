@@ -0,0 +1,39 @@
+package com.emsa.controller;
+
+import com.emsa.dto.response.ApiResponse;
+import com.emsa.dto.response.DueEventResponse;
+import com.emsa.security.JwtPrincipal;
+import com.emsa.service.DueEventService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/due-events")
+@Tag(name = "Due Events", description = "Reminders, overdue and escalation events of tasks, KPIs and pending leave")
+public class DueEventController {
+
+    @Autowired
+    private DueEventService dueEventService;
+
+    @GetMapping("/me")
+    @Operation(summary = "Events fired for my items [All roles]", description = "Newest first, over the last days (default 14)")
+    public ResponseEntity<ApiResponse<List<DueEventResponse>>> getMyEvents(@AuthenticationPrincipal JwtPrincipal principal,
+                                                                          @RequestParam(required = false) Integer days) {
+        return ResponseEntity.ok(ApiResponse.success("Due events retrieved", dueEventService.getMyEvents(principal.getAccountId(), days)));
+    }
+
+    @GetMapping("/team")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Events fired for my reporting subtree [ADMIN, MANAGER]", description = "Newest first, over the last days (default 14)")
+    public ResponseEntity<ApiResponse<List<DueEventResponse>>> getTeamEvents(@AuthenticationPrincipal JwtPrincipal principal,
+                                                                            @RequestParam(required = false) Integer days) {
+        return ResponseEntity.ok(ApiResponse.success("Team due events retrieved", dueEventService.getTeamEvents(principal.getAccountId(), days)));
+    }
+}
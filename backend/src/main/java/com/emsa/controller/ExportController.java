@@ -0,0 +1,79 @@
+package com.emsa.controller;
+
+import com.emsa.dto.request.AuditLogFilter;
+import com.emsa.export.ExportFormat;
+import com.emsa.service.ExportService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/export")
+@Tag(name = "Export", description = "Streaming CSV / NDJSON exports - Admin only")
+public class ExportController {
+
+    @Autowired
+    private ExportService exportService;
+
+    @GetMapping("/accounts")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export accounts [ADMIN only]", description = "format=csv|ndjson; gzip=true compresses the stream")
+    public ResponseEntity<StreamingResponseBody> accounts(@RequestParam(defaultValue = "csv") String format,
+                                                          @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return download("accounts", exportFormat, gzip, exportService.exportAccounts(exportFormat, gzip));
+    }
+
+    @GetMapping("/tasks")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export tasks [ADMIN only]", description = "format=csv|ndjson; gzip=true compresses the stream")
+    public ResponseEntity<StreamingResponseBody> tasks(@RequestParam(defaultValue = "csv") String format,
+                                                       @RequestParam(defaultValue = "false") boolean gzip) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        return download("tasks", exportFormat, gzip, exportService.exportTasks(exportFormat, gzip));
+    }
+
+    @GetMapping("/audit-logs")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Export audit logs [ADMIN only]", description = "Accepts the same filters as /api/audit-logs/search")
+    public ResponseEntity<StreamingResponseBody> auditLogs(
+            @RequestParam(defaultValue = "csv") String format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String action,
+            @RequestParam(required = false) String entityName,
+            @RequestParam(required = false) Long entityId,
+            @RequestParam(required = false) Long actorId) {
+        ExportFormat exportFormat = ExportFormat.from(format);
+        AuditLogFilter filter = AuditLogFilter.builder()
+                .from(from)
+                .to(to)
+                .action(action)
+                .entityName(entityName)
+                .entityId(entityId)
+                .actorId(actorId)
+                .build();
+        return download("audit-logs", exportFormat, gzip, exportService.exportAuditLogs(filter, exportFormat, gzip));
+    }
+
+    private ResponseEntity<StreamingResponseBody> download(String name, ExportFormat format, boolean gzip,
+                                                           StreamingResponseBody body) {
+        String filename = name + "-" + LocalDate.now() + "." + format.getExtension() + (gzip ? ".gz" : "");
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(gzip ? "application/gzip" : format.getContentType() + ";charset=UTF-8"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
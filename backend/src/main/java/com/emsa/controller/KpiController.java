@@ -1,8 +1,13 @@
 package com.emsa.controller;
 
+import com.emsa.dto.request.KpiMeasurementRequest;
 import com.emsa.dto.request.KpiRequest;
 import com.emsa.dto.response.ApiResponse;
+import com.emsa.dto.response.KpiMeasurementResponse;
 import com.emsa.dto.response.KpiResponse;
+import com.emsa.dto.response.KpiRollupResponse;
+import com.emsa.entity.KpiRollupScope;
+import com.emsa.security.JwtPrincipal;
 import com.emsa.service.KpiService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,7 +16,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -28,22 +33,30 @@ public class KpiController {
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Create KPI [ADMIN, MANAGER]")
     public ResponseEntity<ApiResponse<KpiResponse>> create(@Valid @RequestBody KpiRequest request,
-                                                            Authentication auth) {
+                                                            @AuthenticationPrincipal JwtPrincipal principal) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("KPI created", kpiService.createKpi(auth.getName(), request)));
+                .body(ApiResponse.success("KPI created", kpiService.createKpi(principal.getAccountId(), request)));
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN','MANAGER')")
     @Operation(summary = "Get all KPIs [ADMIN, MANAGER]")
-    public ResponseEntity<ApiResponse<List<KpiResponse>>> getAll(Authentication auth) {
-        return ResponseEntity.ok(ApiResponse.success("KPIs retrieved", kpiService.getMyKpis(auth.getName())));
+    public ResponseEntity<ApiResponse<List<KpiResponse>>> getAll(@AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("KPIs retrieved", kpiService.getMyKpis(principal.getAccountId())));
     }
 
     @GetMapping("/me")
     @Operation(summary = "Get my KPIs [EMPLOYEE, USER]")
-    public ResponseEntity<ApiResponse<List<KpiResponse>>> getMyKpis(Authentication auth) {
-        return ResponseEntity.ok(ApiResponse.success("My KPIs retrieved", kpiService.getMyKpis(auth.getName())));
+    public ResponseEntity<ApiResponse<List<KpiResponse>>> getMyKpis(@AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("My KPIs retrieved", kpiService.getMyKpis(principal.getAccountId())));
+    }
+
+    @GetMapping("/team")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get KPIs of my team [ADMIN, MANAGER]", description = "depth: default 1 = direct reports, 0 = whole subtree")
+    public ResponseEntity<ApiResponse<List<KpiResponse>>> getTeamKpis(@AuthenticationPrincipal JwtPrincipal principal,
+                                                                      @RequestParam(required = false) Integer depth) {
+        return ResponseEntity.ok(ApiResponse.success("Team KPIs retrieved", kpiService.getTeamKpis(principal.getAccountId(), depth)));
     }
 
     @GetMapping("/employee/{employeeId}")
@@ -53,6 +66,38 @@ public class KpiController {
         return ResponseEntity.ok(ApiResponse.success("KPIs retrieved", kpiService.getKpisByEmployee(employeeId)));
     }
 
+    @GetMapping("/rollups/me")
+    @Operation(summary = "Attainment across my KPIs")
+    public ResponseEntity<ApiResponse<KpiRollupResponse>> getMyRollup(@AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("KPI rollup retrieved",
+                kpiService.getRollup(KpiRollupScope.EMPLOYEE, principal.getAccountId())));
+    }
+
+    @GetMapping("/rollups/team")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Attainment across my whole reporting subtree [ADMIN, MANAGER]")
+    public ResponseEntity<ApiResponse<KpiRollupResponse>> getTeamRollup(@AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("KPI rollup retrieved",
+                kpiService.getRollup(KpiRollupScope.MANAGER, principal.getAccountId())));
+    }
+
+    @GetMapping("/rollups/{scope}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Attainment rollups [ADMIN, MANAGER]",
+            description = "scope: EMPLOYEE, MANAGER (subtree) or DEPARTMENT; ids: comma-separated, default every rollup of the scope")
+    public ResponseEntity<ApiResponse<List<KpiRollupResponse>>> getRollups(@PathVariable KpiRollupScope scope,
+                                                                          @RequestParam(required = false) List<Long> ids) {
+        return ResponseEntity.ok(ApiResponse.success("KPI rollups retrieved", kpiService.getRollups(scope, ids)));
+    }
+
+    @GetMapping("/rollups/{scope}/{scopeId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Attainment rollup of one employee, manager subtree or department [ADMIN, MANAGER]")
+    public ResponseEntity<ApiResponse<KpiRollupResponse>> getRollup(@PathVariable KpiRollupScope scope,
+                                                                    @PathVariable Long scopeId) {
+        return ResponseEntity.ok(ApiResponse.success("KPI rollup retrieved", kpiService.getRollup(scope, scopeId)));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get KPI by ID")
     public ResponseEntity<ApiResponse<KpiResponse>> getById(@PathVariable Long id) {
@@ -64,8 +109,25 @@ public class KpiController {
     @Operation(summary = "Update KPI [ADMIN, MANAGER, EMPLOYEE - employee can update achieved value]")
     public ResponseEntity<ApiResponse<KpiResponse>> update(@PathVariable Long id,
                                                             @RequestBody KpiRequest request,
-                                                            Authentication auth) {
-        return ResponseEntity.ok(ApiResponse.success("KPI updated", kpiService.updateKpi(id, request, auth.getName())));
+                                                            @AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("KPI updated", kpiService.updateKpi(id, request, principal.getAccountId())));
+    }
+
+    @PostMapping("/{id}/measurements")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER', 'EMPLOYEE')")
+    @Operation(summary = "Record a measurement [ADMIN, MANAGER, EMPLOYEE - own KPIs]",
+            description = "The latest measurement by date becomes the KPI's achieved value")
+    public ResponseEntity<ApiResponse<KpiMeasurementResponse>> recordMeasurement(@PathVariable Long id,
+                                                                                 @Valid @RequestBody KpiMeasurementRequest request,
+                                                                                 @AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(ApiResponse.success("Measurement recorded",
+                kpiService.recordMeasurement(id, request, principal.getAccountId(), principal.getRole())));
+    }
+
+    @GetMapping("/{id}/measurements")
+    @Operation(summary = "Measurement history of a KPI, oldest first")
+    public ResponseEntity<ApiResponse<List<KpiMeasurementResponse>>> getMeasurements(@PathVariable Long id) {
+        return ResponseEntity.ok(ApiResponse.success("Measurements retrieved", kpiService.getMeasurements(id)));
     }
 
     @DeleteMapping("/{id}")
@@ -3,18 +3,23 @@ package com.emsa.controller;
 import com.emsa.dto.request.LeaveRequestDto;
 import com.emsa.dto.request.ReviewLeaveRequest;
 import com.emsa.dto.response.ApiResponse;
+import com.emsa.dto.response.CursorPage;
+import com.emsa.dto.response.LeaveCalendarEntry;
 import com.emsa.dto.response.LeaveRequestResponse;
+import com.emsa.security.JwtPrincipal;
 import com.emsa.service.LeaveService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
@@ -28,29 +33,45 @@ public class LeaveRequestController {
     @PostMapping
     @Operation(summary = "Submit request [All roles]", description = "Types: LEAVE, WFH, REIMBURSEMENT, HR_REQUEST")
     public ResponseEntity<ApiResponse<LeaveRequestResponse>> submit(@Valid @RequestBody LeaveRequestDto request,
-                                                                     Authentication auth) {
+                                                                     @AuthenticationPrincipal JwtPrincipal principal) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Request submitted", leaveService.submitRequest(auth.getName(), request)));
+                .body(ApiResponse.success("Request submitted", leaveService.submitRequest(principal.getAccountId(), request)));
     }
 
     @GetMapping("/me")
     @Operation(summary = "Get my requests [All roles]")
-    public ResponseEntity<ApiResponse<List<LeaveRequestResponse>>> getMyRequests(Authentication auth) {
-        return ResponseEntity.ok(ApiResponse.success("Requests retrieved", leaveService.getMyRequests(auth.getName())));
+    public ResponseEntity<ApiResponse<List<LeaveRequestResponse>>> getMyRequests(@AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("Requests retrieved", leaveService.getMyRequests(principal.getAccountId())));
     }
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all requests [ADMIN only]")
-    public ResponseEntity<ApiResponse<List<LeaveRequestResponse>>> getAll() {
-        return ResponseEntity.ok(ApiResponse.success("All requests retrieved", leaveService.getAllRequests()));
+    @Operation(summary = "Get all requests [ADMIN only]", description = "Newest first; pass nextCursor back as cursor for the next page")
+    public ResponseEntity<ApiResponse<CursorPage<LeaveRequestResponse>>> getAll(@RequestParam(required = false) String cursor,
+                                                                                @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success("All requests retrieved", leaveService.getAllRequests(cursor, size)));
     }
 
     @GetMapping("/team")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
-    @Operation(summary = "Get team requests [MANAGER, ADMIN]")
-    public ResponseEntity<ApiResponse<List<LeaveRequestResponse>>> getTeamRequests(Authentication auth) {
-        return ResponseEntity.ok(ApiResponse.success("Team requests retrieved", leaveService.getTeamRequests(auth.getName())));
+    @Operation(summary = "Get team requests [MANAGER, ADMIN]", description = "depth: default 1 = direct reports, 0 = whole subtree")
+    public ResponseEntity<ApiResponse<List<LeaveRequestResponse>>> getTeamRequests(@AuthenticationPrincipal JwtPrincipal principal,
+                                                                                   @RequestParam(required = false) Integer depth) {
+        return ResponseEntity.ok(ApiResponse.success("Team requests retrieved", leaveService.getTeamRequests(principal.getAccountId(), depth)));
+    }
+
+    @GetMapping("/calendar")
+    @Operation(summary = "Who is out between two dates [All roles]",
+            description = "Pending and approved LEAVE/WFH requests overlapping [from, to]; defaults to the next 30 days. " +
+                    "scope: team (default), department (ADMIN/MANAGER may pass departmentId) or org [ADMIN]")
+    public ResponseEntity<ApiResponse<List<LeaveCalendarEntry>>> getCalendar(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String scope,
+            @RequestParam(required = false) Long departmentId,
+            @AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("Calendar retrieved", leaveService.getCalendar(
+                principal.getAccountId(), principal.getRole(), scope, departmentId, from, to)));
     }
 
     @GetMapping("/{id}")
@@ -64,7 +85,7 @@ public class LeaveRequestController {
     @Operation(summary = "Review request [ADMIN, MANAGER]", description = "status: APPROVED or REJECTED")
     public ResponseEntity<ApiResponse<LeaveRequestResponse>> review(@PathVariable Long id,
                                                                      @Valid @RequestBody ReviewLeaveRequest request,
-                                                                     Authentication auth) {
-        return ResponseEntity.ok(ApiResponse.success("Request reviewed", leaveService.reviewRequest(id, request, auth.getName())));
+                                                                     @AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("Request reviewed", leaveService.reviewRequest(id, request, principal.getAccountId())));
     }
 }
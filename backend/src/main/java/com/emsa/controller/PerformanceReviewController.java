@@ -1,16 +1,25 @@
 package com.emsa.controller;
 
 import com.emsa.dto.request.PerformanceReviewRequest;
+import com.emsa.dto.request.ReviewCycleLaunchRequest;
 import com.emsa.dto.response.ApiResponse;
+import com.emsa.dto.response.CursorPage;
 import com.emsa.dto.response.PerformanceReviewResponse;
+import com.emsa.dto.response.ReviewCalibrationResponse;
+import com.emsa.dto.response.ReviewCycleLaunchResponse;
+import com.emsa.dto.response.ReviewCycleResponse;
+import com.emsa.security.JwtPrincipal;
 import com.emsa.service.PerformanceReviewService;
+import com.emsa.service.ReviewCalibrationService;
+import com.emsa.service.ReviewCycleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -24,26 +33,33 @@ public class PerformanceReviewController {
     @Autowired
     private PerformanceReviewService reviewService;
 
+    @Autowired
+    private ReviewCycleService reviewCycleService;
+
+    @Autowired
+    private ReviewCalibrationService calibrationService;
+
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Create review [ADMIN, MANAGER]")
     public ResponseEntity<ApiResponse<PerformanceReviewResponse>> create(@RequestBody PerformanceReviewRequest request,
-                                                                          Authentication auth) {
+                                                                          @AuthenticationPrincipal JwtPrincipal principal) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Review created", reviewService.createReview(request, auth.getName())));
+                .body(ApiResponse.success("Review created", reviewService.createReview(request, principal.getAccountId())));
     }
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all reviews [ADMIN only]")
-    public ResponseEntity<ApiResponse<List<PerformanceReviewResponse>>> getAll() {
-        return ResponseEntity.ok(ApiResponse.success("Reviews retrieved", reviewService.getAllReviews()));
+    @Operation(summary = "Get all reviews [ADMIN only]", description = "Newest first; pass nextCursor back as cursor for the next page")
+    public ResponseEntity<ApiResponse<CursorPage<PerformanceReviewResponse>>> getAll(@RequestParam(required = false) String cursor,
+                                                                                     @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success("Reviews retrieved", reviewService.getAllReviews(cursor, size)));
     }
 
     @GetMapping("/me")
     @Operation(summary = "Get my reviews [EMPLOYEE, USER]")
-    public ResponseEntity<ApiResponse<List<PerformanceReviewResponse>>> getMyReviews(Authentication auth) {
-        return ResponseEntity.ok(ApiResponse.success("My reviews retrieved", reviewService.getMyReviews(auth.getName())));
+    public ResponseEntity<ApiResponse<List<PerformanceReviewResponse>>> getMyReviews(@AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("My reviews retrieved", reviewService.getMyReviews(principal.getAccountId())));
     }
 
     @GetMapping("/employee/{employeeId}")
@@ -53,6 +69,66 @@ public class PerformanceReviewController {
         return ResponseEntity.ok(ApiResponse.success("Reviews retrieved", reviewService.getReviewsByEmployee(employeeId)));
     }
 
+    @GetMapping("/cycles")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Review cycles with their status and review counts [ADMIN, MANAGER]")
+    public ResponseEntity<ApiResponse<List<ReviewCycleResponse>>> getCycles() {
+        return ResponseEntity.ok(ApiResponse.success("Review cycles retrieved", reviewCycleService.getCycles()));
+    }
+
+    @PostMapping("/cycles/{cycleName}/launch")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Launch a review cycle [ADMIN, MANAGER - own subtree]",
+            description = "Creates a DRAFT review, reviewed by their manager, for everyone in scope without one in the cycle. " +
+                    "Runs in the background; poll the returned launch for progress")
+    public ResponseEntity<ApiResponse<ReviewCycleLaunchResponse>> launchCycle(@PathVariable String cycleName,
+                                                                              @Valid @RequestBody ReviewCycleLaunchRequest request,
+                                                                              @AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Review cycle launch started",
+                reviewCycleService.launchCycle(cycleName, request, principal.getAccountId(), principal.getRole())));
+    }
+
+    @GetMapping("/cycles/{cycleName}/launches")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Launches of a review cycle, newest first [ADMIN, MANAGER]")
+    public ResponseEntity<ApiResponse<List<ReviewCycleLaunchResponse>>> getLaunches(@PathVariable String cycleName) {
+        return ResponseEntity.ok(ApiResponse.success("Launches retrieved", reviewCycleService.getLaunches(cycleName)));
+    }
+
+    @GetMapping("/cycles/launches/{launchId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Progress of a review cycle launch [ADMIN, MANAGER]")
+    public ResponseEntity<ApiResponse<ReviewCycleLaunchResponse>> getLaunch(@PathVariable Long launchId) {
+        return ResponseEntity.ok(ApiResponse.success("Launch retrieved", reviewCycleService.getLaunch(launchId)));
+    }
+
+    @PostMapping("/cycles/launches/{launchId}/resume")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Resume a failed launch from where it stopped [ADMIN, MANAGER]")
+    public ResponseEntity<ApiResponse<ReviewCycleLaunchResponse>> resumeLaunch(@PathVariable Long launchId) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(ApiResponse.success("Review cycle launch resumed",
+                reviewCycleService.resumeLaunch(launchId)));
+    }
+
+    @PostMapping("/cycles/{cycleName}/close")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Close a review cycle [ADMIN only]",
+            description = "REVIEWED reviews become APPROVED, DRAFT and SUBMITTED ones INCOMPLETE; afterwards the cycle's " +
+                    "reviews can no longer be created, changed or deleted")
+    public ResponseEntity<ApiResponse<ReviewCycleResponse>> closeCycle(@PathVariable String cycleName,
+                                                                       @AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("Review cycle closed", reviewCycleService.closeCycle(cycleName, principal.getAccountId())));
+    }
+
+    @GetMapping("/cycles/{cycleName}/calibration")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rating calibration of a cycle [ADMIN only]",
+            description = "Rating histograms, mean and variance and increment totals for the cycle, per department and per reviewer, " +
+                    "with reviewers whose mean rating stands out from the cycle flagged as outliers")
+    public ResponseEntity<ApiResponse<ReviewCalibrationResponse>> getCalibration(@PathVariable String cycleName) {
+        return ResponseEntity.ok(ApiResponse.success("Calibration retrieved", calibrationService.getCalibration(cycleName)));
+    }
+
     @GetMapping("/{id}")
     @Operation(summary = "Get review by ID")
     public ResponseEntity<ApiResponse<PerformanceReviewResponse>> getById(@PathVariable Long id) {
@@ -71,10 +147,10 @@ public class PerformanceReviewController {
     @Operation(summary = "Submit self-appraisal [EMPLOYEE]")
     public ResponseEntity<ApiResponse<PerformanceReviewResponse>> selfAppraisal(@PathVariable Long id,
                                                                                   @RequestBody Map<String, String> body,
-                                                                                  Authentication auth) {
+                                                                                  @AuthenticationPrincipal JwtPrincipal principal) {
         String appraisal = body.get("selfAppraisal");
         return ResponseEntity.ok(ApiResponse.success("Self-appraisal submitted",
-                reviewService.submitSelfAppraisal(id, appraisal, auth.getName())));
+                reviewService.submitSelfAppraisal(id, appraisal, principal.getAccountId())));
     }
 
     @DeleteMapping("/{id}")
@@ -3,6 +3,7 @@ package com.emsa.controller;
 import com.emsa.dto.request.ProjectRequest;
 import com.emsa.dto.response.ApiResponse;
 import com.emsa.dto.response.ProjectResponse;
+import com.emsa.security.JwtPrincipal;
 import com.emsa.service.ProjectService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,7 +12,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -27,9 +28,9 @@ public class ProjectController {
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Create project [ADMIN, MANAGER]")
-    public ResponseEntity<ApiResponse<ProjectResponse>> create(@Valid @RequestBody ProjectRequest request, Authentication auth) {
+    public ResponseEntity<ApiResponse<ProjectResponse>> create(@Valid @RequestBody ProjectRequest request, @AuthenticationPrincipal JwtPrincipal principal) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Project created", projectService.createProject(request, auth.getName())));
+                .body(ApiResponse.success("Project created", projectService.createProject(request, principal.getAccountId())));
     }
 
     @GetMapping
@@ -42,15 +43,15 @@ public class ProjectController {
     @GetMapping("/mine")
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Get my managed projects [MANAGER, ADMIN]")
-    public ResponseEntity<ApiResponse<List<ProjectResponse>>> getMine(Authentication auth) {
-        return ResponseEntity.ok(ApiResponse.success("Projects retrieved", projectService.getMyProjects(auth.getName())));
+    public ResponseEntity<ApiResponse<List<ProjectResponse>>> getMine(@AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("Projects retrieved", projectService.getMyProjects(principal.getAccountId())));
     }
 
     @GetMapping("/assigned")
     @PreAuthorize("hasAnyRole('EMPLOYEE', 'MANAGER', 'ADMIN')")
     @Operation(summary = "Get my assigned projects [EMPLOYEE, MANAGER, ADMIN]", description = "Get projects where I have tasks assigned")
-    public ResponseEntity<ApiResponse<List<ProjectResponse>>> getAssigned(Authentication auth) {
-        return ResponseEntity.ok(ApiResponse.success("Projects retrieved", projectService.getAssignedProjects(auth.getName())));
+    public ResponseEntity<ApiResponse<List<ProjectResponse>>> getAssigned(@AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("Projects retrieved", projectService.getAssignedProjects(principal.getAccountId())));
     }
 
     @GetMapping("/{id}")
@@ -0,0 +1,42 @@
+package com.emsa.controller;
+
+import com.emsa.dto.response.ApiResponse;
+import com.emsa.dto.response.SearchHit;
+import com.emsa.search.DocumentType;
+import com.emsa.service.SearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+import java.util.Set;
+
+@RestController
+@RequestMapping("/api/search")
+@Tag(name = "Search", description = "Ranked search over people, projects and tasks")
+public class SearchController {
+
+    @Autowired
+    private SearchService searchService;
+
+    @GetMapping
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Search [ADMIN, MANAGER]",
+               description = "Every word must match a whole word, a word prefix or (for typos) most of a word's trigrams. " +
+                             "type may be repeated: ACCOUNT, PROJECT, TASK")
+    public ResponseEntity<ApiResponse<List<SearchHit>>> search(@RequestParam String q,
+                                                               @RequestParam(required = false) Set<DocumentType> type,
+                                                               @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(ApiResponse.success("Search results", searchService.search(q, type, limit)));
+    }
+
+    @PostMapping("/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(summary = "Rebuild the search index from the database [ADMIN only]")
+    public ResponseEntity<ApiResponse<Integer>> rebuild() {
+        return ResponseEntity.ok(ApiResponse.success("Search index rebuilt", searchService.rebuildIndex()));
+    }
+}
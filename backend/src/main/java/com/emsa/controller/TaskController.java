@@ -2,7 +2,9 @@ package com.emsa.controller;
 
 import com.emsa.dto.request.TaskRequest;
 import com.emsa.dto.response.ApiResponse;
+import com.emsa.dto.response.CursorPage;
 import com.emsa.dto.response.TaskResponse;
+import com.emsa.security.JwtPrincipal;
 import com.emsa.service.TaskService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -11,7 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.Authentication;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -27,22 +29,23 @@ public class TaskController {
     @PostMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
     @Operation(summary = "Create task [ADMIN, MANAGER]")
-    public ResponseEntity<ApiResponse<TaskResponse>> create(@Valid @RequestBody TaskRequest request, Authentication auth) {
+    public ResponseEntity<ApiResponse<TaskResponse>> create(@Valid @RequestBody TaskRequest request, @AuthenticationPrincipal JwtPrincipal principal) {
         return ResponseEntity.status(HttpStatus.CREATED)
-                .body(ApiResponse.success("Task created", taskService.createTask(request, auth.getName())));
+                .body(ApiResponse.success("Task created", taskService.createTask(request, principal.getAccountId())));
     }
 
     @GetMapping
     @PreAuthorize("hasRole('ADMIN')")
-    @Operation(summary = "Get all tasks [ADMIN only]")
-    public ResponseEntity<ApiResponse<List<TaskResponse>>> getAll() {
-        return ResponseEntity.ok(ApiResponse.success("All tasks retrieved", taskService.getAllTasks()));
+    @Operation(summary = "Get all tasks [ADMIN only]", description = "Newest first; pass nextCursor back as cursor for the next page")
+    public ResponseEntity<ApiResponse<CursorPage<TaskResponse>>> getAll(@RequestParam(required = false) String cursor,
+                                                                        @RequestParam(required = false) Integer size) {
+        return ResponseEntity.ok(ApiResponse.success("All tasks retrieved", taskService.getAllTasks(cursor, size)));
     }
 
     @GetMapping("/me")
     @Operation(summary = "Get my tasks [All roles]")
-    public ResponseEntity<ApiResponse<List<TaskResponse>>> getMyTasks(Authentication auth) {
-        return ResponseEntity.ok(ApiResponse.success("My tasks retrieved", taskService.getMyTasks(auth.getName())));
+    public ResponseEntity<ApiResponse<List<TaskResponse>>> getMyTasks(@AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("My tasks retrieved", taskService.getMyTasks(principal.getAccountId())));
     }
 
     @GetMapping("/project/{projectId}")
@@ -58,11 +61,11 @@ public class TaskController {
     }
 
     @PutMapping("/{id}")
-    @Operation(summary = "Update task [ADMIN, MANAGER - full update; EMPLOYEE - status/hours only]")
+    @Operation(summary = "Update task [ADMIN, MANAGER - full update; EMPLOYEE - status only; hours go through /api/work-logs]")
     public ResponseEntity<ApiResponse<TaskResponse>> update(@PathVariable Long id,
                                                              @RequestBody TaskRequest request,
-                                                             Authentication auth) {
-        return ResponseEntity.ok(ApiResponse.success("Task updated", taskService.updateTask(id, request, auth.getName())));
+                                                             @AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.ok(ApiResponse.success("Task updated", taskService.updateTask(id, request, principal.getAccountId())));
     }
 
     @DeleteMapping("/{id}")
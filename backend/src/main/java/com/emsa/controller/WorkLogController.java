@@ -0,0 +1,67 @@
+package com.emsa.controller;
+
+import com.emsa.dto.request.WorkLogRequest;
+import com.emsa.dto.response.ApiResponse;
+import com.emsa.dto.response.TimesheetResponse;
+import com.emsa.dto.response.WorkLogResponse;
+import com.emsa.security.JwtPrincipal;
+import com.emsa.service.WorkLogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/work-logs")
+@Tag(name = "Work Logs", description = "Time entries against tasks and weekly timesheets")
+public class WorkLogController {
+
+    @Autowired
+    private WorkLogService workLogService;
+
+    @PostMapping
+    @Operation(summary = "Log hours on a task [All roles]", description = "Only on tasks assigned to the caller; hours in steps of 0.25, workDate defaults to today")
+    public ResponseEntity<ApiResponse<WorkLogResponse>> logHours(@Valid @RequestBody WorkLogRequest request,
+                                                                 @AuthenticationPrincipal JwtPrincipal principal) {
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .body(ApiResponse.success("Hours logged", workLogService.logHours(principal.getAccountId(), request)));
+    }
+
+    @GetMapping("/task/{taskId}")
+    @Operation(summary = "Get time entries of a task, newest first")
+    public ResponseEntity<ApiResponse<List<WorkLogResponse>>> getTaskLogs(@PathVariable Long taskId) {
+        return ResponseEntity.ok(ApiResponse.success("Work logs retrieved", workLogService.getTaskLogs(taskId)));
+    }
+
+    @GetMapping("/timesheet/me")
+    @Operation(summary = "Get my weekly timesheet [All roles]", description = "weekOf: any date in the week, default today")
+    public ResponseEntity<ApiResponse<TimesheetResponse>> getMyTimesheet(@AuthenticationPrincipal JwtPrincipal principal,
+                                                                         @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekOf) {
+        return ResponseEntity.ok(ApiResponse.success("Timesheet retrieved", workLogService.getEmployeeTimesheet(principal.getAccountId(), weekOf)));
+    }
+
+    @GetMapping("/timesheet/employee/{accountId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get an employee's weekly timesheet [ADMIN, MANAGER]", description = "weekOf: any date in the week, default today")
+    public ResponseEntity<ApiResponse<TimesheetResponse>> getEmployeeTimesheet(@PathVariable Long accountId,
+                                                                               @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekOf) {
+        return ResponseEntity.ok(ApiResponse.success("Timesheet retrieved", workLogService.getEmployeeTimesheet(accountId, weekOf)));
+    }
+
+    @GetMapping("/timesheet/project/{projectId}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'MANAGER')")
+    @Operation(summary = "Get a project's weekly timesheet [ADMIN, MANAGER]", description = "weekOf: any date in the week, default today")
+    public ResponseEntity<ApiResponse<TimesheetResponse>> getProjectTimesheet(@PathVariable Long projectId,
+                                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate weekOf) {
+        return ResponseEntity.ok(ApiResponse.success("Timesheet retrieved", workLogService.getProjectTimesheet(projectId, weekOf)));
+    }
+}
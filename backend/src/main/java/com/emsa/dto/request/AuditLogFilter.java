@@ -0,0 +1,18 @@
+package com.emsa.dto.request;
+
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuditLogFilter {
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String action;
+    private String entityName;
+    private Long entityId;
+    private Long actorId;
+}
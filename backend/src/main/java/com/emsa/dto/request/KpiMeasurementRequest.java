@@ -0,0 +1,20 @@
+package com.emsa.dto.request;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.PastOrPresent;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+public class KpiMeasurementRequest {
+    @NotNull(message = "Value is required")
+    private BigDecimal value;
+
+    @PastOrPresent(message = "Measurement date cannot be in the future")
+    private LocalDate measuredOn; // defaults to today
+
+    @Size(max = 255, message = "Note cannot exceed 255 characters")
+    private String note;
+}
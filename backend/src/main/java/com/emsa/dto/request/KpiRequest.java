@@ -2,7 +2,10 @@ package com.emsa.dto.request;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
 import lombok.Data;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Data
@@ -14,8 +17,16 @@ public class KpiRequest {
     private String title;
 
     private String description;
-    private String targetValue;
-    private String achievedValue;
+
+    @Positive(message = "Target value must be positive")
+    private BigDecimal targetValue;
+
+    private BigDecimal achievedValue; // recorded as today's measurement when it changes
+
+    @Size(max = 30, message = "Unit cannot exceed 30 characters")
+    private String unit;
+
     private String status;
     private LocalDateTime dueDate;
+    private Long version; // required on update: the version last read; the update is rejected with 409 if it changed
 }
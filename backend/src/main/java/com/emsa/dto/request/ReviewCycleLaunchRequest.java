@@ -0,0 +1,14 @@
+package com.emsa.dto.request;
+
+import com.emsa.entity.ReviewLaunchScope;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ReviewCycleLaunchRequest {
+    @NotNull(message = "Scope is required")
+    private ReviewLaunchScope scope;
+
+    @NotNull(message = "Scope ID is required")
+    private Long scopeId;   // manager account id for SUBTREE, department id for DEPARTMENT
+}
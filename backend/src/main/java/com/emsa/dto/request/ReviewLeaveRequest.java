@@ -8,4 +8,5 @@ public class ReviewLeaveRequest {
     @NotBlank(message = "Status is required")
     private String status; // APPROVED or REJECTED
     private String reviewComment;
+    private Long version; // optional: the version last read; the update is rejected with 409 if it changed
 }
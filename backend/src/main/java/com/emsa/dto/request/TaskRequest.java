@@ -19,5 +19,5 @@ public class TaskRequest {
     private String status;
     private String priority;
     private LocalDate dueDate;
-    private Double hoursLogged;
+    private Long version; // required on update: the version last read; the update is rejected with 409 if it changed
 }
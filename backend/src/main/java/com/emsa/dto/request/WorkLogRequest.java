@@ -0,0 +1,24 @@
+package com.emsa.dto.request;
+
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+import java.time.LocalDate;
+
+@Data
+public class WorkLogRequest {
+    @NotNull(message = "Task ID is required")
+    private Long taskId;
+
+    @NotNull(message = "Hours are required")
+    @Positive(message = "Hours must be positive")
+    @DecimalMax(value = "24", message = "Hours cannot exceed 24")
+    private Double hours; // in quarter hours
+
+    private LocalDate workDate; // defaults to today
+
+    @Size(max = 255, message = "Note cannot exceed 255 characters")
+    private String note;
+}
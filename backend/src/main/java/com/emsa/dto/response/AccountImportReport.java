@@ -0,0 +1,29 @@
+package com.emsa.dto.response;
+
+import lombok.*;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountImportReport {
+    private int totalRows;
+    private int imported;
+    private int failed;
+    private long elapsedMs;
+    private double rowsPerSecond;
+    private List<RowError> errors;
+    private boolean errorsTruncated;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RowError {
+        private int row;
+        private String username;
+        private String message;
+    }
+}
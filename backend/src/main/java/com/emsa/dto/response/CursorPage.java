@@ -0,0 +1,11 @@
+package com.emsa.dto.response;
+
+import lombok.*;
+import java.util.List;
+
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class CursorPage<T> {
+    private List<T> items;
+    private String nextCursor; // pass back as ?cursor= to fetch the next page; null on the last page
+    private boolean hasMore;
+}
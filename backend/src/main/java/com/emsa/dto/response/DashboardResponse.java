@@ -0,0 +1,62 @@
+package com.emsa.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/** Counts and snippets for the caller's dashboard. Fields that do not apply to the caller's role are omitted. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class DashboardResponse {
+    // ADMIN
+    private Long totalAccounts;
+    private Long totalDepartments;
+    private Long totalProjects;
+    private Long activeProjects;
+
+    // MANAGER
+    private Long teamSize;
+    private Long myProjects;
+
+    // Everyone
+    private Long myTasks;
+    private Long pendingTasks;
+    private Long myRequests;
+    private Long pendingRequests;
+    private List<TaskSnippet> recentTasks;
+    private List<RequestSnippet> recentRequests;
+
+    // Sections that failed or missed the time budget
+    @Builder.Default
+    private List<String> unavailable = new ArrayList<>();
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class TaskSnippet {
+        private Long taskId;
+        private String title;
+        private String projectName;
+        private String status;
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class RequestSnippet {
+        private Long requestId;
+        private String requestType;
+        private String status;
+        private LocalDate startDate;
+        private LocalDate endDate;
+        private String description;
+    }
+}
@@ -0,0 +1,17 @@
+package com.emsa.dto.response;
+
+import lombok.*;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class DueEventResponse {
+    private Long eventId;
+    private String source;
+    private Long sourceId;
+    private String eventType;
+    private LocalDate dueDate;
+    private Long ownerId;
+    private String ownerName;
+    private LocalDateTime firedAt;
+}
@@ -0,0 +1,20 @@
+package com.emsa.dto.response;
+
+import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class KpiMeasurementResponse {
+    private Long measurementId;
+    private Long kpiId;
+    private BigDecimal value;
+    private String unit;
+    private LocalDate measuredOn;
+    private Double attainmentPercent;
+    private Long recordedById;
+    private String recordedByName;
+    private String note;
+    private LocalDateTime createdAt;
+}
@@ -1,6 +1,8 @@
 package com.emsa.dto.response;
 
 import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Data @Builder @NoArgsConstructor @AllArgsConstructor
@@ -12,9 +14,13 @@ public class KpiResponse {
     private String assignedByName;
     private String title;
     private String description;
-    private String targetValue;
-    private String achievedValue;
+    private BigDecimal targetValue;
+    private BigDecimal achievedValue;
+    private String unit;
+    private Double attainmentPercent; // achieved out of target, capped at 100; null until both are known
+    private LocalDate lastMeasuredOn;
     private String status;
     private LocalDateTime dueDate;
     private LocalDateTime createdAt;
+    private Long version;
 }
@@ -0,0 +1,16 @@
+package com.emsa.dto.response;
+
+import com.emsa.entity.KpiRollupScope;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class KpiRollupResponse {
+    private KpiRollupScope scope;
+    private Long scopeId;
+    private long kpiCount;
+    private long measuredCount;
+    private long achievedCount;
+    private Double averageAttainmentPercent; // mean over measured KPIs, each capped at 100; null if none measured
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,16 @@
+package com.emsa.dto.response;
+
+import lombok.*;
+import java.time.LocalDate;
+
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class LeaveCalendarEntry {
+    private Long requestId;
+    private Long accountId;
+    private String accountName;
+    private Long departmentId;
+    private String requestType;
+    private String status;
+    private LocalDate startDate;
+    private LocalDate endDate;
+}
@@ -18,4 +18,5 @@ public class LeaveRequestResponse {
     private String reviewedByName;
     private String reviewComment;
     private LocalDateTime createdAt;
+    private Long version;
 }
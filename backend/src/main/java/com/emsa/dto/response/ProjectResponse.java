@@ -3,6 +3,7 @@ package com.emsa.dto.response;
 import lombok.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Map;
 
 @Data @Builder @NoArgsConstructor @AllArgsConstructor
 public class ProjectResponse {
@@ -15,5 +16,11 @@ public class ProjectResponse {
     private LocalDate endDate;
     private String status;
     private int taskCount;
+    private Map<String, Long> tasksByStatus;
+    private Map<String, Long> tasksByPriority;
+    private long overdueTasks;
+    private double totalHours;
+    private int progressPercent; // done tasks out of all tasks
+    private LocalDateTime lastActivityAt;
     private LocalDateTime createdAt;
 }
@@ -0,0 +1,19 @@
+package com.emsa.dto.response;
+
+import lombok.*;
+
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class RatingDistribution {
+    private Long id;                 // reviewer or department id; null for the whole cycle or no department
+    private String name;
+    private long reviewCount;
+    private long ratedCount;
+    private long[] ratingCounts;     // ratingCounts[i] = reviews rated i + 1
+    private Double mean;
+    private Double variance;         // population variance of the ratings
+    private long incrementCount;     // reviews with an increment recommended
+    private double incrementTotal;
+    private Double incrementAverage;
+    private Double meanZScore;       // reviewers only: distance of the mean from the cycle mean, in standard errors
+    private Boolean outlier;
+}
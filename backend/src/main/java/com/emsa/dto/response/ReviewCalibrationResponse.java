@@ -0,0 +1,16 @@
+package com.emsa.dto.response;
+
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class ReviewCalibrationResponse {
+    private String cycleName;
+    private boolean closed;
+    private RatingDistribution overall;
+    private List<RatingDistribution> departments;
+    private List<RatingDistribution> reviewers;
+    private List<Long> outlierReviewerIds;
+    private LocalDateTime generatedAt;
+}
@@ -0,0 +1,24 @@
+package com.emsa.dto.response;
+
+import com.emsa.entity.ReviewLaunchScope;
+import lombok.*;
+import java.time.LocalDateTime;
+
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class ReviewCycleLaunchResponse {
+    private Long launchId;
+    private String cycleName;
+    private ReviewLaunchScope scope;
+    private Long scopeId;
+    private String status;
+    private long totalCount;
+    private long createdCount;
+    private long skippedCount;
+    private double percentComplete;
+    private Double reviewsPerSecond;
+    private String errorMessage;
+    private Long startedById;
+    private LocalDateTime startedAt;
+    private LocalDateTime updatedAt;
+    private LocalDateTime finishedAt;
+}
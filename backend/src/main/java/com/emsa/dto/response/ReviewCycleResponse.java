@@ -0,0 +1,15 @@
+package com.emsa.dto.response;
+
+import lombok.*;
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class ReviewCycleResponse {
+    private String cycleName;
+    private String status;
+    private long reviewCount;
+    private Map<String, Long> statusCounts;
+    private Long closedById;
+    private LocalDateTime closedAt;
+}
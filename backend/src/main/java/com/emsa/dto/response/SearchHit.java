@@ -0,0 +1,13 @@
+package com.emsa.dto.response;
+
+import com.emsa.search.DocumentType;
+import lombok.*;
+
+@Data @Builder @NoArgsConstructor @AllArgsConstructor
+public class SearchHit {
+    private DocumentType type;
+    private Long id;
+    private String title;
+    private String subtitle;
+    private float score;
+}
@@ -20,4 +20,5 @@ public class TaskResponse {
     private LocalDate dueDate;
     private Double hoursLogged;
     private LocalDateTime createdAt;
+    private Long version;
 }
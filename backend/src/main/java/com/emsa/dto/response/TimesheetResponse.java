@@ -0,0 +1,33 @@
+package com.emsa.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/** One week, Monday to Sunday. Rows are projects for an employee's sheet and employees for a project's. */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class TimesheetResponse {
+    private LocalDate weekStart;
+    private LocalDate weekEnd;
+    private List<Row> rows;
+    private List<Double> dailyTotals;
+    private Double totalHours;
+    private Double lifetimeHours; // employee sheets only
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Row {
+        private Long id;
+        private String name;
+        private List<Double> hours; // index 0 = Monday
+        private Double total;
+    }
+}
@@ -0,0 +1,25 @@
+package com.emsa.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class WorkLogResponse {
+    private Long logId;
+    private Long taskId;
+    private String taskTitle;
+    private Long accountId;
+    private String accountName;
+    private LocalDate workDate;
+    private Double hours;
+    private String note;
+    private LocalDateTime createdAt;
+    private Double taskHoursLogged; // task total after this entry; only when logging
+}
@@ -1,17 +1,28 @@
 package com.emsa.entity;
 
+import com.emsa.search.SearchIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "accounts")
+// Read-mostly: cached so lazy manager/assignee references resolve without a query per row
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@EntityListeners(SearchIndexListener.class)
+@Table(name = "accounts", indexes = {
+        @Index(name = "idx_accounts_department_role", columnList = "department_id, role")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Account {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "account_id")
+    @TableGenerator(name = "account_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "accounts", allocationSize = 50)
     @Column(name = "account_id")
     private Long accountId;
 
@@ -73,6 +84,10 @@ public class Account {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
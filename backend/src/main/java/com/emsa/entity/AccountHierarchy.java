@@ -0,0 +1,38 @@
+package com.emsa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+
+/**
+ * Closure of the reporting-manager relation: one row per (ancestor, descendant) pair, including each account
+ * paired with itself at depth 0. Maintained by AccountHierarchyService whenever a reporting manager changes.
+ */
+@Entity
+@Table(name = "account_hierarchy", indexes = {
+        @Index(name = "idx_account_hierarchy_descendant", columnList = "descendant_id, depth")
+})
+@IdClass(AccountHierarchy.Key.class)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class AccountHierarchy {
+
+    @Id
+    @Column(name = "ancestor_id")
+    private Long ancestorId;
+
+    @Id
+    @Column(name = "descendant_id")
+    private Long descendantId;
+
+    @Column(name = "depth", nullable = false)
+    private Integer depth;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long ancestorId;
+        private Long descendantId;
+    }
+}
@@ -0,0 +1,24 @@
+package com.emsa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Lifetime hours logged by an employee, incremented with every work-log entry. Kept out of accounts so
+ * logging time neither bumps the account version nor evicts it from the second-level cache.
+ */
+@Entity
+@Table(name = "account_work_totals")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class AccountWorkTotal {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Column(name = "total_hours", nullable = false)
+    private Double totalHours;
+
+    @Column(name = "entries", nullable = false)
+    private Long entries;
+}
@@ -5,17 +5,24 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+        @Index(name = "idx_audit_logs_account", columnList = "account_id, log_id"),
+        @Index(name = "idx_audit_logs_entity", columnList = "entity_name, entity_id, log_id"),
+        @Index(name = "idx_audit_logs_action", columnList = "action, log_id"),
+        @Index(name = "idx_audit_logs_created", columnList = "created_at, log_id")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class AuditLog {
 
+    // Still IDENTITY: rows are inserted by AuditLogWriter's JDBC batches, never through Hibernate
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "log_id")
     private Long logId;
 
+    // No FK constraint: audit_logs is range-partitioned, and MySQL does not allow foreign keys on partitioned tables
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "account_id")
+    @JoinColumn(name = "account_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Account account;
 
     @Column(name = "action", nullable = false, length = 100)
@@ -33,7 +40,7 @@ public class AuditLog {
     @Column(name = "ip_address", length = 50)
     private String ipAddress;
 
-    @Column(name = "created_at", updatable = false)
+    @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
     @PrePersist
@@ -0,0 +1,43 @@
+package com.emsa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "due_events", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_due_events_event", columnNames = {"source", "source_id", "event_type", "due_date"})
+}, indexes = {
+        @Index(name = "idx_due_events_owner", columnList = "owner_id, fired_at"),
+        @Index(name = "idx_due_events_fired", columnList = "fired_at")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class DueEventRecord {
+
+    // IDENTITY: rows are inserted by DueDateScheduler over JDBC, never through Hibernate
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "event_id")
+    private Long eventId;
+
+    @Column(name = "source", nullable = false, length = 20)
+    private String source; // TASK, KPI, LEAVE
+
+    @Column(name = "source_id", nullable = false)
+    private Long sourceId;
+
+    @Column(name = "event_type", nullable = false, length = 20)
+    private String eventType; // REMINDER, OVERDUE, ESCALATION
+
+    @Column(name = "due_date", nullable = false)
+    private LocalDate dueDate;
+
+    // No FK: the ledger outlives the accounts and items it mentions until the retention purge
+    @Column(name = "owner_id")
+    private Long ownerId;
+
+    @Column(name = "fired_at", nullable = false)
+    private LocalDateTime firedAt;
+}
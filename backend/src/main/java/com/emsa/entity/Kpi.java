@@ -2,15 +2,21 @@ package com.emsa.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "kpis")
+@Table(name = "kpis", indexes = {
+        @Index(name = "idx_kpis_due", columnList = "due_date")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Kpi {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "kpi_id")
+    @TableGenerator(name = "kpi_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "kpis", allocationSize = 50)
     @Column(name = "kpi_id")
     private Long kpiId;
 
@@ -28,11 +34,22 @@ public class Kpi {
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
-    @Column(name = "target_value", length = 100)
-    private String targetValue;
+    @Column(name = "target_value", precision = 14, scale = 4)
+    private BigDecimal targetValue;
 
-    @Column(name = "achieved_value", length = 100)
-    private String achievedValue;
+    // The value of the latest measurement (see KpiMeasurement)
+    @Column(name = "achieved_value", precision = 14, scale = 4)
+    private BigDecimal achievedValue;
+
+    @Column(name = "unit", length = 30)
+    private String unit; // e.g. %, releases, hours
+
+    // achieved / target capped at 1, or null until both are known; derived, summed by the KPI rollups
+    @Column(name = "attainment")
+    private Double attainment;
+
+    @Column(name = "last_measured_on")
+    private LocalDate lastMeasuredOn;
 
     @Column(name = "status", length = 30)
     private String status; // PENDING, IN_PROGRESS, ACHIEVED, NOT_ACHIEVED
@@ -46,14 +63,31 @@ public class Kpi {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
+        attainment = computeAttainment();
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
+        attainment = computeAttainment();
+    }
+
+    public Double computeAttainment() {
+        return attainment(achievedValue, targetValue);
+    }
+
+    public static Double attainment(BigDecimal achieved, BigDecimal target) {
+        if (target == null || achieved == null || target.signum() <= 0) {
+            return null;
+        }
+        return Math.max(0.0, Math.min(1.0, achieved.doubleValue() / target.doubleValue()));
     }
 }
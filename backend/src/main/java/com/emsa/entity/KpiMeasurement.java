@@ -0,0 +1,56 @@
+package com.emsa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One reading of a KPI's actual value. The series is append-only; the KPI's achievedValue is the value of its
+ * latest reading by date.
+ */
+@Entity
+@Table(name = "kpi_measurements", indexes = {
+        @Index(name = "idx_kpi_measurements_kpi_date", columnList = "kpi_id, measured_on")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class KpiMeasurement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "kpi_measurement_id")
+    @TableGenerator(name = "kpi_measurement_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "kpi_measurements", allocationSize = 50)
+    @Column(name = "measurement_id")
+    private Long measurementId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "kpi_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Kpi kpi;
+
+    @Column(name = "measured_value", nullable = false, precision = 14, scale = 4)
+    private BigDecimal value;
+
+    @Column(name = "measured_on", nullable = false)
+    private LocalDate measuredOn;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "recorded_by_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private Account recordedBy;
+
+    @Column(name = "note", length = 255)
+    private String note;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
@@ -0,0 +1,51 @@
+package com.emsa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * KPI attainment summed over one employee, manager subtree or department, kept current by KpiRollupService as
+ * KPIs change so rollup reads are one row. Written with JDBC delta updates; this mapping is only for reads.
+ */
+@Entity
+@Table(name = "kpi_rollups")
+@IdClass(KpiRollup.Key.class)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class KpiRollup {
+
+    @Id
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope_type", length = 20)
+    private KpiRollupScope scopeType;
+
+    @Id
+    @Column(name = "scope_id")
+    private Long scopeId;
+
+    @Column(name = "kpi_count", nullable = false)
+    private Long kpiCount;
+
+    // KPIs with both a target and a measurement, i.e. with an attainment
+    @Column(name = "measured_count", nullable = false)
+    private Long measuredCount;
+
+    @Column(name = "achieved_count", nullable = false)
+    private Long achievedCount;
+
+    @Column(name = "attainment_sum", nullable = false)
+    private Double attainmentSum;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private KpiRollupScope scopeType;
+        private Long scopeId;
+    }
+}
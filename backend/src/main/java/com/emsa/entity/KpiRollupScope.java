@@ -0,0 +1,7 @@
+package com.emsa.entity;
+
+public enum KpiRollupScope {
+    EMPLOYEE,   // the employee's own KPIs
+    MANAGER,    // every KPI in the manager's reporting subtree, the manager's own excluded
+    DEPARTMENT
+}
@@ -6,12 +6,17 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "leave_requests")
+@Table(name = "leave_requests", indexes = {
+        @Index(name = "idx_leave_requests_account_end", columnList = "account_id, end_date, start_date"),
+        @Index(name = "idx_leave_requests_status_start", columnList = "status, start_date")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class LeaveRequest {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "leave_request_id")
+    @TableGenerator(name = "leave_request_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "leave_requests", allocationSize = 50)
     @Column(name = "request_id")
     private Long requestId;
 
@@ -47,6 +52,10 @@ public class LeaveRequest {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -5,12 +5,19 @@ import lombok.*;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "performance_reviews")
+// The cycle index covers the calibration aggregate; the employee index answers "has a review in this cycle?"
+@Table(name = "performance_reviews", indexes = {
+        @Index(name = "idx_performance_reviews_cycle",
+                columnList = "cycle_name, reviewer_id, rating, employee_id, increment_recommended"),
+        @Index(name = "idx_performance_reviews_employee_cycle", columnList = "employee_id, cycle_name")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class PerformanceReview {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "performance_review_id")
+    @TableGenerator(name = "performance_review_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "performance_reviews", allocationSize = 50)
     @Column(name = "review_id")
     private Long reviewId;
 
@@ -35,7 +42,7 @@ public class PerformanceReview {
     private Integer rating; // 1-5
 
     @Column(name = "status", length = 30)
-    private String status; // DRAFT, SUBMITTED, REVIEWED, APPROVED
+    private String status; // DRAFT, SUBMITTED, REVIEWED, APPROVED; INCOMPLETE if its cycle closed first
 
     @Column(name = "increment_recommended")
     private Double incrementRecommended;
@@ -46,6 +53,10 @@ public class PerformanceReview {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -1,5 +1,6 @@
 package com.emsa.entity;
 
+import com.emsa.search.SearchIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
@@ -7,12 +8,15 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 @Entity
+@EntityListeners(SearchIndexListener.class)
 @Table(name = "projects")
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Project {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "project_id")
+    @TableGenerator(name = "project_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "projects", allocationSize = 50)
     @Column(name = "project_id")
     private Long projectId;
 
@@ -44,6 +48,10 @@ public class Project {
     @OneToMany(mappedBy = "project", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
     private List<Task> tasks;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,54 @@
+package com.emsa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Task rollup for one project, kept current by ProjectStatsService as tasks change so project pages read one
+ * row instead of the project's tasks. Written with JDBC delta updates; this mapping is only for reads.
+ */
+@Entity
+@Table(name = "project_stats")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ProjectStats {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Column(name = "total_tasks", nullable = false)
+    private Long totalTasks;
+
+    @Column(name = "todo_tasks", nullable = false)
+    private Long todoTasks;
+
+    @Column(name = "in_progress_tasks", nullable = false)
+    private Long inProgressTasks;
+
+    @Column(name = "review_tasks", nullable = false)
+    private Long reviewTasks;
+
+    @Column(name = "done_tasks", nullable = false)
+    private Long doneTasks;
+
+    @Column(name = "low_priority_tasks", nullable = false)
+    private Long lowPriorityTasks;
+
+    @Column(name = "medium_priority_tasks", nullable = false)
+    private Long mediumPriorityTasks;
+
+    @Column(name = "high_priority_tasks", nullable = false)
+    private Long highPriorityTasks;
+
+    // Open tasks past their due date, as of the last task change or reconciliation
+    @Column(name = "overdue_tasks", nullable = false)
+    private Long overdueTasks;
+
+    @Column(name = "total_hours", nullable = false)
+    private Double totalHours;
+
+    @Column(name = "last_activity_at")
+    private LocalDateTime lastActivityAt;
+}
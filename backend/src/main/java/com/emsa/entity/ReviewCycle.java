@@ -0,0 +1,49 @@
+package com.emsa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * State of a review cycle, keyed by the cycle name the reviews carry. A cycle without a row is open; once
+ * closed its reviews are frozen, which is what lets calibration results for it be cached.
+ */
+@Entity
+@Table(name = "review_cycles")
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ReviewCycle {
+
+    public static final String OPEN = "OPEN";
+    public static final String CLOSED = "CLOSED";
+
+    @Id
+    @Column(name = "cycle_name", length = 100)
+    private String cycleName;
+
+    @Column(name = "status", length = 20, nullable = false)
+    private String status;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "closed_by_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private Account closedBy;
+
+    @Column(name = "closed_at")
+    private LocalDateTime closedAt;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        if (status == null) status = OPEN;
+    }
+
+    public boolean isClosed() {
+        return CLOSED.equals(status);
+    }
+}
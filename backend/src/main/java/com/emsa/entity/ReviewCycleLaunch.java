@@ -0,0 +1,83 @@
+package com.emsa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+/**
+ * A background job creating the DRAFT reviews of a cycle for one scope. Progress and the account-id cursor
+ * are committed with each chunk of reviews, so an interrupted launch resumes where it stopped.
+ */
+@Entity
+@Table(name = "review_cycle_launches", indexes = {
+        @Index(name = "idx_review_cycle_launches_cycle", columnList = "cycle_name, status")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class ReviewCycleLaunch {
+
+    public static final String RUNNING = "RUNNING";
+    public static final String COMPLETED = "COMPLETED";
+    public static final String FAILED = "FAILED";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "review_cycle_launch_id")
+    @TableGenerator(name = "review_cycle_launch_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "review_cycle_launches", allocationSize = 50)
+    @Column(name = "launch_id")
+    private Long launchId;
+
+    @Column(name = "cycle_name", length = 100, nullable = false)
+    private String cycleName;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "scope", length = 20, nullable = false)
+    private ReviewLaunchScope scope;
+
+    @Column(name = "scope_id", nullable = false)
+    private Long scopeId;
+
+    @Column(name = "status", length = 20, nullable = false)
+    private String status;
+
+    // Employees in scope without a review in the cycle when the launch started
+    @Column(name = "total_count", nullable = false)
+    private Long totalCount;
+
+    @Column(name = "created_count", nullable = false)
+    private Long createdCount;
+
+    // Employees who got a review in the cycle some other way while the launch ran
+    @Column(name = "skipped_count", nullable = false)
+    private Long skippedCount;
+
+    // Highest account id processed so far
+    @Column(name = "last_account_id")
+    private Long lastAccountId;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "started_by_id")
+    @OnDelete(action = OnDeleteAction.SET_NULL)
+    private Account startedBy;
+
+    @Column(name = "started_at", updatable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    @Column(name = "finished_at")
+    private LocalDateTime finishedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        startedAt = LocalDateTime.now();
+        updatedAt = startedAt;
+        if (status == null) status = RUNNING;
+    }
+}
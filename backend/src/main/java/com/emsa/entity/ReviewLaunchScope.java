@@ -0,0 +1,6 @@
+package com.emsa.entity;
+
+public enum ReviewLaunchScope {
+    SUBTREE,    // everyone in the manager's reporting subtree, the manager excluded
+    DEPARTMENT  // every member of the department
+}
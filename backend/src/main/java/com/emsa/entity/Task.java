@@ -1,17 +1,23 @@
 package com.emsa.entity;
 
+import com.emsa.search.SearchIndexListener;
 import jakarta.persistence.*;
 import lombok.*;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "tasks")
+@EntityListeners(SearchIndexListener.class)
+@Table(name = "tasks", indexes = {
+        @Index(name = "idx_tasks_due", columnList = "due_date")
+})
 @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
 public class Task {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "task_id")
+    @TableGenerator(name = "task_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "tasks", allocationSize = 50)
     @Column(name = "task_id")
     private Long taskId;
 
@@ -42,7 +48,9 @@ public class Task {
     @Column(name = "due_date")
     private LocalDate dueDate;
 
-    @Column(name = "hours_logged")
+    // Changed only by the work-log increment (TaskRepository.addHoursLogged); saving a loaded task must not
+    // write back a total that a work log committed since has moved on from
+    @Column(name = "hours_logged", updatable = false)
     @lombok.Builder.Default
     private Double hoursLogged = 0.0;
 
@@ -52,6 +60,10 @@ public class Task {
     @Column(name = "updated_at")
     private LocalDateTime updatedAt;
 
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
@@ -0,0 +1,56 @@
+package com.emsa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One time entry against a task. The ledger is append-only: Task.hoursLogged, WorkLogDaily and
+ * AccountWorkTotal are rollups that WorkLogService increments in the same transaction as the insert.
+ */
+@Entity
+@Table(name = "work_logs", indexes = {
+        @Index(name = "idx_work_logs_task", columnList = "task_id, log_id"),
+        @Index(name = "idx_work_logs_account_date", columnList = "account_id, work_date")
+})
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class WorkLog {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "work_log_id")
+    @TableGenerator(name = "work_log_id", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "work_logs", allocationSize = 50)
+    @Column(name = "log_id")
+    private Long logId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "task_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Task task;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "account_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Account account;
+
+    @Column(name = "work_date", nullable = false)
+    private LocalDate workDate;
+
+    @Column(name = "hours", nullable = false)
+    private Double hours;
+
+    @Column(name = "note", length = 255)
+    private String note;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+}
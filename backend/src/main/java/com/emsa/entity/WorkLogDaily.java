@@ -0,0 +1,47 @@
+package com.emsa.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Hours per (employee, project, day), summed from work_logs as entries are logged. Timesheets read these
+ * buckets instead of the ledger. Rows outlive deleted tasks and projects, since the time was still worked.
+ */
+@Entity
+@Table(name = "work_log_daily", indexes = {
+        @Index(name = "idx_work_log_daily_project", columnList = "project_id, work_date")
+})
+@IdClass(WorkLogDaily.Key.class)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+public class WorkLogDaily {
+
+    @Id
+    @Column(name = "account_id")
+    private Long accountId;
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    @Id
+    @Column(name = "work_date")
+    private LocalDate workDate;
+
+    @Column(name = "hours", nullable = false)
+    private Double hours;
+
+    @Column(name = "entries", nullable = false)
+    private Integer entries;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long accountId;
+        private Long projectId;
+        private LocalDate workDate;
+    }
+}
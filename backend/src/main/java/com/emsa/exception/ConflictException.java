@@ -0,0 +1,7 @@
+package com.emsa.exception;
+
+public class ConflictException extends RuntimeException {
+    public ConflictException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,182 @@
+package com.emsa.export;
+
+import com.emsa.util.Csv;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams a query straight from a forward-only JDBC cursor to the HTTP response, one row at a time.
+ * Nothing is collected in memory: with MySQL's default fetch size of {@code Integer.MIN_VALUE} the driver hands
+ * over rows as they arrive instead of buffering the whole result, so the first bytes go out immediately.
+ */
+@Component
+public class ResultSetStreamer {
+
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${emsa.export.fetch-size:-2147483648}")
+    private int fetchSize;
+
+    public StreamingResponseBody stream(String sql, List<Object> args, ExportFormat format, boolean gzip) {
+        return out -> {
+            GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, BUFFER_SIZE, true) : null;
+            OutputStream target = compressed != null ? compressed : out;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), BUFFER_SIZE);
+            try {
+                jdbcTemplate.query(con -> {
+                    PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                    ps.setFetchSize(fetchSize);
+                    for (int i = 0; i < args.size(); i++) {
+                        ps.setObject(i + 1, args.get(i));
+                    }
+                    return ps;
+                }, (ResultSetExtractor<Void>) rs -> {
+                    try {
+                        if (format == ExportFormat.CSV) {
+                            writeCsv(rs, writer);
+                        } else {
+                            writeNdjson(rs, writer);
+                        }
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    return null;
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+            if (compressed != null) {
+                compressed.finish();
+            }
+        };
+    }
+
+    private void writeCsv(ResultSet rs, Writer out) throws SQLException, IOException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columns = meta.getColumnCount();
+        for (int i = 1; i <= columns; i++) {
+            if (i > 1) {
+                out.write(',');
+            }
+            Csv.writeField(out, meta.getColumnLabel(i));
+        }
+        out.write(Csv.LINE_END);
+        out.flush();
+
+        Kind[] kinds = new Kind[columns + 1];
+        for (int i = 1; i <= columns; i++) {
+            kinds[i] = kindOf(meta.getColumnType(i));
+        }
+        while (rs.next()) {
+            for (int i = 1; i <= columns; i++) {
+                if (i > 1) {
+                    out.write(',');
+                }
+                switch (kinds[i]) {
+                    case BOOLEAN -> {
+                        boolean value = rs.getBoolean(i);
+                        Csv.writeNumber(out, rs.wasNull() ? null : String.valueOf(value));
+                    }
+                    // Numbers keep their minus sign; only text can carry a formula
+                    case INTEGER, DECIMAL, FLOAT -> Csv.writeNumber(out, rs.getString(i));
+                    default -> Csv.writeField(out, rs.getString(i));
+                }
+            }
+            out.write(Csv.LINE_END);
+        }
+    }
+
+    private void writeNdjson(ResultSet rs, Writer out) throws SQLException, IOException {
+        ResultSetMetaData meta = rs.getMetaData();
+        int columns = meta.getColumnCount();
+        String[] names = new String[columns + 1];
+        Kind[] kinds = new Kind[columns + 1];
+        for (int i = 1; i <= columns; i++) {
+            names[i] = meta.getColumnLabel(i);
+            kinds[i] = kindOf(meta.getColumnType(i));
+        }
+
+        JsonGenerator json = jsonFactory.createGenerator(out);
+        json.setRootValueSeparator(null);
+        boolean first = true;
+        while (rs.next()) {
+            json.writeStartObject();
+            for (int i = 1; i <= columns; i++) {
+                json.writeFieldName(names[i]);
+                writeValue(json, rs, i, kinds[i]);
+            }
+            json.writeEndObject();
+            json.writeRaw('\n');
+            if (first) {
+                json.flush();
+                first = false;
+            }
+        }
+        json.flush();
+    }
+
+    private static void writeValue(JsonGenerator json, ResultSet rs, int i, Kind kind) throws SQLException, IOException {
+        switch (kind) {
+            case INTEGER -> {
+                long value = rs.getLong(i);
+                if (rs.wasNull()) json.writeNull(); else json.writeNumber(value);
+            }
+            case DECIMAL -> {
+                BigDecimal value = rs.getBigDecimal(i);
+                if (value == null) json.writeNull(); else json.writeNumber(value);
+            }
+            case FLOAT -> {
+                double value = rs.getDouble(i);
+                if (rs.wasNull()) json.writeNull(); else json.writeNumber(value);
+            }
+            case BOOLEAN -> {
+                boolean value = rs.getBoolean(i);
+                if (rs.wasNull()) json.writeNull(); else json.writeBoolean(value);
+            }
+            default -> {
+                String value = rs.getString(i);
+                if (value == null) json.writeNull(); else json.writeString(value);
+            }
+        }
+    }
+
+    private enum Kind { INTEGER, DECIMAL, FLOAT, BOOLEAN, TEXT }
+
+    private static Kind kindOf(int sqlType) {
+        return switch (sqlType) {
+            case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> Kind.INTEGER;
+            case Types.DECIMAL, Types.NUMERIC -> Kind.DECIMAL;
+            case Types.REAL, Types.FLOAT, Types.DOUBLE -> Kind.FLOAT;
+            case Types.BIT, Types.BOOLEAN -> Kind.BOOLEAN;
+            default -> Kind.TEXT;
+        };
+    }
+}
@@ -0,0 +1,155 @@
+package com.emsa.leave;
+
+import java.util.SplittableRandom;
+import java.util.function.LongConsumer;
+
+/**
+ * Closed intervals of epoch days in a treap ordered by (start, id). Every node also carries the latest end in
+ * its subtree, so an overlap query skips whole subtrees that end before the range and stops at the first start
+ * after it: O(log n + matches) expected. Not thread-safe.
+ */
+final class IntervalTree {
+
+    private final SplittableRandom random = new SplittableRandom();
+    private Node root;
+    private int size;
+
+    void insert(long id, long start, long end) {
+        root = insert(root, new Node(id, start, end, random.nextInt()));
+        size++;
+    }
+
+    void remove(long id, long start) {
+        root = remove(root, id, start);
+    }
+
+    /** Reports the id of every interval that shares at least one day with [from, to]. */
+    void query(long from, long to, LongConsumer ids) {
+        query(root, from, to, ids);
+    }
+
+    int size() {
+        return size;
+    }
+
+    /** Nodes on the longest root-to-leaf path; O(log n) expected whatever the insertion order. */
+    int height() {
+        return height(root);
+    }
+
+    private static int height(Node node) {
+        return node == null ? 0 : 1 + Math.max(height(node.left), height(node.right));
+    }
+
+    private static void query(Node node, long from, long to, LongConsumer ids) {
+        while (node != null && node.maxEnd >= from) {
+            query(node.left, from, to, ids);
+            if (node.start > to) {
+                return;
+            }
+            if (node.end >= from) {
+                ids.accept(node.id);
+            }
+            node = node.right;
+        }
+    }
+
+    private static Node insert(Node node, Node fresh) {
+        if (node == null) {
+            return fresh;
+        }
+        if (compare(fresh.start, fresh.id, node) < 0) {
+            node.left = insert(node.left, fresh);
+            if (node.left.priority > node.priority) {
+                return rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, fresh);
+            if (node.right.priority > node.priority) {
+                return rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node remove(Node node, long id, long start) {
+        if (node == null) {
+            return null;
+        }
+        int c = compare(start, id, node);
+        if (c == 0) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        if (c < 0) {
+            node.left = remove(node.left, id, start);
+        } else {
+            node.right = remove(node.right, id, start);
+        }
+        node.update();
+        return node;
+    }
+
+    // Every key in a precedes every key in b
+    private static Node merge(Node a, Node b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        if (a.priority > b.priority) {
+            a.right = merge(a.right, b);
+            a.update();
+            return a;
+        }
+        b.left = merge(a, b.left);
+        b.update();
+        return b;
+    }
+
+    private static Node rotateRight(Node node) {
+        Node left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static Node rotateLeft(Node node) {
+        Node right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static int compare(long start, long id, Node node) {
+        int c = Long.compare(start, node.start);
+        return c != 0 ? c : Long.compare(id, node.id);
+    }
+
+    private static final class Node {
+        final long id;
+        final long start;
+        final long end;
+        final int priority;
+        Node left;
+        Node right;
+        long maxEnd;
+
+        Node(long id, long start, long end, int priority) {
+            this.id = id;
+            this.start = start;
+            this.end = end;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            long max = end;
+            if (left != null) max = Math.max(max, left.maxEnd);
+            if (right != null) max = Math.max(max, right.maxEnd);
+            maxEnd = max;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+package com.emsa.leave;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Dated leave and WFH requests that are still pending or approved, in one interval tree per department, so a
+ * department's calendar costs a tree walk over that department's matches rather than a scan of its leave
+ * history. Results are candidate request ids; callers re-read the rows, so an entry that is briefly stale (a
+ * deleted account, say) is filtered out there. Changes made inside a transaction apply when it commits.
+ */
+@Component
+public class LeaveCalendarIndex {
+
+    // Tree key for accounts without a department
+    private static final long NO_DEPARTMENT = 0L;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private State state = new State();
+    // Changes committed while a rebuild is loading; replayed onto the new state before it goes live
+    private List<Consumer<State>> pending;
+
+    public record Interval(Long requestId, Long accountId, Long departmentId, LocalDate start, LocalDate end) {
+    }
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("emsa.leave.calendar.intervals", this, LeaveCalendarIndex::size)
+                .description("Pending and approved leave intervals in the calendar index")
+                .register(meterRegistry);
+    }
+
+    public void put(Interval interval) {
+        afterCommit(s -> s.put(interval));
+    }
+
+    public void remove(Long requestId) {
+        afterCommit(s -> s.remove(requestId));
+    }
+
+    public void moveAccount(Long accountId, Long departmentId) {
+        afterCommit(s -> s.moveAccount(accountId, key(departmentId)));
+    }
+
+    public void removeDepartment(Long departmentId) {
+        afterCommit(s -> s.moveDepartment(key(departmentId), NO_DEPARTMENT));
+    }
+
+    /** Request ids overlapping [from, to] in the given departments, or in all of them if departmentIds is null. */
+    public List<Long> find(Collection<Long> departmentIds, LocalDate from, LocalDate to) {
+        List<Long> ids = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Collection<IntervalTree> trees = departmentIds == null ? state.trees.values()
+                    : departmentIds.stream().map(id -> state.trees.get(key(id))).filter(t -> t != null).toList();
+            trees.forEach(tree -> tree.query(from.toEpochDay(), to.toEpochDay(), ids::add));
+        } finally {
+            lock.readLock().unlock();
+        }
+        return ids;
+    }
+
+    /** Loads a fresh index without blocking queries or updates, then swaps it in. */
+    public int rebuild(Callable<Collection<Interval>> loader) throws Exception {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                throw new IllegalStateException("Leave calendar rebuild already running");
+            }
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        State fresh = new State();
+        try {
+            loader.call().forEach(fresh::put);
+        } catch (Exception e) {
+            lock.writeLock().lock();
+            pending = null;
+            lock.writeLock().unlock();
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            pending.forEach(change -> change.accept(fresh));
+            pending = null;
+            state = fresh;
+            return fresh.intervals.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return state.intervals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void afterCommit(Consumer<State> change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    apply(change);
+                }
+            });
+        } else {
+            apply(change);
+        }
+    }
+
+    private void apply(Consumer<State> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(state);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static long key(Long departmentId) {
+        return departmentId != null ? departmentId : NO_DEPARTMENT;
+    }
+
+    private static final class State {
+        final Map<Long, IntervalTree> trees = new HashMap<>();
+        final Map<Long, Entry> intervals = new HashMap<>();
+
+        void put(Interval interval) {
+            add(new Entry(interval.requestId(), interval.accountId(), key(interval.departmentId()),
+                    interval.start().toEpochDay(), interval.end().toEpochDay()));
+        }
+
+        void add(Entry entry) {
+            remove(entry.requestId);
+            intervals.put(entry.requestId, entry);
+            trees.computeIfAbsent(entry.departmentKey, k -> new IntervalTree()).insert(entry.requestId, entry.start, entry.end);
+        }
+
+        void remove(long requestId) {
+            Entry old = intervals.remove(requestId);
+            if (old != null) {
+                trees.get(old.departmentKey).remove(old.requestId, old.start);
+            }
+        }
+
+        // Department changes are rare, so a scan of all intervals is cheaper than another index by account
+        void moveAccount(long accountId, long departmentKey) {
+            List<Entry> moved = intervals.values().stream()
+                    .filter(e -> e.accountId == accountId && e.departmentKey != departmentKey).toList();
+            moved.forEach(e -> add(new Entry(e.requestId, e.accountId, departmentKey, e.start, e.end)));
+        }
+
+        void moveDepartment(long from, long to) {
+            List<Entry> moved = intervals.values().stream().filter(e -> e.departmentKey == from).toList();
+            moved.forEach(e -> add(new Entry(e.requestId, e.accountId, to, e.start, e.end)));
+            trees.remove(from);
+        }
+    }
+
+    private record Entry(long requestId, long accountId, long departmentKey, long start, long end) {
+    }
+}
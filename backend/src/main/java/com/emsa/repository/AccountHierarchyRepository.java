@@ -0,0 +1,24 @@
+package com.emsa.repository;
+
+import com.emsa.entity.AccountHierarchy;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface AccountHierarchyRepository extends JpaRepository<AccountHierarchy, AccountHierarchy.Key> {
+
+    boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+    @Query("SELECT h.descendantId FROM AccountHierarchy h WHERE h.ancestorId = :accountId")
+    List<Long> findSubtreeIds(@Param("accountId") Long accountId);
+
+    @Query("SELECT h.ancestorId FROM AccountHierarchy h WHERE h.descendantId = :accountId AND h.depth > 0")
+    List<Long> findAncestorIds(@Param("accountId") Long accountId);
+
+    @Query("SELECT COUNT(h) FROM AccountHierarchy h WHERE h.depth = 0")
+    long countSelfRows();
+}
@@ -1,8 +1,17 @@
 package com.emsa.repository;
 
+import com.emsa.config.CacheConfig;
 import com.emsa.entity.Account;
 import com.emsa.entity.RoleName;
+import com.emsa.repository.projection.AccountLogin;
+import com.emsa.repository.projection.DepartmentRoleCount;
+import jakarta.persistence.LockModeType;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,15 +22,69 @@ import java.util.Optional;
 @Repository
 public interface AccountRepository extends JpaRepository<Account, Long> {
     Optional<Account> findByUsername(String username);
+
+    // Login lookups; unknown usernames are not cached, so the login fails as an ordinary bad credential
+    @Cacheable(cacheNames = CacheConfig.ACCOUNTS_BY_USERNAME, unless = "#result == null")
+    @Query("SELECT new com.emsa.repository.projection.AccountLogin(a.accountId, a.username, a.email, a.passwordHash, " +
+           "a.role, a.firstName, a.lastName, a.isActive) FROM Account a WHERE a.username = :username")
+    Optional<AccountLogin> findLoginByUsername(@Param("username") String username);
     Optional<Account> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // List reads fetch the department and reporting manager that AccountResponse needs in the same query
+    @EntityGraph(attributePaths = {"department", "reportingManager"})
     List<Account> findByRole(RoleName role);
+
     List<Account> findByRoleIn(List<RoleName> roles);
     List<Account> findByDepartmentDepartmentId(Long departmentId);
-    List<Account> findByReportingManagerAccountId(Long managerId);
+
     List<Account> findByIsActive(Boolean isActive);
 
+    // Serializes work done on behalf of one account, such as its leave submissions
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT a FROM Account a WHERE a.accountId = :accountId")
+    Optional<Account> findByIdForUpdate(@Param("accountId") Long accountId);
+    long countByReportingManagerAccountId(Long managerId);
+
+    // JPQL rather than SQL so Hibernate also invalidates the cached accounts it changes
+    @Modifying
+    @Query("UPDATE Account a SET a.reportingManager = :manager WHERE a.accountId = :accountId")
+    int updateReportingManager(@Param("accountId") Long accountId, @Param("manager") Account manager);
+
+    // The schema's ON DELETE SET NULL would do this too, but invisibly to the second-level cache
+    @Modifying
+    @Query("UPDATE Account a SET a.reportingManager = null WHERE a.reportingManager.accountId = :managerId")
+    int clearReportingManager(@Param("managerId") Long managerId);
+
+    @Modifying
+    @Query("UPDATE Account a SET a.department = null WHERE a.department.departmentId = :departmentId")
+    int clearDepartment(@Param("departmentId") Long departmentId);
+
     @Query("SELECT a FROM Account a WHERE a.role IN :roles AND a.isActive = true ORDER BY a.role, a.department.departmentName")
     List<Account> findByRolesAndActive(@Param("roles") List<RoleName> roles);
+
+    @Query("SELECT a.department.departmentId AS departmentId, a.role AS role, COUNT(a) AS total " +
+           "FROM Account a WHERE a.department IS NOT NULL GROUP BY a.department.departmentId, a.role")
+    List<DepartmentRoleCount> countByDepartmentAndRole();
+
+    @Query("SELECT a.department.departmentId AS departmentId, a.role AS role, COUNT(a) AS total " +
+           "FROM Account a WHERE a.department.departmentId = :departmentId GROUP BY a.department.departmentId, a.role")
+    List<DepartmentRoleCount> countByRoleInDepartment(@Param("departmentId") Long departmentId);
+
+    // Reports down to maxDepth levels below the manager, nearest first; one range scan of the closure table
+    @EntityGraph(attributePaths = {"department", "reportingManager"})
+    @Query("SELECT a FROM Account a JOIN AccountHierarchy h ON h.descendantId = a.accountId " +
+           "WHERE h.ancestorId = :managerId AND h.depth BETWEEN 1 AND :maxDepth ORDER BY h.depth, a.accountId")
+    List<Account> findSubordinates(@Param("managerId") Long managerId, @Param("maxDepth") int maxDepth);
+
+    // Managers above the account, direct manager first
+    @EntityGraph(attributePaths = {"department", "reportingManager"})
+    @Query("SELECT a FROM Account a JOIN AccountHierarchy h ON h.ancestorId = a.accountId " +
+           "WHERE h.descendantId = :accountId AND h.depth > 0 ORDER BY h.depth")
+    List<Account> findChainOfCommand(@Param("accountId") Long accountId);
+
+    @EntityGraph(attributePaths = {"department", "reportingManager"})
+    @Query("SELECT a FROM Account a WHERE :cursor IS NULL OR a.accountId < :cursor ORDER BY a.accountId DESC")
+    List<Account> findPage(@Param("cursor") Long cursor, Pageable pageable);
 }
@@ -0,0 +1,18 @@
+package com.emsa.repository;
+
+import com.emsa.entity.AccountWorkTotal;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface AccountWorkTotalRepository extends JpaRepository<AccountWorkTotal, Long> {
+
+    @Modifying
+    @Query(value = "INSERT INTO account_work_totals (account_id, total_hours, entries) VALUES (:accountId, :hours, 1) " +
+                   "ON DUPLICATE KEY UPDATE total_hours = total_hours + VALUES(total_hours), entries = entries + 1",
+           nativeQuery = true)
+    void addHours(@Param("accountId") Long accountId, @Param("hours") Double hours);
+}
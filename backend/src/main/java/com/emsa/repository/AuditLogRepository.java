@@ -1,12 +1,16 @@
 package com.emsa.repository;
 
 import com.emsa.entity.AuditLog;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
-    List<AuditLog> findByAccountAccountIdOrderByCreatedAtDesc(Long accountId);
-    List<AuditLog> findAllByOrderByCreatedAtDesc();
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogRepositoryCustom {
+
+    @Query("SELECT l FROM AuditLog l LEFT JOIN FETCH l.account WHERE :cursor IS NULL OR l.logId < :cursor ORDER BY l.logId DESC")
+    List<AuditLog> findPage(@Param("cursor") Long cursor, Pageable pageable);
 }
@@ -0,0 +1,23 @@
+package com.emsa.repository;
+
+import com.emsa.dto.request.AuditLogFilter;
+import com.emsa.entity.AuditLog;
+import com.emsa.util.CursorPaging;
+
+import java.util.List;
+
+public interface AuditLogRepositoryCustom {
+
+    /**
+     * Newest-first keyset page of logs matching the filter. Only the criteria that are set become
+     * predicates, so MySQL can pick the composite index that matches them. Without a time range the page
+     * follows log_id and starts below {@code afterId}.
+     */
+    List<AuditLog> search(AuditLogFilter filter, Long afterId, int limit);
+
+    /**
+     * The same for a filter with a time range: ordered by (created_at, log_id) descending and starting below
+     * {@code after}, so the (created_at, log_id) index serves both the range and the order.
+     */
+    List<AuditLog> searchByTime(AuditLogFilter filter, CursorPaging.TimeKey after, int limit);
+}
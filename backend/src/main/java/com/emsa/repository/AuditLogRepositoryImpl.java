@@ -0,0 +1,81 @@
+package com.emsa.repository;
+
+import com.emsa.dto.request.AuditLogFilter;
+import com.emsa.entity.AuditLog;
+import com.emsa.util.CursorPaging;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class AuditLogRepositoryImpl implements AuditLogRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AuditLog> search(AuditLogFilter filter, Long afterId, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuditLog> query = cb.createQuery(AuditLog.class);
+        Root<AuditLog> log = query.from(AuditLog.class);
+        log.fetch("account", JoinType.LEFT);
+
+        List<Predicate> where = filters(cb, log, filter);
+        if (afterId != null) {
+            where.add(cb.lessThan(log.get("logId"), afterId));
+        }
+        query.select(log)
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(log.get("logId")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    @Override
+    public List<AuditLog> searchByTime(AuditLogFilter filter, CursorPaging.TimeKey after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuditLog> query = cb.createQuery(AuditLog.class);
+        Root<AuditLog> log = query.from(AuditLog.class);
+        log.fetch("account", JoinType.LEFT);
+
+        List<Predicate> where = filters(cb, log, filter);
+        if (after != null) {
+            Path<LocalDateTime> createdAt = log.get("createdAt");
+            where.add(cb.or(cb.lessThan(createdAt, after.at()),
+                    cb.and(cb.equal(createdAt, after.at()), cb.lessThan(log.get("logId"), after.id()))));
+        }
+        query.select(log)
+                .where(where.toArray(Predicate[]::new))
+                .orderBy(cb.desc(log.get("createdAt")), cb.desc(log.get("logId")));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private static List<Predicate> filters(CriteriaBuilder cb, Root<AuditLog> log, AuditLogFilter filter) {
+        List<Predicate> where = new ArrayList<>();
+        if (filter.getFrom() != null) {
+            where.add(cb.greaterThanOrEqualTo(log.get("createdAt"), filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            where.add(cb.lessThan(log.get("createdAt"), filter.getTo()));
+        }
+        if (filter.getAction() != null) {
+            where.add(cb.equal(log.get("action"), filter.getAction()));
+        }
+        if (filter.getEntityName() != null) {
+            where.add(cb.equal(log.get("entityName"), filter.getEntityName()));
+        }
+        if (filter.getEntityId() != null) {
+            where.add(cb.equal(log.get("entityId"), filter.getEntityId()));
+        }
+        if (filter.getActorId() != null) {
+            where.add(cb.equal(log.get("account").get("accountId"), filter.getActorId()));
+        }
+        return where;
+    }
+}
@@ -1,13 +1,23 @@
 package com.emsa.repository;
 
 import com.emsa.entity.Department;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
+
+    // Result ids go to the query cache; the rows themselves come from the Department entity cache
+    @Override
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Department> findAll();
+
     Optional<Department> findByDepartmentName(String departmentName);
     boolean existsByDepartmentName(String departmentName);
 }
@@ -0,0 +1,24 @@
+package com.emsa.repository;
+
+import com.emsa.entity.DueEventRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface DueEventRecordRepository extends JpaRepository<DueEventRecord, Long> {
+
+    @Query("SELECT e FROM DueEventRecord e WHERE e.ownerId = :ownerId AND e.firedAt >= :since " +
+           "ORDER BY e.firedAt DESC, e.eventId DESC")
+    List<DueEventRecord> findByOwner(@Param("ownerId") Long ownerId, @Param("since") LocalDateTime since, Pageable page);
+
+    @Query("SELECT e FROM DueEventRecord e WHERE e.ownerId IN " +
+           "(SELECT h.descendantId FROM AccountHierarchy h WHERE h.ancestorId = :managerId AND h.depth > 0) " +
+           "AND e.firedAt >= :since ORDER BY e.firedAt DESC, e.eventId DESC")
+    List<DueEventRecord> findBySubtree(@Param("managerId") Long managerId, @Param("since") LocalDateTime since, Pageable page);
+}
@@ -0,0 +1,14 @@
+package com.emsa.repository;
+
+import com.emsa.entity.KpiMeasurement;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface KpiMeasurementRepository extends JpaRepository<KpiMeasurement, Long> {
+    @EntityGraph(attributePaths = {"recordedBy"})
+    List<KpiMeasurement> findByKpiKpiIdOrderByMeasuredOnAscMeasurementIdAsc(Long kpiId);
+}
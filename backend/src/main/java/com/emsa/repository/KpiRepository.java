@@ -2,6 +2,8 @@ package com.emsa.repository;
 
 import com.emsa.entity.Kpi;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -9,4 +11,9 @@ import java.util.List;
 public interface KpiRepository extends JpaRepository<Kpi, Long> {
     List<Kpi> findByEmployeeAccountId(Long employeeId);
     List<Kpi> findByAssignedByAccountId(Long assignedById);
+
+    @Query("SELECT k FROM Kpi k JOIN FETCH k.employee e JOIN FETCH k.assignedBy " +
+           "JOIN AccountHierarchy h ON h.descendantId = e.accountId " +
+           "WHERE h.ancestorId = :managerId AND h.depth BETWEEN 1 AND :maxDepth ORDER BY k.kpiId DESC")
+    List<Kpi> findByTeam(@Param("managerId") Long managerId, @Param("maxDepth") int maxDepth);
 }
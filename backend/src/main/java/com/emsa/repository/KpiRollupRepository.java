@@ -0,0 +1,15 @@
+package com.emsa.repository;
+
+import com.emsa.entity.KpiRollup;
+import com.emsa.entity.KpiRollupScope;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface KpiRollupRepository extends JpaRepository<KpiRollup, KpiRollup.Key> {
+    List<KpiRollup> findByScopeType(KpiRollupScope scopeType);
+    List<KpiRollup> findByScopeTypeAndScopeIdIn(KpiRollupScope scopeType, Collection<Long> scopeIds);
+}
@@ -1,13 +1,47 @@
 package com.emsa.repository;
 
 import com.emsa.entity.LeaveRequest;
+import com.emsa.repository.projection.StatusCount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface LeaveRequestRepository extends JpaRepository<LeaveRequest, Long> {
     List<LeaveRequest> findByAccountAccountId(Long accountId);
     List<LeaveRequest> findByStatus(String status);
-    List<LeaveRequest> findByAccountReportingManagerAccountId(Long managerId);
+    List<LeaveRequest> findByAccountAccountIdOrderByRequestIdDesc(Long accountId, Pageable pageable);
+
+    @Query("SELECT lr.status AS status, COUNT(lr) AS total FROM LeaveRequest lr WHERE lr.account.accountId = :accountId GROUP BY lr.status")
+    List<StatusCount> countByAccountGroupByStatus(@Param("accountId") Long accountId);
+
+    @Query("SELECT lr FROM LeaveRequest lr JOIN FETCH lr.account a LEFT JOIN FETCH lr.reviewedBy " +
+           "JOIN AccountHierarchy h ON h.descendantId = a.accountId " +
+           "WHERE h.ancestorId = :managerId AND h.depth BETWEEN 1 AND :maxDepth ORDER BY lr.requestId DESC")
+    List<LeaveRequest> findByTeam(@Param("managerId") Long managerId, @Param("maxDepth") int maxDepth);
+
+    @Query("SELECT lr FROM LeaveRequest lr WHERE :cursor IS NULL OR lr.requestId < :cursor ORDER BY lr.requestId DESC")
+    List<LeaveRequest> findPage(@Param("cursor") Long cursor, Pageable pageable);
+
+    // Dated requests of one account that share a day with [from, to]; a range scan of idx_leave_requests_account_end
+    @Query("SELECT lr FROM LeaveRequest lr WHERE lr.account.accountId = :accountId " +
+           "AND lr.requestType IN :types AND lr.status IN :statuses AND lr.endDate >= :from AND lr.startDate <= :to ORDER BY lr.startDate")
+    List<LeaveRequest> findOverlapping(@Param("accountId") Long accountId, @Param("types") Collection<String> types,
+                                       @Param("statuses") Collection<String> statuses, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // Everyone in the subtree rooted at rootId, the root included
+    @Query("SELECT lr FROM LeaveRequest lr JOIN FETCH lr.account a " +
+           "JOIN AccountHierarchy h ON h.descendantId = a.accountId " +
+           "WHERE h.ancestorId = :rootId AND lr.requestType IN :types AND lr.status IN :statuses " +
+           "AND lr.endDate >= :from AND lr.startDate <= :to ORDER BY lr.startDate, lr.requestId")
+    List<LeaveRequest> findTeamCalendar(@Param("rootId") Long rootId, @Param("types") Collection<String> types,
+                                        @Param("statuses") Collection<String> statuses, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT lr FROM LeaveRequest lr JOIN FETCH lr.account a LEFT JOIN FETCH a.department WHERE lr.requestId IN :ids")
+    List<LeaveRequest> findWithAccountByIdIn(@Param("ids") Collection<Long> ids);
 }
@@ -1,7 +1,12 @@
 package com.emsa.repository;
 
 import com.emsa.entity.PerformanceReview;
+import com.emsa.repository.projection.CycleReviewCount;
+import com.emsa.repository.projection.StatusCount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
@@ -10,4 +15,16 @@ public interface PerformanceReviewRepository extends JpaRepository<PerformanceRe
     List<PerformanceReview> findByEmployeeAccountId(Long employeeId);
     List<PerformanceReview> findByReviewerAccountId(Long reviewerId);
     List<PerformanceReview> findByStatus(String status);
+    boolean existsByCycleName(String cycleName);
+
+    @Query("SELECT r FROM PerformanceReview r WHERE :cursor IS NULL OR r.reviewId < :cursor ORDER BY r.reviewId DESC")
+    List<PerformanceReview> findPage(@Param("cursor") Long cursor, Pageable pageable);
+
+    @Query("SELECT r.cycleName AS cycleName, r.status AS status, COUNT(r) AS total FROM PerformanceReview r " +
+           "WHERE r.cycleName IS NOT NULL GROUP BY r.cycleName, r.status")
+    List<CycleReviewCount> countByCycleAndStatus();
+
+    @Query("SELECT r.status AS status, COUNT(r) AS total FROM PerformanceReview r " +
+           "WHERE r.cycleName = :cycleName GROUP BY r.status")
+    List<StatusCount> countByStatusInCycle(@Param("cycleName") String cycleName);
 }
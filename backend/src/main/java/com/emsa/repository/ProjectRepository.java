@@ -1,12 +1,28 @@
 package com.emsa.repository;
 
 import com.emsa.entity.Project;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
+
+    @Override
+    @EntityGraph(attributePaths = "manager")
+    List<Project> findAll();
+
+    @EntityGraph(attributePaths = "manager")
     List<Project> findByManagerAccountId(Long managerId);
+
     List<Project> findByStatus(String status);
+    long countByStatus(String status);
+    long countByManagerAccountId(Long managerId);
+
+    @Query("SELECT DISTINCT p FROM Task t JOIN t.project p LEFT JOIN FETCH p.manager " +
+           "WHERE t.assignedTo.accountId = :employeeId")
+    List<Project> findAssignedTo(@Param("employeeId") Long employeeId);
 }
@@ -0,0 +1,14 @@
+package com.emsa.repository;
+
+import com.emsa.entity.ReviewCycleLaunch;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ReviewCycleLaunchRepository extends JpaRepository<ReviewCycleLaunch, Long> {
+    List<ReviewCycleLaunch> findByCycleNameOrderByLaunchIdDesc(String cycleName);
+    List<ReviewCycleLaunch> findByStatus(String status);
+    boolean existsByCycleNameAndStatus(String cycleName, String status);
+}
@@ -0,0 +1,24 @@
+package com.emsa.repository;
+
+import com.emsa.entity.ReviewCycle;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface ReviewCycleRepository extends JpaRepository<ReviewCycle, String> {
+
+    // Taken by every review write: writers share it, closing the cycle waits for them and then shuts them out
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT c FROM ReviewCycle c WHERE c.cycleName = :cycleName")
+    Optional<ReviewCycle> findByIdForShare(@Param("cycleName") String cycleName);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM ReviewCycle c WHERE c.cycleName = :cycleName")
+    Optional<ReviewCycle> findByIdForUpdate(@Param("cycleName") String cycleName);
+}
@@ -1,13 +1,44 @@
 package com.emsa.repository;
 
 import com.emsa.entity.Task;
+import com.emsa.repository.projection.StatusCount;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface TaskRepository extends JpaRepository<Task, Long> {
     List<Task> findByAssignedToAccountId(Long accountId);
     List<Task> findByProjectProjectId(Long projectId);
     List<Task> findByAssignedByAccountId(Long assignedById);
+
+    @Query("SELECT t.status AS status, COUNT(t) AS total FROM Task t WHERE t.assignedTo.accountId = :accountId GROUP BY t.status")
+    List<StatusCount> countByAssigneeGroupByStatus(@Param("accountId") Long accountId);
+
+    @EntityGraph(attributePaths = "project")
+    List<Task> findByAssignedToAccountIdOrderByTaskIdDesc(Long accountId, Pageable pageable);
+
+    // Bulk update: an increment needs no read, and leaves the task version alone so it cannot conflict with edits
+    @Modifying
+    @Query("UPDATE Task t SET t.hoursLogged = COALESCE(t.hoursLogged, 0) + :hours WHERE t.taskId = :taskId")
+    int addHoursLogged(@Param("taskId") Long taskId, @Param("hours") Double hours);
+
+    // Holds off work-log increments until the caller commits, so the hours it reads stay current
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Task t WHERE t.taskId = :taskId")
+    Optional<Task> findByIdForUpdate(@Param("taskId") Long taskId);
+
+    @Query("SELECT t.hoursLogged FROM Task t WHERE t.taskId = :taskId")
+    Double findHoursLogged(@Param("taskId") Long taskId);
+
+    @Query("SELECT t FROM Task t WHERE :cursor IS NULL OR t.taskId < :cursor ORDER BY t.taskId DESC")
+    List<Task> findPage(@Param("cursor") Long cursor, Pageable pageable);
 }
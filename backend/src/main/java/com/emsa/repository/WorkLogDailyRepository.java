@@ -0,0 +1,37 @@
+package com.emsa.repository;
+
+import com.emsa.entity.WorkLogDaily;
+import com.emsa.repository.projection.TimesheetCell;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface WorkLogDailyRepository extends JpaRepository<WorkLogDaily, WorkLogDaily.Key> {
+
+    @Modifying
+    @Query(value = "INSERT INTO work_log_daily (account_id, project_id, work_date, hours, entries) " +
+                   "VALUES (:accountId, :projectId, :workDate, :hours, 1) " +
+                   "ON DUPLICATE KEY UPDATE hours = hours + VALUES(hours), entries = entries + 1",
+           nativeQuery = true)
+    void addHours(@Param("accountId") Long accountId, @Param("projectId") Long projectId,
+                  @Param("workDate") LocalDate workDate, @Param("hours") Double hours);
+
+    @Query("SELECT d.projectId AS rowId, p.projectName AS rowName, d.workDate AS workDate, d.hours AS hours " +
+           "FROM WorkLogDaily d LEFT JOIN Project p ON p.projectId = d.projectId " +
+           "WHERE d.accountId = :accountId AND d.workDate BETWEEN :from AND :to")
+    List<TimesheetCell> findEmployeeWeek(@Param("accountId") Long accountId,
+                                         @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    @Query("SELECT d.accountId AS rowId, CONCAT(a.firstName, ' ', a.lastName) AS rowName, d.workDate AS workDate, " +
+           "d.hours AS hours " +
+           "FROM WorkLogDaily d LEFT JOIN Account a ON a.accountId = d.accountId " +
+           "WHERE d.projectId = :projectId AND d.workDate BETWEEN :from AND :to")
+    List<TimesheetCell> findProjectWeek(@Param("projectId") Long projectId,
+                                        @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
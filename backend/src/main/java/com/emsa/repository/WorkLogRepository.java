@@ -0,0 +1,15 @@
+package com.emsa.repository;
+
+import com.emsa.entity.WorkLog;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface WorkLogRepository extends JpaRepository<WorkLog, Long> {
+
+    @EntityGraph(attributePaths = {"task", "account"})
+    List<WorkLog> findByTaskTaskIdOrderByLogIdDesc(Long taskId);
+}
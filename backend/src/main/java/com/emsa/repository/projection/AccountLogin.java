@@ -0,0 +1,15 @@
+package com.emsa.repository.projection;
+
+import com.emsa.entity.RoleName;
+
+/**
+ * The account fields a login needs. Immutable, so one cached instance can be handed to any thread;
+ * unlike the entity it has no version, lazy associations or persistence context behind it.
+ */
+public record AccountLogin(Long accountId, String username, String email, String passwordHash, RoleName role,
+                           String firstName, String lastName, Boolean isActive) {
+
+    public String fullName() {
+        return firstName + " " + lastName;
+    }
+}
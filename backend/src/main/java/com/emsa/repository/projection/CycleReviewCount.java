@@ -0,0 +1,7 @@
+package com.emsa.repository.projection;
+
+public interface CycleReviewCount {
+    String getCycleName();
+    String getStatus();
+    long getTotal();
+}
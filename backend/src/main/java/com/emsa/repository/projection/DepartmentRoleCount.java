@@ -0,0 +1,9 @@
+package com.emsa.repository.projection;
+
+import com.emsa.entity.RoleName;
+
+public interface DepartmentRoleCount {
+    Long getDepartmentId();
+    RoleName getRole();
+    long getTotal();
+}
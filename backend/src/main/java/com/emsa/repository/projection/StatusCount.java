@@ -0,0 +1,6 @@
+package com.emsa.repository.projection;
+
+public interface StatusCount {
+    String getStatus();
+    long getTotal();
+}
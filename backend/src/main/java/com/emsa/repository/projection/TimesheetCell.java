@@ -0,0 +1,11 @@
+package com.emsa.repository.projection;
+
+import java.time.LocalDate;
+
+/** One daily bucket of a timesheet; the row is a project or an employee depending on the query. */
+public interface TimesheetCell {
+    Long getRowId();
+    String getRowName();
+    LocalDate getWorkDate();
+    Double getHours();
+}
@@ -0,0 +1,412 @@
+package com.emsa.schedule;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Reminder, overdue and escalation events for tasks, KPIs and pending leave requests, fired from memory instead
+ * of by scanning those tables. Every open item dated within a window around today holds one slot, its next event,
+ * in a priority queue ordered by the day the event is due; a periodic tick pops the slots whose day has come.
+ * The window is read with a range scan of each due-date index at startup and nightly, capped at
+ * emsa.due.max-entries items, and services report committed changes through {@link #changed} so items enter,
+ * move or leave the queue as they happen. A slot is checked against its row before it fires, which also covers
+ * rows changed without a hook. Fired events are recorded in due_events under a unique key, so neither a restart
+ * nor a reload (nor a second instance) fires one twice.
+ */
+@Slf4j
+@Component
+public class DueDateScheduler {
+
+    private static final int FIRE_BATCH = 500;
+    private static final DueEventType[] TYPES = DueEventType.values();
+
+    private static final String INSERT_SQL = "INSERT INTO due_events (source, source_id, event_type, due_date, " +
+            "owner_id, fired_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private MeterRegistry meterRegistry;
+    @Autowired private List<DueEventHandler> handlers;
+
+    @Value("${emsa.due.reminder-days:2}")
+    private int reminderDays;
+
+    @Value("${emsa.due.escalation-days:3}")
+    private int escalationDays;
+
+    @Value("${emsa.due.catch-up-days:7}")
+    private int catchUpDays;
+
+    @Value("${emsa.due.horizon-days:14}")
+    private int horizonDays;
+
+    @Value("${emsa.due.max-entries:100000}")
+    private int maxEntries;
+
+    @Value("${emsa.due.retention-days:180}")
+    private int retentionDays;
+
+    // What "today" is; tests move it
+    Clock clock = Clock.systemDefaultZone();
+
+    private final Lock lock = new ReentrantLock();
+    private State state = new State(0, 0);
+    // Items changed while a reload is reading the window; re-read onto the new state before it goes live
+    private Set<Key> pending;
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("emsa.due.items", this, DueDateScheduler::size)
+                .description("Dated items with an event scheduled")
+                .register(meterRegistry);
+    }
+
+    /** Reschedules the item from its row once the current transaction commits; call after any change to it. */
+    public void changed(DueSource source, Long id) {
+        Key key = new Key(source, id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refresh(key);
+                }
+            });
+        } else {
+            refresh(key);
+        }
+    }
+
+    /** Reads the window of open items into a fresh queue without stopping the tick or updates, then swaps it in. */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${emsa.due.reload-cron}")
+    public int reload() {
+        lock.lock();
+        try {
+            if (pending != null) {
+                log.warn("Due-date scheduler reload already running");
+                return -1;
+            }
+            pending = new HashSet<>();
+        } finally {
+            lock.unlock();
+        }
+        long today = LocalDate.now(clock).toEpochDay();
+        State fresh;
+        try {
+            fresh = load(today);
+        } catch (RuntimeException e) {
+            lock.lock();
+            pending = null;
+            lock.unlock();
+            log.error("Due-date scheduler reload failed", e);
+            return -1;
+        }
+        lock.lock();
+        try {
+            for (Key key : pending) {
+                apply(fresh, key, read(key.source(), List.of(key.id())).get(key.id()), today);
+            }
+            pending = null;
+            state = fresh;
+        } finally {
+            lock.unlock();
+        }
+        int purged = jdbcTemplate.update("DELETE FROM due_events WHERE fired_at < ?",
+                Timestamp.valueOf(LocalDate.now(clock).minusDays(retentionDays).atStartOfDay()));
+        log.info("Due-date scheduler loaded {} items due {} to {}{}; purged {} old events", fresh.slots.size(),
+                LocalDate.ofEpochDay(fresh.fromDay), LocalDate.ofEpochDay(fresh.toDay - 1),
+                fresh.truncatedAt.isEmpty() ? "" : ", truncated for " + fresh.truncatedAt.keySet(), purged);
+        return fresh.slots.size();
+    }
+
+    @Scheduled(fixedDelayString = "${emsa.due.tick-ms:60000}")
+    public void tick() {
+        long today = LocalDate.now(clock).toEpochDay();
+        List<Slot> batch;
+        while (!(batch = poll(today)).isEmpty()) {
+            try {
+                fire(batch, today);
+            } catch (RuntimeException e) {
+                log.error("Firing due-date events failed; retrying on the next tick", e);
+                requeue(batch);
+                return;
+            }
+        }
+    }
+
+    public int size() {
+        lock.lock();
+        try {
+            return state.slots.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private State load(long today) {
+        State fresh = new State(today - catchUpDays - escalationDays - 1, today + reminderDays + horizonDays + 1);
+        int loaded = 0;
+        for (DueSource source : DueSource.values()) {
+            int limit = maxEntries - loaded;
+            List<Long> ids = new ArrayList<>();
+            List<Long> dueDays = new ArrayList<>();
+            if (limit > 0) {
+                jdbcTemplate.query(source.windowSql(), rs -> {
+                    ids.add(rs.getLong(1));
+                    dueDays.add(dueDay(rs, source));
+                }, bound(source, fresh.fromDay), bound(source, fresh.toDay), limit);
+            }
+            for (int i = 0; i < ids.size(); i++) {
+                fresh.put(new Key(source, ids.get(i)), firstSlot(source, ids.get(i), dueDays.get(i), today));
+            }
+            loaded += ids.size();
+            if (ids.size() == limit) {
+                // Later rows of this source wait for a reload with room for them
+                Last last = limit == 0 ? new Last(fresh.fromDay - 1, 0)
+                        : new Last(dueDays.get(limit - 1), ids.get(limit - 1));
+                fresh.truncatedAt.put(source, last);
+                if (limit == 0) {
+                    log.warn("Due-date scheduler is full: no {} items are scheduled", source);
+                } else {
+                    log.warn("Due-date scheduler is full: {} items due after {} are not scheduled", source,
+                            LocalDate.ofEpochDay(last.dueDay()));
+                }
+            }
+        }
+        return fresh;
+    }
+
+    private void refresh(Key key) {
+        long today = LocalDate.now(clock).toEpochDay();
+        // The row is read under the lock so that two commits to one item are applied in the order they were read
+        lock.lock();
+        try {
+            apply(state, key, read(key.source(), List.of(key.id())).get(key.id()), today);
+            if (pending != null) {
+                pending.add(key);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void apply(State s, Key key, Row row, long today) {
+        if (row == null || !s.covers(key, row.dueDay())) {
+            s.remove(key);
+            return;
+        }
+        Slot current = s.slots.get(key);
+        if (current == null || current.dueDay() != row.dueDay()) {
+            s.put(key, firstSlot(key.source(), key.id(), row.dueDay(), today));
+        }
+    }
+
+    private List<Slot> poll(long today) {
+        List<Slot> batch = new ArrayList<>();
+        lock.lock();
+        try {
+            PriorityQueue<Slot> queue = state.queue;
+            while (batch.size() < FIRE_BATCH && !queue.isEmpty() && queue.peek().day() <= today) {
+                Slot slot = queue.poll();
+                if (state.slots.get(slot.key()) == slot) {
+                    batch.add(slot);
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        return batch;
+    }
+
+    private void requeue(List<Slot> batch) {
+        lock.lock();
+        try {
+            batch.stream().filter(slot -> state.slots.get(slot.key()) == slot).forEach(state.queue::add);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void fire(List<Slot> batch, long today) {
+        Map<DueSource, Map<Long, Row>> rows = new EnumMap<>(DueSource.class);
+        Map<DueSource, List<Long>> ids = new EnumMap<>(DueSource.class);
+        batch.forEach(slot -> ids.computeIfAbsent(slot.key().source(), s -> new ArrayList<>()).add(slot.key().id()));
+        ids.forEach((source, sourceIds) -> rows.put(source, read(source, sourceIds)));
+
+        LocalDateTime now = LocalDateTime.now(clock);
+        for (Slot slot : batch) {
+            Key key = slot.key();
+            Row row = rows.get(key.source()).get(key.id());
+            if (row != null && row.dueDay() == slot.dueDay() && record(slot, row, now)) {
+                DueEvent event = new DueEvent(key.source(), key.id(), slot.type(), LocalDate.ofEpochDay(slot.dueDay()),
+                        row.ownerId(), now);
+                for (DueEventHandler handler : handlers) {
+                    try {
+                        handler.handle(event);
+                    } catch (RuntimeException e) {
+                        log.warn("Due event handler {} failed on {}", handler.getClass().getSimpleName(), event, e);
+                    }
+                }
+            }
+            lock.lock();
+            try {
+                if (state.slots.get(key) != slot) {
+                    continue; // changed or reloaded while firing
+                }
+                if (row == null || row.dueDay() != slot.dueDay()) {
+                    apply(state, key, row, today);
+                } else {
+                    state.put(key, slot.type().ordinal() + 1 < TYPES.length
+                            ? slot(key, TYPES[slot.type().ordinal() + 1], slot.dueDay()) : null);
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    // False if the event was already fired, before a restart or by another instance
+    private boolean record(Slot slot, Row row, LocalDateTime now) {
+        try {
+            jdbcTemplate.update(INSERT_SQL, slot.key().source().name(), slot.key().id(), slot.type().name(),
+                    Date.valueOf(LocalDate.ofEpochDay(slot.dueDay())), row.ownerId(), Timestamp.valueOf(now));
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+        meterRegistry.counter("emsa.due.events", "source", slot.key().source().name(), "type", slot.type().name())
+                .increment();
+        return true;
+    }
+
+    // The latest event already due if it is within the catch-up period, otherwise the first one still to come
+    private Slot firstSlot(DueSource source, long id, long dueDay, long today) {
+        Key key = new Key(source, id);
+        Slot latestDue = null;
+        for (DueEventType type : TYPES) {
+            Slot slot = slot(key, type, dueDay);
+            if (slot.day() > today) {
+                return latestDue != null ? latestDue : slot;
+            }
+            latestDue = slot.day() >= today - catchUpDays ? slot : null;
+        }
+        return latestDue;
+    }
+
+    private Slot slot(Key key, DueEventType type, long dueDay) {
+        long overdueDay = dueDay + key.source().overdueOffset();
+        long day = switch (type) {
+            case REMINDER -> dueDay - reminderDays;
+            case OVERDUE -> overdueDay;
+            case ESCALATION -> overdueDay + escalationDays;
+        };
+        return new Slot(key, type, day, dueDay);
+    }
+
+    private Map<Long, Row> read(DueSource source, List<Long> ids) {
+        Map<Long, Row> rows = new HashMap<>();
+        jdbcTemplate.query(source.byIdSql(ids.size()), rs -> {
+            long owner = rs.getLong(3);
+            rows.put(rs.getLong(1), new Row(dueDay(rs, source), rs.wasNull() ? null : owner));
+        }, ids.toArray());
+        return rows;
+    }
+
+    private static long dueDay(ResultSet rs, DueSource source) throws SQLException {
+        LocalDate due = source.isDateTime() ? rs.getTimestamp(2).toLocalDateTime().toLocalDate()
+                : rs.getDate(2).toLocalDate();
+        return due.toEpochDay();
+    }
+
+    private static Object bound(DueSource source, long day) {
+        LocalDate date = LocalDate.ofEpochDay(day);
+        return source.isDateTime() ? Timestamp.valueOf(date.atStartOfDay()) : Date.valueOf(date);
+    }
+
+    private final class State {
+        final Map<Key, Slot> slots = new HashMap<>();
+        // Holds each item's current slot plus stale ones left by changes, which poll() skips
+        final PriorityQueue<Slot> queue = new PriorityQueue<>(Comparator.comparingLong(Slot::day));
+        // Items due in [fromDay, toDay) are scheduled, except past the last one loaded of a truncated source
+        final long fromDay;
+        final long toDay;
+        final Map<DueSource, Last> truncatedAt = new EnumMap<>(DueSource.class);
+
+        State(long fromDay, long toDay) {
+            this.fromDay = fromDay;
+            this.toDay = toDay;
+        }
+
+        boolean covers(Key key, long dueDay) {
+            if (dueDay < fromDay || dueDay >= toDay) {
+                return false;
+            }
+            Last last = truncatedAt.get(key.source());
+            return last == null || dueDay < last.dueDay() || (dueDay == last.dueDay() && key.id() <= last.id());
+        }
+
+        void put(Key key, Slot slot) {
+            if (slot == null) {
+                remove(key);
+                return;
+            }
+            if (!slots.containsKey(key) && slots.size() >= maxEntries) {
+                meterRegistry.counter("emsa.due.dropped").increment();
+                return;
+            }
+            slots.put(key, slot);
+            queue.add(slot);
+            if (queue.size() > 2 * slots.size() + 1024) {
+                queue.clear();
+                queue.addAll(slots.values());
+            }
+        }
+
+        void remove(Key key) {
+            slots.remove(key);
+        }
+    }
+
+    private record Key(DueSource source, long id) {
+    }
+
+    // The next event of one item: fires on day, for the item's due date dueDay
+    private record Slot(Key key, DueEventType type, long day, long dueDay) {
+    }
+
+    private record Row(long dueDay, Long ownerId) {
+    }
+
+    // Last row loaded from a source that did not fit
+    private record Last(long dueDay, long id) {
+    }
+}
@@ -0,0 +1,8 @@
+package com.emsa.schedule;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public record DueEvent(DueSource source, Long sourceId, DueEventType type, LocalDate dueDate, Long ownerId,
+                       LocalDateTime firedAt) {
+}
@@ -0,0 +1,10 @@
+package com.emsa.schedule;
+
+/**
+ * Receives the events fired by {@link DueDateScheduler}; every handler bean gets every event. An event reaches
+ * the handlers once, after it has been recorded in due_events, so a handler that fails is not retried.
+ */
+public interface DueEventHandler {
+
+    void handle(DueEvent event);
+}
@@ -0,0 +1,8 @@
+package com.emsa.schedule;
+
+/** Events of one dated item, in the order they fire. */
+public enum DueEventType {
+    REMINDER,
+    OVERDUE,
+    ESCALATION
+}
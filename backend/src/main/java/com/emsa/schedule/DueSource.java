@@ -0,0 +1,58 @@
+package com.emsa.schedule;
+
+/**
+ * The tables whose rows carry a date that events are scheduled from, with what makes a row still open. OVERDUE
+ * fires overdueOffset days after the date: the day after a task or KPI is due, but on the start date itself for
+ * a leave or WFH request that is still waiting for review.
+ */
+public enum DueSource {
+    TASK("tasks", "task_id", "due_date", "assigned_to_id", false,
+            "(status IS NULL OR status <> 'DONE')", 1),
+    KPI("kpis", "kpi_id", "due_date", "employee_id", true,
+            "(status IS NULL OR status IN ('PENDING', 'IN_PROGRESS'))", 1),
+    LEAVE("leave_requests", "request_id", "start_date", "account_id", false,
+            "status = 'PENDING' AND request_type IN ('LEAVE', 'WFH')", 0);
+
+    private final String table;
+    private final String idColumn;
+    private final String dueColumn;
+    private final String ownerColumn;
+    private final boolean dateTime;
+    private final String openCondition;
+    private final int overdueOffset;
+
+    DueSource(String table, String idColumn, String dueColumn, String ownerColumn, boolean dateTime,
+              String openCondition, int overdueOffset) {
+        this.table = table;
+        this.idColumn = idColumn;
+        this.dueColumn = dueColumn;
+        this.ownerColumn = ownerColumn;
+        this.dateTime = dateTime;
+        this.openCondition = openCondition;
+        this.overdueOffset = overdueOffset;
+    }
+
+    /** Open rows due in [?, ?), earliest first, at most ? of them: a range scan of the due-date index. */
+    String windowSql() {
+        return select() + " WHERE " + dueColumn + " >= ? AND " + dueColumn + " < ? AND " + openCondition +
+                " ORDER BY " + dueColumn + ", " + idColumn + " LIMIT ?";
+    }
+
+    /** The given rows if they are still open and dated. */
+    String byIdSql(int count) {
+        return select() + " WHERE " + idColumn + " IN (" + "?, ".repeat(count - 1) + "?) AND " + dueColumn +
+                " IS NOT NULL AND " + openCondition;
+    }
+
+    private String select() {
+        return "SELECT " + idColumn + ", " + dueColumn + ", " + ownerColumn + " FROM " + table;
+    }
+
+    boolean isDateTime() {
+        return dateTime;
+    }
+
+    int overdueOffset() {
+        return overdueOffset;
+    }
+}
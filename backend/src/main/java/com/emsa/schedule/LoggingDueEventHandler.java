@@ -0,0 +1,15 @@
+package com.emsa.schedule;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+public class LoggingDueEventHandler implements DueEventHandler {
+
+    @Override
+    public void handle(DueEvent event) {
+        log.info("{} {} {} (due {}, owner {})", event.source(), event.sourceId(), event.type(), event.dueDate(),
+                event.ownerId());
+    }
+}
@@ -0,0 +1,5 @@
+package com.emsa.search;
+
+public enum DocumentType {
+    ACCOUNT, PROJECT, TASK
+}
@@ -0,0 +1,116 @@
+package com.emsa.search;
+
+import java.util.Arrays;
+
+/**
+ * Document ordinals for one term, with the weight of the heaviest field the term occurs in; adding a document
+ * that is already listed replaces its weight. The entries are a sorted run followed by a short sorted tail: new
+ * ordinals append to the run, reused ones are inserted into the tail, and the two are merged once the tail grows
+ * past about the square root of the list. Removing a document only zeroes its weight; the holes are dropped at
+ * the next merge, so neither change moves the whole list.
+ */
+final class Postings {
+
+    private static final int MIN_TAIL = 16;
+
+    private int[] docs = new int[2];
+    private byte[] weights = new byte[2];
+    private int length;
+    private int head;
+    private int removed;
+
+    void add(int doc, int weight) {
+        if (head == length && (length == 0 || docs[length - 1] < doc)) {
+            ensureCapacity(length + 1);
+            docs[length] = doc;
+            weights[length] = (byte) weight;
+            head = ++length;
+            return;
+        }
+        int i = indexOf(doc);
+        if (i >= 0) {
+            if (weights[i] == 0) {
+                removed--;
+            }
+            weights[i] = (byte) weight;
+            return;
+        }
+        int at = -Arrays.binarySearch(docs, head, length, doc) - 1;
+        ensureCapacity(length + 1);
+        System.arraycopy(docs, at, docs, at + 1, length - at);
+        System.arraycopy(weights, at, weights, at + 1, length - at);
+        docs[at] = doc;
+        weights[at] = (byte) weight;
+        length++;
+        if (length - head > Math.max(MIN_TAIL, (int) Math.sqrt(length))) {
+            merge();
+        }
+    }
+
+    void remove(int doc) {
+        int i = indexOf(doc);
+        if (i >= 0 && weights[i] != 0) {
+            weights[i] = 0;
+            removed++;
+            if (removed > length / 4) {
+                merge();
+            }
+        }
+    }
+
+    /** Live documents. */
+    int size() {
+        return length - removed;
+    }
+
+    /** Slots to scan with {@link #doc} and {@link #weight}, including removed ones. */
+    int length() {
+        return length;
+    }
+
+    int doc(int i) {
+        return docs[i];
+    }
+
+    /** The document's weight, or 0 if it has been removed. */
+    int weight(int i) {
+        return weights[i];
+    }
+
+    private int indexOf(int doc) {
+        int i = Arrays.binarySearch(docs, 0, head, doc);
+        if (i < 0 && head < length) {
+            i = Arrays.binarySearch(docs, head, length, doc);
+        }
+        return i;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > docs.length) {
+            int grown = Math.max(capacity, docs.length * 2);
+            docs = Arrays.copyOf(docs, grown);
+            weights = Arrays.copyOf(weights, grown);
+        }
+    }
+
+    // Merges the run and the tail into one sorted run without the removed entries
+    private void merge() {
+        int live = size();
+        int[] mergedDocs = new int[Math.max(2, live)];
+        byte[] mergedWeights = new byte[mergedDocs.length];
+        int n = 0;
+        int a = 0;
+        int b = head;
+        while (a < head || b < length) {
+            int i = b == length || (a < head && docs[a] < docs[b]) ? a++ : b++;
+            if (weights[i] != 0) {
+                mergedDocs[n] = docs[i];
+                mergedWeights[n++] = weights[i];
+            }
+        }
+        docs = mergedDocs;
+        weights = mergedWeights;
+        length = head = n;
+        removed = 0;
+    }
+}
@@ -0,0 +1,44 @@
+package com.emsa.search;
+
+import lombok.Value;
+
+/**
+ * What the index knows about one searchable record. Text is indexed in three fields that weigh 3, 2 and 1 in
+ * the ranking; title and subtitle are also what a hit displays.
+ */
+@Value
+public class SearchDocument {
+    DocumentType type;
+    Long id;
+    String title;
+    String subtitle;
+    String keywords;
+    String body;
+
+    public String key() {
+        return key(type, id);
+    }
+
+    static String key(DocumentType type, Long id) {
+        return type.name() + ':' + id;
+    }
+
+    public static SearchDocument account(Long id, String firstName, String lastName, String username,
+                                         String email, String designation) {
+        return new SearchDocument(DocumentType.ACCOUNT, id, join(firstName, lastName), email,
+                join(username, email), designation);
+    }
+
+    public static SearchDocument project(Long id, String name, String status) {
+        return new SearchDocument(DocumentType.PROJECT, id, name, status, null, null);
+    }
+
+    public static SearchDocument task(Long id, String title, String description, String status) {
+        return new SearchDocument(DocumentType.TASK, id, title, status, null, description);
+    }
+
+    private static String join(String a, String b) {
+        if (a == null) return b;
+        return b == null ? a : a + ' ' + b;
+    }
+}
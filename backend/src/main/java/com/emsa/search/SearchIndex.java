@@ -0,0 +1,423 @@
+package com.emsa.search;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * In-memory inverted index over {@link SearchDocument}s. Every query token must match a document, either as a
+ * whole word, as the prefix of a word or, failing enough of those, through shared trigrams (typos and
+ * substrings). Matches in heavier fields and exact words rank first.
+ */
+@Component
+public class SearchIndex {
+
+    private static final int EXACT_BOOST = 3;
+    private static final int PREFIX_BOOST = 2;
+    private static final int MAX_QUERY_TOKENS = 8;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${emsa.search.max-prefix-terms:256}")
+    private int maxPrefixTerms;
+
+    @Value("${emsa.search.min-similarity:0.5}")
+    private double minSimilarity;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Segment segment = new Segment();
+    // Changes committed while a rebuild is loading; replayed onto the new segment before it goes live
+    private List<Consumer<Segment>> pending;
+    private final Queue<Scratch> scratches = new ConcurrentLinkedQueue<>();
+
+    @PostConstruct
+    void registerMetrics() {
+        Gauge.builder("emsa.search.documents", this, SearchIndex::size)
+                .description("Documents in the search index")
+                .register(meterRegistry);
+    }
+
+    public void index(SearchDocument document) {
+        Analyzed analyzed = analyze(document);
+        apply(s -> s.add(analyzed));
+    }
+
+    public void remove(DocumentType type, Long id) {
+        String key = SearchDocument.key(type, id);
+        apply(s -> s.remove(key));
+    }
+
+    private void apply(Consumer<Segment> change) {
+        lock.writeLock().lock();
+        try {
+            change.accept(segment);
+            if (pending != null) {
+                pending.add(change);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Builds a fresh segment from the loader's documents without blocking searches or updates, then swaps it in.
+     */
+    public int rebuild(Callable<Collection<SearchDocument>> loader) throws Exception {
+        lock.writeLock().lock();
+        try {
+            if (pending != null) {
+                throw new IllegalStateException("Search index rebuild already running");
+            }
+            pending = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        Segment fresh = new Segment();
+        try {
+            for (SearchDocument document : loader.call()) {
+                fresh.add(analyze(document));
+            }
+        } catch (Exception e) {
+            lock.writeLock().lock();
+            pending = null;
+            lock.writeLock().unlock();
+            throw e;
+        }
+        lock.writeLock().lock();
+        try {
+            pending.forEach(change -> change.accept(fresh));
+            pending = null;
+            segment = fresh;
+            return fresh.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return segment.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public List<Result> search(String query, Set<DocumentType> types, int limit) {
+        List<String> tokens = TextAnalyzer.tokens(query).stream().limit(MAX_QUERY_TOKENS).toList();
+        if (tokens.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        Scratch scratch = acquireScratch(segment.capacity());
+        try {
+            for (int t = 0; t < tokens.size(); t++) {
+                segment.match(tokens.get(t), limit, scratch);
+                if (t == 0) {
+                    scratch.keepHits();
+                } else {
+                    scratch.intersectHits();
+                }
+                scratch.clearHits();
+                if (scratch.candidateCount == 0) {
+                    return List.of();
+                }
+            }
+            // Min-heap of the best k so far; ties go to the higher ordinal. A candidate that cannot enter is
+            // rejected before a Result is allocated for it.
+            PriorityQueue<Result> top = new PriorityQueue<>(limit + 1, RANKING.reversed());
+            for (int i = 0; i < scratch.candidateCount; i++) {
+                int ordinal = scratch.candidates[i];
+                float score = scratch.scores[i];
+                if (top.size() == limit && !outranks(score, ordinal, top.peek())) {
+                    continue;
+                }
+                SearchDocument document = segment.document(ordinal);
+                if (types == null || types.isEmpty() || types.contains(document.getType())) {
+                    top.add(new Result(document, score, ordinal));
+                    if (top.size() > limit) {
+                        top.poll();
+                    }
+                }
+            }
+            List<Result> results = new ArrayList<>(top);
+            results.sort(RANKING);
+            return results;
+        } finally {
+            scratch.clearHits();
+            scratches.offer(scratch);
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean outranks(float score, int ordinal, Result weakest) {
+        return score > weakest.score() || (score == weakest.score() && ordinal > weakest.ordinal());
+    }
+
+    private Scratch acquireScratch(int capacity) {
+        Scratch scratch = scratches.poll();
+        if (scratch == null) {
+            scratch = new Scratch();
+        }
+        scratch.ensureCapacity(capacity);
+        return scratch;
+    }
+
+    private static final Comparator<Result> RANKING = Comparator.comparingDouble(Result::score).reversed()
+            .thenComparing(Comparator.comparingInt(Result::ordinal).reversed());
+
+    public record Result(SearchDocument document, float score, int ordinal) {
+    }
+
+    private static Analyzed analyze(SearchDocument document) {
+        Map<String, Integer> terms = new LinkedHashMap<>();
+        addTerms(terms, document.getTitle(), 3);
+        addTerms(terms, document.getKeywords(), 2);
+        addTerms(terms, document.getBody(), 1);
+        String[] names = terms.keySet().toArray(String[]::new);
+        byte[] weights = new byte[names.length];
+        for (int i = 0; i < names.length; i++) {
+            weights[i] = terms.get(names[i]).byteValue();
+        }
+        return new Analyzed(document, names, weights);
+    }
+
+    private static void addTerms(Map<String, Integer> terms, String text, int weight) {
+        for (String token : TextAnalyzer.tokens(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+
+    /** A document's distinct terms and their weights. Its grams are derived from the terms when needed. */
+    private record Analyzed(SearchDocument document, String[] terms, byte[] weights) {
+        Set<String> grams() {
+            Set<String> grams = new HashSet<>();
+            for (String term : terms) {
+                TextAnalyzer.addGrams(term, grams);
+            }
+            return grams;
+        }
+    }
+
+    /**
+     * Per-query working arrays indexed by ordinal, pooled so that a query allocates nothing per matching
+     * document. {@code best} holds the current token's score for each document in {@code hits}, {@code shared}
+     * its trigram count for each document in {@code grammed}; both are zeroed again after every token.
+     */
+    private static final class Scratch {
+        private float[] best = new float[0];
+        private int[] shared = new int[0];
+        private int[] hits = new int[64];
+        private int hitCount;
+        private int[] grammed = new int[64];
+        private int grammedCount;
+        private int[] candidates = new int[64];
+        private float[] scores = new float[64];
+        private int candidateCount;
+
+        void ensureCapacity(int capacity) {
+            if (best.length < capacity) {
+                best = new float[capacity + capacity / 8];
+                shared = new int[best.length];
+            }
+        }
+
+        void hit(int doc, float score) {
+            if (best[doc] == 0) {
+                hits = push(hits, hitCount++, doc);
+            }
+            if (score > best[doc]) {
+                best[doc] = score;
+            }
+        }
+
+        void gram(int doc) {
+            if (shared[doc]++ == 0) {
+                grammed = push(grammed, grammedCount++, doc);
+            }
+        }
+
+        void keepHits() {
+            if (candidates.length < hitCount) {
+                candidates = new int[hitCount];
+                scores = new float[hitCount];
+            }
+            for (int i = 0; i < hitCount; i++) {
+                candidates[i] = hits[i];
+                scores[i] = best[hits[i]];
+            }
+            candidateCount = hitCount;
+        }
+
+        void intersectHits() {
+            int kept = 0;
+            for (int i = 0; i < candidateCount; i++) {
+                float score = best[candidates[i]];
+                if (score > 0) {
+                    candidates[kept] = candidates[i];
+                    scores[kept++] = scores[i] + score;
+                }
+            }
+            candidateCount = kept;
+        }
+
+        void clearHits() {
+            for (int i = 0; i < hitCount; i++) {
+                best[hits[i]] = 0;
+            }
+            hitCount = 0;
+        }
+
+        private static int[] push(int[] list, int at, int value) {
+            if (at == list.length) {
+                list = Arrays.copyOf(list, at * 2);
+            }
+            list[at] = value;
+            return list;
+        }
+    }
+
+    /** One generation of the index. Not thread-safe; guarded by the outer lock. */
+    private class Segment {
+        private final Map<String, Integer> ordinals = new HashMap<>();
+        private final List<Analyzed> documents = new ArrayList<>();
+        private final TreeMap<String, Postings> terms = new TreeMap<>();
+        private final Map<String, Postings> grams = new HashMap<>();
+        // Ordinals of removed documents, handed out again before the list grows
+        private int[] free = new int[16];
+        private int freeCount;
+
+        int size() {
+            return ordinals.size();
+        }
+
+        /** One past the highest ordinal in use. */
+        int capacity() {
+            return documents.size();
+        }
+
+        SearchDocument document(int ordinal) {
+            return documents.get(ordinal).document();
+        }
+
+        // An update keeps the document's ordinal, so only the terms and grams it gained or lost touch the postings
+        void add(Analyzed analyzed) {
+            String key = analyzed.document().key();
+            Set<String> addedGrams = analyzed.grams();
+            Integer existing = ordinals.get(key);
+            int ordinal;
+            if (existing != null) {
+                ordinal = existing;
+                Analyzed previous = documents.set(ordinal, analyzed);
+                Set<String> kept = new HashSet<>(Arrays.asList(analyzed.terms()));
+                for (String term : previous.terms()) {
+                    if (!kept.contains(term)) {
+                        unpost(terms, term, ordinal);
+                    }
+                }
+                for (String gram : previous.grams()) {
+                    if (!addedGrams.contains(gram)) {
+                        unpost(grams, gram, ordinal);
+                    }
+                }
+            } else if (freeCount > 0) {
+                ordinal = free[--freeCount];
+                documents.set(ordinal, analyzed);
+            } else {
+                ordinal = documents.size();
+                documents.add(analyzed);
+            }
+            ordinals.put(key, ordinal);
+            for (int i = 0; i < analyzed.terms().length; i++) {
+                terms.computeIfAbsent(analyzed.terms()[i], t -> new Postings()).add(ordinal, analyzed.weights()[i]);
+            }
+            addedGrams.forEach(gram -> grams.computeIfAbsent(gram, g -> new Postings()).add(ordinal, 1));
+        }
+
+        void remove(String key) {
+            Integer ordinal = ordinals.remove(key);
+            if (ordinal == null) {
+                return;
+            }
+            Analyzed analyzed = documents.set(ordinal, null);
+            for (String term : analyzed.terms()) {
+                unpost(terms, term, ordinal);
+            }
+            analyzed.grams().forEach(gram -> unpost(grams, gram, ordinal));
+            if (freeCount == free.length) {
+                free = Arrays.copyOf(free, freeCount * 2);
+            }
+            free[freeCount++] = ordinal;
+        }
+
+        private void unpost(Map<String, Postings> index, String key, int ordinal) {
+            Postings postings = index.get(key);
+            postings.remove(ordinal);
+            if (postings.size() == 0) {
+                index.remove(key);
+            }
+        }
+
+        // Leaves each matching document's best score for the token in the scratch's hits
+        void match(String token, int wanted, Scratch scratch) {
+            Postings exact = terms.get(token);
+            if (exact != null) {
+                collect(exact, EXACT_BOOST, scratch);
+            }
+            int expanded = 0;
+            for (Postings postings : terms.subMap(token, false, token + Character.MAX_VALUE, false).values()) {
+                if (++expanded > maxPrefixTerms) {
+                    break;
+                }
+                collect(postings, PREFIX_BOOST, scratch);
+            }
+            if (scratch.hitCount < wanted && token.length() >= TextAnalyzer.GRAM) {
+                matchGrams(token, scratch);
+            }
+        }
+
+        private void collect(Postings postings, int boost, Scratch scratch) {
+            for (int i = 0; i < postings.length(); i++) {
+                int weight = postings.weight(i);
+                if (weight != 0) {
+                    scratch.hit(postings.doc(i), (float) weight * boost);
+                }
+            }
+        }
+
+        private void matchGrams(String token, Scratch scratch) {
+            Set<String> queryGrams = new HashSet<>();
+            TextAnalyzer.addGrams(token, queryGrams);
+            for (String gram : queryGrams) {
+                Postings postings = grams.get(gram);
+                if (postings != null) {
+                    for (int i = 0; i < postings.length(); i++) {
+                        if (postings.weight(i) != 0) {
+                            scratch.gram(postings.doc(i));
+                        }
+                    }
+                }
+            }
+            for (int i = 0; i < scratch.grammedCount; i++) {
+                int doc = scratch.grammed[i];
+                float similarity = (float) scratch.shared[doc] / queryGrams.size();
+                scratch.shared[doc] = 0;
+                if (similarity >= minSimilarity) {
+                    scratch.hit(doc, similarity);
+                }
+            }
+            scratch.grammedCount = 0;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.emsa.search;
+
+import com.emsa.entity.Account;
+import com.emsa.entity.Project;
+import com.emsa.entity.Task;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Keeps {@link SearchIndex} in step with the indexed entities. Changes reach the index only once their
+ * transaction commits, so a rolled-back save never shows up in search results.
+ */
+public class SearchIndexListener {
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @PostPersist
+    @PostUpdate
+    void saved(Object entity) {
+        SearchDocument document = toDocument(entity);
+        afterCommit(() -> searchIndex.index(document));
+    }
+
+    @PostRemove
+    void removed(Object entity) {
+        SearchDocument document = toDocument(entity);
+        afterCommit(() -> searchIndex.remove(document.getType(), document.getId()));
+    }
+
+    static SearchDocument toDocument(Object entity) {
+        if (entity instanceof Account a) {
+            return SearchDocument.account(a.getAccountId(), a.getFirstName(), a.getLastName(), a.getUsername(),
+                    a.getEmail(), a.getDesignation());
+        }
+        if (entity instanceof Project p) {
+            return SearchDocument.project(p.getProjectId(), p.getProjectName(), p.getStatus());
+        }
+        if (entity instanceof Task t) {
+            return SearchDocument.task(t.getTaskId(), t.getTitle(), t.getDescription(), t.getStatus());
+        }
+        throw new IllegalArgumentException("Not a searchable entity: " + entity.getClass().getName());
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.emsa.search;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/** Lower-cases, strips accents and splits on anything that is not a letter or digit. */
+final class TextAnalyzer {
+
+    static final int GRAM = 3;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+
+    private TextAnalyzer() {
+    }
+
+    static Set<String> tokens(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+        String folded = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        int start = -1;
+        for (int i = 0; i <= folded.length(); i++) {
+            boolean word = i < folded.length() && Character.isLetterOrDigit(folded.charAt(i));
+            if (word && start < 0) {
+                start = i;
+            } else if (!word && start >= 0) {
+                tokens.add(folded.substring(start, i));
+                start = -1;
+            }
+        }
+        return tokens;
+    }
+
+    static void addGrams(String token, Set<String> grams) {
+        for (int i = 0; i + GRAM <= token.length(); i++) {
+            grams.add(token.substring(i, i + GRAM));
+        }
+    }
+}
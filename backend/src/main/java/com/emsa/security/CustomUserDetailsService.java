@@ -1,7 +1,7 @@
 package com.emsa.security;
 
-import com.emsa.entity.Account;
 import com.emsa.repository.AccountRepository;
+import com.emsa.repository.projection.AccountLogin;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.*;
@@ -19,18 +19,18 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Account account = accountRepository.findByUsername(username)
+        AccountLogin account = accountRepository.findLoginByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
-        if (!account.getIsActive()) {
+        if (!account.isActive()) {
             throw new UsernameNotFoundException("Account is deactivated: " + username);
         }
 
         return User.builder()
-                .username(account.getUsername())
-                .password(account.getPasswordHash())
+                .username(account.username())
+                .password(account.passwordHash())
                 .authorities(Collections.singletonList(
-                        new SimpleGrantedAuthority("ROLE_" + account.getRole().name())))
+                        new SimpleGrantedAuthority("ROLE_" + account.role().name())))
                 .build();
     }
 }
@@ -26,20 +26,14 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
                                     FilterChain filterChain) throws ServletException, IOException {
         String jwt = getJwtFromRequest(request);
 
-        if (StringUtils.hasText(jwt) && jwtTokenProvider.validateToken(jwt)) {
-            String username = jwtTokenProvider.getUsernameFromJWT(jwt);
-            java.util.List<String> authorities = jwtTokenProvider.getAuthoritiesFromJWT(jwt);
-            
-            // Convert authorities to GrantedAuthority objects
-            java.util.List<org.springframework.security.core.GrantedAuthority> grantedAuthorities = 
-                authorities.stream()
-                    .map(auth -> new org.springframework.security.core.authority.SimpleGrantedAuthority(auth))
-                    .collect(java.util.stream.Collectors.toList());
-            
-            UsernamePasswordAuthenticationToken authentication =
-                    new UsernamePasswordAuthenticationToken(username, null, grantedAuthorities);
-            authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-            SecurityContextHolder.getContext().setAuthentication(authentication);
+        if (StringUtils.hasText(jwt)) {
+            JwtPrincipal principal = jwtTokenProvider.getVerifiedPrincipal(jwt);
+            if (principal != null) {
+                UsernamePasswordAuthenticationToken authentication =
+                        new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+                authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                SecurityContextHolder.getContext().setAuthentication(authentication);
+            }
         }
 
         filterChain.doFilter(request, response);
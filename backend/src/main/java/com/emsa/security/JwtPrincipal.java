@@ -0,0 +1,42 @@
+package com.emsa.security;
+
+import com.emsa.entity.RoleName;
+import lombok.Getter;
+import org.springframework.security.core.AuthenticatedPrincipal;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Immutable result of verifying a JWT once: who the caller is and what they may do.
+ * Controllers receive it with {@code @AuthenticationPrincipal}.
+ */
+@Getter
+public final class JwtPrincipal implements AuthenticatedPrincipal {
+
+    private final String username;
+    private final Long accountId;
+    private final RoleName role;
+    private final List<GrantedAuthority> authorities;
+    private final Instant expiresAt;
+
+    public JwtPrincipal(String username, Long accountId, RoleName role,
+                        List<GrantedAuthority> authorities, Instant expiresAt) {
+        this.username = username;
+        this.accountId = accountId;
+        this.role = role;
+        this.authorities = List.copyOf(authorities);
+        this.expiresAt = expiresAt;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -1,14 +1,30 @@
 package com.emsa.security;
 
+import com.emsa.entity.RoleName;
+import com.emsa.repository.projection.AccountLogin;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
@@ -19,72 +35,120 @@ public class JwtTokenProvider {
     @Value("${emsa.jwt.expiration}")
     private long jwtExpiration;
 
-    private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(jwtSecret.getBytes());
+    @Value("${emsa.jwt.cache-size:10000}")
+    private long cacheSize;
+
+    private Key signingKey;
+    private JwtParser jwtParser;
+
+    // Verified principals keyed by token digest; an entry never outlives its token.
+    private Cache<String, JwtPrincipal> verifiedTokens;
+
+    @PostConstruct
+    void init() {
+        signingKey = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        jwtParser = Jwts.parserBuilder()
+                .setSigningKey(signingKey)
+                .build();
+        verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfter(new Expiry<String, JwtPrincipal>() {
+                    @Override
+                    public long expireAfterCreate(String key, JwtPrincipal principal, long currentTime) {
+                        long remaining = principal.getExpiresAt().toEpochMilli() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remaining));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, JwtPrincipal principal, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
     }
 
-    public String generateToken(Authentication authentication) {
+    public String generateToken(Authentication authentication, AccountLogin account) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpiration);
 
         return Jwts.builder()
                 .setSubject(userPrincipal.getUsername())
+                .claim("accountId", account.accountId())
+                .claim("role", account.role().name())
                 .claim("authorities", userPrincipal.getAuthorities()
                         .stream()
                         .map(auth -> auth.getAuthority())
                         .toList())
                 .setIssuedAt(now)
                 .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
+                .signWith(signingKey, SignatureAlgorithm.HS512)
                 .compact();
     }
 
-    public String generateTokenFromUsername(String username) {
-        Date now = new Date();
-        Date expiryDate = new Date(now.getTime() + jwtExpiration);
+    /**
+     * Verifies the token and returns its principal, or {@code null} if the token is invalid, expired
+     * or was issued before tokens carried the account id.
+     * The signature is checked once per distinct token; later calls are served from the cache.
+     */
+    public JwtPrincipal getVerifiedPrincipal(String token) {
+        String key = digest(token);
+        JwtPrincipal cached = verifiedTokens.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        JwtPrincipal principal = parse(token);
+        if (principal != null) {
+            verifiedTokens.put(key, principal);
+        }
+        return principal;
+    }
 
-        return Jwts.builder()
-                .setSubject(username)
-                .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(getSigningKey(), SignatureAlgorithm.HS512)
-                .compact();
+    public boolean validateToken(String authToken) {
+        return getVerifiedPrincipal(authToken) != null;
     }
 
-    public String getUsernameFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+    private JwtPrincipal parse(String token) {
+        try {
+            Claims claims = jwtParser.parseClaimsJws(token).getBody();
+            Object accountId = claims.get("accountId");
+            Object role = claims.get("role");
+            if (!(accountId instanceof Number) || role == null) {
+                return null;
+            }
+            return new JwtPrincipal(
+                    claims.getSubject(),
+                    ((Number) accountId).longValue(),
+                    RoleName.valueOf(role.toString()),
+                    toAuthorities(claims.get("authorities")),
+                    claims.getExpiration() != null
+                            ? claims.getExpiration().toInstant()
+                            : Instant.now().plusMillis(jwtExpiration));
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
+        }
     }
 
-    public java.util.List<String> getAuthoritiesFromJWT(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        Object authorities = claims.get("authorities");
-        if (authorities instanceof java.util.List) {
-            @SuppressWarnings("unchecked")
-            java.util.List<String> result = (java.util.List<String>) authorities;
-            return result;
+    private List<GrantedAuthority> toAuthorities(Object authorities) {
+        if (authorities instanceof List<?> names) {
+            return names.stream()
+                    .map(name -> (GrantedAuthority) new SimpleGrantedAuthority(String.valueOf(name)))
+                    .toList();
         }
-        return java.util.Collections.emptyList();
+        return Collections.emptyList();
     }
 
-    public boolean validateToken(String authToken) {
+    private static String digest(String token) {
         try {
-            Jwts.parserBuilder()
-                    .setSigningKey(getSigningKey())
-                    .build()
-                    .parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            return false;
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
         }
     }
 }
@@ -0,0 +1,18 @@
+package com.emsa.service;
+
+import java.util.Map;
+
+public interface AccountHierarchyService {
+    void addAccount(Long accountId, Long managerId);
+    void addAccounts(Map<Long, Long> managerIdsByAccountId);
+    boolean wouldCreateCycle(Long accountId, Long newManagerId);
+    void changeManager(Long accountId, Long newManagerId);
+    void removeAccount(Long accountId);
+    void rebuild();
+
+    /** Team queries take an optional depth: absent means direct reports only, 0 means the whole subtree. */
+    static int maxDepth(Integer depth) {
+        if (depth == null) return 1;
+        return depth <= 0 ? Integer.MAX_VALUE : depth;
+    }
+}
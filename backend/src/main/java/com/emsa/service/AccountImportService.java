@@ -0,0 +1,10 @@
+package com.emsa.service;
+
+import com.emsa.dto.response.AccountImportReport;
+import com.emsa.export.ExportFormat;
+
+import java.io.InputStream;
+
+public interface AccountImportService {
+    AccountImportReport importAccounts(InputStream body, ExportFormat format);
+}
@@ -2,21 +2,24 @@ package com.emsa.service;
 
 import com.emsa.dto.request.*;
 import com.emsa.dto.response.AccountResponse;
+import com.emsa.dto.response.CursorPage;
 
 import java.util.List;
 
 public interface AccountService {
     AccountResponse createAccount(CreateAccountRequest request);
     AccountResponse getAccountById(Long id);
-    AccountResponse getMyProfile(String username);
-    List<AccountResponse> getAllAccounts();
+    AccountResponse getMyProfile(Long accountId);
+    CursorPage<AccountResponse> getAllAccounts(String cursor, Integer size);
     List<AccountResponse> getAccountsByRole(String role);
     AccountResponse updateAccount(Long id, UpdateAccountRequest request);
-    AccountResponse updateMyProfile(String username, UpdateAccountRequest request);
+    AccountResponse updateMyProfile(Long accountId, UpdateAccountRequest request);
     void deactivateAccount(Long id);
     void activateAccount(Long id);
     void deleteAccount(Long id);
     void resetPassword(Long id, ResetPasswordRequest request);
-    void changeMyPassword(String username, ChangePasswordRequest request);
-    List<AccountResponse> getTeamMembers(String managerUsername);
+    void changeMyPassword(Long accountId, ChangePasswordRequest request);
+    List<AccountResponse> getTeamMembers(Long managerId, Integer depth);
+    List<AccountResponse> getSubordinates(Long accountId, Integer depth);
+    List<AccountResponse> getChainOfCommand(Long accountId);
 }
@@ -0,0 +1,8 @@
+package com.emsa.service;
+
+import com.emsa.dto.response.DashboardResponse;
+import com.emsa.entity.RoleName;
+
+public interface DashboardService {
+    DashboardResponse getDashboard(Long accountId, RoleName role);
+}
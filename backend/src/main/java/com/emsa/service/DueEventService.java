@@ -0,0 +1,10 @@
+package com.emsa.service;
+
+import com.emsa.dto.response.DueEventResponse;
+
+import java.util.List;
+
+public interface DueEventService {
+    List<DueEventResponse> getMyEvents(Long accountId, Integer days);
+    List<DueEventResponse> getTeamEvents(Long managerId, Integer days);
+}
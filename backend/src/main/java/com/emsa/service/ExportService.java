@@ -0,0 +1,11 @@
+package com.emsa.service;
+
+import com.emsa.dto.request.AuditLogFilter;
+import com.emsa.export.ExportFormat;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+public interface ExportService {
+    StreamingResponseBody exportAccounts(ExportFormat format, boolean gzip);
+    StreamingResponseBody exportTasks(ExportFormat format, boolean gzip);
+    StreamingResponseBody exportAuditLogs(AuditLogFilter filter, ExportFormat format, boolean gzip);
+}
@@ -0,0 +1,43 @@
+package com.emsa.service;
+
+import com.emsa.entity.Kpi;
+import com.emsa.entity.KpiRollup;
+
+import java.util.Collection;
+import java.util.Set;
+
+public interface KpiRollupService {
+
+    /** before is null for a new KPI, after is null for a deleted one. */
+    void kpiChanged(KpiSnapshot before, KpiSnapshot after);
+
+    void departmentChanged(Long accountId, Long oldDepartmentId, Long newDepartmentId);
+
+    /** Call around AccountHierarchyService.changeManager: the account's subtree leaves its old managers' rollups. */
+    void subtreeDetaching(Long accountId);
+
+    /** ...and joins the new managers' rollups. */
+    void subtreeAttached(Long accountId);
+
+    /**
+     * The rollups an account's deletion changes: its own, its managers' and department's, and those of everyone
+     * holding a KPI it assigned (deleted with it). Call before the deletion; {@link #recompute} them after it.
+     */
+    Set<KpiRollup.Key> scopesAffectedByRemoval(Long accountId);
+
+    /** Recomputes the given rollups from the kpis table as the current transaction sees it. */
+    void recompute(Collection<KpiRollup.Key> scopes);
+
+    void departmentDeleted(Long departmentId);
+
+    /** Recomputes every rollup from the kpis table and repairs the ones that drifted; returns how many. */
+    int reconcile();
+
+    /** The fields of a KPI that the rollups count. */
+    record KpiSnapshot(Long employeeId, Double attainment, boolean achieved) {
+
+        public static KpiSnapshot of(Kpi k) {
+            return new KpiSnapshot(k.getEmployee().getAccountId(), k.computeAttainment(), "ACHIEVED".equals(k.getStatus()));
+        }
+    }
+}
@@ -1,14 +1,24 @@
 package com.emsa.service;
 
+import com.emsa.dto.request.KpiMeasurementRequest;
 import com.emsa.dto.request.KpiRequest;
+import com.emsa.dto.response.KpiMeasurementResponse;
 import com.emsa.dto.response.KpiResponse;
+import com.emsa.dto.response.KpiRollupResponse;
+import com.emsa.entity.KpiRollupScope;
+import com.emsa.entity.RoleName;
 import java.util.List;
 
 public interface KpiService {
-    KpiResponse createKpi(String assignedByUsername, KpiRequest request);
+    KpiResponse createKpi(Long assignedById, KpiRequest request);
     KpiResponse getKpiById(Long id);
-    List<KpiResponse> getMyKpis(String username);
+    List<KpiResponse> getMyKpis(Long accountId);
     List<KpiResponse> getKpisByEmployee(Long employeeId);
-    KpiResponse updateKpi(Long id, KpiRequest request, String username);
+    List<KpiResponse> getTeamKpis(Long managerId, Integer depth);
+    KpiResponse updateKpi(Long id, KpiRequest request, Long accountId);
     void deleteKpi(Long id);
+    KpiMeasurementResponse recordMeasurement(Long kpiId, KpiMeasurementRequest request, Long accountId, RoleName role);
+    List<KpiMeasurementResponse> getMeasurements(Long kpiId);
+    KpiRollupResponse getRollup(KpiRollupScope scope, Long scopeId);
+    List<KpiRollupResponse> getRollups(KpiRollupScope scope, List<Long> scopeIds);
 }
@@ -2,14 +2,20 @@ package com.emsa.service;
 
 import com.emsa.dto.request.LeaveRequestDto;
 import com.emsa.dto.request.ReviewLeaveRequest;
+import com.emsa.dto.response.CursorPage;
+import com.emsa.dto.response.LeaveCalendarEntry;
 import com.emsa.dto.response.LeaveRequestResponse;
+import com.emsa.entity.RoleName;
+import java.time.LocalDate;
 import java.util.List;
 
 public interface LeaveService {
-    LeaveRequestResponse submitRequest(String username, LeaveRequestDto request);
+    LeaveRequestResponse submitRequest(Long accountId, LeaveRequestDto request);
     LeaveRequestResponse getRequestById(Long id);
-    List<LeaveRequestResponse> getMyRequests(String username);
-    List<LeaveRequestResponse> getAllRequests();
-    List<LeaveRequestResponse> getTeamRequests(String managerUsername);
-    LeaveRequestResponse reviewRequest(Long id, ReviewLeaveRequest request, String reviewerUsername);
+    List<LeaveRequestResponse> getMyRequests(Long accountId);
+    CursorPage<LeaveRequestResponse> getAllRequests(String cursor, Integer size);
+    List<LeaveRequestResponse> getTeamRequests(Long managerId, Integer depth);
+    LeaveRequestResponse reviewRequest(Long id, ReviewLeaveRequest request, Long reviewerId);
+    List<LeaveCalendarEntry> getCalendar(Long accountId, RoleName role, String scope, Long departmentId, LocalDate from, LocalDate to);
+    int rebuildCalendar();
 }
@@ -1,16 +1,17 @@
 package com.emsa.service;
 
 import com.emsa.dto.request.PerformanceReviewRequest;
+import com.emsa.dto.response.CursorPage;
 import com.emsa.dto.response.PerformanceReviewResponse;
 import java.util.List;
 
 public interface PerformanceReviewService {
-    PerformanceReviewResponse createReview(PerformanceReviewRequest request, String reviewerUsername);
+    PerformanceReviewResponse createReview(PerformanceReviewRequest request, Long reviewerId);
     PerformanceReviewResponse getReviewById(Long id);
-    List<PerformanceReviewResponse> getMyReviews(String username);
+    List<PerformanceReviewResponse> getMyReviews(Long accountId);
     List<PerformanceReviewResponse> getReviewsByEmployee(Long employeeId);
-    List<PerformanceReviewResponse> getAllReviews();
+    CursorPage<PerformanceReviewResponse> getAllReviews(String cursor, Integer size);
     PerformanceReviewResponse updateReview(Long id, PerformanceReviewRequest request);
-    PerformanceReviewResponse submitSelfAppraisal(Long reviewId, String selfAppraisal, String username);
+    PerformanceReviewResponse submitSelfAppraisal(Long reviewId, String selfAppraisal, Long accountId);
     void deleteReview(Long id);
 }
@@ -5,11 +5,11 @@ import com.emsa.dto.response.ProjectResponse;
 import java.util.List;
 
 public interface ProjectService {
-    ProjectResponse createProject(ProjectRequest request, String createdByUsername);
+    ProjectResponse createProject(ProjectRequest request, Long createdById);
     ProjectResponse getProjectById(Long id);
     List<ProjectResponse> getAllProjects();
-    List<ProjectResponse> getMyProjects(String managerUsername);
-    List<ProjectResponse> getAssignedProjects(String employeeUsername);
+    List<ProjectResponse> getMyProjects(Long managerId);
+    List<ProjectResponse> getAssignedProjects(Long employeeId);
     ProjectResponse updateProject(Long id, ProjectRequest request);
     void deleteProject(Long id);
 }
@@ -0,0 +1,28 @@
+package com.emsa.service;
+
+import com.emsa.entity.Task;
+
+import java.time.LocalDate;
+
+public interface ProjectStatsService {
+    void projectCreated(Long projectId);
+    void projectDeleted(Long projectId);
+
+    /** before is null for a new task, after is null for a deleted one. */
+    void taskChanged(TaskSnapshot before, TaskSnapshot after);
+    void hoursLogged(Long projectId, double hours);
+
+    /** Recomputes every project's row from its tasks and repairs the ones that drifted; returns how many. */
+    int reconcile();
+
+    /** The fields of a task that the rollup counts. */
+    record TaskSnapshot(Long projectId, String status, String priority, boolean overdue, double hours) {
+
+        public static TaskSnapshot of(Task t) {
+            boolean overdue = t.getDueDate() != null && t.getDueDate().isBefore(LocalDate.now())
+                    && !"DONE".equals(t.getStatus());
+            return new TaskSnapshot(t.getProject().getProjectId(), t.getStatus(), t.getPriority(), overdue,
+                    t.getHoursLogged() != null ? t.getHoursLogged() : 0.0);
+        }
+    }
+}
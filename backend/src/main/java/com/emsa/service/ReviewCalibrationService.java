@@ -0,0 +1,7 @@
+package com.emsa.service;
+
+import com.emsa.dto.response.ReviewCalibrationResponse;
+
+public interface ReviewCalibrationService {
+    ReviewCalibrationResponse getCalibration(String cycleName);
+}
@@ -0,0 +1,21 @@
+package com.emsa.service;
+
+import com.emsa.dto.request.ReviewCycleLaunchRequest;
+import com.emsa.dto.response.ReviewCycleLaunchResponse;
+import com.emsa.dto.response.ReviewCycleResponse;
+import com.emsa.entity.RoleName;
+
+import java.util.List;
+
+public interface ReviewCycleService {
+
+    /** Fails with a conflict if the cycle is closed; otherwise keeps it from closing until the caller commits. */
+    void requireOpen(String cycleName);
+
+    List<ReviewCycleResponse> getCycles();
+    ReviewCycleResponse closeCycle(String cycleName, Long accountId);
+    ReviewCycleLaunchResponse launchCycle(String cycleName, ReviewCycleLaunchRequest request, Long accountId, RoleName role);
+    ReviewCycleLaunchResponse resumeLaunch(Long launchId);
+    ReviewCycleLaunchResponse getLaunch(Long launchId);
+    List<ReviewCycleLaunchResponse> getLaunches(String cycleName);
+}
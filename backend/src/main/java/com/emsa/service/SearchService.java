@@ -0,0 +1,12 @@
+package com.emsa.service;
+
+import com.emsa.dto.response.SearchHit;
+import com.emsa.search.DocumentType;
+
+import java.util.List;
+import java.util.Set;
+
+public interface SearchService {
+    List<SearchHit> search(String query, Set<DocumentType> types, Integer limit);
+    int rebuildIndex();
+}
@@ -1,15 +1,16 @@
 package com.emsa.service;
 
 import com.emsa.dto.request.TaskRequest;
+import com.emsa.dto.response.CursorPage;
 import com.emsa.dto.response.TaskResponse;
 import java.util.List;
 
 public interface TaskService {
-    TaskResponse createTask(TaskRequest request, String assignedByUsername);
+    TaskResponse createTask(TaskRequest request, Long assignedById);
     TaskResponse getTaskById(Long id);
-    List<TaskResponse> getAllTasks();
-    List<TaskResponse> getMyTasks(String username);
+    CursorPage<TaskResponse> getAllTasks(String cursor, Integer size);
+    List<TaskResponse> getMyTasks(Long accountId);
     List<TaskResponse> getTasksByProject(Long projectId);
-    TaskResponse updateTask(Long id, TaskRequest request, String username);
+    TaskResponse updateTask(Long id, TaskRequest request, Long accountId);
     void deleteTask(Long id);
 }
@@ -0,0 +1,15 @@
+package com.emsa.service;
+
+import com.emsa.dto.request.WorkLogRequest;
+import com.emsa.dto.response.TimesheetResponse;
+import com.emsa.dto.response.WorkLogResponse;
+
+import java.time.LocalDate;
+import java.util.List;
+
+public interface WorkLogService {
+    WorkLogResponse logHours(Long accountId, WorkLogRequest request);
+    List<WorkLogResponse> getTaskLogs(Long taskId);
+    TimesheetResponse getEmployeeTimesheet(Long accountId, LocalDate weekOf);
+    TimesheetResponse getProjectTimesheet(Long projectId, LocalDate weekOf);
+}
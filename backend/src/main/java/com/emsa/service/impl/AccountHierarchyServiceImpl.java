@@ -0,0 +1,198 @@
+package com.emsa.service.impl;
+
+import com.emsa.exception.BadRequestException;
+import com.emsa.repository.AccountHierarchyRepository;
+import com.emsa.service.AccountHierarchyService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Keeps the account_hierarchy closure table in step with accounts.reporting_manager_id. Every change is a
+ * fixed number of set-based statements, so reads never have to walk the tree level by level. Each change first
+ * locks the accounts on the paths it touches (see {@link #lockPaths}), so two changes that could together
+ * create a cycle or corrupt the table run one after the other.
+ */
+@Slf4j
+@Service
+@Transactional
+public class AccountHierarchyServiceImpl implements AccountHierarchyService {
+
+    // Every ancestor of the manager (including the manager) above every node of the subtree (including its root)
+    private static final String LINK_SUBTREE_SQL =
+            "INSERT INTO account_hierarchy (ancestor_id, descendant_id, depth) " +
+            "SELECT sup.ancestor_id, sub.descendant_id, sup.depth + sub.depth + 1 " +
+            "FROM account_hierarchy sup CROSS JOIN account_hierarchy sub " +
+            "WHERE sup.descendant_id = ? AND sub.ancestor_id = ?";
+
+    private static final String INSERT_SELF_SQL =
+            "INSERT INTO account_hierarchy (ancestor_id, descendant_id, depth) VALUES (?, ?, 0)";
+
+    @Autowired private AccountHierarchyRepository accountHierarchyRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Override
+    public void addAccount(Long accountId, Long managerId) {
+        if (managerId != null) {
+            lockPaths(List.of(managerId));
+        }
+        jdbcTemplate.update(INSERT_SELF_SQL, accountId, accountId);
+        if (managerId != null) {
+            jdbcTemplate.update(LINK_SUBTREE_SQL, managerId, accountId);
+        }
+    }
+
+    /** New leaf accounts in bulk; every manager must already be in the hierarchy. */
+    @Override
+    public void addAccounts(Map<Long, Long> managerIdsByAccountId) {
+        List<Object[]> selfRows = new ArrayList<>(managerIdsByAccountId.size());
+        List<Object[]> links = new ArrayList<>();
+        Set<Long> managerIds = new HashSet<>();
+        managerIdsByAccountId.forEach((accountId, managerId) -> {
+            selfRows.add(new Object[]{accountId, accountId});
+            if (managerId != null) {
+                links.add(new Object[]{managerId, accountId});
+                managerIds.add(managerId);
+            }
+        });
+        if (!managerIds.isEmpty()) {
+            lockPaths(managerIds);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SELF_SQL, selfRows);
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(LINK_SUBTREE_SQL, links);
+        }
+    }
+
+    /** Unlocked pre-check; {@link #changeManager} repeats it under the locks before it changes anything. */
+    @Override
+    @Transactional(readOnly = true)
+    public boolean wouldCreateCycle(Long accountId, Long newManagerId) {
+        return newManagerId != null && (newManagerId.equals(accountId)
+                || accountHierarchyRepository.existsByAncestorIdAndDescendantId(accountId, newManagerId));
+    }
+
+    /** Moves the account together with everyone reporting to it under a new manager (or to the top if null). */
+    @Override
+    public void changeManager(Long accountId, Long newManagerId) {
+        Map<Long, Set<Long>> ancestors = lockPaths(newManagerId == null ? List.of(accountId)
+                : List.of(accountId, newManagerId));
+        if (newManagerId != null && (newManagerId.equals(accountId)
+                || ancestors.getOrDefault(newManagerId, Set.of()).contains(accountId))) {
+            throw new BadRequestException("Account " + newManagerId + " reports to account " + accountId +
+                    "; making it the manager would create a reporting cycle");
+        }
+        detachSubtree(accountId, ancestors.getOrDefault(accountId, Set.of()));
+        if (newManagerId != null) {
+            jdbcTemplate.update(LINK_SUBTREE_SQL, newManagerId, accountId);
+        }
+    }
+
+    /** Direct reports of a removed account move to the top of the chart, matching ON DELETE SET NULL. */
+    @Override
+    public void removeAccount(Long accountId) {
+        Map<Long, Set<Long>> ancestors = lockPaths(List.of(accountId));
+        detachSubtree(accountId, ancestors.getOrDefault(accountId, Set.of()));
+        List<Long> subtree = subtreeIds(accountId);
+        namedParameterJdbcTemplate.update(
+                "DELETE FROM account_hierarchy WHERE ancestor_id = :id AND descendant_id IN (:subtree)",
+                Map.of("id", accountId, "subtree", subtree));
+        jdbcTemplate.update("DELETE FROM account_hierarchy WHERE descendant_id = ?", accountId);
+    }
+
+    // Cuts every path that enters the subtree from above; paths inside the subtree stay as they are
+    private void detachSubtree(Long accountId, Set<Long> ancestors) {
+        if (ancestors.isEmpty()) {
+            return;
+        }
+        namedParameterJdbcTemplate.update(
+                "DELETE FROM account_hierarchy WHERE ancestor_id IN (:ancestors) AND descendant_id IN (:subtree)",
+                Map.of("ancestors", ancestors, "subtree", subtreeIds(accountId)));
+    }
+
+    /**
+     * Locks the accounts rows of the given accounts and of everyone above them, then returns each account's
+     * current ancestors (excluding itself). A move and a change that together would close a cycle both lock the
+     * account being moved, and anything moved inside a subtree also locks the subtree's root, so such changes
+     * queue up instead of each passing its check against the other's old state. The closure rows are read with
+     * FOR UPDATE, which sees what a change that held the locks committed rather than this transaction's
+     * snapshot; if that shows a path not yet locked, the new accounts are locked and the paths read again.
+     */
+    private Map<Long, Set<Long>> lockPaths(Collection<Long> accountIds) {
+        Set<Long> locked = new HashSet<>();
+        while (true) {
+            Map<Long, Set<Long>> ancestors = new HashMap<>();
+            Set<Long> path = new TreeSet<>(accountIds);
+            namedParameterJdbcTemplate.query(
+                    "SELECT descendant_id, ancestor_id, depth FROM account_hierarchy " +
+                    "WHERE descendant_id IN (:ids) FOR UPDATE", Map.of("ids", accountIds), rs -> {
+                        if (rs.getInt(3) > 0) {
+                            ancestors.computeIfAbsent(rs.getLong(1), id -> new HashSet<>()).add(rs.getLong(2));
+                            path.add(rs.getLong(2));
+                        }
+                    });
+            path.removeAll(locked);
+            if (path.isEmpty()) {
+                return ancestors;
+            }
+            namedParameterJdbcTemplate.queryForList(
+                    "SELECT account_id FROM accounts WHERE account_id IN (:ids) ORDER BY account_id FOR UPDATE",
+                    Map.of("ids", path), Long.class);
+            locked.addAll(path);
+        }
+    }
+
+    // Read under the locks taken by lockPaths, so it sees the latest committed subtree
+    private List<Long> subtreeIds(Long accountId) {
+        return jdbcTemplate.queryForList(
+                "SELECT descendant_id FROM account_hierarchy WHERE ancestor_id = ? FOR UPDATE", Long.class, accountId);
+    }
+
+    /**
+     * Recomputes the whole table from reporting_manager_id, one set-based INSERT per level of the chart.
+     * Accounts can be created outside the services (seed data, manual SQL), so this runs at startup whenever
+     * the table does not cover every account.
+     */
+    @Override
+    public void rebuild() {
+        jdbcTemplate.update("DELETE FROM account_hierarchy");
+        int accounts = jdbcTemplate.update(
+                "INSERT INTO account_hierarchy (ancestor_id, descendant_id, depth) SELECT account_id, account_id, 0 FROM accounts");
+        int depth = 1;
+        try {
+            while (depth <= accounts && jdbcTemplate.update(
+                    "INSERT INTO account_hierarchy (ancestor_id, descendant_id, depth) " +
+                    "SELECT h.ancestor_id, a.account_id, h.depth + 1 FROM accounts a " +
+                    "JOIN account_hierarchy h ON h.descendant_id = a.reporting_manager_id AND h.depth = ?", depth - 1) > 0) {
+                depth++;
+            }
+        } catch (DuplicateKeyException e) {
+            throw new IllegalStateException("accounts.reporting_manager_id contains a reporting cycle", e);
+        }
+        log.info("Rebuilt account hierarchy: {} accounts, {} levels", accounts, depth - 1);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfIncomplete() {
+        Long accounts = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM accounts", Long.class);
+        if (accounts == null || accounts != accountHierarchyRepository.countSelfRows()) {
+            rebuild();
+        }
+    }
+}
@@ -0,0 +1,387 @@
+package com.emsa.service.impl;
+
+import com.emsa.audit.Audited;
+import com.emsa.config.EvictAccountCaches;
+import com.emsa.dto.request.AccountImportRow;
+import com.emsa.dto.response.AccountImportReport;
+import com.emsa.entity.Account;
+import com.emsa.export.ExportFormat;
+import com.emsa.repository.AccountRepository;
+import com.emsa.repository.DepartmentRepository;
+import com.emsa.service.AccountHierarchyService;
+import com.emsa.service.AccountImportService;
+import com.emsa.util.Csv;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Streams an import file through fixed-size chunks: each chunk is validated against in-memory lookups,
+ * its passwords are hashed in parallel, and it is persisted in its own transaction as batched inserts.
+ * Memory use is bounded by the chunk size and the lookup maps, not by the file.
+ */
+@Service
+public class AccountImportServiceImpl implements AccountImportService {
+
+    private static final int MAX_REPORTED_ERRORS = 1000;
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private DepartmentRepository departmentRepository;
+    @Autowired private AccountHierarchyService accountHierarchyService;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private PasswordEncoder passwordEncoder;
+    @Autowired private ObjectMapper objectMapper;
+    @Autowired private Validator validator;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("passwordHashExecutor")
+    private ThreadPoolTaskExecutor passwordHashExecutor;
+
+    @Value("${emsa.import.chunk-size:500}")
+    private int chunkSize;
+
+    @Override
+    @EvictAccountCaches
+    @Audited(action = "IMPORT", entity = "Account")
+    public AccountImportReport importAccounts(InputStream body, ExportFormat format) {
+        long started = System.nanoTime();
+        ImportRun run = new ImportRun();
+        loadLookups(run);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8))) {
+            RowSource source = new RowSource(reader, format);
+            List<ParsedRow> chunk = new ArrayList<>(chunkSize);
+            ParsedRow row;
+            while ((row = source.next()) != null) {
+                run.totalRows++;
+                if (row.error != null) {
+                    run.fail(row.number, null, row.error);
+                } else if (validate(run, row)) {
+                    chunk.add(row);
+                }
+                if (chunk.size() == chunkSize) {
+                    insertChunk(run, chunk);
+                    chunk.clear();
+                }
+            }
+            insertChunk(run, chunk);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        linkDeferredManagers(run);
+
+        long elapsedNanos = System.nanoTime() - started;
+        meterRegistry.counter("emsa.import.accounts", "result", "imported").increment(run.imported);
+        meterRegistry.counter("emsa.import.accounts", "result", "failed").increment(run.failed);
+        meterRegistry.timer("emsa.import.accounts.duration").record(Duration.ofNanos(elapsedNanos));
+
+        double seconds = elapsedNanos / 1_000_000_000.0;
+        return AccountImportReport.builder()
+                .totalRows(run.totalRows)
+                .imported(run.imported)
+                .failed(run.failed)
+                .elapsedMs(elapsedNanos / 1_000_000)
+                .rowsPerSecond(seconds > 0 ? Math.round(run.totalRows / seconds * 10) / 10.0 : run.totalRows)
+                .errors(run.errors)
+                .errorsTruncated(run.errorsTruncated)
+                .build();
+    }
+
+    // Usernames and emails are keyed lower-case: the accounts table collation is case-insensitive
+    private void loadLookups(ImportRun run) {
+        jdbcTemplate.query("SELECT account_id, username, email FROM accounts", rs -> {
+            long id = rs.getLong(1);
+            run.accountIds.add(id);
+            run.accountIdsByUsername.put(rs.getString(2).toLowerCase(), id);
+            run.emails.add(rs.getString(3).toLowerCase());
+        });
+        jdbcTemplate.query("SELECT department_id, department_name FROM departments", rs -> {
+            long id = rs.getLong(1);
+            run.departmentIds.add(id);
+            run.departmentIdsByName.put(rs.getString(2).toLowerCase(), id);
+        });
+    }
+
+    private boolean validate(ImportRun run, ParsedRow parsed) {
+        AccountImportRow row = parsed.row;
+        Set<ConstraintViolation<AccountImportRow>> violations = validator.validate(row);
+        if (!violations.isEmpty()) {
+            run.fail(parsed.number, row.getUsername(), violations.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+            return false;
+        }
+        String username = row.getUsername().toLowerCase();
+        String email = row.getEmail().toLowerCase();
+        if (run.accountIdsByUsername.containsKey(username) || run.pendingUsernames.contains(username)) {
+            return run.fail(parsed.number, row.getUsername(), "Username already exists: " + row.getUsername());
+        }
+        if (run.emails.contains(email)) {
+            return run.fail(parsed.number, row.getUsername(), "Email already exists: " + row.getEmail());
+        }
+
+        if (row.getDepartmentId() != null) {
+            if (!run.departmentIds.contains(row.getDepartmentId())) {
+                return run.fail(parsed.number, row.getUsername(), "Department not found: " + row.getDepartmentId());
+            }
+            parsed.departmentId = row.getDepartmentId();
+        } else if (row.getDepartmentName() != null) {
+            parsed.departmentId = run.departmentIdsByName.get(row.getDepartmentName().toLowerCase());
+            if (parsed.departmentId == null) {
+                return run.fail(parsed.number, row.getUsername(), "Department not found: " + row.getDepartmentName());
+            }
+        }
+
+        if (row.getReportingManagerId() != null) {
+            if (!run.accountIds.contains(row.getReportingManagerId())) {
+                return run.fail(parsed.number, row.getUsername(), "Manager not found: " + row.getReportingManagerId());
+            }
+            parsed.managerId = row.getReportingManagerId();
+        } else if (row.getReportingManagerUsername() != null) {
+            // A manager further down the file (or in the same chunk) has no id yet; it is linked after the import
+            parsed.managerId = run.accountIdsByUsername.get(row.getReportingManagerUsername().toLowerCase());
+        }
+
+        run.pendingUsernames.add(username);
+        run.emails.add(email);
+        return true;
+    }
+
+    private void insertChunk(ImportRun run, List<ParsedRow> chunk) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<CompletableFuture<Void>> hashing = chunk.stream()
+                .map(row -> CompletableFuture.runAsync(
+                        () -> row.passwordHash = passwordEncoder.encode(row.row.getPassword()), passwordHashExecutor))
+                .toList();
+        CompletableFuture.allOf(hashing.toArray(CompletableFuture[]::new)).join();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(chunk));
+            chunk.forEach(run::registerInserted);
+        } catch (DataAccessException batchFailure) {
+            // Typically a unique key taken by a concurrent insert: redo the chunk row by row to find the culprit
+            for (ParsedRow row : chunk) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> persist(List.of(row)));
+                    run.registerInserted(row);
+                } catch (DataAccessException e) {
+                    run.pendingUsernames.remove(row.row.getUsername().toLowerCase());
+                    run.fail(row.number, row.row.getUsername(), "Insert failed: " + e.getMostSpecificCause().getMessage());
+                }
+            }
+        }
+        chunk.stream()
+                .filter(row -> row.managerId == null && row.row.getReportingManagerUsername() != null)
+                .forEach(run.deferred::add);
+    }
+
+    // Ids come from the pooled table generator, so Hibernate sends the chunk as JDBC batches on flush
+    private void persist(List<ParsedRow> rows) {
+        List<Account> accounts = new ArrayList<>(rows.size());
+        for (ParsedRow parsed : rows) {
+            AccountImportRow row = parsed.row;
+            accounts.add(Account.builder()
+                    .username(row.getUsername())
+                    .email(row.getEmail())
+                    .passwordHash(parsed.passwordHash)
+                    .role(row.getRole())
+                    .firstName(row.getFirstName())
+                    .lastName(row.getLastName())
+                    .phoneNumber(row.getPhoneNumber())
+                    .address(row.getAddress())
+                    .dateOfBirth(row.getDateOfBirth())
+                    .hireDate(row.getHireDate())
+                    .designation(row.getDesignation())
+                    .department(parsed.departmentId != null ? departmentRepository.getReferenceById(parsed.departmentId) : null)
+                    .reportingManager(parsed.managerId != null ? accountRepository.getReferenceById(parsed.managerId) : null)
+                    .emergencyContactName(row.getEmergencyContactName())
+                    .emergencyContactPhone(row.getEmergencyContactPhone())
+                    .isActive(true)
+                    .build());
+        }
+        accountRepository.saveAll(accounts);
+        Map<Long, Long> managerIds = new LinkedHashMap<>();
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).accountId = accounts.get(i).getAccountId();
+            managerIds.put(rows.get(i).accountId, rows.get(i).managerId);
+        }
+        accountHierarchyService.addAccounts(managerIds);
+    }
+
+    // Managers that appear later in the file; each link moves an already-linked subtree, so cycles are possible
+    private void linkDeferredManagers(ImportRun run) {
+        List<ParsedRow> links = new ArrayList<>();
+        for (ParsedRow row : run.deferred) {
+            Long accountId = run.accountIdsByUsername.get(row.row.getUsername().toLowerCase());
+            Long managerId = run.accountIdsByUsername.get(row.row.getReportingManagerUsername().toLowerCase());
+            if (accountId == null) {
+                continue;
+            }
+            if (managerId == null) {
+                run.warn(row.number, row.row.getUsername(),
+                        "Imported without a manager; not found: " + row.row.getReportingManagerUsername());
+            } else {
+                row.accountId = accountId;
+                row.managerId = managerId;
+                links.add(row);
+            }
+        }
+        if (links.isEmpty()) {
+            return;
+        }
+        transactionTemplate.executeWithoutResult(status -> {
+            for (ParsedRow row : links) {
+                if (accountHierarchyService.wouldCreateCycle(row.accountId, row.managerId)) {
+                    run.warn(row.number, row.row.getUsername(), "Imported without a manager; "
+                            + row.row.getReportingManagerUsername() + " already reports to this account");
+                    continue;
+                }
+                accountHierarchyService.changeManager(row.accountId, row.managerId);
+                accountRepository.updateReportingManager(row.accountId, accountRepository.getReferenceById(row.managerId));
+            }
+        });
+    }
+
+    private static class ParsedRow {
+        final int number;
+        final AccountImportRow row;
+        final String error;
+        String passwordHash;
+        Long accountId;
+        Long departmentId;
+        Long managerId;
+
+        ParsedRow(int number, AccountImportRow row, String error) {
+            this.number = number;
+            this.row = row;
+            this.error = error;
+        }
+    }
+
+    private static class ImportRun {
+        final Set<Long> accountIds = new HashSet<>();
+        final Map<String, Long> accountIdsByUsername = new HashMap<>();
+        final Set<String> pendingUsernames = new HashSet<>();
+        final Set<String> emails = new HashSet<>();
+        final Set<Long> departmentIds = new HashSet<>();
+        final Map<String, Long> departmentIdsByName = new HashMap<>();
+        final List<ParsedRow> deferred = new ArrayList<>();
+        final List<AccountImportReport.RowError> errors = new ArrayList<>();
+        boolean errorsTruncated;
+        int totalRows;
+        int imported;
+        int failed;
+
+        void registerInserted(ParsedRow row) {
+            String username = row.row.getUsername().toLowerCase();
+            accountIds.add(row.accountId);
+            accountIdsByUsername.put(username, row.accountId);
+            pendingUsernames.remove(username);
+            imported++;
+        }
+
+        boolean fail(int row, String username, String message) {
+            failed++;
+            warn(row, username, message);
+            return false;
+        }
+
+        void warn(int row, String username, String message) {
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new AccountImportReport.RowError(row, username, message));
+            } else {
+                errorsTruncated = true;
+            }
+        }
+    }
+
+    /** Reads rows one at a time; a row that cannot be parsed comes back with an error instead of a value. */
+    private class RowSource {
+        private final BufferedReader reader;
+        private final ExportFormat format;
+        private List<String> header;
+        private int number;
+
+        RowSource(BufferedReader reader, ExportFormat format) {
+            this.reader = reader;
+            this.format = format;
+        }
+
+        ParsedRow next() throws IOException {
+            return format == ExportFormat.CSV ? nextCsv() : nextNdjson();
+        }
+
+        private ParsedRow nextNdjson() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                if (line == null) {
+                    return null;
+                }
+            } while (line.isBlank());
+            number++;
+            try {
+                return new ParsedRow(number, objectMapper.readValue(line, AccountImportRow.class), null);
+            } catch (JsonProcessingException e) {
+                return new ParsedRow(number, null, "Unreadable row: " + e.getOriginalMessage());
+            }
+        }
+
+        private ParsedRow nextCsv() throws IOException {
+            if (header == null) {
+                header = Csv.readRecord(reader);
+                if (header == null) {
+                    return null;
+                }
+                header.replaceAll(String::trim);
+            }
+            List<String> record;
+            do {
+                record = Csv.readRecord(reader);
+                if (record == null) {
+                    return null;
+                }
+            } while (record.size() == 1 && record.get(0).isBlank());
+            number++;
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < header.size() && i < record.size(); i++) {
+                if (!record.get(i).isEmpty()) {
+                    values.put(header.get(i), record.get(i));
+                }
+            }
+            try {
+                return new ParsedRow(number, objectMapper.convertValue(values, AccountImportRow.class), null);
+            } catch (IllegalArgumentException e) {
+                String reason = e.getCause() instanceof JsonProcessingException cause ? cause.getOriginalMessage() : e.getMessage();
+                return new ParsedRow(number, null, "Unreadable row: " + reason);
+            }
+        }
+    }
+}
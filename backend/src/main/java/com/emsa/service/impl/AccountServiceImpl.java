@@ -1,21 +1,32 @@
 package com.emsa.service.impl;
 
+import com.emsa.audit.Audited;
+import com.emsa.config.CacheConfig;
+import com.emsa.config.EvictAccountCaches;
 import com.emsa.dto.request.*;
 import com.emsa.dto.response.AccountResponse;
+import com.emsa.dto.response.CursorPage;
 import com.emsa.entity.Account;
 import com.emsa.entity.Department;
+import com.emsa.entity.KpiRollup;
 import com.emsa.entity.RoleName;
 import com.emsa.exception.BadRequestException;
 import com.emsa.exception.ResourceNotFoundException;
+import com.emsa.leave.LeaveCalendarIndex;
 import com.emsa.repository.AccountRepository;
 import com.emsa.repository.DepartmentRepository;
+import com.emsa.service.AccountHierarchyService;
 import com.emsa.service.AccountService;
+import com.emsa.service.KpiRollupService;
+import com.emsa.util.CursorPaging;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,7 +42,21 @@ public class AccountServiceImpl implements AccountService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private CursorPaging cursorPaging;
+
+    @Autowired
+    private AccountHierarchyService accountHierarchyService;
+
+    @Autowired
+    private LeaveCalendarIndex leaveCalendarIndex;
+
+    @Autowired
+    private KpiRollupService kpiRollupService;
+
     @Override
+    @EvictAccountCaches
+    @Audited(action = "CREATE", entity = "Account", entityId = "#result.accountId")
     public AccountResponse createAccount(CreateAccountRequest request) {
         if (accountRepository.existsByUsername(request.getUsername())) {
             throw new BadRequestException("Username already exists: " + request.getUsername());
@@ -69,7 +94,10 @@ public class AccountServiceImpl implements AccountService {
             account.setReportingManager(manager);
         }
 
-        return toResponse(accountRepository.save(account));
+        Account saved = accountRepository.save(account);
+        accountHierarchyService.addAccount(saved.getAccountId(),
+                saved.getReportingManager() != null ? saved.getReportingManager().getAccountId() : null);
+        return toResponse(saved);
     }
 
     @Override
@@ -80,20 +108,21 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
-    public AccountResponse getMyProfile(String username) {
-        Account account = accountRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + username));
+    public AccountResponse getMyProfile(Long accountId) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", accountId));
         return toResponse(account);
     }
 
     @Override
-    public List<AccountResponse> getAllAccounts() {
-        return accountRepository.findAll().stream()
-                .map(this::toResponse)
-                .collect(Collectors.toList());
+    public CursorPage<AccountResponse> getAllAccounts(String cursor, Integer size) {
+        int pageSize = cursorPaging.pageSize(size);
+        List<Account> rows = accountRepository.findPage(cursorPaging.decode(cursor), cursorPaging.limit(pageSize));
+        return cursorPaging.toPage(rows, pageSize, Account::getAccountId, this::toResponse);
     }
 
     @Override
+    @Cacheable(cacheNames = CacheConfig.ACCOUNTS_BY_ROLE, key = "#role.toUpperCase()")
     public List<AccountResponse> getAccountsByRole(String role) {
         RoleName roleName = RoleName.valueOf(role.toUpperCase());
         return accountRepository.findByRole(roleName).stream()
@@ -102,6 +131,8 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
+    @EvictAccountCaches
+    @Audited(action = "UPDATE", entity = "Account", entityId = "#id")
     public AccountResponse updateAccount(Long id, UpdateAccountRequest request) {
         Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Account", id));
@@ -111,9 +142,11 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
-    public AccountResponse updateMyProfile(String username, UpdateAccountRequest request) {
-        Account account = accountRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + username));
+    @EvictAccountCaches
+    @Audited(action = "UPDATE", entity = "Account", entityId = "#accountId")
+    public AccountResponse updateMyProfile(Long accountId, UpdateAccountRequest request) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", accountId));
         // Employees can't change their own role, isActive status
         request.setRole(null);
         request.setIsActive(null);
@@ -138,17 +171,28 @@ public class AccountServiceImpl implements AccountService {
         if (request.getDepartmentId() != null) {
             Department dept = departmentRepository.findById(request.getDepartmentId())
                     .orElseThrow(() -> new ResourceNotFoundException("Department", request.getDepartmentId()));
+            Long oldDepartmentId = account.getDepartment() != null ? account.getDepartment().getDepartmentId() : null;
+            if (!dept.getDepartmentId().equals(oldDepartmentId)) {
+                leaveCalendarIndex.moveAccount(account.getAccountId(), dept.getDepartmentId());
+                kpiRollupService.departmentChanged(account.getAccountId(), oldDepartmentId, dept.getDepartmentId());
+            }
             account.setDepartment(dept);
         }
 
-        if (request.getReportingManagerId() != null) {
+        if (request.getReportingManagerId() != null && (account.getReportingManager() == null
+                || !request.getReportingManagerId().equals(account.getReportingManager().getAccountId()))) {
             Account manager = accountRepository.findById(request.getReportingManagerId())
                     .orElseThrow(() -> new ResourceNotFoundException("Manager", request.getReportingManagerId()));
+            kpiRollupService.subtreeDetaching(account.getAccountId());
+            accountHierarchyService.changeManager(account.getAccountId(), manager.getAccountId());
+            kpiRollupService.subtreeAttached(account.getAccountId());
             account.setReportingManager(manager);
         }
     }
 
     @Override
+    @EvictAccountCaches
+    @Audited(action = "DEACTIVATE", entity = "Account", entityId = "#id")
     public void deactivateAccount(Long id) {
         Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Account", id));
@@ -157,6 +201,8 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
+    @EvictAccountCaches
+    @Audited(action = "ACTIVATE", entity = "Account", entityId = "#id")
     public void activateAccount(Long id) {
         Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Account", id));
@@ -165,13 +211,22 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
+    @EvictAccountCaches
+    @Audited(action = "DELETE", entity = "Account", entityId = "#id")
     public void deleteAccount(Long id) {
         Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Account", id));
+        Set<KpiRollup.Key> rollups = kpiRollupService.scopesAffectedByRemoval(id);
+        accountHierarchyService.removeAccount(id);
+        accountRepository.clearReportingManager(id);
         accountRepository.delete(account);
+        accountRepository.flush();
+        kpiRollupService.recompute(rollups);
     }
 
     @Override
+    @EvictAccountCaches
+    @Audited(action = "RESET_PASSWORD", entity = "Account", entityId = "#id")
     public void resetPassword(Long id, ResetPasswordRequest request) {
         Account account = accountRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Account", id));
@@ -180,9 +235,11 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
-    public void changeMyPassword(String username, ChangePasswordRequest request) {
-        Account account = accountRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + username));
+    @EvictAccountCaches
+    @Audited(action = "CHANGE_PASSWORD", entity = "Account", entityId = "#accountId")
+    public void changeMyPassword(Long accountId, ChangePasswordRequest request) {
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", accountId));
         if (!passwordEncoder.matches(request.getCurrentPassword(), account.getPasswordHash())) {
             throw new BadRequestException("Current password is incorrect");
         }
@@ -191,10 +248,23 @@ public class AccountServiceImpl implements AccountService {
     }
 
     @Override
-    public List<AccountResponse> getTeamMembers(String managerUsername) {
-        Account manager = accountRepository.findByUsername(managerUsername)
-                .orElseThrow(() -> new ResourceNotFoundException("Manager not found: " + managerUsername));
-        return accountRepository.findByReportingManagerAccountId(manager.getAccountId()).stream()
+    public List<AccountResponse> getTeamMembers(Long managerId, Integer depth) {
+        return getSubordinates(managerId, depth);
+    }
+
+    @Override
+    public List<AccountResponse> getSubordinates(Long accountId, Integer depth) {
+        return accountRepository.findSubordinates(accountId, AccountHierarchyService.maxDepth(depth)).stream()
+                .map(this::toResponse)
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<AccountResponse> getChainOfCommand(Long accountId) {
+        if (!accountRepository.existsById(accountId)) {
+            throw new ResourceNotFoundException("Account", accountId);
+        }
+        return accountRepository.findChainOfCommand(accountId).stream()
                 .map(this::toResponse)
                 .collect(Collectors.toList());
     }
@@ -1,44 +1,64 @@
 package com.emsa.service.impl;
 
+import com.emsa.audit.AuditEvent;
+import com.emsa.audit.AuditLogWriter;
+import com.emsa.dto.request.AuditLogFilter;
 import com.emsa.dto.response.AuditLogResponse;
-import com.emsa.entity.Account;
+import com.emsa.dto.response.CursorPage;
 import com.emsa.entity.AuditLog;
-import com.emsa.repository.AccountRepository;
+import com.emsa.exception.BadRequestException;
 import com.emsa.repository.AuditLogRepository;
+import com.emsa.util.ClientIp;
+import com.emsa.util.CursorPaging;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
 public class AuditLogService {
 
     @Autowired private AuditLogRepository auditLogRepository;
-    @Autowired private AccountRepository accountRepository;
+    @Autowired private AuditLogWriter auditLogWriter;
+    @Autowired private CursorPaging cursorPaging;
 
-    public void log(String username, String action, String entityName, Long entityId, String details) {
-        Account account = accountRepository.findByUsername(username).orElse(null);
-        AuditLog log = AuditLog.builder()
-                .account(account)
+    // Queued for the background writer; never touches the database on the calling thread
+    public void log(Long accountId, String action, String entityName, Long entityId, String details) {
+        auditLogWriter.publish(AuditEvent.builder()
+                .accountId(accountId)
                 .action(action)
                 .entityName(entityName)
                 .entityId(entityId)
                 .details(details)
-                .build();
-        auditLogRepository.save(log);
+                .ipAddress(ClientIp.current())
+                .build());
+    }
+
+    public CursorPage<AuditLogResponse> getAllLogs(String cursor, Integer size) {
+        int pageSize = cursorPaging.pageSize(size);
+        List<AuditLog> rows = auditLogRepository.findPage(cursorPaging.decode(cursor), cursorPaging.limit(pageSize));
+        return cursorPaging.toPage(rows, pageSize, AuditLog::getLogId, this::toResponse);
     }
 
-    public List<AuditLogResponse> getAllLogs() {
-        return auditLogRepository.findAllByOrderByCreatedAtDesc().stream()
-                .map(this::toResponse).collect(Collectors.toList());
+    public CursorPage<AuditLogResponse> getLogsByAccount(Long accountId, String cursor, Integer size) {
+        return search(AuditLogFilter.builder().actorId(accountId).build(), cursor, size);
     }
 
-    public List<AuditLogResponse> getLogsByAccount(Long accountId) {
-        return auditLogRepository.findByAccountAccountIdOrderByCreatedAtDesc(accountId).stream()
-                .map(this::toResponse).collect(Collectors.toList());
+    public CursorPage<AuditLogResponse> search(AuditLogFilter filter, String cursor, Integer size) {
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        int pageSize = cursorPaging.pageSize(size);
+        if (filter.getFrom() != null || filter.getTo() != null) {
+            List<AuditLog> rows = auditLogRepository.searchByTime(filter, cursorPaging.decodeTimeKey(cursor),
+                    pageSize + 1);
+            return cursorPaging.toTimePage(rows, pageSize,
+                    log -> new CursorPaging.TimeKey(log.getCreatedAt(), log.getLogId()), this::toResponse);
+        }
+        List<AuditLog> rows = auditLogRepository.search(filter, cursorPaging.decode(cursor), pageSize + 1);
+        return cursorPaging.toPage(rows, pageSize, AuditLog::getLogId, this::toResponse);
     }
 
     private AuditLogResponse toResponse(AuditLog log) {
@@ -2,9 +2,9 @@ package com.emsa.service.impl;
 
 import com.emsa.dto.request.LoginRequest;
 import com.emsa.dto.response.AuthResponse;
-import com.emsa.entity.Account;
 import com.emsa.exception.ResourceNotFoundException;
 import com.emsa.repository.AccountRepository;
+import com.emsa.repository.projection.AccountLogin;
 import com.emsa.security.JwtTokenProvider;
 import com.emsa.service.AuthService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -32,19 +32,19 @@ public class AuthServiceImpl implements AuthService {
                 new UsernamePasswordAuthenticationToken(request.getUsername(), request.getPassword()));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
-        String jwt = jwtTokenProvider.generateToken(authentication);
 
-        Account account = accountRepository.findByUsername(request.getUsername())
+        AccountLogin account = accountRepository.findLoginByUsername(request.getUsername())
                 .orElseThrow(() -> new ResourceNotFoundException("Account", 0L));
+        String jwt = jwtTokenProvider.generateToken(authentication, account);
 
         return AuthResponse.builder()
                 .token(jwt)
                 .tokenType("Bearer")
-                .accountId(account.getAccountId())
-                .username(account.getUsername())
-                .email(account.getEmail())
-                .fullName(account.getFirstName() + " " + account.getLastName())
-                .role(account.getRole())
+                .accountId(account.accountId())
+                .username(account.username())
+                .email(account.email())
+                .fullName(account.fullName())
+                .role(account.role())
                 .build();
     }
 }
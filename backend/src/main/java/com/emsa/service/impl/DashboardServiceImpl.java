@@ -0,0 +1,151 @@
+package com.emsa.service.impl;
+
+import com.emsa.dto.response.DashboardResponse;
+import com.emsa.entity.RoleName;
+import com.emsa.repository.*;
+import com.emsa.repository.projection.StatusCount;
+import com.emsa.service.DashboardService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Builds the dashboard from aggregate queries that run concurrently on the dashboard executor. The response
+ * is sent once every query finished or the time budget ran out, whichever comes first; sections still
+ * missing by then are listed in {@code unavailable}.
+ */
+@Slf4j
+@Service
+public class DashboardServiceImpl implements DashboardService {
+
+    private static final int RECENT_TASKS = 5;
+    private static final int RECENT_REQUESTS = 3;
+    private static final Set<String> PENDING_TASK_STATUSES = Set.of("TODO", "IN_PROGRESS");
+
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private DepartmentRepository departmentRepository;
+    @Autowired private ProjectRepository projectRepository;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private LeaveRequestRepository leaveRequestRepository;
+
+    @Autowired
+    @Qualifier("dashboardExecutor")
+    private ThreadPoolTaskExecutor dashboardExecutor;
+
+    @Value("${emsa.dashboard.time-budget-ms:2000}")
+    private long timeBudgetMs;
+
+    @Override
+    public DashboardResponse getDashboard(Long accountId, RoleName role) {
+        Sections sections = new Sections();
+
+        if (role == RoleName.ADMIN) {
+            sections.add("totalAccounts", accountRepository::count, DashboardResponse::setTotalAccounts);
+            sections.add("totalDepartments", departmentRepository::count, DashboardResponse::setTotalDepartments);
+            sections.add("totalProjects", projectRepository::count, DashboardResponse::setTotalProjects);
+            sections.add("activeProjects", () -> projectRepository.countByStatus("ACTIVE"), DashboardResponse::setActiveProjects);
+        } else if (role == RoleName.MANAGER) {
+            sections.add("teamSize", () -> accountRepository.countByReportingManagerAccountId(accountId), DashboardResponse::setTeamSize);
+            sections.add("myProjects", () -> projectRepository.countByManagerAccountId(accountId), DashboardResponse::setMyProjects);
+        }
+
+        sections.add("tasks", () -> taskRepository.countByAssigneeGroupByStatus(accountId), (d, counts) -> {
+            d.setMyTasks(total(counts, null));
+            d.setPendingTasks(total(counts, PENDING_TASK_STATUSES));
+        });
+        sections.add("requests", () -> leaveRequestRepository.countByAccountGroupByStatus(accountId), (d, counts) -> {
+            d.setMyRequests(total(counts, null));
+            d.setPendingRequests(total(counts, Set.of("PENDING")));
+        });
+        sections.add("recentTasks", () -> taskRepository
+                .findByAssignedToAccountIdOrderByTaskIdDesc(accountId, PageRequest.of(0, RECENT_TASKS)).stream()
+                .map(t -> DashboardResponse.TaskSnippet.builder()
+                        .taskId(t.getTaskId())
+                        .title(t.getTitle())
+                        .projectName(t.getProject() != null ? t.getProject().getProjectName() : null)
+                        .status(t.getStatus())
+                        .build())
+                .toList(), DashboardResponse::setRecentTasks);
+        sections.add("recentRequests", () -> leaveRequestRepository
+                .findByAccountAccountIdOrderByRequestIdDesc(accountId, PageRequest.of(0, RECENT_REQUESTS)).stream()
+                .map(r -> DashboardResponse.RequestSnippet.builder()
+                        .requestId(r.getRequestId())
+                        .requestType(r.getRequestType())
+                        .status(r.getStatus())
+                        .startDate(r.getStartDate())
+                        .endDate(r.getEndDate())
+                        .description(r.getDescription() != null && r.getDescription().length() > 100
+                                ? r.getDescription().substring(0, 100) : r.getDescription())
+                        .build())
+                .toList(), DashboardResponse::setRecentRequests);
+
+        return sections.collect();
+    }
+
+    private static long total(List<StatusCount> counts, Set<String> statuses) {
+        return counts.stream()
+                .filter(c -> statuses == null || statuses.contains(c.getStatus()))
+                .mapToLong(StatusCount::getTotal)
+                .sum();
+    }
+
+    private class Sections {
+        private final long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeBudgetMs);
+        private final List<Section<?>> sections = new ArrayList<>();
+
+        <T> void add(String name, Supplier<T> query, BiConsumer<DashboardResponse, T> apply) {
+            CompletableFuture<T> future;
+            try {
+                future = CompletableFuture.supplyAsync(query, dashboardExecutor);
+            } catch (RuntimeException rejected) {
+                future = CompletableFuture.failedFuture(rejected);
+            }
+            sections.add(new Section<>(name, future, apply));
+        }
+
+        DashboardResponse collect() {
+            CompletableFuture<?>[] futures = sections.stream().map(Section::future).toArray(CompletableFuture[]::new);
+            try {
+                CompletableFuture.allOf(futures).get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException | TimeoutException e) {
+                // Reported per section below
+            }
+            DashboardResponse dashboard = new DashboardResponse();
+            sections.forEach(section -> section.applyTo(dashboard));
+            return dashboard;
+        }
+    }
+
+    private record Section<T>(String name, CompletableFuture<T> future, BiConsumer<DashboardResponse, T> apply) {
+        void applyTo(DashboardResponse dashboard) {
+            if (!future.isDone()) {
+                future.cancel(false);
+                dashboard.getUnavailable().add(name);
+                return;
+            }
+            try {
+                apply.accept(dashboard, future.join());
+            } catch (CompletionException e) {
+                log.warn("Dashboard section {} failed: {}", name, e.getCause().toString());
+                dashboard.getUnavailable().add(name);
+            }
+        }
+    }
+}
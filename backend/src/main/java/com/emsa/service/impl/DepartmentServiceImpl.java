@@ -1,19 +1,27 @@
 package com.emsa.service.impl;
 
+import com.emsa.audit.Audited;
+import com.emsa.config.CacheConfig;
 import com.emsa.dto.request.DepartmentRequest;
 import com.emsa.dto.response.DepartmentResponse;
 import com.emsa.entity.Department;
 import com.emsa.entity.RoleName;
 import com.emsa.exception.BadRequestException;
 import com.emsa.exception.ResourceNotFoundException;
+import com.emsa.leave.LeaveCalendarIndex;
 import com.emsa.repository.AccountRepository;
 import com.emsa.repository.DepartmentRepository;
+import com.emsa.repository.projection.DepartmentRoleCount;
 import com.emsa.service.DepartmentService;
+import com.emsa.service.KpiRollupService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
@@ -26,7 +34,15 @@ public class DepartmentServiceImpl implements DepartmentService {
     @Autowired
     private AccountRepository accountRepository;
 
+    @Autowired
+    private LeaveCalendarIndex leaveCalendarIndex;
+
+    @Autowired
+    private KpiRollupService kpiRollupService;
+
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.DEPARTMENTS, CacheConfig.ACCOUNTS_BY_ROLE}, allEntries = true)
+    @Audited(action = "CREATE", entity = "Department", entityId = "#result.departmentId")
     public DepartmentResponse createDepartment(DepartmentRequest request) {
         if (departmentRepository.existsByDepartmentName(request.getDepartmentName())) {
             throw new BadRequestException("Department already exists: " + request.getDepartmentName());
@@ -35,7 +51,7 @@ public class DepartmentServiceImpl implements DepartmentService {
                 .departmentName(request.getDepartmentName())
                 .description(request.getDescription())
                 .build();
-        return toResponse(departmentRepository.save(dept));
+        return toResponse(departmentRepository.save(dept), List.of());
     }
 
     @Override
@@ -46,13 +62,20 @@ public class DepartmentServiceImpl implements DepartmentService {
     }
 
     @Override
+    @Cacheable(CacheConfig.DEPARTMENTS)
     public List<DepartmentResponse> getAllDepartments() {
+        // One GROUP BY over (department_id, role) fills every department's counts
+        Map<Long, List<DepartmentRoleCount>> counts = accountRepository.countByDepartmentAndRole().stream()
+                .collect(Collectors.groupingBy(DepartmentRoleCount::getDepartmentId));
         return departmentRepository.findAll().stream()
-                .map(this::toResponse)
+                .map(dept -> toResponse(dept, counts.getOrDefault(dept.getDepartmentId(), List.of())))
                 .collect(Collectors.toList());
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.DEPARTMENTS, CacheConfig.ACCOUNTS_BY_ROLE, CacheConfig.REVIEW_CALIBRATION},
+                allEntries = true)
+    @Audited(action = "UPDATE", entity = "Department", entityId = "#id")
     public DepartmentResponse updateDepartment(Long id, DepartmentRequest request) {
         Department dept = departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department", id));
@@ -62,26 +85,35 @@ public class DepartmentServiceImpl implements DepartmentService {
     }
 
     @Override
+    @CacheEvict(cacheNames = {CacheConfig.DEPARTMENTS, CacheConfig.ACCOUNTS_BY_ROLE, CacheConfig.REVIEW_CALIBRATION},
+                allEntries = true)
+    @Audited(action = "DELETE", entity = "Department", entityId = "#id")
     public void deleteDepartment(Long id) {
         Department dept = departmentRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Department", id));
+        accountRepository.clearDepartment(id);
         departmentRepository.delete(dept);
+        leaveCalendarIndex.removeDepartment(id);
+        kpiRollupService.departmentDeleted(id);
     }
 
     private DepartmentResponse toResponse(Department dept) {
-        List<com.emsa.entity.Account> accounts = accountRepository.findByDepartmentDepartmentId(dept.getDepartmentId());
-        long userCount = accounts.stream().filter(a -> a.getRole() == RoleName.USER).count();
-        long empCount = accounts.stream().filter(a -> a.getRole() == RoleName.EMPLOYEE).count();
-        long mgrCount = accounts.stream().filter(a -> a.getRole() == RoleName.MANAGER).count();
+        return toResponse(dept, accountRepository.countByRoleInDepartment(dept.getDepartmentId()));
+    }
 
+    private DepartmentResponse toResponse(Department dept, List<DepartmentRoleCount> counts) {
         return DepartmentResponse.builder()
                 .departmentId(dept.getDepartmentId())
                 .departmentName(dept.getDepartmentName())
                 .description(dept.getDescription())
-                .userCount(userCount)
-                .employeeCount(empCount)
-                .managerCount(mgrCount)
+                .userCount(countOf(counts, RoleName.USER))
+                .employeeCount(countOf(counts, RoleName.EMPLOYEE))
+                .managerCount(countOf(counts, RoleName.MANAGER))
                 .createdAt(dept.getCreatedAt())
                 .build();
     }
+
+    private long countOf(List<DepartmentRoleCount> counts, RoleName role) {
+        return counts.stream().filter(c -> c.getRole() == role).mapToLong(DepartmentRoleCount::getTotal).sum();
+    }
 }
@@ -0,0 +1,65 @@
+package com.emsa.service.impl;
+
+import com.emsa.dto.response.DueEventResponse;
+import com.emsa.entity.Account;
+import com.emsa.entity.DueEventRecord;
+import com.emsa.exception.BadRequestException;
+import com.emsa.repository.AccountRepository;
+import com.emsa.repository.DueEventRecordRepository;
+import com.emsa.service.DueEventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional(readOnly = true)
+public class DueEventServiceImpl implements DueEventService {
+
+    private static final int DEFAULT_DAYS = 14;
+    private static final int MAX_EVENTS = 500;
+
+    @Autowired private DueEventRecordRepository dueEventRecordRepository;
+    @Autowired private AccountRepository accountRepository;
+
+    @Override
+    public List<DueEventResponse> getMyEvents(Long accountId, Integer days) {
+        return toResponses(dueEventRecordRepository.findByOwner(accountId, since(days), PageRequest.ofSize(MAX_EVENTS)));
+    }
+
+    @Override
+    public List<DueEventResponse> getTeamEvents(Long managerId, Integer days) {
+        return toResponses(dueEventRecordRepository.findBySubtree(managerId, since(days), PageRequest.ofSize(MAX_EVENTS)));
+    }
+
+    private LocalDateTime since(Integer days) {
+        int d = days != null ? days : DEFAULT_DAYS;
+        if (d < 1) {
+            throw new BadRequestException("days must be at least 1");
+        }
+        return LocalDate.now().minusDays(d - 1L).atStartOfDay();
+    }
+
+    private List<DueEventResponse> toResponses(List<DueEventRecord> events) {
+        Map<Long, String> names = accountRepository.findAllById(events.stream().map(DueEventRecord::getOwnerId)
+                        .filter(Objects::nonNull).distinct().toList()).stream()
+                .collect(Collectors.toMap(Account::getAccountId, a -> a.getFirstName() + " " + a.getLastName()));
+        return events.stream().map(e -> DueEventResponse.builder()
+                .eventId(e.getEventId())
+                .source(e.getSource())
+                .sourceId(e.getSourceId())
+                .eventType(e.getEventType())
+                .dueDate(e.getDueDate())
+                .ownerId(e.getOwnerId())
+                .ownerName(e.getOwnerId() != null ? names.get(e.getOwnerId()) : null)
+                .firedAt(e.getFiredAt())
+                .build()).toList();
+    }
+}
@@ -0,0 +1,85 @@
+package com.emsa.service.impl;
+
+import com.emsa.dto.request.AuditLogFilter;
+import com.emsa.exception.BadRequestException;
+import com.emsa.export.ExportFormat;
+import com.emsa.export.ResultSetStreamer;
+import com.emsa.service.ExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    // password_hash is never exported
+    private static final String ACCOUNTS_SQL =
+            "SELECT a.account_id, a.username, a.email, a.role, a.first_name, a.last_name, a.phone_number, " +
+            "a.designation, a.department_id, d.department_name, a.reporting_manager_id, a.hire_date, " +
+            "a.is_active, a.created_at, a.updated_at " +
+            "FROM accounts a LEFT JOIN departments d ON d.department_id = a.department_id " +
+            "ORDER BY a.account_id";
+
+    private static final String TASKS_SQL =
+            "SELECT t.task_id, t.project_id, p.project_name, t.title, t.description, t.status, t.priority, " +
+            "t.assigned_to_id, t.assigned_by_id, t.due_date, t.hours_logged, t.created_at, t.updated_at " +
+            "FROM tasks t JOIN projects p ON p.project_id = t.project_id " +
+            "ORDER BY t.task_id";
+
+    private static final String AUDIT_LOGS_SQL =
+            "SELECT l.log_id, l.account_id, a.username, l.action, l.entity_name, l.entity_id, l.details, " +
+            "l.ip_address, l.created_at " +
+            "FROM audit_logs l LEFT JOIN accounts a ON a.account_id = l.account_id";
+
+    @Autowired
+    private ResultSetStreamer resultSetStreamer;
+
+    @Override
+    public StreamingResponseBody exportAccounts(ExportFormat format, boolean gzip) {
+        return resultSetStreamer.stream(ACCOUNTS_SQL, List.of(), format, gzip);
+    }
+
+    @Override
+    public StreamingResponseBody exportTasks(ExportFormat format, boolean gzip) {
+        return resultSetStreamer.stream(TASKS_SQL, List.of(), format, gzip);
+    }
+
+    @Override
+    public StreamingResponseBody exportAuditLogs(AuditLogFilter filter, ExportFormat format, boolean gzip) {
+        if (filter.getFrom() != null && filter.getTo() != null && !filter.getFrom().isBefore(filter.getTo())) {
+            throw new BadRequestException("'from' must be before 'to'");
+        }
+        StringBuilder sql = new StringBuilder(AUDIT_LOGS_SQL).append(" WHERE 1 = 1");
+        List<Object> args = new ArrayList<>();
+        if (filter.getFrom() != null) {
+            sql.append(" AND l.created_at >= ?");
+            args.add(Timestamp.valueOf(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            sql.append(" AND l.created_at < ?");
+            args.add(Timestamp.valueOf(filter.getTo()));
+        }
+        if (filter.getAction() != null) {
+            sql.append(" AND l.action = ?");
+            args.add(filter.getAction());
+        }
+        if (filter.getEntityName() != null) {
+            sql.append(" AND l.entity_name = ?");
+            args.add(filter.getEntityName());
+        }
+        if (filter.getEntityId() != null) {
+            sql.append(" AND l.entity_id = ?");
+            args.add(filter.getEntityId());
+        }
+        if (filter.getActorId() != null) {
+            sql.append(" AND l.account_id = ?");
+            args.add(filter.getActorId());
+        }
+        sql.append(" ORDER BY l.log_id");
+        return resultSetStreamer.stream(sql.toString(), args, format, gzip);
+    }
+}
@@ -0,0 +1,292 @@
+package com.emsa.service.impl;
+
+import com.emsa.entity.KpiRollup;
+import com.emsa.entity.KpiRollupScope;
+import com.emsa.repository.KpiRollupRepository;
+import com.emsa.service.KpiRollupService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains kpi_rollups with relative updates ({@code col = col + delta}) in the transaction of each KPI
+ * change, so concurrent changes never overwrite each other. A KPI counts towards its employee, the employee's
+ * department and every manager above the employee; reorganisations move an employee's (or a whole subtree's)
+ * totals between rollups in one step. Anything that slips past the deltas is repaired by {@link #reconcile}.
+ */
+@Slf4j
+@Service
+@Transactional
+public class KpiRollupServiceImpl implements KpiRollupService {
+
+    private static final String AGGREGATE_COLUMNS = "COUNT(*), COUNT(k.attainment), " +
+            "COALESCE(SUM(CASE WHEN k.status = 'ACHIEVED' THEN 1 ELSE 0 END), 0), COALESCE(SUM(k.attainment), 0)";
+
+    // The KPIs of one scope: the rows of the FROM clause whose scope column holds the scope id
+    private static final Map<KpiRollupScope, Source> SOURCES = Map.of(
+            KpiRollupScope.EMPLOYEE, new Source("kpis k", "k.employee_id"),
+            KpiRollupScope.DEPARTMENT, new Source("kpis k JOIN accounts a ON a.account_id = k.employee_id", "a.department_id"),
+            KpiRollupScope.MANAGER, new Source("kpis k JOIN account_hierarchy h ON h.descendant_id = k.employee_id AND h.depth > 0",
+                    "h.ancestor_id"));
+
+    private static final String ADD_SQL = "UPDATE kpi_rollups SET kpi_count = kpi_count + ?, " +
+            "measured_count = measured_count + ?, achieved_count = achieved_count + ?, " +
+            "attainment_sum = attainment_sum + ?, updated_at = ? WHERE scope_type = ? AND scope_id = ?";
+
+    // Only called for a scope with no row, or none that has ever counted anything; see apply
+    private static final String CREATE_SQL = "INSERT INTO kpi_rollups (scope_type, scope_id, kpi_count, measured_count, " +
+            "achieved_count, attainment_sum, updated_at) VALUES (?, ?, 0, 0, 0, 0, ?) " +
+            "ON DUPLICATE KEY UPDATE scope_id = scope_id";
+
+    private static final String SET_SQL = "UPDATE kpi_rollups SET kpi_count = ?, measured_count = ?, " +
+            "achieved_count = ?, attainment_sum = ?, updated_at = ? WHERE scope_type = ? AND scope_id = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO kpi_rollups (kpi_count, measured_count, achieved_count, " +
+            "attainment_sum, updated_at, scope_type, scope_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired private KpiRollupRepository kpiRollupRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Override
+    public void kpiChanged(KpiSnapshot before, KpiSnapshot after) {
+        if (before != null && after != null && before.employeeId().equals(after.employeeId())) {
+            Counts delta = new Counts().add(after, 1).add(before, -1);
+            if (!delta.isZero()) {
+                scopesOf(after.employeeId()).forEach(key -> apply(key, delta));
+            }
+            return;
+        }
+        if (before != null) {
+            Counts delta = new Counts().add(before, -1);
+            scopesOf(before.employeeId()).forEach(key -> apply(key, delta));
+        }
+        if (after != null) {
+            Counts delta = new Counts().add(after, 1);
+            scopesOf(after.employeeId()).forEach(key -> apply(key, delta));
+        }
+    }
+
+    @Override
+    public void departmentChanged(Long accountId, Long oldDepartmentId, Long newDepartmentId) {
+        Counts own = aggregate(KpiRollupScope.EMPLOYEE, accountId);
+        if (own.kpis == 0) {
+            return;
+        }
+        if (oldDepartmentId != null) {
+            apply(new KpiRollup.Key(KpiRollupScope.DEPARTMENT, oldDepartmentId), own.negate());
+        }
+        if (newDepartmentId != null) {
+            apply(new KpiRollup.Key(KpiRollupScope.DEPARTMENT, newDepartmentId), own);
+        }
+    }
+
+    @Override
+    public void subtreeDetaching(Long accountId) {
+        moveSubtree(accountId, -1);
+    }
+
+    @Override
+    public void subtreeAttached(Long accountId) {
+        moveSubtree(accountId, 1);
+    }
+
+    // Every KPI in the subtree (its root's included) counts towards each manager above the root
+    private void moveSubtree(Long accountId, int sign) {
+        Counts subtree = jdbcTemplate.queryForObject("SELECT " + AGGREGATE_COLUMNS +
+                " FROM kpis k JOIN account_hierarchy h ON h.descendant_id = k.employee_id WHERE h.ancestor_id = ?",
+                (rs, n) -> Counts.read(rs, 1), accountId);
+        if (subtree.kpis == 0) {
+            return;
+        }
+        Counts delta = sign < 0 ? subtree.negate() : subtree;
+        ancestorsOf(accountId).forEach(id -> apply(new KpiRollup.Key(KpiRollupScope.MANAGER, id), delta));
+    }
+
+    @Override
+    public Set<KpiRollup.Key> scopesAffectedByRemoval(Long accountId) {
+        Set<KpiRollup.Key> scopes = new LinkedHashSet<>(scopesOf(accountId));
+        scopes.add(new KpiRollup.Key(KpiRollupScope.MANAGER, accountId));
+        jdbcTemplate.queryForList("SELECT DISTINCT employee_id FROM kpis WHERE assigned_by_id = ? AND employee_id <> ?",
+                Long.class, accountId, accountId).forEach(id -> scopes.addAll(scopesOf(id)));
+        return scopes;
+    }
+
+    @Override
+    public void recompute(Collection<KpiRollup.Key> scopes) {
+        scopes.forEach(this::repair);
+    }
+
+    @Override
+    public void departmentDeleted(Long departmentId) {
+        jdbcTemplate.update("DELETE FROM kpi_rollups WHERE scope_type = ? AND scope_id = ?",
+                KpiRollupScope.DEPARTMENT.name(), departmentId);
+    }
+
+    private List<KpiRollup.Key> scopesOf(Long employeeId) {
+        List<KpiRollup.Key> keys = new ArrayList<>();
+        keys.add(new KpiRollup.Key(KpiRollupScope.EMPLOYEE, employeeId));
+        jdbcTemplate.queryForList("SELECT department_id FROM accounts WHERE account_id = ? AND department_id IS NOT NULL",
+                Long.class, employeeId).forEach(id -> keys.add(new KpiRollup.Key(KpiRollupScope.DEPARTMENT, id)));
+        ancestorsOf(employeeId).forEach(id -> keys.add(new KpiRollup.Key(KpiRollupScope.MANAGER, id)));
+        return keys;
+    }
+
+    private List<Long> ancestorsOf(Long accountId) {
+        return jdbcTemplate.queryForList(
+                "SELECT ancestor_id FROM account_hierarchy WHERE descendant_id = ? AND depth > 0", Long.class, accountId);
+    }
+
+    /**
+     * Adds the delta to the scope's row. A scope without a row has nothing counted yet (rows are only removed
+     * once their scope holds no KPIs, and reconciliation fills in the rest at startup), so the row starts at zero.
+     */
+    private void apply(KpiRollup.Key key, Counts delta) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        Object[] args = {delta.kpis, delta.measured, delta.achieved, delta.attainment, now, key.getScopeType().name(), key.getScopeId()};
+        if (jdbcTemplate.update(ADD_SQL, args) == 0) {
+            jdbcTemplate.update(CREATE_SQL, key.getScopeType().name(), key.getScopeId(), now);
+            jdbcTemplate.update(ADD_SQL, args);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int reconcile() {
+        Map<KpiRollup.Key, Counts> expected = new HashMap<>();
+        SOURCES.forEach((scope, source) -> jdbcTemplate.query("SELECT " + source.column() + ", " + AGGREGATE_COLUMNS +
+                        " FROM " + source.from() + " WHERE " + source.column() + " IS NOT NULL GROUP BY " + source.column(),
+                rs -> { expected.put(new KpiRollup.Key(scope, rs.getLong(1)), Counts.read(rs, 2)); }));
+        Map<KpiRollup.Key, KpiRollup> stored = kpiRollupRepository.findAll().stream()
+                .collect(Collectors.toMap(r -> new KpiRollup.Key(r.getScopeType(), r.getScopeId()), Function.identity()));
+
+        Set<KpiRollup.Key> drifted = new LinkedHashSet<>();
+        expected.forEach((key, counts) -> {
+            KpiRollup row = stored.get(key);
+            if (row == null || !counts.matches(row)) {
+                drifted.add(key);
+            }
+        });
+        // Rows of scopes left without KPIs are dropped by repair; they only count as drift if not already zero
+        Set<KpiRollup.Key> empty = new LinkedHashSet<>();
+        stored.forEach((key, row) -> {
+            if (!expected.containsKey(key)) {
+                (new Counts().matches(row) ? empty : drifted).add(key);
+            }
+        });
+        drifted.forEach(key -> transactionTemplate.executeWithoutResult(status -> repair(key)));
+        empty.forEach(key -> transactionTemplate.executeWithoutResult(status -> repair(key)));
+
+        if (!drifted.isEmpty() || !empty.isEmpty()) {
+            meterRegistry.counter("emsa.kpi-rollups.repaired").increment(drifted.size());
+            log.info("Reconciled KPI rollups: {} rows repaired, {} empty rows removed", drifted.size(), empty.size());
+        }
+        return drifted.size();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${emsa.kpi-rollups.reconcile-cron}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Recomputes one row, or removes it once its scope holds no KPIs. Locking the row first makes concurrent
+     * delta updates wait, and any KPI change that has not yet applied its delta is also not yet visible to the
+     * aggregate, so none is lost.
+     */
+    private void repair(KpiRollup.Key key) {
+        String scope = key.getScopeType().name();
+        boolean exists = !jdbcTemplate.queryForList(
+                "SELECT scope_id FROM kpi_rollups WHERE scope_type = ? AND scope_id = ? FOR UPDATE",
+                Long.class, scope, key.getScopeId()).isEmpty();
+        Counts actual = aggregate(key.getScopeType(), key.getScopeId());
+        if (actual.kpis == 0) {
+            if (exists) {
+                jdbcTemplate.update("DELETE FROM kpi_rollups WHERE scope_type = ? AND scope_id = ?", scope, key.getScopeId());
+            }
+            return;
+        }
+        jdbcTemplate.update(exists ? SET_SQL : INSERT_SQL, actual.kpis, actual.measured, actual.achieved,
+                actual.attainment, Timestamp.valueOf(LocalDateTime.now()), scope, key.getScopeId());
+    }
+
+    private Counts aggregate(KpiRollupScope scope, Long scopeId) {
+        Source source = SOURCES.get(scope);
+        return jdbcTemplate.queryForObject("SELECT " + AGGREGATE_COLUMNS + " FROM " + source.from() +
+                " WHERE " + source.column() + " = ?", (rs, n) -> Counts.read(rs, 1), scopeId);
+    }
+
+    private record Source(String from, String column) {
+    }
+
+    private static final class Counts {
+        long kpis;
+        long measured;
+        long achieved;
+        double attainment;
+
+        Counts add(KpiSnapshot kpi, int sign) {
+            kpis += sign;
+            if (kpi.attainment() != null) {
+                measured += sign;
+                attainment += sign * kpi.attainment();
+            }
+            if (kpi.achieved()) {
+                achieved += sign;
+            }
+            return this;
+        }
+
+        Counts negate() {
+            Counts negated = new Counts();
+            negated.kpis = -kpis;
+            negated.measured = -measured;
+            negated.achieved = -achieved;
+            negated.attainment = -attainment;
+            return negated;
+        }
+
+        boolean isZero() {
+            return kpis == 0 && measured == 0 && achieved == 0 && Math.abs(attainment) < 1e-9;
+        }
+
+        static Counts read(ResultSet rs, int firstColumn) throws SQLException {
+            Counts counts = new Counts();
+            counts.kpis = rs.getLong(firstColumn);
+            counts.measured = rs.getLong(firstColumn + 1);
+            counts.achieved = rs.getLong(firstColumn + 2);
+            counts.attainment = rs.getDouble(firstColumn + 3);
+            return counts;
+        }
+
+        boolean matches(KpiRollup row) {
+            return kpis == row.getKpiCount() && measured == row.getMeasuredCount() && achieved == row.getAchievedCount()
+                    && Math.abs(attainment - row.getAttainmentSum()) < 1e-6;
+        }
+    }
+}
@@ -1,18 +1,41 @@
 package com.emsa.service.impl;
 
+import com.emsa.audit.Audited;
+import com.emsa.config.RetryOnConflict;
+import com.emsa.dto.request.KpiMeasurementRequest;
 import com.emsa.dto.request.KpiRequest;
+import com.emsa.dto.response.KpiMeasurementResponse;
 import com.emsa.dto.response.KpiResponse;
+import com.emsa.dto.response.KpiRollupResponse;
 import com.emsa.entity.Account;
 import com.emsa.entity.Kpi;
+import com.emsa.entity.KpiMeasurement;
+import com.emsa.entity.KpiRollup;
+import com.emsa.entity.KpiRollupScope;
+import com.emsa.entity.RoleName;
+import com.emsa.exception.AccessDeniedException;
+import com.emsa.exception.BadRequestException;
 import com.emsa.exception.ResourceNotFoundException;
 import com.emsa.repository.AccountRepository;
+import com.emsa.repository.KpiMeasurementRepository;
 import com.emsa.repository.KpiRepository;
+import com.emsa.repository.KpiRollupRepository;
+import com.emsa.schedule.DueDateScheduler;
+import com.emsa.schedule.DueSource;
+import com.emsa.service.AccountHierarchyService;
+import com.emsa.service.KpiRollupService;
+import com.emsa.service.KpiRollupService.KpiSnapshot;
 import com.emsa.service.KpiService;
+import com.emsa.util.OptimisticLocking;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -21,11 +44,15 @@ public class KpiServiceImpl implements KpiService {
 
     @Autowired private KpiRepository kpiRepository;
     @Autowired private AccountRepository accountRepository;
+    @Autowired private KpiMeasurementRepository kpiMeasurementRepository;
+    @Autowired private KpiRollupRepository kpiRollupRepository;
+    @Autowired private KpiRollupService kpiRollupService;
+    @Autowired private DueDateScheduler dueDateScheduler;
 
     @Override
-    public KpiResponse createKpi(String assignedByUsername, KpiRequest request) {
-        Account assignedBy = accountRepository.findByUsername(assignedByUsername)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + assignedByUsername));
+    @Audited(action = "CREATE", entity = "Kpi", entityId = "#result.kpiId")
+    public KpiResponse createKpi(Long assignedById, KpiRequest request) {
+        Account assignedBy = accountRepository.getReferenceById(assignedById);
         Account employee = accountRepository.findById(request.getEmployeeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", request.getEmployeeId()));
 
@@ -35,11 +62,18 @@ public class KpiServiceImpl implements KpiService {
                 .title(request.getTitle())
                 .description(request.getDescription())
                 .targetValue(request.getTargetValue())
-                .achievedValue(request.getAchievedValue())
+                .unit(request.getUnit())
                 .status(request.getStatus() != null ? request.getStatus() : "PENDING")
                 .dueDate(request.getDueDate())
                 .build();
-        return toResponse(kpiRepository.save(kpi));
+        kpi = kpiRepository.save(kpi);
+        if (request.getAchievedValue() != null) {
+            measure(kpi, request.getAchievedValue(), LocalDate.now(), assignedBy, null);
+        }
+        kpi = kpiRepository.saveAndFlush(kpi);
+        kpiRollupService.kpiChanged(null, KpiSnapshot.of(kpi));
+        dueDateScheduler.changed(DueSource.KPI, kpi.getKpiId());
+        return toResponse(kpi);
     }
 
     @Override
@@ -49,10 +83,8 @@ public class KpiServiceImpl implements KpiService {
     }
 
     @Override
-    public List<KpiResponse> getMyKpis(String username) {
-        Account account = accountRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + username));
-        return kpiRepository.findByEmployeeAccountId(account.getAccountId()).stream()
+    public List<KpiResponse> getMyKpis(Long accountId) {
+        return kpiRepository.findByEmployeeAccountId(accountId).stream()
                 .map(this::toResponse).collect(Collectors.toList());
     }
 
@@ -63,23 +95,112 @@ public class KpiServiceImpl implements KpiService {
     }
 
     @Override
-    public KpiResponse updateKpi(Long id, KpiRequest request, String username) {
+    public List<KpiResponse> getTeamKpis(Long managerId, Integer depth) {
+        return kpiRepository.findByTeam(managerId, AccountHierarchyService.maxDepth(depth)).stream()
+                .map(this::toResponse).collect(Collectors.toList());
+    }
+
+    // Not retried on a version clash: the form was edited from the old row, so the caller has to reload
+    @Override
+    @Audited(action = "UPDATE", entity = "Kpi", entityId = "#id")
+    public KpiResponse updateKpi(Long id, KpiRequest request, Long accountId) {
         Kpi kpi = kpiRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("KPI", id));
+        OptimisticLocking.requireVersion("KPI", id, request.getVersion(), kpi.getVersion());
+        if (request.getTargetValue() != null && request.getTargetValue().signum() <= 0) {
+            throw new BadRequestException("Target value must be positive");
+        }
+        KpiSnapshot before = KpiSnapshot.of(kpi);
         if (request.getTitle() != null) kpi.setTitle(request.getTitle());
         if (request.getDescription() != null) kpi.setDescription(request.getDescription());
         if (request.getTargetValue() != null) kpi.setTargetValue(request.getTargetValue());
-        if (request.getAchievedValue() != null) kpi.setAchievedValue(request.getAchievedValue());
+        if (request.getUnit() != null) kpi.setUnit(request.getUnit());
+        if (request.getAchievedValue() != null && (kpi.getAchievedValue() == null
+                || request.getAchievedValue().compareTo(kpi.getAchievedValue()) != 0)) {
+            measure(kpi, request.getAchievedValue(), LocalDate.now(), accountRepository.getReferenceById(accountId), null);
+        }
         if (request.getStatus() != null) kpi.setStatus(request.getStatus());
         if (request.getDueDate() != null) kpi.setDueDate(request.getDueDate());
-        return toResponse(kpiRepository.save(kpi));
+        kpi = kpiRepository.saveAndFlush(kpi);
+        kpiRollupService.kpiChanged(before, KpiSnapshot.of(kpi));
+        dueDateScheduler.changed(DueSource.KPI, kpi.getKpiId());
+        return toResponse(kpi);
     }
 
     @Override
+    @Audited(action = "DELETE", entity = "Kpi", entityId = "#id")
     public void deleteKpi(Long id) {
         Kpi kpi = kpiRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("KPI", id));
+        KpiSnapshot before = KpiSnapshot.of(kpi);
         kpiRepository.delete(kpi);
+        kpiRepository.flush();
+        kpiRollupService.kpiChanged(before, null);
+        dueDateScheduler.changed(DueSource.KPI, id);
+    }
+
+    @Override
+    @RetryOnConflict
+    @Audited(action = "MEASURE", entity = "Kpi", entityId = "#kpiId")
+    public KpiMeasurementResponse recordMeasurement(Long kpiId, KpiMeasurementRequest request, Long accountId, RoleName role) {
+        Kpi kpi = kpiRepository.findById(kpiId)
+                .orElseThrow(() -> new ResourceNotFoundException("KPI", kpiId));
+        if (role != RoleName.ADMIN && role != RoleName.MANAGER && !kpi.getEmployee().getAccountId().equals(accountId)) {
+            throw new AccessDeniedException("You can only record measurements on your own KPIs");
+        }
+        KpiSnapshot before = KpiSnapshot.of(kpi);
+        LocalDate measuredOn = request.getMeasuredOn() != null ? request.getMeasuredOn() : LocalDate.now();
+        KpiMeasurement measurement = measure(kpi, request.getValue(), measuredOn,
+                accountRepository.getReferenceById(accountId), request.getNote());
+        kpi = kpiRepository.saveAndFlush(kpi);
+        kpiRollupService.kpiChanged(before, KpiSnapshot.of(kpi));
+        dueDateScheduler.changed(DueSource.KPI, kpi.getKpiId());
+        return toMeasurementResponse(measurement, kpi);
+    }
+
+    @Override
+    public List<KpiMeasurementResponse> getMeasurements(Long kpiId) {
+        Kpi kpi = kpiRepository.findById(kpiId)
+                .orElseThrow(() -> new ResourceNotFoundException("KPI", kpiId));
+        return kpiMeasurementRepository.findByKpiKpiIdOrderByMeasuredOnAscMeasurementIdAsc(kpiId).stream()
+                .map(m -> toMeasurementResponse(m, kpi)).collect(Collectors.toList());
+    }
+
+    @Override
+    public KpiRollupResponse getRollup(KpiRollupScope scope, Long scopeId) {
+        return kpiRollupRepository.findById(new KpiRollup.Key(scope, scopeId))
+                .map(this::toRollupResponse)
+                .orElseGet(() -> emptyRollup(scope, scopeId));
+    }
+
+    /** The rollups of the given scope ids, in their order, or every stored rollup of the scope if ids is null. */
+    @Override
+    public List<KpiRollupResponse> getRollups(KpiRollupScope scope, List<Long> scopeIds) {
+        if (scopeIds == null) {
+            return kpiRollupRepository.findByScopeType(scope).stream()
+                    .map(this::toRollupResponse).collect(Collectors.toList());
+        }
+        Map<Long, KpiRollup> rows = kpiRollupRepository.findByScopeTypeAndScopeIdIn(scope, scopeIds).stream()
+                .collect(Collectors.toMap(KpiRollup::getScopeId, Function.identity()));
+        return scopeIds.stream()
+                .map(id -> rows.containsKey(id) ? toRollupResponse(rows.get(id)) : emptyRollup(scope, id))
+                .collect(Collectors.toList());
+    }
+
+    // Appends to the series; only a reading at least as recent as the current one becomes the achieved value
+    private KpiMeasurement measure(Kpi kpi, BigDecimal value, LocalDate measuredOn, Account recordedBy, String note) {
+        KpiMeasurement measurement = kpiMeasurementRepository.save(KpiMeasurement.builder()
+                .kpi(kpi)
+                .value(value)
+                .measuredOn(measuredOn)
+                .recordedBy(recordedBy)
+                .note(note)
+                .build());
+        if (kpi.getLastMeasuredOn() == null || !measuredOn.isBefore(kpi.getLastMeasuredOn())) {
+            kpi.setAchievedValue(value);
+            kpi.setLastMeasuredOn(measuredOn);
+        }
+        return measurement;
     }
 
     private KpiResponse toResponse(Kpi kpi) {
@@ -93,9 +214,50 @@ public class KpiServiceImpl implements KpiService {
                 .description(kpi.getDescription())
                 .targetValue(kpi.getTargetValue())
                 .achievedValue(kpi.getAchievedValue())
+                .unit(kpi.getUnit())
+                .attainmentPercent(percent(kpi.computeAttainment()))
+                .lastMeasuredOn(kpi.getLastMeasuredOn())
                 .status(kpi.getStatus())
                 .dueDate(kpi.getDueDate())
                 .createdAt(kpi.getCreatedAt())
+                .version(kpi.getVersion())
+                .build();
+    }
+
+    private KpiMeasurementResponse toMeasurementResponse(KpiMeasurement m, Kpi kpi) {
+        Account recordedBy = m.getRecordedBy();
+        return KpiMeasurementResponse.builder()
+                .measurementId(m.getMeasurementId())
+                .kpiId(kpi.getKpiId())
+                .value(m.getValue())
+                .unit(kpi.getUnit())
+                .measuredOn(m.getMeasuredOn())
+                .attainmentPercent(percent(Kpi.attainment(m.getValue(), kpi.getTargetValue())))
+                .recordedById(recordedBy != null ? recordedBy.getAccountId() : null)
+                .recordedByName(recordedBy != null ? recordedBy.getFirstName() + " " + recordedBy.getLastName() : null)
+                .note(m.getNote())
+                .createdAt(m.getCreatedAt())
                 .build();
     }
+
+    private KpiRollupResponse toRollupResponse(KpiRollup r) {
+        return KpiRollupResponse.builder()
+                .scope(r.getScopeType())
+                .scopeId(r.getScopeId())
+                .kpiCount(r.getKpiCount())
+                .measuredCount(r.getMeasuredCount())
+                .achievedCount(r.getAchievedCount())
+                .averageAttainmentPercent(r.getMeasuredCount() > 0 ? percent(r.getAttainmentSum() / r.getMeasuredCount()) : null)
+                .updatedAt(r.getUpdatedAt())
+                .build();
+    }
+
+    private KpiRollupResponse emptyRollup(KpiRollupScope scope, Long scopeId) {
+        return KpiRollupResponse.builder().scope(scope).scopeId(scopeId).build();
+    }
+
+    // One decimal place
+    private static Double percent(Double ratio) {
+        return ratio != null ? Math.round(ratio * 1000) / 10.0 : null;
+    }
 }
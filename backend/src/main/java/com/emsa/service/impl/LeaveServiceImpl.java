@@ -1,41 +1,109 @@
 package com.emsa.service.impl;
 
+import com.emsa.audit.Audited;
+import com.emsa.config.RetryOnConflict;
 import com.emsa.dto.request.LeaveRequestDto;
 import com.emsa.dto.request.ReviewLeaveRequest;
+import com.emsa.dto.response.CursorPage;
+import com.emsa.dto.response.LeaveCalendarEntry;
 import com.emsa.dto.response.LeaveRequestResponse;
 import com.emsa.entity.Account;
 import com.emsa.entity.LeaveRequest;
+import com.emsa.entity.RoleName;
+import com.emsa.exception.AccessDeniedException;
+import com.emsa.exception.BadRequestException;
+import com.emsa.exception.ConflictException;
 import com.emsa.exception.ResourceNotFoundException;
+import com.emsa.leave.LeaveCalendarIndex;
 import com.emsa.repository.AccountRepository;
 import com.emsa.repository.LeaveRequestRepository;
+import com.emsa.schedule.DueDateScheduler;
+import com.emsa.schedule.DueSource;
+import com.emsa.service.AccountHierarchyService;
 import com.emsa.service.LeaveService;
+import com.emsa.util.CursorPaging;
+import com.emsa.util.OptimisticLocking;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @Transactional
 public class LeaveServiceImpl implements LeaveService {
 
+    // Request types that take someone out of the office; only these are checked for overlaps and shown on the calendar
+    private static final Set<String> ABSENCE_TYPES = Set.of("LEAVE", "WFH");
+    private static final Set<String> ACTIVE_STATUSES = Set.of("PENDING", "APPROVED");
+    private static final int DEFAULT_CALENDAR_DAYS = 30;
+    private static final int ID_CHUNK = 1000;
+
     @Autowired private LeaveRequestRepository leaveRequestRepository;
     @Autowired private AccountRepository accountRepository;
+    @Autowired private CursorPaging cursorPaging;
+    @Autowired private LeaveCalendarIndex calendarIndex;
+    @Autowired private DueDateScheduler dueDateScheduler;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Value("${emsa.leave-calendar.max-days:366}")
+    private int maxCalendarDays;
 
     @Override
-    public LeaveRequestResponse submitRequest(String username, LeaveRequestDto request) {
-        Account account = accountRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + username));
+    @Audited(action = "CREATE", entity = "LeaveRequest", entityId = "#result.requestId")
+    public LeaveRequestResponse submitRequest(Long accountId, LeaveRequestDto request) {
+        LocalDate start = request.getStartDate();
+        LocalDate end = request.getEndDate();
+        if ((start == null) != (end == null)) {
+            throw new BadRequestException("Start and end date must be given together");
+        }
+        if (start != null && end.isBefore(start)) {
+            throw new BadRequestException("End date must not be before start date");
+        }
+        boolean absence = start != null && ABSENCE_TYPES.contains(request.getRequestType());
+        Account account;
+        if (absence) {
+            // The row lock makes two overlapping submissions from the same account queue up behind each other
+            account = accountRepository.findByIdForUpdate(accountId)
+                    .orElseThrow(() -> new ResourceNotFoundException("Account", accountId));
+            List<LeaveRequest> clashes = leaveRequestRepository.findOverlapping(accountId, ABSENCE_TYPES, ACTIVE_STATUSES, start, end);
+            if (!clashes.isEmpty()) {
+                LeaveRequest clash = clashes.get(0);
+                throw new ConflictException("Overlaps " + clash.getStatus().toLowerCase() + " " + clash.getRequestType()
+                        + " request " + clash.getRequestId() + " (" + clash.getStartDate() + " to " + clash.getEndDate() + ")");
+            }
+        } else {
+            account = accountRepository.getReferenceById(accountId);
+        }
         LeaveRequest lr = LeaveRequest.builder()
                 .account(account)
                 .requestType(request.getRequestType())
                 .description(request.getDescription())
-                .startDate(request.getStartDate())
-                .endDate(request.getEndDate())
+                .startDate(start)
+                .endDate(end)
                 .status("PENDING")
                 .build();
-        return toResponse(leaveRequestRepository.save(lr));
+        lr = leaveRequestRepository.save(lr);
+        if (absence) {
+            calendarIndex.put(new LeaveCalendarIndex.Interval(lr.getRequestId(), accountId,
+                    account.getDepartment() != null ? account.getDepartment().getDepartmentId() : null, start, end));
+            dueDateScheduler.changed(DueSource.LEAVE, lr.getRequestId());
+        }
+        return toResponse(lr);
     }
 
     @Override
@@ -45,36 +113,157 @@ public class LeaveServiceImpl implements LeaveService {
     }
 
     @Override
-    public List<LeaveRequestResponse> getMyRequests(String username) {
-        Account account = accountRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + username));
-        return leaveRequestRepository.findByAccountAccountId(account.getAccountId()).stream()
+    public List<LeaveRequestResponse> getMyRequests(Long accountId) {
+        return leaveRequestRepository.findByAccountAccountId(accountId).stream()
                 .map(this::toResponse).collect(Collectors.toList());
     }
 
     @Override
-    public List<LeaveRequestResponse> getAllRequests() {
-        return leaveRequestRepository.findAll().stream().map(this::toResponse).collect(Collectors.toList());
+    public CursorPage<LeaveRequestResponse> getAllRequests(String cursor, Integer size) {
+        int pageSize = cursorPaging.pageSize(size);
+        List<LeaveRequest> rows = leaveRequestRepository.findPage(cursorPaging.decode(cursor), cursorPaging.limit(pageSize));
+        return cursorPaging.toPage(rows, pageSize, LeaveRequest::getRequestId, this::toResponse);
     }
 
     @Override
-    public List<LeaveRequestResponse> getTeamRequests(String managerUsername) {
-        Account manager = accountRepository.findByUsername(managerUsername)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + managerUsername));
-        return leaveRequestRepository.findByAccountReportingManagerAccountId(manager.getAccountId()).stream()
+    public List<LeaveRequestResponse> getTeamRequests(Long managerId, Integer depth) {
+        return leaveRequestRepository.findByTeam(managerId, AccountHierarchyService.maxDepth(depth)).stream()
                 .map(this::toResponse).collect(Collectors.toList());
     }
 
     @Override
-    public LeaveRequestResponse reviewRequest(Long id, ReviewLeaveRequest request, String reviewerUsername) {
+    @RetryOnConflict
+    @Audited(action = "REVIEW", entity = "LeaveRequest", entityId = "#id")
+    public LeaveRequestResponse reviewRequest(Long id, ReviewLeaveRequest request, Long reviewerId) {
         LeaveRequest lr = leaveRequestRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Leave Request", id));
-        Account reviewer = accountRepository.findByUsername(reviewerUsername)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + reviewerUsername));
+        if (!"PENDING".equals(lr.getStatus())) {
+            // Repeating the decision already recorded (a double click, or a retry after losing the race) is a no-op
+            if (lr.getStatus().equals(request.getStatus())) {
+                return toResponse(lr);
+            }
+            throw new ConflictException("Leave request " + id + " was already " + lr.getStatus());
+        }
+        OptimisticLocking.checkVersion("Leave request", id, request.getVersion(), lr.getVersion());
+        Account reviewer = accountRepository.getReferenceById(reviewerId);
         lr.setStatus(request.getStatus());
         lr.setReviewedBy(reviewer);
         lr.setReviewComment(request.getReviewComment());
-        return toResponse(leaveRequestRepository.save(lr));
+        LeaveRequestResponse response = toResponse(leaveRequestRepository.saveAndFlush(lr));
+        if (!ACTIVE_STATUSES.contains(lr.getStatus())) {
+            calendarIndex.remove(id);
+        }
+        if (lr.getStartDate() != null) {
+            dueDateScheduler.changed(DueSource.LEAVE, id);
+        }
+        return response;
+    }
+
+    /**
+     * Team scope reads the caller's reporting subtree (or, for someone without reports, their manager's) through
+     * the closure table; department and org scope walk the in-memory interval index. Either way only requests
+     * overlapping the range are touched.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<LeaveCalendarEntry> getCalendar(Long accountId, RoleName role, String scope, Long departmentId,
+                                                LocalDate from, LocalDate to) {
+        LocalDate first = from != null ? from : LocalDate.now();
+        LocalDate last = to != null ? to : first.plusDays(DEFAULT_CALENDAR_DAYS);
+        if (last.isBefore(first)) {
+            throw new BadRequestException("'to' must not be before 'from'");
+        }
+        if (ChronoUnit.DAYS.between(first, last) >= maxCalendarDays) {
+            throw new BadRequestException("Calendar range is limited to " + maxCalendarDays + " days");
+        }
+        Account caller = accountRepository.findById(accountId)
+                .orElseThrow(() -> new ResourceNotFoundException("Account", accountId));
+        boolean privileged = role == RoleName.ADMIN || role == RoleName.MANAGER;
+
+        List<LeaveRequest> rows;
+        switch (scope == null ? "team" : scope.toLowerCase()) {
+            case "team" -> {
+                Long rootId = accountId;
+                if (accountRepository.countByReportingManagerAccountId(accountId) == 0 && caller.getReportingManager() != null) {
+                    rootId = caller.getReportingManager().getAccountId();
+                }
+                rows = leaveRequestRepository.findTeamCalendar(rootId, ABSENCE_TYPES, ACTIVE_STATUSES, first, last);
+            }
+            case "department" -> {
+                Long callerDepartmentId = caller.getDepartment() != null ? caller.getDepartment().getDepartmentId() : null;
+                Long deptId = departmentId != null ? departmentId : callerDepartmentId;
+                if (deptId == null) {
+                    throw new BadRequestException("No department given and you are not assigned to one");
+                }
+                if (!privileged && !deptId.equals(callerDepartmentId)) {
+                    throw new AccessDeniedException("You can only view your own department's calendar");
+                }
+                rows = loadCalendar(calendarIndex.find(List.of(deptId), first, last), first, last, deptId);
+            }
+            case "org" -> {
+                if (role != RoleName.ADMIN) {
+                    throw new AccessDeniedException("Only admins can view the organisation calendar");
+                }
+                rows = loadCalendar(calendarIndex.find(null, first, last), first, last, null);
+            }
+            default -> throw new BadRequestException("scope must be team, department or org");
+        }
+        return rows.stream().map(this::toCalendarEntry).collect(Collectors.toList());
+    }
+
+    // The index only nominates candidates; the rows decide, so an index entry that has gone stale is dropped here
+    private List<LeaveRequest> loadCalendar(List<Long> ids, LocalDate from, LocalDate to, Long departmentId) {
+        List<LeaveRequest> rows = new ArrayList<>(ids.size());
+        for (int i = 0; i < ids.size(); i += ID_CHUNK) {
+            leaveRequestRepository.findWithAccountByIdIn(ids.subList(i, Math.min(ids.size(), i + ID_CHUNK))).stream()
+                    .filter(lr -> ACTIVE_STATUSES.contains(lr.getStatus()) && lr.getStartDate() != null && lr.getEndDate() != null
+                            && !lr.getEndDate().isBefore(from) && !lr.getStartDate().isAfter(to))
+                    .filter(lr -> departmentId == null || (lr.getAccount().getDepartment() != null
+                            && departmentId.equals(lr.getAccount().getDepartment().getDepartmentId())))
+                    .forEach(rows::add);
+        }
+        rows.sort(Comparator.comparing(LeaveRequest::getStartDate).thenComparing(LeaveRequest::getRequestId));
+        return rows;
+    }
+
+    /**
+     * Reloads the calendar index from leave_requests, which also picks up rows changed outside the application.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${emsa.leave-calendar.rebuild-cron}")
+    public int rebuildCalendar() {
+        try {
+            int size = calendarIndex.rebuild(this::loadIntervals);
+            log.info("Leave calendar index rebuilt: {} intervals", size);
+            return size;
+        } catch (Exception e) {
+            throw new IllegalStateException("Leave calendar rebuild failed", e);
+        }
+    }
+
+    private Collection<LeaveCalendarIndex.Interval> loadIntervals() {
+        return jdbcTemplate.query("SELECT lr.request_id, lr.account_id, a.department_id, lr.start_date, lr.end_date " +
+                        "FROM leave_requests lr JOIN accounts a ON a.account_id = lr.account_id " +
+                        "WHERE lr.request_type IN ('LEAVE', 'WFH') AND lr.status IN ('PENDING', 'APPROVED') " +
+                        "AND lr.start_date IS NOT NULL AND lr.end_date IS NOT NULL",
+                (rs, n) -> new LeaveCalendarIndex.Interval(rs.getLong(1), rs.getLong(2), rs.getObject(3, Long.class),
+                        rs.getObject(4, LocalDate.class), rs.getObject(5, LocalDate.class)));
+    }
+
+    private LeaveCalendarEntry toCalendarEntry(LeaveRequest lr) {
+        Account a = lr.getAccount();
+        return LeaveCalendarEntry.builder()
+                .requestId(lr.getRequestId())
+                .accountId(a.getAccountId())
+                .accountName(a.getFirstName() + " " + a.getLastName())
+                .departmentId(a.getDepartment() != null ? a.getDepartment().getDepartmentId() : null)
+                .requestType(lr.getRequestType())
+                .status(lr.getStatus())
+                .startDate(lr.getStartDate())
+                .endDate(lr.getEndDate())
+                .build();
     }
 
     private LeaveRequestResponse toResponse(LeaveRequest lr) {
@@ -91,6 +280,7 @@ public class LeaveServiceImpl implements LeaveService {
                 .reviewedByName(lr.getReviewedBy() != null ? lr.getReviewedBy().getFirstName() + " " + lr.getReviewedBy().getLastName() : null)
                 .reviewComment(lr.getReviewComment())
                 .createdAt(lr.getCreatedAt())
+                .version(lr.getVersion())
                 .build();
     }
 }
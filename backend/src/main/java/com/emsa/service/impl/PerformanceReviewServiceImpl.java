@@ -1,6 +1,8 @@
 package com.emsa.service.impl;
 
+import com.emsa.audit.Audited;
 import com.emsa.dto.request.PerformanceReviewRequest;
+import com.emsa.dto.response.CursorPage;
 import com.emsa.dto.response.PerformanceReviewResponse;
 import com.emsa.entity.Account;
 import com.emsa.entity.PerformanceReview;
@@ -9,6 +11,8 @@ import com.emsa.exception.ResourceNotFoundException;
 import com.emsa.repository.AccountRepository;
 import com.emsa.repository.PerformanceReviewRepository;
 import com.emsa.service.PerformanceReviewService;
+import com.emsa.service.ReviewCycleService;
+import com.emsa.util.CursorPaging;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,13 +26,16 @@ public class PerformanceReviewServiceImpl implements PerformanceReviewService {
 
     @Autowired private PerformanceReviewRepository reviewRepository;
     @Autowired private AccountRepository accountRepository;
+    @Autowired private ReviewCycleService reviewCycleService;
+    @Autowired private CursorPaging cursorPaging;
 
     @Override
-    public PerformanceReviewResponse createReview(PerformanceReviewRequest request, String reviewerUsername) {
-        Account reviewer = accountRepository.findByUsername(reviewerUsername)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + reviewerUsername));
+    @Audited(action = "CREATE", entity = "PerformanceReview", entityId = "#result.reviewId")
+    public PerformanceReviewResponse createReview(PerformanceReviewRequest request, Long reviewerId) {
+        Account reviewer = accountRepository.getReferenceById(reviewerId);
         Account employee = accountRepository.findById(request.getEmployeeId())
                 .orElseThrow(() -> new ResourceNotFoundException("Employee", request.getEmployeeId()));
+        reviewCycleService.requireOpen(request.getCycleName());
 
         PerformanceReview review = PerformanceReview.builder()
                 .employee(employee)
@@ -50,10 +57,8 @@ public class PerformanceReviewServiceImpl implements PerformanceReviewService {
     }
 
     @Override
-    public List<PerformanceReviewResponse> getMyReviews(String username) {
-        Account account = accountRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + username));
-        return reviewRepository.findByEmployeeAccountId(account.getAccountId()).stream()
+    public List<PerformanceReviewResponse> getMyReviews(Long accountId) {
+        return reviewRepository.findByEmployeeAccountId(accountId).stream()
                 .map(this::toResponse).collect(Collectors.toList());
     }
 
@@ -64,15 +69,22 @@ public class PerformanceReviewServiceImpl implements PerformanceReviewService {
     }
 
     @Override
-    public List<PerformanceReviewResponse> getAllReviews() {
-        return reviewRepository.findAll().stream().map(this::toResponse).collect(Collectors.toList());
+    public CursorPage<PerformanceReviewResponse> getAllReviews(String cursor, Integer size) {
+        int pageSize = cursorPaging.pageSize(size);
+        List<PerformanceReview> rows = reviewRepository.findPage(cursorPaging.decode(cursor), cursorPaging.limit(pageSize));
+        return cursorPaging.toPage(rows, pageSize, PerformanceReview::getReviewId, this::toResponse);
     }
 
     @Override
+    @Audited(action = "UPDATE", entity = "PerformanceReview", entityId = "#id")
     public PerformanceReviewResponse updateReview(Long id, PerformanceReviewRequest request) {
         PerformanceReview review = reviewRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Performance Review", id));
-        if (request.getCycleName() != null) review.setCycleName(request.getCycleName());
+        reviewCycleService.requireOpen(review.getCycleName());
+        if (request.getCycleName() != null && !request.getCycleName().equals(review.getCycleName())) {
+            reviewCycleService.requireOpen(request.getCycleName());
+            review.setCycleName(request.getCycleName());
+        }
         if (request.getManagerFeedback() != null) review.setManagerFeedback(request.getManagerFeedback());
         if (request.getRating() != null) review.setRating(request.getRating());
         if (request.getStatus() != null) review.setStatus(request.getStatus());
@@ -81,23 +93,25 @@ public class PerformanceReviewServiceImpl implements PerformanceReviewService {
     }
 
     @Override
-    public PerformanceReviewResponse submitSelfAppraisal(Long reviewId, String selfAppraisal, String username) {
+    @Audited(action = "SELF_APPRAISAL", entity = "PerformanceReview", entityId = "#reviewId")
+    public PerformanceReviewResponse submitSelfAppraisal(Long reviewId, String selfAppraisal, Long accountId) {
         PerformanceReview review = reviewRepository.findById(reviewId)
                 .orElseThrow(() -> new ResourceNotFoundException("Performance Review", reviewId));
-        Account account = accountRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + username));
-        if (!review.getEmployee().getAccountId().equals(account.getAccountId())) {
+        if (!review.getEmployee().getAccountId().equals(accountId)) {
             throw new BadRequestException("You can only submit self-appraisal for your own review");
         }
+        reviewCycleService.requireOpen(review.getCycleName());
         review.setSelfAppraisal(selfAppraisal);
         review.setStatus("SUBMITTED");
         return toResponse(reviewRepository.save(review));
     }
 
     @Override
+    @Audited(action = "DELETE", entity = "PerformanceReview", entityId = "#id")
     public void deleteReview(Long id) {
         PerformanceReview review = reviewRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Performance Review", id));
+        reviewCycleService.requireOpen(review.getCycleName());
         reviewRepository.delete(review);
     }
 
@@ -1,19 +1,25 @@
 package com.emsa.service.impl;
 
+import com.emsa.audit.Audited;
 import com.emsa.dto.request.ProjectRequest;
 import com.emsa.dto.response.ProjectResponse;
 import com.emsa.entity.Account;
 import com.emsa.entity.Project;
+import com.emsa.entity.ProjectStats;
 import com.emsa.exception.ResourceNotFoundException;
 import com.emsa.repository.AccountRepository;
 import com.emsa.repository.ProjectRepository;
-import com.emsa.repository.TaskRepository;
+import com.emsa.repository.ProjectStatsRepository;
 import com.emsa.service.ProjectService;
+import com.emsa.service.ProjectStatsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -22,10 +28,12 @@ public class ProjectServiceImpl implements ProjectService {
 
     @Autowired private ProjectRepository projectRepository;
     @Autowired private AccountRepository accountRepository;
-    @Autowired private TaskRepository taskRepository;
+    @Autowired private ProjectStatsRepository projectStatsRepository;
+    @Autowired private ProjectStatsService projectStatsService;
 
     @Override
-    public ProjectResponse createProject(ProjectRequest request, String createdByUsername) {
+    @Audited(action = "CREATE", entity = "Project", entityId = "#result.projectId")
+    public ProjectResponse createProject(ProjectRequest request, Long createdById) {
         Project project = Project.builder()
                 .projectName(request.getProjectName())
                 .description(request.getDescription())
@@ -39,11 +47,11 @@ public class ProjectServiceImpl implements ProjectService {
                     .orElseThrow(() -> new ResourceNotFoundException("Manager", request.getManagerId()));
             project.setManager(manager);
         } else {
-            Account manager = accountRepository.findByUsername(createdByUsername)
-                    .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
-            project.setManager(manager);
+            project.setManager(accountRepository.getReferenceById(createdById));
         }
-        return toResponse(projectRepository.save(project));
+        Project saved = projectRepository.save(project);
+        projectStatsService.projectCreated(saved.getProjectId());
+        return toResponse(saved);
     }
 
     @Override
@@ -54,50 +62,21 @@ public class ProjectServiceImpl implements ProjectService {
 
     @Override
     public List<ProjectResponse> getAllProjects() {
-        List<Project> projects = projectRepository.findAll();
-        // Initialize lazy-loaded relationships within transaction context
-        projects.forEach(p -> {
-            if (p.getTasks() != null) {
-                p.getTasks().size(); // Force loading
-            }
-        });
-        return projects.stream().map(this::toResponse).collect(Collectors.toList());
+        return toResponses(projectRepository.findAll());
     }
 
     @Override
-    public List<ProjectResponse> getMyProjects(String managerUsername) {
-        Account manager = accountRepository.findByUsername(managerUsername)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + managerUsername));
-        List<Project> projects = projectRepository.findByManagerAccountId(manager.getAccountId());
-        // Initialize lazy-loaded relationships within transaction context
-        projects.forEach(p -> {
-            if (p.getTasks() != null) {
-                p.getTasks().size(); // Force loading
-            }
-        });
-        return projects.stream().map(this::toResponse).collect(Collectors.toList());
+    public List<ProjectResponse> getMyProjects(Long managerId) {
+        return toResponses(projectRepository.findByManagerAccountId(managerId));
     }
 
     @Override
-    public List<ProjectResponse> getAssignedProjects(String employeeUsername) {
-        Account employee = accountRepository.findByUsername(employeeUsername)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + employeeUsername));
-        // Get all tasks assigned to this employee and extract unique projects
-        List<Project> projects = taskRepository.findByAssignedToAccountId(employee.getAccountId())
-                .stream()
-                .map(task -> task.getProject())
-                .distinct()
-                .collect(Collectors.toList());
-        // Initialize lazy-loaded relationships within transaction context
-        projects.forEach(p -> {
-            if (p.getTasks() != null) {
-                p.getTasks().size(); // Force loading
-            }
-        });
-        return projects.stream().map(this::toResponse).collect(Collectors.toList());
+    public List<ProjectResponse> getAssignedProjects(Long employeeId) {
+        return toResponses(projectRepository.findAssignedTo(employeeId));
     }
 
     @Override
+    @Audited(action = "UPDATE", entity = "Project", entityId = "#id")
     public ProjectResponse updateProject(Long id, ProjectRequest request) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Project", id));
@@ -115,14 +94,33 @@ public class ProjectServiceImpl implements ProjectService {
     }
 
     @Override
+    @Audited(action = "DELETE", entity = "Project", entityId = "#id")
     public void deleteProject(Long id) {
         Project project = projectRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Project", id));
         projectRepository.delete(project);
+        projectStatsService.projectDeleted(id);
     }
 
     private ProjectResponse toResponse(Project p) {
-        return ProjectResponse.builder()
+        return toResponse(p, projectStatsRepository.findById(p.getProjectId()).orElse(null));
+    }
+
+    // One project_stats row per project, fetched for the whole list at once; task rows are never read
+    private List<ProjectResponse> toResponses(List<Project> projects) {
+        if (projects.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, ProjectStats> stats = projectStatsRepository.findAllById(
+                        projects.stream().map(Project::getProjectId).toList()).stream()
+                .collect(Collectors.toMap(ProjectStats::getProjectId, Function.identity()));
+        return projects.stream()
+                .map(p -> toResponse(p, stats.get(p.getProjectId())))
+                .collect(Collectors.toList());
+    }
+
+    private ProjectResponse toResponse(Project p, ProjectStats stats) {
+        ProjectResponse.ProjectResponseBuilder builder = ProjectResponse.builder()
                 .projectId(p.getProjectId())
                 .projectName(p.getProjectName())
                 .description(p.getDescription())
@@ -131,8 +129,29 @@ public class ProjectServiceImpl implements ProjectService {
                 .startDate(p.getStartDate())
                 .endDate(p.getEndDate())
                 .status(p.getStatus())
-                .taskCount(p.getTasks() != null ? p.getTasks().size() : 0)
-                .createdAt(p.getCreatedAt())
+                .createdAt(p.getCreatedAt());
+        // Not yet reconciled (e.g. rows inserted by SQL): show the project without counts rather than fail
+        if (stats == null) {
+            return builder.tasksByStatus(Map.of()).tasksByPriority(Map.of()).build();
+        }
+        Map<String, Long> byStatus = new LinkedHashMap<>();
+        byStatus.put("TODO", stats.getTodoTasks());
+        byStatus.put("IN_PROGRESS", stats.getInProgressTasks());
+        byStatus.put("REVIEW", stats.getReviewTasks());
+        byStatus.put("DONE", stats.getDoneTasks());
+        Map<String, Long> byPriority = new LinkedHashMap<>();
+        byPriority.put("LOW", stats.getLowPriorityTasks());
+        byPriority.put("MEDIUM", stats.getMediumPriorityTasks());
+        byPriority.put("HIGH", stats.getHighPriorityTasks());
+        long total = stats.getTotalTasks();
+        return builder
+                .taskCount((int) total)
+                .tasksByStatus(byStatus)
+                .tasksByPriority(byPriority)
+                .overdueTasks(stats.getOverdueTasks())
+                .totalHours(stats.getTotalHours())
+                .progressPercent(total == 0 ? 0 : (int) (stats.getDoneTasks() * 100 / total))
+                .lastActivityAt(stats.getLastActivityAt())
                 .build();
     }
 }
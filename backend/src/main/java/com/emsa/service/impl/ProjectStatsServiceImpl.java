@@ -0,0 +1,239 @@
+package com.emsa.service.impl;
+
+import com.emsa.entity.ProjectStats;
+import com.emsa.repository.ProjectStatsRepository;
+import com.emsa.service.ProjectStatsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Maintains project_stats with relative updates ({@code col = col + delta}) in the transaction of each task
+ * change, so concurrent changes to one project never overwrite each other. Anything that slips past the
+ * deltas (direct SQL, tasks turning overdue at midnight) is repaired by {@link #reconcile}.
+ */
+@Slf4j
+@Service
+@Transactional
+public class ProjectStatsServiceImpl implements ProjectStatsService {
+
+    private static final List<String> STATUSES = List.of("TODO", "IN_PROGRESS", "REVIEW", "DONE");
+    private static final List<String> PRIORITIES = List.of("LOW", "MEDIUM", "HIGH");
+
+    // Same order as Counts.values
+    private static final List<String> COUNT_COLUMNS = List.of("total_tasks", "todo_tasks", "in_progress_tasks",
+            "review_tasks", "done_tasks", "low_priority_tasks", "medium_priority_tasks", "high_priority_tasks",
+            "overdue_tasks");
+    private static final int TOTAL = 0, STATUS = 1, PRIORITY = 1 + STATUSES.size(), OVERDUE = PRIORITY + PRIORITIES.size();
+
+    private static final String AGGREGATE_COLUMNS =
+            "COUNT(*), " +
+            STATUSES.stream().map(s -> "SUM(CASE WHEN status = '" + s + "' THEN 1 ELSE 0 END), ").collect(Collectors.joining()) +
+            PRIORITIES.stream().map(p -> "SUM(CASE WHEN priority = '" + p + "' THEN 1 ELSE 0 END), ").collect(Collectors.joining()) +
+            "SUM(CASE WHEN due_date < ? AND (status IS NULL OR status <> 'DONE') THEN 1 ELSE 0 END), " +
+            "COALESCE(SUM(hours_logged), 0), MAX(updated_at)";
+
+    private static final String ADD_SQL = "UPDATE project_stats SET " +
+            COUNT_COLUMNS.stream().map(c -> c + " = " + c + " + ?").collect(Collectors.joining(", ")) +
+            ", total_hours = total_hours + ?, last_activity_at = ? WHERE project_id = ?";
+
+    private static final String SET_SQL = "UPDATE project_stats SET " +
+            COUNT_COLUMNS.stream().map(c -> c + " = ?").collect(Collectors.joining(", ")) +
+            ", total_hours = ?, last_activity_at = CASE WHEN last_activity_at IS NULL OR last_activity_at < ? " +
+            "THEN ? ELSE last_activity_at END WHERE project_id = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO project_stats (project_id, " +
+            String.join(", ", COUNT_COLUMNS) + ", total_hours, last_activity_at) VALUES (?, " +
+            "?, ".repeat(COUNT_COLUMNS.size()) + "?, ?)";
+
+    @Autowired private ProjectStatsRepository projectStatsRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Override
+    public void projectCreated(Long projectId) {
+        insert(projectId, new Counts());
+    }
+
+    @Override
+    public void projectDeleted(Long projectId) {
+        jdbcTemplate.update("DELETE FROM project_stats WHERE project_id = ?", projectId);
+    }
+
+    @Override
+    public void taskChanged(TaskSnapshot before, TaskSnapshot after) {
+        Map<Long, Counts> deltas = new HashMap<>();
+        if (before != null) {
+            deltas.computeIfAbsent(before.projectId(), id -> new Counts()).add(before, -1);
+        }
+        if (after != null) {
+            deltas.computeIfAbsent(after.projectId(), id -> new Counts()).add(after, 1);
+        }
+        deltas.forEach(this::apply);
+    }
+
+    @Override
+    public void hoursLogged(Long projectId, double hours) {
+        Counts delta = new Counts();
+        delta.hours = hours;
+        apply(projectId, delta);
+    }
+
+    // The caller's task changes are flushed, so a missing row can be built from the tasks table as it now stands
+    private void apply(Long projectId, Counts delta) {
+        List<Object> args = new ArrayList<>(COUNT_COLUMNS.size() + 3);
+        for (long value : delta.values) {
+            args.add(value);
+        }
+        args.add(delta.hours);
+        args.add(Timestamp.valueOf(LocalDateTime.now()));
+        args.add(projectId);
+        if (jdbcTemplate.update(ADD_SQL, args.toArray()) == 0) {
+            repair(projectId);
+        }
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public int reconcile() {
+        LocalDate today = LocalDate.now();
+        Map<Long, Counts> expected = new HashMap<>();
+        jdbcTemplate.query("SELECT project_id, " + AGGREGATE_COLUMNS + " FROM tasks GROUP BY project_id",
+                rs -> { expected.put(rs.getLong(1), Counts.read(rs, 2)); }, Date.valueOf(today));
+        Set<Long> projectIds = new HashSet<>(jdbcTemplate.queryForList("SELECT project_id FROM projects", Long.class));
+        Map<Long, ProjectStats> stored = projectStatsRepository.findAll().stream()
+                .collect(Collectors.toMap(ProjectStats::getProjectId, Function.identity()));
+
+        int repaired = 0;
+        for (Long projectId : projectIds) {
+            ProjectStats row = stored.get(projectId);
+            if (row == null || !expected.getOrDefault(projectId, new Counts()).matches(row)) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> repair(projectId));
+                    repaired++;
+                } catch (DuplicateKeyException e) {
+                    log.debug("Project {} stats were created concurrently", projectId);
+                }
+            }
+        }
+        stored.keySet().removeAll(projectIds);
+        stored.keySet().forEach(this::projectDeleted);
+
+        if (repaired > 0 || !stored.isEmpty()) {
+            meterRegistry.counter("emsa.project-stats.repaired").increment(repaired);
+            log.info("Reconciled project stats: {} rows repaired, {} orphaned rows removed", repaired, stored.size());
+        }
+        return repaired;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${emsa.project-stats.reconcile-cron}")
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Recomputes one project's row. Locking the row first makes concurrent delta updates wait, and any task
+     * change that has not yet applied its delta is also not yet visible to the aggregate, so none is lost.
+     */
+    private void repair(Long projectId) {
+        boolean exists = !jdbcTemplate.queryForList(
+                "SELECT project_id FROM project_stats WHERE project_id = ? FOR UPDATE", Long.class, projectId).isEmpty();
+        Counts actual = jdbcTemplate.queryForObject(
+                "SELECT " + AGGREGATE_COLUMNS + " FROM tasks WHERE project_id = ?",
+                (rs, n) -> Counts.read(rs, 1), Date.valueOf(LocalDate.now()), projectId);
+        if (!exists) {
+            insert(projectId, actual);
+            return;
+        }
+        List<Object> args = new ArrayList<>(COUNT_COLUMNS.size() + 4);
+        for (long value : actual.values) {
+            args.add(value);
+        }
+        args.add(actual.hours);
+        Timestamp lastActivity = actual.lastActivity != null ? Timestamp.valueOf(actual.lastActivity) : null;
+        args.add(lastActivity);
+        args.add(lastActivity);
+        args.add(projectId);
+        jdbcTemplate.update(SET_SQL, args.toArray());
+    }
+
+    private void insert(Long projectId, Counts counts) {
+        List<Object> args = new ArrayList<>(COUNT_COLUMNS.size() + 3);
+        args.add(projectId);
+        for (long value : counts.values) {
+            args.add(value);
+        }
+        args.add(counts.hours);
+        args.add(Timestamp.valueOf(counts.lastActivity != null ? counts.lastActivity : LocalDateTime.now()));
+        jdbcTemplate.update(INSERT_SQL, args.toArray());
+    }
+
+    private static final class Counts {
+        final long[] values = new long[COUNT_COLUMNS.size()];
+        double hours;
+        LocalDateTime lastActivity;
+
+        void add(TaskSnapshot task, int sign) {
+            values[TOTAL] += sign;
+            int status = STATUSES.indexOf(task.status());
+            if (status >= 0) {
+                values[STATUS + status] += sign;
+            }
+            int priority = PRIORITIES.indexOf(task.priority());
+            if (priority >= 0) {
+                values[PRIORITY + priority] += sign;
+            }
+            if (task.overdue()) {
+                values[OVERDUE] += sign;
+            }
+            hours += sign * task.hours();
+        }
+
+        static Counts read(ResultSet rs, int firstColumn) throws SQLException {
+            Counts counts = new Counts();
+            for (int i = 0; i < counts.values.length; i++) {
+                counts.values[i] = rs.getLong(firstColumn + i);
+            }
+            counts.hours = rs.getDouble(firstColumn + counts.values.length);
+            Timestamp lastActivity = rs.getTimestamp(firstColumn + counts.values.length + 1);
+            counts.lastActivity = lastActivity != null ? lastActivity.toLocalDateTime() : null;
+            return counts;
+        }
+
+        // Last activity also moves with work logs, which do not touch tasks.updated_at, so it is not compared
+        boolean matches(ProjectStats row) {
+            long[] stored = {row.getTotalTasks(), row.getTodoTasks(), row.getInProgressTasks(), row.getReviewTasks(),
+                    row.getDoneTasks(), row.getLowPriorityTasks(), row.getMediumPriorityTasks(),
+                    row.getHighPriorityTasks(), row.getOverdueTasks()};
+            return Arrays.equals(values, stored) && Math.abs(hours - row.getTotalHours()) < 1e-6;
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.emsa.service.impl;
+
+import com.emsa.config.CacheConfig;
+import com.emsa.dto.response.RatingDistribution;
+import com.emsa.dto.response.ReviewCalibrationResponse;
+import com.emsa.entity.Account;
+import com.emsa.entity.Department;
+import com.emsa.entity.ReviewCycle;
+import com.emsa.exception.ResourceNotFoundException;
+import com.emsa.repository.AccountRepository;
+import com.emsa.repository.DepartmentRepository;
+import com.emsa.repository.ReviewCycleRepository;
+import com.emsa.service.ReviewCalibrationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Rating statistics of one review cycle, overall and per department and reviewer. One grouped query over the
+ * covering index idx_performance_reviews_cycle returns a row per (reviewer, department, rating); those rows are
+ * folded into per-group counters, so no review entity (or its TEXT columns) is ever loaded. Department is the
+ * employee's current department. Results for closed cycles are cached: their reviews can no longer change.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReviewCalibrationServiceImpl implements ReviewCalibrationService {
+
+    private static final int MAX_RATING = 5;
+
+    private static final String AGGREGATE_SQL = "SELECT r.reviewer_id, a.department_id, r.rating, COUNT(*), " +
+            "COUNT(r.increment_recommended), COALESCE(SUM(r.increment_recommended), 0) " +
+            "FROM performance_reviews r JOIN accounts a ON a.account_id = r.employee_id " +
+            "WHERE r.cycle_name = ? GROUP BY r.reviewer_id, a.department_id, r.rating";
+
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private ReviewCycleRepository reviewCycleRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private DepartmentRepository departmentRepository;
+
+    @Value("${emsa.calibration.outlier-z:2.0}")
+    private double outlierZ;
+
+    @Value("${emsa.calibration.min-reviews:3}")
+    private int minReviews;
+
+    @Override
+    @Cacheable(cacheNames = CacheConfig.REVIEW_CALIBRATION, unless = "!#result.closed")
+    public ReviewCalibrationResponse getCalibration(String cycleName) {
+        Optional<ReviewCycle> cycle = reviewCycleRepository.findById(cycleName);
+
+        Tally overall = new Tally();
+        Map<Long, Tally> byReviewer = new HashMap<>();
+        Map<Long, Tally> byDepartment = new HashMap<>();
+        jdbcTemplate.query(AGGREGATE_SQL, rs -> {
+            long reviewerId = rs.getLong(1);
+            Long departmentId = rs.getObject(2, Long.class);
+            int rating = rs.getInt(3);
+            if (rs.wasNull()) {
+                rating = 0;
+            }
+            long count = rs.getLong(4);
+            long incrementCount = rs.getLong(5);
+            double incrementSum = rs.getDouble(6);
+            overall.add(rating, count, incrementCount, incrementSum);
+            byReviewer.computeIfAbsent(reviewerId, id -> new Tally()).add(rating, count, incrementCount, incrementSum);
+            byDepartment.computeIfAbsent(departmentId, id -> new Tally()).add(rating, count, incrementCount, incrementSum);
+        }, cycleName);
+
+        if (overall.reviews == 0 && cycle.isEmpty()) {
+            throw new ResourceNotFoundException("Review cycle not found: " + cycleName);
+        }
+
+        Map<Long, String> reviewerNames = accountRepository.findAllById(byReviewer.keySet()).stream()
+                .collect(Collectors.toMap(Account::getAccountId, a -> a.getFirstName() + " " + a.getLastName()));
+        Map<Long, String> departmentNames = departmentRepository.findAllById(
+                        byDepartment.keySet().stream().filter(Objects::nonNull).toList()).stream()
+                .collect(Collectors.toMap(Department::getDepartmentId, Department::getDepartmentName));
+
+        double cycleMean = overall.mean();
+        double cycleSd = Math.sqrt(overall.variance());
+        List<RatingDistribution> reviewers = toDistributions(byReviewer, reviewerNames::get);
+        for (RatingDistribution d : reviewers) {
+            if (d.getRatedCount() > 0 && cycleSd > 0) {
+                double z = (byReviewer.get(d.getId()).mean() - cycleMean) / (cycleSd / Math.sqrt(d.getRatedCount()));
+                d.setMeanZScore(round(z));
+                d.setOutlier(d.getRatedCount() >= minReviews && Math.abs(z) >= outlierZ);
+            } else {
+                d.setOutlier(false);
+            }
+        }
+
+        return ReviewCalibrationResponse.builder()
+                .cycleName(cycleName)
+                .closed(cycle.map(ReviewCycle::isClosed).orElse(false))
+                .overall(overall.toDistribution(null, cycleName))
+                .departments(toDistributions(byDepartment, id -> id == null ? "No department" : departmentNames.get(id)))
+                .reviewers(reviewers)
+                .outlierReviewerIds(reviewers.stream().filter(RatingDistribution::getOutlier)
+                        .map(RatingDistribution::getId).toList())
+                .generatedAt(LocalDateTime.now())
+                .build();
+    }
+
+    private List<RatingDistribution> toDistributions(Map<Long, Tally> tallies, Function<Long, String> names) {
+        List<RatingDistribution> result = new ArrayList<>(tallies.size());
+        tallies.forEach((id, tally) -> result.add(tally.toDistribution(id, names.apply(id))));
+        result.sort(Comparator.comparing(RatingDistribution::getReviewCount).reversed()
+                .thenComparing(RatingDistribution::getId, Comparator.nullsLast(Comparator.naturalOrder())));
+        return result;
+    }
+
+    private static Double round(double value) {
+        return Math.round(value * 1000) / 1000.0;
+    }
+
+    // Running counts of one group; counts[0] holds reviews without a rating on the 1-5 scale
+    private static final class Tally {
+        final long[] counts = new long[MAX_RATING + 1];
+        long reviews;
+        long incrementCount;
+        double incrementSum;
+
+        void add(int rating, long count, long increments, double incrementTotal) {
+            counts[rating >= 1 && rating <= MAX_RATING ? rating : 0] += count;
+            reviews += count;
+            incrementCount += increments;
+            incrementSum += incrementTotal;
+        }
+
+        long rated() {
+            return reviews - counts[0];
+        }
+
+        double mean() {
+            long n = rated();
+            if (n == 0) {
+                return 0;
+            }
+            long sum = 0;
+            for (int r = 1; r <= MAX_RATING; r++) {
+                sum += r * counts[r];
+            }
+            return (double) sum / n;
+        }
+
+        double variance() {
+            long n = rated();
+            if (n == 0) {
+                return 0;
+            }
+            double mean = mean();
+            double squares = 0;
+            for (int r = 1; r <= MAX_RATING; r++) {
+                squares += counts[r] * (r - mean) * (r - mean);
+            }
+            return squares / n;
+        }
+
+        RatingDistribution toDistribution(Long id, String name) {
+            long n = rated();
+            long[] ratingCounts = new long[MAX_RATING];
+            System.arraycopy(counts, 1, ratingCounts, 0, MAX_RATING);
+            return RatingDistribution.builder()
+                    .id(id)
+                    .name(name)
+                    .reviewCount(reviews)
+                    .ratedCount(n)
+                    .ratingCounts(ratingCounts)
+                    .mean(n == 0 ? null : round(mean()))
+                    .variance(n == 0 ? null : round(variance()))
+                    .incrementCount(incrementCount)
+                    .incrementTotal(incrementSum)
+                    .incrementAverage(incrementCount == 0 ? null : round(incrementSum / incrementCount))
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,175 @@
+package com.emsa.service.impl;
+
+import com.emsa.entity.PerformanceReview;
+import com.emsa.entity.ReviewCycle;
+import com.emsa.entity.ReviewCycleLaunch;
+import com.emsa.entity.ReviewLaunchScope;
+import com.emsa.exception.ConflictException;
+import com.emsa.repository.AccountRepository;
+import com.emsa.repository.PerformanceReviewRepository;
+import com.emsa.repository.ReviewCycleLaunchRepository;
+import com.emsa.repository.ReviewCycleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+/**
+ * Runs cycle launches. The employees still without a review in the cycle are read once, past the launch's
+ * cursor, into two primitive arrays (16 bytes per employee); each chunk of them is then inserted as JDBC-batched
+ * DRAFT reviews in its own transaction, together with the launch's progress and new cursor. A crash loses at
+ * most the chunk in flight, and resuming skips everyone who already has a review.
+ */
+@Slf4j
+@Component
+public class ReviewCycleLauncher {
+
+    private static final String NO_REVIEW_YET = " AND NOT EXISTS (SELECT 1 FROM performance_reviews r " +
+            "WHERE r.employee_id = a.account_id AND r.cycle_name = ?)";
+
+    private static final String SUBTREE_SQL = "SELECT a.account_id, a.reporting_manager_id " +
+            "FROM account_hierarchy h JOIN accounts a ON a.account_id = h.descendant_id " +
+            "WHERE h.ancestor_id = ? AND h.depth > 0 AND h.descendant_id > ? AND a.is_active = TRUE" + NO_REVIEW_YET +
+            " ORDER BY h.descendant_id";
+
+    private static final String DEPARTMENT_SQL = "SELECT a.account_id, a.reporting_manager_id FROM accounts a " +
+            "WHERE a.department_id = ? AND a.account_id > ? AND a.is_active = TRUE" + NO_REVIEW_YET +
+            " ORDER BY a.account_id";
+
+    private static final String PROGRESS_SQL = "UPDATE review_cycle_launches SET created_count = created_count + ?, " +
+            "skipped_count = skipped_count + ?, last_account_id = ?, updated_at = ? WHERE launch_id = ?";
+
+    @Autowired private ReviewCycleLaunchRepository launchRepository;
+    @Autowired private ReviewCycleRepository reviewCycleRepository;
+    @Autowired private PerformanceReviewRepository reviewRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TransactionTemplate transactionTemplate;
+    @Autowired private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("reviewLaunchExecutor")
+    private ThreadPoolTaskExecutor reviewLaunchExecutor;
+
+    @Value("${emsa.review-launch.chunk-size:500}")
+    private int chunkSize;
+
+    /** Runs the launch once the current transaction has committed it. */
+    public void start(Long launchId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    reviewLaunchExecutor.execute(() -> run(launchId));
+                }
+            });
+        } else {
+            reviewLaunchExecutor.execute(() -> run(launchId));
+        }
+    }
+
+    private void run(Long launchId) {
+        ReviewCycleLaunch launch = launchRepository.findById(launchId).orElse(null);
+        if (launch == null || !ReviewCycleLaunch.RUNNING.equals(launch.getStatus())) {
+            return;
+        }
+        Long fallbackReviewerId = launch.getStartedBy() != null ? launch.getStartedBy().getAccountId() : null;
+        try {
+            Employees employees = load(launch);
+            jdbcTemplate.update("UPDATE review_cycle_launches SET total_count = created_count + skipped_count + ? " +
+                    "WHERE launch_id = ?", employees.ids.length, launchId);
+            for (int from = 0; from < employees.ids.length; from += chunkSize) {
+                int to = Math.min(from + chunkSize, employees.ids.length);
+                int start = from;
+                transactionTemplate.executeWithoutResult(status ->
+                        insertChunk(launch, employees, start, to, fallbackReviewerId));
+            }
+            finish(launchId, ReviewCycleLaunch.COMPLETED, null);
+            log.info("Launch {} of review cycle {} completed", launchId, launch.getCycleName());
+        } catch (RuntimeException e) {
+            log.error("Launch {} of review cycle {} failed", launchId, launch.getCycleName(), e);
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            finish(launchId, ReviewCycleLaunch.FAILED, message.length() > 500 ? message.substring(0, 500) : message);
+        }
+    }
+
+    private Employees load(ReviewCycleLaunch launch) {
+        LongStream.Builder ids = LongStream.builder();
+        LongStream.Builder managerIds = LongStream.builder();
+        String sql = launch.getScope() == ReviewLaunchScope.SUBTREE ? SUBTREE_SQL : DEPARTMENT_SQL;
+        long cursor = launch.getLastAccountId() != null ? launch.getLastAccountId() : 0;
+        jdbcTemplate.query(sql, rs -> {
+            ids.add(rs.getLong(1));
+            managerIds.add(rs.getLong(2)); // 0 when the employee has no manager
+        }, launch.getScopeId(), cursor, launch.getCycleName());
+        return new Employees(ids.build().toArray(), managerIds.build().toArray());
+    }
+
+    private void insertChunk(ReviewCycleLaunch launch, Employees employees, int from, int to, Long fallbackReviewerId) {
+        // Share mode, like any review write: the cycle cannot close while the chunk is inserted
+        ReviewCycle cycle = reviewCycleRepository.findByIdForShare(launch.getCycleName()).orElseThrow();
+        if (cycle.isClosed()) {
+            throw new ConflictException("Review cycle was closed during the launch");
+        }
+        Set<Long> reviewed = alreadyReviewed(launch.getCycleName(), employees.ids, from, to);
+        List<PerformanceReview> reviews = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            long employeeId = employees.ids[i];
+            Long reviewerId = employees.managerIds[i] != 0 ? employees.managerIds[i] : fallbackReviewerId;
+            if (reviewed.contains(employeeId) || reviewerId == null) {
+                continue;
+            }
+            reviews.add(PerformanceReview.builder()
+                    .employee(accountRepository.getReferenceById(employeeId))
+                    .reviewer(accountRepository.getReferenceById(reviewerId))
+                    .cycleName(launch.getCycleName())
+                    .status("DRAFT")
+                    .build());
+        }
+        reviewRepository.saveAll(reviews);
+        reviewRepository.flush();
+        jdbcTemplate.update(PROGRESS_SQL, reviews.size(), (to - from) - reviews.size(), employees.ids[to - 1],
+                Timestamp.valueOf(LocalDateTime.now()), launch.getLaunchId());
+        meterRegistry.counter("emsa.review-launch.reviews").increment(reviews.size());
+    }
+
+    // Reviews created outside the launch after the employees were loaded
+    private Set<Long> alreadyReviewed(String cycleName, long[] ids, int from, int to) {
+        StringBuilder sql = new StringBuilder("SELECT employee_id FROM performance_reviews WHERE cycle_name = ? AND employee_id IN (");
+        List<Object> args = new ArrayList<>(to - from + 1);
+        args.add(cycleName);
+        for (int i = from; i < to; i++) {
+            sql.append(i == from ? "?" : ", ?");
+            args.add(ids[i]);
+        }
+        sql.append(')');
+        List<Long> found = jdbcTemplate.queryForList(sql.toString(), Long.class, args.toArray());
+        return found.isEmpty() ? Collections.emptySet() : new HashSet<>(found);
+    }
+
+    private void finish(Long launchId, String status, String errorMessage) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.update("UPDATE review_cycle_launches SET status = ?, error_message = ?, updated_at = ?, " +
+                "finished_at = ? WHERE launch_id = ?", status, errorMessage, Timestamp.valueOf(now),
+                Timestamp.valueOf(now), launchId);
+    }
+
+    private record Employees(long[] ids, long[] managerIds) {
+    }
+}
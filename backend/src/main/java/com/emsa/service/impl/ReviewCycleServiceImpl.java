@@ -0,0 +1,272 @@
+package com.emsa.service.impl;
+
+import com.emsa.audit.Audited;
+import com.emsa.config.CacheConfig;
+import com.emsa.dto.request.ReviewCycleLaunchRequest;
+import com.emsa.dto.response.ReviewCycleLaunchResponse;
+import com.emsa.dto.response.ReviewCycleResponse;
+import com.emsa.entity.ReviewCycle;
+import com.emsa.entity.ReviewCycleLaunch;
+import com.emsa.entity.ReviewLaunchScope;
+import com.emsa.entity.RoleName;
+import com.emsa.exception.AccessDeniedException;
+import com.emsa.exception.ConflictException;
+import com.emsa.exception.ResourceNotFoundException;
+import com.emsa.repository.AccountRepository;
+import com.emsa.repository.DepartmentRepository;
+import com.emsa.repository.PerformanceReviewRepository;
+import com.emsa.repository.ReviewCycleLaunchRepository;
+import com.emsa.repository.ReviewCycleRepository;
+import com.emsa.repository.projection.CycleReviewCount;
+import com.emsa.repository.projection.StatusCount;
+import com.emsa.service.ReviewCycleService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * Review cycle state. Every review write holds its cycle's row in share mode, and closing takes the row
+ * exclusively, so a cycle closes between writes and nothing changes its reviews afterwards. Launches create a
+ * cycle's DRAFT reviews in the background, see {@link ReviewCycleLauncher}.
+ */
+@Slf4j
+@Service
+@Transactional
+public class ReviewCycleServiceImpl implements ReviewCycleService {
+
+    private static final String CREATE_SQL = "INSERT INTO review_cycles (cycle_name, status, created_at) VALUES (?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE cycle_name = cycle_name";
+
+    // Closing settles every review of the cycle: reviewed ones are approved, unfinished ones marked incomplete
+    private static final String APPROVE_SQL = "UPDATE performance_reviews SET status = 'APPROVED', " +
+            "version = version + 1, updated_at = ? WHERE cycle_name = ? AND status = 'REVIEWED'";
+
+    private static final String EXPIRE_SQL = "UPDATE performance_reviews SET status = 'INCOMPLETE', " +
+            "version = version + 1, updated_at = ? WHERE cycle_name = ? AND status IN ('DRAFT', 'SUBMITTED')";
+
+    @Autowired private ReviewCycleRepository reviewCycleRepository;
+    @Autowired private ReviewCycleLaunchRepository launchRepository;
+    @Autowired private PerformanceReviewRepository reviewRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private DepartmentRepository departmentRepository;
+    @Autowired private ReviewCycleLauncher launcher;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void requireOpen(String cycleName) {
+        if (cycleName == null) {
+            return;
+        }
+        ReviewCycle cycle = reviewCycleRepository.findByIdForShare(cycleName).orElse(null);
+        if (cycle == null) {
+            createIfAbsent(cycleName);
+            cycle = reviewCycleRepository.findByIdForShare(cycleName).orElseThrow();
+        }
+        if (cycle.isClosed()) {
+            throw new ConflictException("Review cycle is closed: " + cycleName);
+        }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReviewCycleResponse> getCycles() {
+        Map<String, ReviewCycleResponse> cycles = new TreeMap<>();
+        for (CycleReviewCount count : reviewRepository.countByCycleAndStatus()) {
+            ReviewCycleResponse response = cycles.computeIfAbsent(count.getCycleName(), this::newResponse);
+            response.setReviewCount(response.getReviewCount() + count.getTotal());
+            response.getStatusCounts().put(count.getStatus(), count.getTotal());
+        }
+        for (ReviewCycle cycle : reviewCycleRepository.findAll()) {
+            ReviewCycleResponse response = cycles.computeIfAbsent(cycle.getCycleName(), this::newResponse);
+            response.setStatus(cycle.getStatus());
+            response.setClosedById(cycle.getClosedBy() != null ? cycle.getClosedBy().getAccountId() : null);
+            response.setClosedAt(cycle.getClosedAt());
+        }
+        return List.copyOf(cycles.values());
+    }
+
+    @Override
+    @CacheEvict(cacheNames = CacheConfig.REVIEW_CALIBRATION, key = "#cycleName")
+    @Audited(action = "CLOSE_CYCLE", entity = "ReviewCycle")
+    public ReviewCycleResponse closeCycle(String cycleName, Long accountId) {
+        if (!reviewCycleRepository.existsById(cycleName) && !reviewRepository.existsByCycleName(cycleName)) {
+            throw new ResourceNotFoundException("Review cycle not found: " + cycleName);
+        }
+        // Waits for in-flight review writes of the cycle, which hold the row in share mode
+        ReviewCycle cycle = lockForUpdate(cycleName);
+        if (cycle.isClosed()) {
+            throw new ConflictException("Review cycle is already closed: " + cycleName);
+        }
+        if (launchRepository.existsByCycleNameAndStatus(cycleName, ReviewCycleLaunch.RUNNING)) {
+            throw new ConflictException("Review cycle is still being launched: " + cycleName);
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        int approved = jdbcTemplate.update(APPROVE_SQL, now, cycleName);
+        int incomplete = jdbcTemplate.update(EXPIRE_SQL, now, cycleName);
+        cycle.setStatus(ReviewCycle.CLOSED);
+        cycle.setClosedBy(accountRepository.getReferenceById(accountId));
+        cycle.setClosedAt(now.toLocalDateTime());
+        log.info("Closed review cycle {}: {} reviews approved, {} marked incomplete", cycleName, approved, incomplete);
+
+        ReviewCycleResponse response = newResponse(cycleName);
+        for (StatusCount count : reviewRepository.countByStatusInCycle(cycleName)) {
+            response.setReviewCount(response.getReviewCount() + count.getTotal());
+            response.getStatusCounts().put(count.getStatus(), count.getTotal());
+        }
+        response.setStatus(cycle.getStatus());
+        response.setClosedById(accountId);
+        response.setClosedAt(cycle.getClosedAt());
+        return response;
+    }
+
+    @Override
+    @Audited(action = "LAUNCH_CYCLE", entity = "ReviewCycleLaunch", entityId = "#result.launchId")
+    public ReviewCycleLaunchResponse launchCycle(String cycleName, ReviewCycleLaunchRequest request,
+                                                 Long accountId, RoleName role) {
+        if (request.getScope() == ReviewLaunchScope.SUBTREE) {
+            if (!accountRepository.existsById(request.getScopeId())) {
+                throw new ResourceNotFoundException("Account", request.getScopeId());
+            }
+            if (role != RoleName.ADMIN && !isInSubtree(accountId, request.getScopeId())) {
+                throw new AccessDeniedException("You can only launch reviews for your own reporting subtree");
+            }
+        } else {
+            if (role != RoleName.ADMIN) {
+                throw new AccessDeniedException("Only admins can launch reviews for a department");
+            }
+            if (!departmentRepository.existsById(request.getScopeId())) {
+                throw new ResourceNotFoundException("Department", request.getScopeId());
+            }
+        }
+
+        ReviewCycle cycle = lockForUpdate(cycleName);
+        if (cycle.isClosed()) {
+            throw new ConflictException("Review cycle is closed: " + cycleName);
+        }
+        // One launch at a time per cycle, so overlapping scopes cannot both create a review for someone
+        if (launchRepository.existsByCycleNameAndStatus(cycleName, ReviewCycleLaunch.RUNNING)) {
+            throw new ConflictException("Review cycle is already being launched: " + cycleName);
+        }
+        ReviewCycleLaunch launch = launchRepository.save(ReviewCycleLaunch.builder()
+                .cycleName(cycleName)
+                .scope(request.getScope())
+                .scopeId(request.getScopeId())
+                .status(ReviewCycleLaunch.RUNNING)
+                .totalCount(0L)
+                .createdCount(0L)
+                .skippedCount(0L)
+                .startedBy(accountRepository.getReferenceById(accountId))
+                .build());
+        launcher.start(launch.getLaunchId());
+        return toResponse(launch);
+    }
+
+    @Override
+    public ReviewCycleLaunchResponse resumeLaunch(Long launchId) {
+        ReviewCycleLaunch launch = launchRepository.findById(launchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Review cycle launch", launchId));
+        ReviewCycle cycle = lockForUpdate(launch.getCycleName());
+        if (!ReviewCycleLaunch.FAILED.equals(launch.getStatus())) {
+            throw new ConflictException("Only a failed launch can be resumed; this one is " + launch.getStatus());
+        }
+        if (cycle.isClosed()) {
+            throw new ConflictException("Review cycle is closed: " + launch.getCycleName());
+        }
+        if (launchRepository.existsByCycleNameAndStatus(launch.getCycleName(), ReviewCycleLaunch.RUNNING)) {
+            throw new ConflictException("Review cycle is already being launched: " + launch.getCycleName());
+        }
+        launch.setStatus(ReviewCycleLaunch.RUNNING);
+        launch.setErrorMessage(null);
+        launch.setFinishedAt(null);
+        launch.setUpdatedAt(LocalDateTime.now());
+        launcher.start(launchId);
+        return toResponse(launch);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReviewCycleLaunchResponse getLaunch(Long launchId) {
+        return toResponse(launchRepository.findById(launchId)
+                .orElseThrow(() -> new ResourceNotFoundException("Review cycle launch", launchId)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<ReviewCycleLaunchResponse> getLaunches(String cycleName) {
+        return launchRepository.findByCycleNameOrderByLaunchIdDesc(cycleName).stream()
+                .map(this::toResponse).collect(Collectors.toList());
+    }
+
+    // Launches still marked running were cut off by a shutdown; they carry on from their last committed chunk
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void resumeInterruptedLaunches() {
+        for (ReviewCycleLaunch launch : launchRepository.findByStatus(ReviewCycleLaunch.RUNNING)) {
+            log.info("Resuming launch {} of review cycle {}", launch.getLaunchId(), launch.getCycleName());
+            launcher.start(launch.getLaunchId());
+        }
+    }
+
+    private ReviewCycle lockForUpdate(String cycleName) {
+        createIfAbsent(cycleName);
+        return reviewCycleRepository.findByIdForUpdate(cycleName).orElseThrow();
+    }
+
+    private void createIfAbsent(String cycleName) {
+        jdbcTemplate.update(CREATE_SQL, cycleName, ReviewCycle.OPEN, Timestamp.valueOf(LocalDateTime.now()));
+    }
+
+    private boolean isInSubtree(Long managerId, Long accountId) {
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM account_hierarchy WHERE ancestor_id = ? AND descendant_id = ?",
+                Integer.class, managerId, accountId);
+        return rows != null && rows > 0;
+    }
+
+    private ReviewCycleResponse newResponse(String cycleName) {
+        return ReviewCycleResponse.builder()
+                .cycleName(cycleName)
+                .status(ReviewCycle.OPEN)
+                .statusCounts(new LinkedHashMap<>())
+                .build();
+    }
+
+    private ReviewCycleLaunchResponse toResponse(ReviewCycleLaunch l) {
+        long done = l.getCreatedCount() + l.getSkippedCount();
+        LocalDateTime end = l.getFinishedAt() != null ? l.getFinishedAt() : l.getUpdatedAt();
+        double seconds = Duration.between(l.getStartedAt(), end).toMillis() / 1000.0;
+        return ReviewCycleLaunchResponse.builder()
+                .launchId(l.getLaunchId())
+                .cycleName(l.getCycleName())
+                .scope(l.getScope())
+                .scopeId(l.getScopeId())
+                .status(l.getStatus())
+                .totalCount(l.getTotalCount())
+                .createdCount(l.getCreatedCount())
+                .skippedCount(l.getSkippedCount())
+                .percentComplete(l.getTotalCount() == 0
+                        ? (ReviewCycleLaunch.COMPLETED.equals(l.getStatus()) ? 100 : 0)
+                        : Math.round(done * 1000.0 / l.getTotalCount()) / 10.0)
+                .reviewsPerSecond(seconds > 0 ? Math.round(l.getCreatedCount() / seconds * 10) / 10.0 : null)
+                .errorMessage(l.getErrorMessage())
+                .startedById(l.getStartedBy() != null ? l.getStartedBy().getAccountId() : null)
+                .startedAt(l.getStartedAt())
+                .updatedAt(l.getUpdatedAt())
+                .finishedAt(l.getFinishedAt())
+                .build();
+    }
+}
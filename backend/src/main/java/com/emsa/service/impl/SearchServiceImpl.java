@@ -0,0 +1,113 @@
+package com.emsa.service.impl;
+
+import com.emsa.dto.response.SearchHit;
+import com.emsa.search.DocumentType;
+import com.emsa.search.SearchDocument;
+import com.emsa.search.SearchIndex;
+import com.emsa.service.SearchService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+@Slf4j
+@Service
+public class SearchServiceImpl implements SearchService {
+
+    @Autowired
+    private SearchIndex searchIndex;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    @Qualifier("searchIndexExecutor")
+    private ThreadPoolTaskExecutor searchIndexExecutor;
+
+    @Value("${emsa.search.default-limit:20}")
+    private int defaultLimit;
+
+    @Value("${emsa.search.max-limit:100}")
+    private int maxLimit;
+
+    private Timer queryTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        queryTimer = Timer.builder("emsa.search.query")
+                .description("Time spent ranking a search query")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public List<SearchHit> search(String query, Set<DocumentType> types, Integer limit) {
+        int k = limit == null || limit <= 0 ? defaultLimit : Math.min(limit, maxLimit);
+        List<SearchIndex.Result> results = queryTimer.record(() -> searchIndex.search(query, types, k));
+        return results.stream()
+                .map(r -> SearchHit.builder()
+                        .type(r.document().getType())
+                        .id(r.document().getId())
+                        .title(r.document().getTitle())
+                        .subtitle(r.document().getSubtitle())
+                        .score(r.score())
+                        .build())
+                .toList();
+    }
+
+    /**
+     * Reloads every searchable table, one loader thread per table. Also repairs anything the commit hooks
+     * cannot see, such as rows changed directly in the database.
+     */
+    @Override
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${emsa.search.rebuild-cron}")
+    public int rebuildIndex() {
+        long start = System.nanoTime();
+        try {
+            int size = searchIndex.rebuild(this::loadAll);
+            log.info("Search index rebuilt: {} documents in {} ms", size,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            return size;
+        } catch (Exception e) {
+            throw new IllegalStateException("Search index rebuild failed", e);
+        }
+    }
+
+    private Collection<SearchDocument> loadAll() {
+        List<CompletableFuture<List<SearchDocument>>> loads = List.of(
+                load("SELECT account_id, first_name, last_name, username, email, designation FROM accounts",
+                        (rs, n) -> SearchDocument.account(rs.getLong(1), rs.getString(2), rs.getString(3),
+                                rs.getString(4), rs.getString(5), rs.getString(6))),
+                load("SELECT project_id, project_name, status FROM projects",
+                        (rs, n) -> SearchDocument.project(rs.getLong(1), rs.getString(2), rs.getString(3))),
+                load("SELECT task_id, title, description, status FROM tasks",
+                        (rs, n) -> SearchDocument.task(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getString(4))));
+        List<SearchDocument> documents = new ArrayList<>();
+        loads.forEach(load -> documents.addAll(load.join()));
+        return documents;
+    }
+
+    private CompletableFuture<List<SearchDocument>> load(String sql, RowMapper<SearchDocument> mapper) {
+        return CompletableFuture.supplyAsync(() -> jdbcTemplate.query(sql, mapper), searchIndexExecutor);
+    }
+}
@@ -1,6 +1,8 @@
 package com.emsa.service.impl;
 
+import com.emsa.audit.Audited;
 import com.emsa.dto.request.TaskRequest;
+import com.emsa.dto.response.CursorPage;
 import com.emsa.dto.response.TaskResponse;
 import com.emsa.entity.Account;
 import com.emsa.entity.Project;
@@ -9,7 +11,13 @@ import com.emsa.exception.ResourceNotFoundException;
 import com.emsa.repository.AccountRepository;
 import com.emsa.repository.ProjectRepository;
 import com.emsa.repository.TaskRepository;
+import com.emsa.schedule.DueDateScheduler;
+import com.emsa.schedule.DueSource;
+import com.emsa.service.ProjectStatsService;
+import com.emsa.service.ProjectStatsService.TaskSnapshot;
 import com.emsa.service.TaskService;
+import com.emsa.util.CursorPaging;
+import com.emsa.util.OptimisticLocking;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -24,13 +32,16 @@ public class TaskServiceImpl implements TaskService {
     @Autowired private TaskRepository taskRepository;
     @Autowired private ProjectRepository projectRepository;
     @Autowired private AccountRepository accountRepository;
+    @Autowired private ProjectStatsService projectStatsService;
+    @Autowired private DueDateScheduler dueDateScheduler;
+    @Autowired private CursorPaging cursorPaging;
 
     @Override
-    public TaskResponse createTask(TaskRequest request, String assignedByUsername) {
+    @Audited(action = "CREATE", entity = "Task", entityId = "#result.taskId")
+    public TaskResponse createTask(TaskRequest request, Long assignedById) {
         Project project = projectRepository.findById(request.getProjectId())
                 .orElseThrow(() -> new ResourceNotFoundException("Project", request.getProjectId()));
-        Account assignedBy = accountRepository.findByUsername(assignedByUsername)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + assignedByUsername));
+        Account assignedBy = accountRepository.getReferenceById(assignedById);
 
         Task task = Task.builder()
                 .project(project)
@@ -40,7 +51,6 @@ public class TaskServiceImpl implements TaskService {
                 .status(request.getStatus() != null ? request.getStatus() : "TODO")
                 .priority(request.getPriority() != null ? request.getPriority() : "MEDIUM")
                 .dueDate(request.getDueDate())
-                .hoursLogged(request.getHoursLogged() != null ? request.getHoursLogged() : 0.0)
                 .build();
 
         if (request.getAssignedToId() != null) {
@@ -48,7 +58,10 @@ public class TaskServiceImpl implements TaskService {
                     .orElseThrow(() -> new ResourceNotFoundException("Account", request.getAssignedToId()));
             task.setAssignedTo(assignedTo);
         }
-        return toResponse(taskRepository.save(task));
+        Task saved = taskRepository.saveAndFlush(task);
+        projectStatsService.taskChanged(null, TaskSnapshot.of(saved));
+        dueDateScheduler.changed(DueSource.TASK, saved.getTaskId());
+        return toResponse(saved);
     }
 
     @Override
@@ -58,16 +71,16 @@ public class TaskServiceImpl implements TaskService {
         return toResponse(task);
     }
 
-    public List<TaskResponse> getAllTasks() {
-        return taskRepository.findAll().stream()
-                .map(this::toResponse).collect(Collectors.toList());
+    @Override
+    public CursorPage<TaskResponse> getAllTasks(String cursor, Integer size) {
+        int pageSize = cursorPaging.pageSize(size);
+        List<Task> rows = taskRepository.findPage(cursorPaging.decode(cursor), cursorPaging.limit(pageSize));
+        return cursorPaging.toPage(rows, pageSize, Task::getTaskId, this::toResponse);
     }
 
     @Override
-    public List<TaskResponse> getMyTasks(String username) {
-        Account account = accountRepository.findByUsername(username)
-                .orElseThrow(() -> new ResourceNotFoundException("Account not found: " + username));
-        return taskRepository.findByAssignedToAccountId(account.getAccountId()).stream()
+    public List<TaskResponse> getMyTasks(Long accountId) {
+        return taskRepository.findByAssignedToAccountId(accountId).stream()
                 .map(this::toResponse).collect(Collectors.toList());
     }
 
@@ -77,29 +90,41 @@ public class TaskServiceImpl implements TaskService {
                 .map(this::toResponse).collect(Collectors.toList());
     }
 
+    // Not retried on a version clash: the form was edited from the old row, so the caller has to reload
     @Override
-    public TaskResponse updateTask(Long id, TaskRequest request, String username) {
+    @Audited(action = "UPDATE", entity = "Task", entityId = "#id")
+    public TaskResponse updateTask(Long id, TaskRequest request, Long accountId) {
         Task task = taskRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", id));
+        OptimisticLocking.requireVersion("Task", id, request.getVersion(), task.getVersion());
+        TaskSnapshot before = TaskSnapshot.of(task);
         if (request.getTitle() != null) task.setTitle(request.getTitle());
         if (request.getDescription() != null) task.setDescription(request.getDescription());
         if (request.getStatus() != null) task.setStatus(request.getStatus());
         if (request.getPriority() != null) task.setPriority(request.getPriority());
         if (request.getDueDate() != null) task.setDueDate(request.getDueDate());
-        if (request.getHoursLogged() != null) task.setHoursLogged(request.getHoursLogged());
         if (request.getAssignedToId() != null) {
             Account assignedTo = accountRepository.findById(request.getAssignedToId())
                     .orElseThrow(() -> new ResourceNotFoundException("Account", request.getAssignedToId()));
             task.setAssignedTo(assignedTo);
         }
-        return toResponse(taskRepository.save(task));
+        Task saved = taskRepository.saveAndFlush(task);
+        projectStatsService.taskChanged(before, TaskSnapshot.of(saved));
+        dueDateScheduler.changed(DueSource.TASK, saved.getTaskId());
+        return toResponse(saved);
     }
 
     @Override
+    @Audited(action = "DELETE", entity = "Task", entityId = "#id")
     public void deleteTask(Long id) {
-        Task task = taskRepository.findById(id)
+        // The snapshot's hours come off the project total, so they must include every committed work log
+        Task task = taskRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Task", id));
+        TaskSnapshot before = TaskSnapshot.of(task);
         taskRepository.delete(task);
+        taskRepository.flush();
+        projectStatsService.taskChanged(before, null);
+        dueDateScheduler.changed(DueSource.TASK, id);
     }
 
     private TaskResponse toResponse(Task t) {
@@ -118,6 +143,7 @@ public class TaskServiceImpl implements TaskService {
                 .dueDate(t.getDueDate())
                 .hoursLogged(t.getHoursLogged())
                 .createdAt(t.getCreatedAt())
+                .version(t.getVersion())
                 .build();
     }
 }
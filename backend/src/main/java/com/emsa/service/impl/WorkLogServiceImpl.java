@@ -0,0 +1,170 @@
+package com.emsa.service.impl;
+
+import com.emsa.audit.Audited;
+import com.emsa.dto.request.WorkLogRequest;
+import com.emsa.dto.response.TimesheetResponse;
+import com.emsa.dto.response.WorkLogResponse;
+import com.emsa.entity.AccountWorkTotal;
+import com.emsa.entity.Task;
+import com.emsa.entity.WorkLog;
+import com.emsa.exception.AccessDeniedException;
+import com.emsa.exception.BadRequestException;
+import com.emsa.exception.ResourceNotFoundException;
+import com.emsa.repository.AccountRepository;
+import com.emsa.repository.AccountWorkTotalRepository;
+import com.emsa.repository.ProjectRepository;
+import com.emsa.repository.TaskRepository;
+import com.emsa.repository.WorkLogDailyRepository;
+import com.emsa.repository.WorkLogRepository;
+import com.emsa.repository.projection.TimesheetCell;
+import com.emsa.service.ProjectStatsService;
+import com.emsa.service.WorkLogService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+@Service
+@Transactional
+public class WorkLogServiceImpl implements WorkLogService {
+
+    private static final int DAYS_PER_WEEK = 7;
+
+    @Autowired private WorkLogRepository workLogRepository;
+    @Autowired private WorkLogDailyRepository workLogDailyRepository;
+    @Autowired private AccountWorkTotalRepository accountWorkTotalRepository;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private ProjectRepository projectRepository;
+    @Autowired private AccountRepository accountRepository;
+    @Autowired private ProjectStatsService projectStatsService;
+
+    /**
+     * Appends the entry and bumps every rollup with an atomic increment in the same transaction, so concurrent
+     * entries all count and no total is recomputed from the ledger.
+     */
+    @Override
+    @Audited(action = "CREATE", entity = "WorkLog", entityId = "#result.logId")
+    public WorkLogResponse logHours(Long accountId, WorkLogRequest request) {
+        Task task = taskRepository.findById(request.getTaskId())
+                .orElseThrow(() -> new ResourceNotFoundException("Task", request.getTaskId()));
+        if (task.getAssignedTo() == null || !task.getAssignedTo().getAccountId().equals(accountId)) {
+            throw new AccessDeniedException("You can only log hours on tasks assigned to you");
+        }
+        double hours = request.getHours();
+        // Quarter hours add up exactly in a double, so the rollups never drift from the ledger
+        if (hours * 4 != Math.rint(hours * 4)) {
+            throw new BadRequestException("Hours must be in steps of 0.25");
+        }
+        LocalDate workDate = request.getWorkDate() != null ? request.getWorkDate() : LocalDate.now();
+        if (workDate.isAfter(LocalDate.now())) {
+            throw new BadRequestException("Cannot log hours for a future date");
+        }
+
+        WorkLog entry = workLogRepository.save(WorkLog.builder()
+                .task(task)
+                .account(task.getAssignedTo())
+                .workDate(workDate)
+                .hours(hours)
+                .note(request.getNote())
+                .build());
+        taskRepository.addHoursLogged(task.getTaskId(), hours);
+        workLogDailyRepository.addHours(accountId, task.getProject().getProjectId(), workDate, hours);
+        accountWorkTotalRepository.addHours(accountId, hours);
+        projectStatsService.hoursLogged(task.getProject().getProjectId(), hours);
+
+        WorkLogResponse response = toResponse(entry);
+        response.setTaskHoursLogged(taskRepository.findHoursLogged(task.getTaskId()));
+        return response;
+    }
+
+    @Override
+    public List<WorkLogResponse> getTaskLogs(Long taskId) {
+        if (!taskRepository.existsById(taskId)) {
+            throw new ResourceNotFoundException("Task", taskId);
+        }
+        return workLogRepository.findByTaskTaskIdOrderByLogIdDesc(taskId).stream()
+                .map(this::toResponse).collect(Collectors.toList());
+    }
+
+    @Override
+    public TimesheetResponse getEmployeeTimesheet(Long accountId, LocalDate weekOf) {
+        if (!accountRepository.existsById(accountId)) {
+            throw new ResourceNotFoundException("Account", accountId);
+        }
+        LocalDate weekStart = weekStart(weekOf);
+        TimesheetResponse sheet = toTimesheet(weekStart,
+                workLogDailyRepository.findEmployeeWeek(accountId, weekStart, weekStart.plusDays(DAYS_PER_WEEK - 1)));
+        sheet.setLifetimeHours(accountWorkTotalRepository.findById(accountId)
+                .map(AccountWorkTotal::getTotalHours).orElse(0.0));
+        return sheet;
+    }
+
+    @Override
+    public TimesheetResponse getProjectTimesheet(Long projectId, LocalDate weekOf) {
+        if (!projectRepository.existsById(projectId)) {
+            throw new ResourceNotFoundException("Project", projectId);
+        }
+        LocalDate weekStart = weekStart(weekOf);
+        return toTimesheet(weekStart,
+                workLogDailyRepository.findProjectWeek(projectId, weekStart, weekStart.plusDays(DAYS_PER_WEEK - 1)));
+    }
+
+    private static LocalDate weekStart(LocalDate weekOf) {
+        return (weekOf != null ? weekOf : LocalDate.now()).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private TimesheetResponse toTimesheet(LocalDate weekStart, List<TimesheetCell> cells) {
+        Map<Long, TimesheetResponse.Row> rows = new LinkedHashMap<>();
+        Double[] daily = new Double[DAYS_PER_WEEK];
+        Arrays.fill(daily, 0.0);
+        double total = 0;
+        for (TimesheetCell cell : cells) {
+            TimesheetResponse.Row row = rows.computeIfAbsent(cell.getRowId(), id -> TimesheetResponse.Row.builder()
+                    .id(id)
+                    .name(cell.getRowName())
+                    .hours(new ArrayList<>(Collections.nCopies(DAYS_PER_WEEK, 0.0)))
+                    .total(0.0)
+                    .build());
+            int day = (int) ChronoUnit.DAYS.between(weekStart, cell.getWorkDate());
+            row.getHours().set(day, row.getHours().get(day) + cell.getHours());
+            row.setTotal(row.getTotal() + cell.getHours());
+            daily[day] += cell.getHours();
+            total += cell.getHours();
+        }
+        List<TimesheetResponse.Row> sorted = new ArrayList<>(rows.values());
+        sorted.sort(Comparator.comparing(TimesheetResponse.Row::getName, Comparator.nullsLast(Comparator.naturalOrder())));
+        return TimesheetResponse.builder()
+                .weekStart(weekStart)
+                .weekEnd(weekStart.plusDays(DAYS_PER_WEEK - 1))
+                .rows(sorted)
+                .dailyTotals(Arrays.asList(daily))
+                .totalHours(total)
+                .build();
+    }
+
+    private WorkLogResponse toResponse(WorkLog w) {
+        return WorkLogResponse.builder()
+                .logId(w.getLogId())
+                .taskId(w.getTask().getTaskId())
+                .taskTitle(w.getTask().getTitle())
+                .accountId(w.getAccount().getAccountId())
+                .accountName(w.getAccount().getFirstName() + " " + w.getAccount().getLastName())
+                .workDate(w.getWorkDate())
+                .hours(w.getHours())
+                .note(w.getNote())
+                .createdAt(w.getCreatedAt())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.emsa.util;
+
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+public final class ClientIp {
+
+    private ClientIp() {
+    }
+
+    /**
+     * Client address of the current HTTP request, or null outside a request. X-Forwarded-For is not read here:
+     * the container applies it to the remote address only for requests from a trusted proxy
+     * (server.tomcat.remoteip.internal-proxies), so a caller cannot forge the address that gets audited.
+     */
+    public static String current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return null;
+        }
+        return servletAttributes.getRequest().getRemoteAddr();
+    }
+}
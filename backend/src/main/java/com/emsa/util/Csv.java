@@ -0,0 +1,106 @@
+package com.emsa.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * RFC 4180 field quoting and parsing. Text fields that a spreadsheet would evaluate as a formula are written
+ * with a leading single quote, so they open as the literal text (CSV injection).
+ */
+public final class Csv {
+
+    public static final String LINE_END = "\r\n";
+
+    private Csv() {
+    }
+
+    /** Writes a text field; one that starts like a formula (=, +, -, @, tab or CR) gets a ' in front. */
+    public static void writeField(Writer out, String value) throws IOException {
+        write(out, value != null && startsLikeFormula(value) ? "'" + value : value);
+    }
+
+    /** Writes a number or boolean as is: there a leading minus is a sign, not the start of a formula. */
+    public static void writeNumber(Writer out, String value) throws IOException {
+        write(out, value);
+    }
+
+    private static void write(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        if (!needsQuoting(value)) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+    }
+
+    private static boolean startsLikeFormula(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        char c = value.charAt(0);
+        return c == '=' || c == '+' || c == '-' || c == '@' || c == '\t' || c == '\r';
+    }
+
+    private static boolean needsQuoting(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Reads one record, honouring quoted fields that contain commas, quotes or line breaks.
+     * Returns null at end of input.
+     */
+    public static List<String> readRecord(BufferedReader in) throws IOException {
+        int c = in.read();
+        if (c == -1) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (; c != -1; c = in.read()) {
+            if (quoted) {
+                if (c == '"') {
+                    in.mark(1);
+                    if (in.read() == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        in.reset();
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.isEmpty()) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n') {
+                break;
+            } else if (c != '\r') {
+                field.append((char) c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+}
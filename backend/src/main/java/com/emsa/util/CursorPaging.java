@@ -0,0 +1,121 @@
+package com.emsa.util;
+
+import com.emsa.dto.response.CursorPage;
+import com.emsa.exception.BadRequestException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Keyset paging over descending ids, or over descending (timestamp, id) pairs for lists ordered by time.
+ * Cursors are opaque to clients and encode the key of the last row of the previous page, so every page is an
+ * index range scan with no OFFSET.
+ */
+@Component
+public class CursorPaging {
+
+    private static final String PREFIX = "id:";
+    private static final String TIME_PREFIX = "at:";
+
+    @Value("${emsa.pagination.default-size:50}")
+    private int defaultSize;
+
+    @Value("${emsa.pagination.max-size:200}")
+    private int maxSize;
+
+    public int pageSize(Integer requested) {
+        if (requested == null || requested < 1) {
+            return defaultSize;
+        }
+        return Math.min(requested, maxSize);
+    }
+
+    /** One extra row is fetched to tell whether another page exists. */
+    public Pageable limit(int pageSize) {
+        return PageRequest.of(0, pageSize + 1);
+    }
+
+    public Long decode(String cursor) {
+        String raw = raw(cursor, PREFIX);
+        if (raw == null) {
+            return null;
+        }
+        try {
+            return Long.parseLong(raw);
+        } catch (NumberFormatException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode(Long id) {
+        return encodeRaw(PREFIX + id);
+    }
+
+    public TimeKey decodeTimeKey(String cursor) {
+        String raw = raw(cursor, TIME_PREFIX);
+        if (raw == null) {
+            return null;
+        }
+        try {
+            int comma = raw.lastIndexOf(',');
+            return new TimeKey(LocalDateTime.parse(raw.substring(0, comma)), Long.parseLong(raw.substring(comma + 1)));
+        } catch (RuntimeException e) {
+            throw new BadRequestException("Invalid cursor: " + cursor);
+        }
+    }
+
+    public String encode(TimeKey key) {
+        return encodeRaw(TIME_PREFIX + key.at() + ',' + key.id());
+    }
+
+    public <E, R> CursorPage<R> toPage(List<E> rows, int pageSize, Function<E, Long> idOf, Function<E, R> mapper) {
+        return page(rows, pageSize, row -> encode(idOf.apply(row)), mapper);
+    }
+
+    public <E, R> CursorPage<R> toTimePage(List<E> rows, int pageSize, Function<E, TimeKey> keyOf,
+                                           Function<E, R> mapper) {
+        return page(rows, pageSize, row -> encode(keyOf.apply(row)), mapper);
+    }
+
+    private <E, R> CursorPage<R> page(List<E> rows, int pageSize, Function<E, String> cursorOf,
+                                      Function<E, R> mapper) {
+        boolean hasMore = rows.size() > pageSize;
+        List<E> pageRows = hasMore ? rows.subList(0, pageSize) : rows;
+        return CursorPage.<R>builder()
+                .items(pageRows.stream().map(mapper).toList())
+                .nextCursor(hasMore ? cursorOf.apply(pageRows.get(pageRows.size() - 1)) : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // The cursor's payload after the prefix; a cursor of the other kind is rejected like a corrupt one
+    private static String raw(String cursor, String prefix) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.startsWith(prefix)) {
+                return raw.substring(prefix.length());
+            }
+        } catch (IllegalArgumentException e) {
+            // not Base64
+        }
+        throw new BadRequestException("Invalid cursor: " + cursor);
+    }
+
+    private static String encodeRaw(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /** Position in a list ordered by timestamp, then id, both descending. */
+    public record TimeKey(LocalDateTime at, long id) {
+    }
+}
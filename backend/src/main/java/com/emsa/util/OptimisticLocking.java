@@ -0,0 +1,32 @@
+package com.emsa.util;
+
+import com.emsa.exception.BadRequestException;
+import com.emsa.exception.ConflictException;
+
+public final class OptimisticLocking {
+
+    private OptimisticLocking() {
+    }
+
+    /**
+     * Rejects an update made from a stale copy. {@code expected} is the version the client last read; null means
+     * the client did not ask for the check.
+     */
+    public static void checkVersion(String entity, Long id, Long expected, Long actual) {
+        if (expected != null && !expected.equals(actual)) {
+            throw new ConflictException(entity + " " + id + " has changed since version " + expected +
+                    " (now " + actual + "); reload it and try again");
+        }
+    }
+
+    /**
+     * {@link #checkVersion} for edits that send the whole form back: without the version they were made from,
+     * saving would silently undo whatever changed since the form was loaded.
+     */
+    public static void requireVersion(String entity, Long id, Long expected, Long actual) {
+        if (expected == null) {
+            throw new BadRequestException("Version is required to update " + entity + " " + id);
+        }
+        checkVersion(entity, id, expected, actual);
+    }
+}
@@ -0,0 +1,15 @@
+package com.emsa;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+/** The whole application starts: entities map, caches resolve their config, startup loaders run. */
+@SpringBootTest
+@ActiveProfiles("test")
+class EmsaApplicationTests {
+
+    @Test
+    void contextLoads() {
+    }
+}
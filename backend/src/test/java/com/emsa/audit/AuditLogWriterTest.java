@@ -0,0 +1,92 @@
+package com.emsa.audit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/** A batch that throws anything at all costs only its own events; the writer thread goes on with the next. */
+class AuditLogWriterTest {
+
+    private final List<String> written = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private AuditLogWriter writer;
+
+    @BeforeEach
+    void setUp() {
+        writer = new AuditLogWriter();
+        ReflectionTestUtils.setField(writer, "jdbcTemplate", new FailingJdbcTemplate());
+        ReflectionTestUtils.setField(writer, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(writer, "capacity", 100);
+        ReflectionTestUtils.setField(writer, "flushSize", 1);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 10L);
+        ReflectionTestUtils.setField(writer, "policy", BackpressurePolicy.DROP_NEWEST);
+        writer.start();
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        writer.stop();
+    }
+
+    @Test
+    void laterEventsAreWrittenAfterFailingBatches() throws InterruptedException {
+        writer.publish(event("STATE"));
+        // Timestamp.valueOf(null) in the statement setter
+        writer.publish(AuditEvent.builder().action("NO_TIME").createdAt(null).build());
+        writer.publish(event("ERROR"));
+        writer.publish(event("CREATE"));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (written.isEmpty() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertThat(written).containsExactly("CREATE");
+        assertThat(meterRegistry.get("emsa.audit.failed").functionCounter().count()).isEqualTo(3);
+        assertThat(meterRegistry.get("emsa.audit.written").functionCounter().count()).isEqualTo(1);
+        assertThat(((Thread) ReflectionTestUtils.getField(writer, "writerThread")).isAlive()).isTrue();
+    }
+
+    private static AuditEvent event(String action) {
+        return AuditEvent.builder().action(action).entityName("Task").entityId(1L).build();
+    }
+
+    // Fails the way a broken driver or a bug would, not with a DataAccessException
+    private class FailingJdbcTemplate extends JdbcTemplate {
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> pss) {
+            for (T arg : batchArgs) {
+                String action = ((AuditEvent) arg).getAction();
+                if (action.equals("STATE")) {
+                    throw new IllegalStateException("Connection is closed");
+                }
+                if (action.equals("ERROR")) {
+                    throw new AssertionError("Unexpected row");
+                }
+                try {
+                    pss.setValues(mock(PreparedStatement.class), arg);
+                } catch (SQLException e) {
+                    throw new IllegalStateException(e);
+                }
+                written.add(action);
+            }
+            return new int[][]{{batchArgs.size()}};
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.emsa.controller;
+
+import com.emsa.dto.response.AccountResponse;
+import com.emsa.entity.RoleName;
+import com.emsa.support.SqlStatementCounter;
+import com.emsa.support.TestAccounts;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The caller's id comes from the JWT, so "my ..." endpoints no longer look the caller up by username first.
+ * Each call runs with the second-level cache emptied so that every statement it needs reaches the counter.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(TestAccounts.class)
+class CallerLookupQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private TestAccounts testAccounts;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private AccountResponse employee;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        employee = testAccounts.create(RoleName.EMPLOYEE, null, null);
+        token = testAccounts.bearerToken(employee);
+        entityManagerFactory.getCache().evictAll();
+        SqlStatementCounter.reset();
+    }
+
+    // An employee with nothing assigned: the list query is the only statement
+    @ParameterizedTest
+    @ValueSource(strings = {"/api/tasks/me", "/api/kpis/me", "/api/leave-requests/me", "/api/performance-reviews/me",
+                            "/api/projects/assigned"})
+    void emptyListOfMineIsOneQuery(String path) throws Exception {
+        mockMvc.perform(get(path).header("Authorization", token)).andExpect(status().isOk());
+
+        assertThat(SqlStatementCounter.statements()).hasSize(1);
+        assertNoUsernameLookup();
+    }
+
+    @Test
+    void myProfileIsOneQuery() throws Exception {
+        mockMvc.perform(get("/api/accounts/me").header("Authorization", token)).andExpect(status().isOk());
+
+        assertThat(SqlStatementCounter.statements()).hasSize(1);
+        assertNoUsernameLookup();
+    }
+
+    // The caller is referenced by id; its row is read once, by primary key, only to name them in the response
+    @Test
+    void submittingARequestReadsTheCallerOnceById() throws Exception {
+        mockMvc.perform(post("/api/leave-requests").header("Authorization", token)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"requestType\":\"EXPENSE\",\"description\":\"taxi\"}"))
+                .andExpect(status().isCreated());
+
+        List<String> selects = SqlStatementCounter.statements().stream()
+                .filter(sql -> sql.startsWith("select"))
+                .filter(sql -> sql.contains(" from accounts "))
+                .toList();
+        assertThat(selects).singleElement().satisfies(sql -> assertThat(sql).endsWith(".account_id=?"));
+        assertNoUsernameLookup();
+    }
+
+    private static void assertNoUsernameLookup() {
+        assertThat(SqlStatementCounter.statements()).noneMatch(sql -> sql.contains(".username=?"));
+    }
+}
@@ -0,0 +1,135 @@
+package com.emsa.leave;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class IntervalTreeTest {
+
+    private final IntervalTree tree = new IntervalTree();
+
+    @Test
+    void rangesThatTouchAnIntervalsFirstOrLastDayOverlapIt() {
+        tree.insert(1, 10, 20);
+        tree.insert(2, 5, 5);
+
+        assertThat(query(20, 25)).containsExactly(1L);
+        assertThat(query(0, 10)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(query(5, 5)).containsExactly(2L);
+        assertThat(query(12, 14)).containsExactly(1L);
+        assertThat(query(0, 30)).containsExactlyInAnyOrder(1L, 2L);
+        assertThat(query(21, 30)).isEmpty();
+        assertThat(query(6, 9)).isEmpty();
+        assertThat(query(0, 4)).isEmpty();
+    }
+
+    @Test
+    void intervalsWithTheSameStartAreKeptApartById() {
+        tree.insert(1, 10, 12);
+        tree.insert(2, 10, 30);
+
+        tree.remove(1, 10);
+
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(query(10, 10)).containsExactly(2L);
+        assertThat(query(25, 25)).containsExactly(2L);
+    }
+
+    @Test
+    void removingAMissingIntervalChangesNothing() {
+        tree.insert(1, 10, 12);
+
+        tree.remove(1, 11);
+        tree.remove(2, 10);
+
+        assertThat(tree.size()).isEqualTo(1);
+        assertThat(query(10, 12)).containsExactly(1L);
+    }
+
+    @Test
+    void reAddedIntervalReportsItsNewDays() {
+        tree.insert(1, 10, 40);
+        tree.insert(2, 15, 16);
+
+        tree.remove(1, 10);
+        tree.insert(1, 10, 12);
+
+        assertThat(tree.size()).isEqualTo(2);
+        assertThat(query(30, 40)).isEmpty();
+        assertThat(query(11, 15)).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    void matchesABruteForceScanThroughInsertsRemovesAndReAdds() {
+        Random random = new Random(11);
+        List<long[]> live = new ArrayList<>();
+        long nextId = 1;
+        for (int step = 0; step < 5_000; step++) {
+            int action = random.nextInt(10);
+            if (action < 6 || live.isEmpty()) {
+                long start = random.nextInt(730);
+                long[] interval = {nextId++, start, start + random.nextInt(random.nextInt(10) == 0 ? 120 : 15)};
+                tree.insert(interval[0], interval[1], interval[2]);
+                live.add(interval);
+            } else if (action < 9) {
+                long[] interval = live.remove(random.nextInt(live.size()));
+                tree.remove(interval[0], interval[1]);
+                if (action == 8) {
+                    // Same id back with new dates, as when a leave request is edited
+                    long start = random.nextInt(730);
+                    long[] moved = {interval[0], start, start + random.nextInt(15)};
+                    tree.insert(moved[0], moved[1], moved[2]);
+                    live.add(moved);
+                }
+            } else {
+                long from = random.nextInt(760) - 15;
+                long to = from + random.nextInt(random.nextInt(5) == 0 ? 200 : 7);
+                assertThat(query(from, to)).isEqualTo(scan(live, from, to));
+            }
+            assertThat(tree.size()).isEqualTo(live.size());
+        }
+        for (long from = -5; from < 760; from += 13) {
+            assertThat(query(from, from + 6)).isEqualTo(scan(live, from, from + 6));
+        }
+    }
+
+    @Test
+    void staysBalancedWhenIntervalsArriveInDateOrder() {
+        int n = 100_000;
+        for (int i = 0; i < n; i++) {
+            tree.insert(i, i, i + 2);
+        }
+        // A plain binary search tree would be a 100,000-deep list here; a treap stays near 2-3 x log2(n) = 17
+        assertThat(tree.height()).isLessThan(60);
+
+        for (int i = 0; i < n; i += 2) {
+            tree.remove(i, i);
+        }
+        assertThat(tree.size()).isEqualTo(n / 2);
+        assertThat(tree.height()).isLessThan(60);
+        assertThat(query(500, 503)).containsExactlyInAnyOrder(499L, 501L, 503L);
+        assertThat(query(n + 2, n + 5)).isEmpty();
+    }
+
+    private Set<Long> query(long from, long to) {
+        Set<Long> ids = new HashSet<>();
+        tree.query(from, to, id -> assertThat(ids.add(id)).as("reported twice: %d", id).isTrue());
+        return ids;
+    }
+
+    private static Set<Long> scan(List<long[]> intervals, long from, long to) {
+        Set<Long> ids = new HashSet<>();
+        for (long[] interval : intervals) {
+            if (interval[1] <= to && interval[2] >= from) {
+                ids.add(interval[0]);
+            }
+        }
+        return ids;
+    }
+}
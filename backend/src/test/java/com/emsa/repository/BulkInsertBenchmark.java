@@ -0,0 +1,122 @@
+package com.emsa.repository;
+
+import com.emsa.EmsaApplication;
+import com.emsa.entity.Project;
+import com.emsa.entity.Task;
+import com.emsa.support.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of inserting {@value #ROWS} rows in one transaction, on the H2 test profile, with JDBC batching off
+ * ({@code batchSize=1}) and at the configured 50.
+ * <ul>
+ *   <li>{@code tasks}: Task entities through JPA. Their ids come from the pooled-lo table generator, one
+ *       id_sequences round trip per 50 ids, so Hibernate can group the inserts into batches.</li>
+ *   <li>{@code auditLogs}: audit_logs rows through the same JdbcTemplate batch insert as AuditLogWriter.</li>
+ * </ul>
+ * H2 runs in process, so the gap here is statement overhead only; against MySQL every batch saved is also a
+ * network round trip. Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=BulkInsertBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 1000;
+
+    private static final String AUDIT_INSERT_SQL =
+            "INSERT INTO audit_logs (account_id, action, entity_name, entity_id, details, ip_address, created_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Param({"1", "50"})
+    private int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private EntityManagerFactory entityManagerFactory;
+    private TransactionTemplate transactionTemplate;
+    private JdbcTemplate jdbcTemplate;
+    private Long projectId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(EmsaApplication.class)
+                .profiles("test")
+                .properties("server.port=0")
+                .run("--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        transactionTemplate = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+        projectId = jdbcTemplate.queryForObject("SELECT MIN(project_id) FROM projects", Long.class);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clear() {
+        jdbcTemplate.update("DELETE FROM tasks WHERE title LIKE 'bench-%'");
+        jdbcTemplate.update("DELETE FROM audit_logs WHERE action = 'BENCH'");
+        SqlStatementCounter.reset();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int tasks() {
+        return transactionTemplate.execute(status -> {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            try {
+                entityManager.joinTransaction();
+                Project project = entityManager.getReference(Project.class, projectId);
+                for (int i = 0; i < ROWS; i++) {
+                    entityManager.persist(Task.builder()
+                            .project(project)
+                            .title("bench-" + i)
+                            .status("TODO")
+                            .priority("MEDIUM")
+                            .build());
+                }
+                entityManager.flush();
+                return ROWS;
+            } finally {
+                entityManager.close();
+            }
+        });
+    }
+
+    @Benchmark
+    public int auditLogs() {
+        List<Integer> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(i);
+        }
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        return transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(AUDIT_INSERT_SQL, rows, batchSize,
+                (ps, i) -> {
+                    ps.setNull(1, Types.BIGINT);
+                    ps.setString(2, "BENCH");
+                    ps.setString(3, "Task");
+                    ps.setLong(4, i);
+                    ps.setString(5, "row " + i);
+                    ps.setString(6, "127.0.0.1");
+                    ps.setTimestamp(7, now);
+                }).length);
+    }
+}
@@ -0,0 +1,225 @@
+package com.emsa.schedule;
+
+import com.emsa.dto.request.ProjectRequest;
+import com.emsa.dto.request.TaskRequest;
+import com.emsa.dto.response.AccountResponse;
+import com.emsa.entity.RoleName;
+import com.emsa.service.ProjectService;
+import com.emsa.service.TaskService;
+import com.emsa.support.TestAccounts;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Drives the scheduler through simulated days against the test database. Every test dates its tasks in its own
+ * far-future month, so the window it loads holds only its own items. Defaults: reminder 2 days before the due
+ * date, overdue the day after, escalation 3 days after that.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestAccounts.class)
+class DueDateSchedulerTest {
+
+    @Autowired private DueDateScheduler scheduler;
+    @Autowired private TaskService taskService;
+    @Autowired private ProjectService projectService;
+    @Autowired private JdbcTemplate jdbcTemplate;
+    @Autowired private TestAccounts testAccounts;
+
+    private final List<DueEvent> events = new ArrayList<>();
+    private final Set<Long> taskIds = new HashSet<>();
+    private Object handlers;
+    private AccountResponse manager;
+    private Long projectId;
+
+    @BeforeEach
+    void setUp() {
+        handlers = ReflectionTestUtils.getField(scheduler, "handlers");
+        ReflectionTestUtils.setField(scheduler, "handlers", List.<DueEventHandler>of(event -> {
+            if (event.source() == DueSource.TASK && taskIds.contains(event.sourceId())) {
+                events.add(event);
+            }
+        }));
+        manager = testAccounts.create(RoleName.MANAGER, null, null);
+        ProjectRequest project = new ProjectRequest();
+        project.setProjectName("Due " + System.nanoTime());
+        projectId = projectService.createProject(project, manager.getAccountId()).getProjectId();
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReflectionTestUtils.setField(scheduler, "handlers", handlers);
+        ReflectionTestUtils.setField(scheduler, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(scheduler, "maxEntries", 100000);
+        scheduler.clock = Clock.systemDefaultZone();
+        scheduler.reload();
+    }
+
+    @Test
+    void eachEventFiresOnItsDay() {
+        LocalDate due = LocalDate.of(2041, 3, 15);
+        today(due.minusDays(10));
+        scheduler.reload();
+        Long taskId = task(due);
+
+        Map<LocalDate, List<DueEventType>> fired = tickThrough(due.minusDays(9), due.plusDays(10));
+
+        assertThat(fired).containsExactly(
+                Map.entry(due.minusDays(2), List.of(DueEventType.REMINDER)),
+                Map.entry(due.plusDays(1), List.of(DueEventType.OVERDUE)),
+                Map.entry(due.plusDays(4), List.of(DueEventType.ESCALATION)));
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.sourceId()).isEqualTo(taskId);
+            assertThat(event.dueDate()).isEqualTo(due);
+        });
+    }
+
+    @Test
+    void movedDueDateFiresOnTheNewDaysOnly() {
+        LocalDate due = LocalDate.of(2041, 5, 15);
+        today(due.minusDays(10));
+        scheduler.reload();
+        Long taskId = task(due);
+
+        // Changed without telling the scheduler; the slot is checked against the row when it comes up
+        jdbcTemplate.update("UPDATE tasks SET due_date = ? WHERE task_id = ?", due.plusDays(3), taskId);
+
+        Map<LocalDate, List<DueEventType>> fired = tickThrough(due.minusDays(9), due.plusDays(10));
+
+        assertThat(fired).containsExactly(
+                Map.entry(due.plusDays(1), List.of(DueEventType.REMINDER)),
+                Map.entry(due.plusDays(4), List.of(DueEventType.OVERDUE)),
+                Map.entry(due.plusDays(7), List.of(DueEventType.ESCALATION)));
+    }
+
+    @Test
+    void reloadDoesNotFireAnEventTwice() {
+        LocalDate due = LocalDate.of(2041, 7, 15);
+        today(due.minusDays(10));
+        scheduler.reload();
+        task(due);
+
+        tickThrough(due.minusDays(9), due.minusDays(2));
+        assertThat(events).extracting(DueEvent::type).containsExactly(DueEventType.REMINDER);
+
+        // The reload puts the already-fired reminder back in the queue; the due_events key stops it a second time
+        scheduler.reload();
+        scheduler.tick();
+        today(due.plusDays(1));
+        scheduler.tick();
+        scheduler.reload();
+        scheduler.tick();
+
+        assertThat(events).extracting(DueEvent::type).containsExactly(DueEventType.REMINDER, DueEventType.OVERDUE);
+    }
+
+    @Test
+    void rowsChangedDuringAReloadAreAppliedToTheNewQueue() {
+        LocalDate due = LocalDate.of(2041, 9, 15);
+        today(due.minusDays(10));
+        scheduler.reload();
+        Long deleted = task(due);
+        int before = scheduler.size();
+
+        Long[] created = new Long[1];
+        ReflectionTestUtils.setField(scheduler, "jdbcTemplate", new JdbcTemplate(jdbcTemplate.getDataSource()) {
+            @Override
+            public void query(String sql, RowCallbackHandler rch, Object... args) {
+                super.query(sql, rch, args);
+                // Commits right after the task window has been read, while the reload is still running
+                if (sql.startsWith("SELECT task_id") && sql.contains(" LIMIT ") && created[0] == null) {
+                    created[0] = task(due.plusDays(1));
+                    taskService.deleteTask(deleted);
+                }
+            }
+        });
+        scheduler.reload();
+
+        assertThat(created[0]).isNotNull();
+        assertThat(scheduler.size()).isEqualTo(before);
+        Map<LocalDate, List<DueEventType>> fired = tickThrough(due.minusDays(9), due);
+        assertThat(fired).containsExactly(Map.entry(due.minusDays(1), List.of(DueEventType.REMINDER)));
+        assertThat(events).extracting(DueEvent::sourceId).containsExactly(created[0]);
+    }
+
+    @Test
+    void windowIsTruncatedAtMaxEntries() {
+        LocalDate due = LocalDate.of(2041, 11, 15);
+        today(due.minusDays(10));
+        Long first = task(due);
+        Long second = task(due.plusDays(1));
+        Long third = task(due.plusDays(2));
+
+        ReflectionTestUtils.setField(scheduler, "maxEntries", 2);
+        assertThat(scheduler.reload()).isEqualTo(2);
+        // Past the last row loaded, a change does not bring the item in either
+        TaskRequest rename = title("renamed");
+        rename.setVersion(taskService.getTaskById(third).getVersion());
+        taskService.updateTask(third, rename, manager.getAccountId());
+        assertThat(scheduler.size()).isEqualTo(2);
+
+        tickThrough(due.minusDays(9), due);
+        assertThat(events).extracting(DueEvent::sourceId).containsExactly(first, second);
+
+        // Room again: the next reload picks up the rest, including the reminder missed two days ago
+        ReflectionTestUtils.setField(scheduler, "maxEntries", 100000);
+        scheduler.reload();
+        scheduler.tick();
+        assertThat(events).extracting(DueEvent::sourceId).containsExactly(first, second, third);
+    }
+
+    private Long task(LocalDate due) {
+        TaskRequest request = title("Due " + due);
+        request.setProjectId(projectId);
+        request.setAssignedToId(manager.getAccountId());
+        request.setDueDate(due);
+        Long id = taskService.createTask(request, manager.getAccountId()).getTaskId();
+        taskIds.add(id);
+        return id;
+    }
+
+    private static TaskRequest title(String title) {
+        TaskRequest request = new TaskRequest();
+        request.setTitle(title);
+        return request;
+    }
+
+    private void today(LocalDate day) {
+        scheduler.clock = Clock.fixed(day.atTime(12, 0).atZone(ZoneId.systemDefault()).toInstant(),
+                ZoneId.systemDefault());
+    }
+
+    // Ticks once per day from first to last inclusive; the types fired, by day
+    private Map<LocalDate, List<DueEventType>> tickThrough(LocalDate first, LocalDate last) {
+        Map<LocalDate, List<DueEventType>> fired = new TreeMap<>();
+        for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+            today(day);
+            int seen = events.size();
+            scheduler.tick();
+            if (events.size() > seen) {
+                fired.put(day, events.subList(seen, events.size()).stream().map(DueEvent::type).toList());
+            }
+        }
+        return fired;
+    }
+}
@@ -0,0 +1,60 @@
+package com.emsa.search;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PostingsTest {
+
+    @Test
+    void matchesASortedMapUnderRandomAddsAndRemoves() {
+        Random random = new Random(42);
+        Postings postings = new Postings();
+        TreeMap<Integer, Integer> expected = new TreeMap<>();
+        for (int step = 0; step < 20_000; step++) {
+            // Mostly new ordinals at the end, plus reused and removed ones anywhere below
+            int doc = random.nextInt(4) == 0 ? expected.size() + random.nextInt(50) : random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                postings.remove(doc);
+                expected.remove(doc);
+            } else {
+                int weight = 1 + random.nextInt(3);
+                postings.add(doc, weight);
+                expected.put(doc, weight);
+            }
+            if (step % 500 == 0) {
+                assertThat(live(postings)).isEqualTo(expected);
+            }
+        }
+        assertThat(live(postings)).isEqualTo(expected);
+        assertThat(postings.size()).isEqualTo(expected.size());
+    }
+
+    @Test
+    void removingEveryDocumentEmptiesTheList() {
+        Postings postings = new Postings();
+        for (int doc = 0; doc < 100; doc++) {
+            postings.add(doc, 1);
+        }
+        for (int doc = 99; doc >= 0; doc--) {
+            postings.remove(doc);
+        }
+        postings.remove(5);
+
+        assertThat(postings.size()).isZero();
+        assertThat(live(postings)).isEmpty();
+    }
+
+    private static TreeMap<Integer, Integer> live(Postings postings) {
+        TreeMap<Integer, Integer> live = new TreeMap<>();
+        for (int i = 0; i < postings.length(); i++) {
+            if (postings.weight(i) != 0) {
+                assertThat(live.put(postings.doc(i), postings.weight(i))).isNull();
+            }
+        }
+        return live;
+    }
+}
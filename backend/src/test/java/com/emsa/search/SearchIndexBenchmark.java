@@ -0,0 +1,109 @@
+package com.emsa.search;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Query latency over {@value #DOCUMENTS} task documents (three title words and six body words each, drawn from a
+ * {@value #VOCABULARY}-word vocabulary of random letters), top 20.
+ * <ul>
+ *   <li>{@code word}: one whole word.</li>
+ *   <li>{@code twoWords}: two words that must both match.</li>
+ *   <li>{@code prefix}: the first four letters of a word, expanded over every term that starts with them.</li>
+ *   <li>{@code typo}: a word with one letter changed, found through shared trigrams.</li>
+ * </ul>
+ * Loading the index takes a while and about 2 GB of heap. Run with
+ * {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=SearchIndexBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx3g")
+public class SearchIndexBenchmark {
+
+    private static final int DOCUMENTS = 1_000_000;
+    private static final int VOCABULARY = 20_000;
+    private static final int QUERIES = 1024;
+    private static final int LIMIT = 20;
+
+    private SearchIndex index;
+    private String[] words;
+    private String[] twoWords;
+    private String[] prefixes;
+    private String[] typos;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        Random random = new Random(7);
+        String[] vocabulary = new String[VOCABULARY];
+        for (int i = 0; i < vocabulary.length; i++) {
+            vocabulary[i] = word(random, 5 + random.nextInt(6));
+        }
+        List<SearchDocument> documents = new ArrayList<>(DOCUMENTS);
+        for (long id = 1; id <= DOCUMENTS; id++) {
+            documents.add(SearchDocument.task(id, words(random, vocabulary, 3), words(random, vocabulary, 6), "TODO"));
+        }
+        index = new SearchIndex();
+        ReflectionTestUtils.setField(index, "maxPrefixTerms", 256);
+        ReflectionTestUtils.setField(index, "minSimilarity", 0.5);
+        index.rebuild(() -> documents);
+
+        words = new String[QUERIES];
+        twoWords = new String[QUERIES];
+        prefixes = new String[QUERIES];
+        typos = new String[QUERIES];
+        for (int i = 0; i < QUERIES; i++) {
+            String word = vocabulary[random.nextInt(VOCABULARY)];
+            words[i] = word;
+            twoWords[i] = word + ' ' + vocabulary[random.nextInt(VOCABULARY)];
+            prefixes[i] = word.substring(0, 4);
+            char[] typo = word.toCharArray();
+            typo[typo.length / 2] = typo[typo.length / 2] == 'z' ? 'y' : 'z';
+            typos[i] = new String(typo);
+        }
+    }
+
+    @Benchmark
+    public List<SearchIndex.Result> word() {
+        return index.search(words[next++ & (QUERIES - 1)], null, LIMIT);
+    }
+
+    @Benchmark
+    public List<SearchIndex.Result> twoWords() {
+        return index.search(twoWords[next++ & (QUERIES - 1)], null, LIMIT);
+    }
+
+    @Benchmark
+    public List<SearchIndex.Result> prefix() {
+        return index.search(prefixes[next++ & (QUERIES - 1)], null, LIMIT);
+    }
+
+    @Benchmark
+    public List<SearchIndex.Result> typo() {
+        return index.search(typos[next++ & (QUERIES - 1)], null, LIMIT);
+    }
+
+    private static String word(Random random, int length) {
+        char[] letters = new char[length];
+        for (int i = 0; i < length; i++) {
+            letters[i] = (char) ('a' + random.nextInt(26));
+        }
+        return new String(letters);
+    }
+
+    private static String words(Random random, String[] vocabulary, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : " ").append(vocabulary[random.nextInt(vocabulary.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,110 @@
+package com.emsa.search;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SearchIndexTest {
+
+    private SearchIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new SearchIndex();
+        ReflectionTestUtils.setField(index, "maxPrefixTerms", 256);
+        ReflectionTestUtils.setField(index, "minSimilarity", 0.5);
+        index.index(SearchDocument.task(1L, "Payroll upload", null, "TODO"));
+        index.index(SearchDocument.task(2L, "Quarterly report", "Check the payroll numbers", "TODO"));
+        index.index(SearchDocument.task(3L, "Payrollsystem migration", null, "DONE"));
+    }
+
+    @Test
+    void exactTitleWordsOutrankPrefixesAndBodyWords() {
+        assertThat(ids(index.search("payroll", null, 10))).containsExactly(1L, 3L, 2L);
+        assertThat(index.search("payroll", null, 10)).extracting(SearchIndex.Result::score)
+                .containsExactly(9f, 6f, 3f);
+    }
+
+    @Test
+    void everyQueryWordMustMatch() {
+        assertThat(ids(index.search("payroll upload", null, 10))).containsExactly(1L);
+        assertThat(ids(index.search("payroll invoice", null, 10))).isEmpty();
+    }
+
+    @Test
+    void prefixesMatchTheStartOfAWord() {
+        // Equal title scores tie-break on the higher ordinal
+        assertThat(ids(index.search("pay", null, 10))).containsExactly(3L, 1L, 2L);
+        assertThat(ids(index.search("quart", null, 10))).containsExactly(2L);
+        assertThat(ids(index.search("yroll", null, 1))).hasSize(1);
+    }
+
+    @Test
+    void trigramsMatchTyposAndSubstrings() {
+        assertThat(ids(index.search("pyroll", null, 10))).containsExactlyInAnyOrder(1L, 2L, 3L);
+        assertThat(ids(index.search("migrtion", null, 10))).containsExactly(3L);
+        assertThat(ids(index.search("zzzz", null, 10))).isEmpty();
+    }
+
+    @Test
+    void trigramsAreOnlyTriedWhenWordsAndPrefixesFindTooFew() {
+        // "report" matches task 2 outright; with a limit of 1 the trigram pass would add nothing useful
+        assertThat(index.search("report", null, 1)).extracting(SearchIndex.Result::score).containsExactly(9f);
+    }
+
+    @Test
+    void limitKeepsTheBestResults() {
+        assertThat(ids(index.search("payroll", null, 2))).containsExactly(1L, 3L);
+    }
+
+    @Test
+    void typeFilterAppliesBeforeTheLimit() {
+        index.index(SearchDocument.project(7L, "Payroll", "ACTIVE"));
+
+        assertThat(index.search("payroll", Set.of(DocumentType.PROJECT), 1))
+                .extracting(r -> r.document().getType()).containsExactly(DocumentType.PROJECT);
+    }
+
+    @Test
+    void updateKeepsTheOrdinalAndDropsStaleTerms() {
+        int ordinal = index.search("upload", null, 1).get(0).ordinal();
+
+        index.index(SearchDocument.task(1L, "Invoice run", null, "TODO"));
+
+        assertThat(index.size()).isEqualTo(3);
+        assertThat(ids(index.search("upload", null, 10))).isEmpty();
+        assertThat(ids(index.search("payroll", null, 10))).containsExactly(3L, 2L);
+        assertThat(index.search("invoice", null, 10)).extracting(SearchIndex.Result::ordinal).containsExactly(ordinal);
+    }
+
+    @Test
+    void removedOrdinalsAreReused() {
+        int ordinal = index.search("quarterly", null, 1).get(0).ordinal();
+
+        index.remove(DocumentType.TASK, 2L);
+        assertThat(ids(index.search("quarterly", null, 10))).isEmpty();
+
+        index.index(SearchDocument.task(9L, "Payroll audit", null, "TODO"));
+        assertThat(index.search("audit", null, 10)).extracting(SearchIndex.Result::ordinal).containsExactly(ordinal);
+        assertThat(ids(index.search("payroll", null, 10))).containsExactly(9L, 1L, 3L);
+    }
+
+    @Test
+    void rebuildReplacesTheContents() throws Exception {
+        int size = index.rebuild(() -> List.of(SearchDocument.account(5L, "Ana", "Lopez", "alopez",
+                "ana@example.com", "Engineer")));
+
+        assertThat(size).isEqualTo(1);
+        assertThat(ids(index.search("payroll", null, 10))).isEmpty();
+        assertThat(ids(index.search("ana", null, 10))).containsExactly(5L);
+    }
+
+    private static List<Long> ids(List<SearchIndex.Result> results) {
+        return results.stream().map(r -> r.document().getId()).toList();
+    }
+}
@@ -0,0 +1,40 @@
+package com.emsa.security;
+
+import com.emsa.entity.RoleName;
+import com.emsa.repository.projection.AccountLogin;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+/** A JwtTokenProvider wired the way Spring would, and tokens signed by it, for tests and benchmarks. */
+final class JwtTestTokens {
+
+    static final String SECRET =
+            "emsaSecretKey2024ThisIsAVeryLongAndSecureSecretKeyForJWTSigningPurposesExceedingFiveSixtyTwoBits123456789";
+
+    private JwtTestTokens() {
+    }
+
+    static JwtTokenProvider provider() {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpiration", 86_400_000L);
+        ReflectionTestUtils.setField(provider, "cacheSize", 10_000L);
+        provider.init();
+        return provider;
+    }
+
+    static String token(JwtTokenProvider provider, String username, long accountId, RoleName role) {
+        UserDetails user = User.withUsername(username)
+                .password("n/a")
+                .authorities(List.of(new SimpleGrantedAuthority("ROLE_" + role.name())))
+                .build();
+        AccountLogin account = new AccountLogin(accountId, username, username + "@emsa.test", "n/a", role,
+                "Test", "User", true);
+        return provider.generateToken(new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()), account);
+    }
+}
@@ -0,0 +1,76 @@
+package com.emsa.security;
+
+import com.emsa.entity.RoleName;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JwtTokenProviderTest {
+
+    private JwtTokenProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = JwtTestTokens.provider();
+    }
+
+    @Test
+    void verifiedPrincipalCarriesTheClaims() {
+        String token = JwtTestTokens.token(provider, "jdoe", 42L, RoleName.MANAGER);
+
+        JwtPrincipal principal = provider.getVerifiedPrincipal(token);
+
+        assertThat(principal).isNotNull();
+        assertThat(principal.getUsername()).isEqualTo("jdoe");
+        assertThat(principal.getAccountId()).isEqualTo(42L);
+        assertThat(principal.getRole()).isEqualTo(RoleName.MANAGER);
+        assertThat(principal.getAuthorities()).extracting("authority").containsExactly("ROLE_MANAGER");
+        assertThat(principal.getExpiresAt()).isAfter(new Date().toInstant());
+    }
+
+    @Test
+    void repeatedLookupsAreServedFromTheCache() {
+        String token = JwtTestTokens.token(provider, "jdoe", 42L, RoleName.EMPLOYEE);
+
+        assertThat(provider.getVerifiedPrincipal(token)).isSameAs(provider.getVerifiedPrincipal(token));
+    }
+
+    @Test
+    void tamperedTokenIsRejected() {
+        String token = JwtTestTokens.token(provider, "jdoe", 42L, RoleName.EMPLOYEE);
+        String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+        assertThat(provider.getVerifiedPrincipal(tampered)).isNull();
+        assertThat(provider.validateToken("not-a-jwt")).isFalse();
+    }
+
+    @Test
+    void tokenWithoutAccountIdIsRejected() {
+        String legacy = Jwts.builder()
+                .setSubject("jdoe")
+                .setExpiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(JwtTestTokens.SECRET.getBytes()), SignatureAlgorithm.HS512)
+                .compact();
+
+        assertThat(provider.getVerifiedPrincipal(legacy)).isNull();
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        String expired = Jwts.builder()
+                .setSubject("jdoe")
+                .claim("accountId", 42L)
+                .claim("role", RoleName.EMPLOYEE.name())
+                .setExpiration(new Date(System.currentTimeMillis() - 1_000))
+                .signWith(Keys.hmacShaKeyFor(JwtTestTokens.SECRET.getBytes()), SignatureAlgorithm.HS512)
+                .compact();
+
+        assertThat(provider.getVerifiedPrincipal(expired)).isNull();
+    }
+}
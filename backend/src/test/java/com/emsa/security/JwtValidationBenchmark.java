@@ -0,0 +1,84 @@
+package com.emsa.security;
+
+import com.emsa.entity.RoleName;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of turning a bearer token into a principal.
+ * <ul>
+ *   <li>{@code threeParses}: what the filter used to do, validate plus two claim reads, each building the
+ *       key and parser and checking the HS512 signature again.</li>
+ *   <li>{@code firstSight}: a token the cache has not seen, one parse plus the cache insert.</li>
+ *   <li>{@code cached}: every later request with the same token.</li>
+ * </ul>
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=JwtValidationBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtValidationBenchmark {
+
+    private static final int DISTINCT_TOKENS = 1024;
+
+    private JwtTokenProvider provider;
+    private String token;
+    private String[] tokens;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        JwtTokenProvider issuer = JwtTestTokens.provider();
+        token = JwtTestTokens.token(issuer, "jdoe", 42L, RoleName.EMPLOYEE);
+        tokens = new String[DISTINCT_TOKENS];
+        for (int i = 0; i < tokens.length; i++) {
+            tokens[i] = JwtTestTokens.token(issuer, "user" + i, i, RoleName.EMPLOYEE);
+        }
+        provider = JwtTestTokens.provider();
+        provider.getVerifiedPrincipal(token);
+    }
+
+    // A fresh provider, and so an empty cache, every DISTINCT_TOKENS calls so that firstSight keeps missing
+    @Setup(Level.Iteration)
+    public void resetCache() {
+        provider = JwtTestTokens.provider();
+        provider.getVerifiedPrincipal(token);
+        next = 0;
+    }
+
+    @Benchmark
+    public void threeParses(Blackhole blackhole) {
+        blackhole.consume(parse(token) != null);
+        blackhole.consume(parse(token).getSubject());
+        blackhole.consume(parse(token).get("authorities"));
+    }
+
+    @Benchmark
+    public JwtPrincipal firstSight() {
+        if (next == tokens.length) {
+            resetCache();
+        }
+        return provider.getVerifiedPrincipal(tokens[next++]);
+    }
+
+    @Benchmark
+    public JwtPrincipal cached() {
+        return provider.getVerifiedPrincipal(token);
+    }
+
+    private static Claims parse(String token) {
+        return Jwts.parserBuilder()
+                .setSigningKey(Keys.hmacShaKeyFor(JwtTestTokens.SECRET.getBytes()))
+                .build()
+                .parseClaimsJws(token)
+                .getBody();
+    }
+}
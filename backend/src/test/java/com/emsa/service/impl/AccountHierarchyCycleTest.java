@@ -0,0 +1,83 @@
+package com.emsa.service.impl;
+
+import com.emsa.entity.RoleName;
+import com.emsa.exception.BadRequestException;
+import com.emsa.repository.AccountHierarchyRepository;
+import com.emsa.service.AccountHierarchyService;
+import com.emsa.support.TestAccounts;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Two opposite moves that each pass the cycle check on their own: the second waits for the first to commit,
+ * then sees its paths and refuses.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestAccounts.class)
+class AccountHierarchyCycleTest {
+
+    @Autowired
+    private AccountHierarchyService accountHierarchyService;
+
+    @Autowired
+    private AccountHierarchyRepository accountHierarchyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TestAccounts testAccounts;
+
+    @Test
+    void oppositeMovesDoNotBothCommit() throws Exception {
+        Long a = testAccounts.create(RoleName.EMPLOYEE, null, null).getAccountId();
+        Long b = testAccounts.create(RoleName.EMPLOYEE, null, null).getAccountId();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CountDownLatch moved = new CountDownLatch(1);
+        CountDownLatch commit = new CountDownLatch(1);
+
+        CompletableFuture<Void> first = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> {
+                    accountHierarchyService.changeManager(a, b);
+                    moved.countDown();
+                    await(commit);
+                }));
+        assertThat(moved.await(5, TimeUnit.SECONDS)).isTrue();
+        CompletableFuture<Void> second = CompletableFuture.runAsync(() ->
+                transactionTemplate.executeWithoutResult(status -> accountHierarchyService.changeManager(b, a)));
+
+        // Still waiting for the first move's locks
+        Thread.sleep(300);
+        assertThat(second).isNotDone();
+        commit.countDown();
+        first.get(5, TimeUnit.SECONDS);
+
+        assertThatThrownBy(() -> second.get(5, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(BadRequestException.class);
+        assertThat(accountHierarchyRepository.findAncestorIds(a)).containsExactly(b);
+        assertThat(accountHierarchyRepository.findAncestorIds(b)).isEmpty();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package com.emsa.service.impl;
+
+import com.emsa.config.CacheConfig;
+import com.emsa.dto.response.AccountResponse;
+import com.emsa.entity.Department;
+import com.emsa.entity.RoleName;
+import com.emsa.repository.DepartmentRepository;
+import com.emsa.service.AccountService;
+import com.emsa.support.SqlStatementCounter;
+import com.emsa.support.TestAccounts;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The account list reads fetch each account's department and reporting manager with the list itself, so the
+ * statement count does not grow with the number of accounts. Every report gets its own department so that a
+ * lazy load per row would show up, and the second-level cache is emptied before each measured call.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestAccounts.class)
+class AccountListQueryCountTest {
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TestAccounts testAccounts;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private AccountResponse manager;
+
+    @BeforeEach
+    void setUp() {
+        manager = testAccounts.create(RoleName.MANAGER, null, null);
+    }
+
+    @Test
+    void teamMembersAreOneStatementWhateverTheTeamSize() {
+        addReports(3);
+        int small = statementsFor(() -> accountService.getTeamMembers(manager.getAccountId(), null));
+        addReports(12);
+        int large = statementsFor(() -> accountService.getTeamMembers(manager.getAccountId(), null));
+
+        assertThat(small).isEqualTo(1);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void accountsByRoleAreOneStatementWhateverTheirNumber() {
+        addReports(3);
+        int small = statementsFor(() -> accountService.getAccountsByRole("EMPLOYEE"));
+        addReports(12);
+        int large = statementsFor(() -> accountService.getAccountsByRole("EMPLOYEE"));
+
+        assertThat(small).isEqualTo(1);
+        assertThat(large).isEqualTo(small);
+    }
+
+    @Test
+    void accountPageIsOneStatementWhateverThePageSize() {
+        addReports(15);
+        int small = statementsFor(() -> accountService.getAllAccounts(null, 3));
+        int large = statementsFor(() -> accountService.getAllAccounts(null, 15));
+
+        assertThat(small).isEqualTo(1);
+        assertThat(large).isEqualTo(small);
+    }
+
+    private void addReports(int count) {
+        for (int i = 0; i < count; i++) {
+            Department department = departmentRepository.save(Department.builder()
+                    .departmentName("Dept " + System.nanoTime() + "-" + i)
+                    .build());
+            testAccounts.create(RoleName.EMPLOYEE, department.getDepartmentId(), manager.getAccountId());
+        }
+    }
+
+    private int statementsFor(Supplier<?> call) {
+        entityManagerFactory.getCache().evictAll();
+        cacheManager.getCache(CacheConfig.ACCOUNTS_BY_ROLE).clear();
+        SqlStatementCounter.reset();
+        call.get();
+        return SqlStatementCounter.count();
+    }
+}
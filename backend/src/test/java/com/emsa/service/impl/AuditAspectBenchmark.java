@@ -0,0 +1,112 @@
+package com.emsa.service.impl;
+
+import com.emsa.audit.AuditAspect;
+import com.emsa.audit.AuditLogWriter;
+import com.emsa.audit.Audited;
+import com.emsa.audit.BackpressurePolicy;
+import com.emsa.entity.RoleName;
+import com.emsa.security.JwtPrincipal;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Request-thread cost of {@link AuditAspect} on a service call, with the real {@link AuditLogWriter} queue behind
+ * it (its batches go to a JdbcTemplate that discards them).
+ * <ul>
+ *   <li>{@code direct}: the method without any proxy.</li>
+ *   <li>{@code proxiedNotAudited}: the same method through the AOP proxy, without {@code @Audited}.</li>
+ *   <li>{@code audited}: through the proxy with {@code @Audited}: actor and IP capture, event allocation, queue offer.</li>
+ * </ul>
+ * The target sits in this package because the aspect only applies within com.emsa.service.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=AuditAspectBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AuditAspectBenchmark {
+
+    private AuditLogWriter writer;
+    private Target target;
+    private Target proxy;
+    private final Long id = 42L;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        writer = new AuditLogWriter();
+        ReflectionTestUtils.setField(writer, "jdbcTemplate", new DiscardingJdbcTemplate());
+        ReflectionTestUtils.setField(writer, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(writer, "capacity", Integer.MAX_VALUE);
+        ReflectionTestUtils.setField(writer, "flushSize", 500);
+        ReflectionTestUtils.setField(writer, "flushIntervalMs", 1000L);
+        ReflectionTestUtils.setField(writer, "policy", BackpressurePolicy.DROP_NEWEST);
+        ReflectionTestUtils.invokeMethod(writer, "start");
+
+        AuditAspect aspect = new AuditAspect();
+        ReflectionTestUtils.setField(aspect, "auditLogWriter", writer);
+        target = new Target();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(aspect);
+        proxy = factory.getProxy();
+
+        JwtPrincipal principal = new JwtPrincipal("jdoe", 7L, RoleName.ADMIN, List.of(), Instant.now().plusSeconds(3600));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        ReflectionTestUtils.invokeMethod(writer, "stop");
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public Long direct() {
+        return target.update(id, "name");
+    }
+
+    @Benchmark
+    public Long proxiedNotAudited() {
+        return proxy.read(id, "name");
+    }
+
+    @Benchmark
+    public Long audited() {
+        return proxy.update(id, "name");
+    }
+
+    public static class Target {
+
+        @Audited(action = "UPDATE", entity = "Thing", entityId = "#id")
+        public Long update(Long id, String name) {
+            return id + name.length();
+        }
+
+        public Long read(Long id, String name) {
+            return id + name.length();
+        }
+    }
+
+    static class DiscardingJdbcTemplate extends JdbcTemplate {
+
+        @Override
+        public <T> int[][] batchUpdate(String sql, Collection<T> batchArgs, int batchSize,
+                                       ParameterizedPreparedStatementSetter<T> setter) {
+            return new int[0][];
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.emsa.service.impl;
+
+import com.emsa.dto.request.AuditLogFilter;
+import com.emsa.dto.response.AuditLogResponse;
+import com.emsa.dto.response.CursorPage;
+import com.emsa.exception.BadRequestException;
+import com.emsa.support.SqlStatementCounter;
+import com.emsa.util.CursorPaging;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/** A search with a time range pages by (created_at, log_id), newest first, even where ids disagree with times. */
+@SpringBootTest
+@ActiveProfiles("test")
+class AuditLogSearchTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 9, 0);
+
+    @Autowired private AuditLogService auditLogService;
+    @Autowired private CursorPaging cursorPaging;
+    @Autowired private JdbcTemplate jdbcTemplate;
+
+    private String action;
+
+    @BeforeEach
+    void setUp() {
+        action = "T" + System.nanoTime();
+        // Later ids get earlier times, and three rows share one timestamp
+        int[] minutes = {50, 40, 40, 40, 30, 10, 20, 0};
+        for (int minute : minutes) {
+            jdbcTemplate.update("INSERT INTO audit_logs (action, entity_name, created_at) VALUES (?, 'Test', ?)",
+                    action, Timestamp.valueOf(BASE.plusMinutes(minute)));
+        }
+    }
+
+    @Test
+    void timeRangePagesFollowCreatedAtThenId() {
+        AuditLogFilter filter = AuditLogFilter.builder().action(action)
+                .from(BASE.plusMinutes(10)).to(BASE.plusMinutes(50)).build();
+
+        List<AuditLogResponse> expected = all().stream()
+                .filter(log -> !log.getCreatedAt().isBefore(BASE.plusMinutes(10))
+                        && log.getCreatedAt().isBefore(BASE.plusMinutes(50)))
+                .sorted(Comparator.comparing(AuditLogResponse::getCreatedAt)
+                        .thenComparing(AuditLogResponse::getLogId).reversed())
+                .toList();
+        assertThat(expected).hasSize(6);
+
+        SqlStatementCounter.reset();
+        List<AuditLogResponse> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<AuditLogResponse> page = auditLogService.search(filter, cursor, 2);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).extracting(AuditLogResponse::getLogId)
+                .containsExactlyElementsOf(expected.stream().map(AuditLogResponse::getLogId).toList());
+        assertThat(SqlStatementCounter.statements()).allSatisfy(sql ->
+                assertThat(sql).containsPattern("order by \\w+\\.created_at desc,\\s*\\w+\\.log_id desc"));
+    }
+
+    @Test
+    void withoutATimeRangePagesFollowTheId() {
+        List<AuditLogResponse> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<AuditLogResponse> page =
+                    auditLogService.search(AuditLogFilter.builder().action(action).build(), cursor, 3);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(8).isSortedAccordingTo(Comparator.comparing(AuditLogResponse::getLogId).reversed());
+    }
+
+    @Test
+    void cursorFromTheOtherOrderIsRejected() {
+        AuditLogFilter ranged = AuditLogFilter.builder().action(action).from(BASE).build();
+
+        assertThatThrownBy(() -> auditLogService.search(ranged, cursorPaging.encode(5L), 2))
+                .isInstanceOf(BadRequestException.class);
+        assertThatThrownBy(() -> auditLogService.search(AuditLogFilter.builder().action(action).build(),
+                cursorPaging.encode(new CursorPaging.TimeKey(BASE, 5L)), 2))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    private List<AuditLogResponse> all() {
+        return auditLogService.search(AuditLogFilter.builder().action(action).build(), null, 100).getItems();
+    }
+}
@@ -0,0 +1,67 @@
+package com.emsa.service.impl;
+
+import com.emsa.config.CacheConfig;
+import com.emsa.dto.request.LoginRequest;
+import com.emsa.dto.response.AuthResponse;
+import com.emsa.repository.AccountRepository;
+import com.emsa.service.AuthService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthServiceImplTest {
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void clearLoginCache() {
+        cacheManager.getCache(CacheConfig.ACCOUNTS_BY_USERNAME).clear();
+    }
+
+    @Test
+    void unknownUsernameIsABadCredential() {
+        assertThatThrownBy(() -> authService.login(login("nobody", "whatever")))
+                .isInstanceOf(BadCredentialsException.class);
+        assertThat(cacheManager.getCache(CacheConfig.ACCOUNTS_BY_USERNAME).get("nobody")).isNull();
+    }
+
+    @Test
+    void wrongPasswordIsABadCredential() {
+        assertThatThrownBy(() -> authService.login(login("admin", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+    }
+
+    @Test
+    void loginReturnsTheAccountAndCachesTheLookup() {
+        AuthResponse response = authService.login(login("admin", "admin123"));
+
+        assertThat(response.getToken()).isNotBlank();
+        assertThat(response.getUsername()).isEqualTo("admin");
+        assertThat(response.getAccountId()).isNotNull();
+        assertThat(accountRepository.findLoginByUsername("admin").orElseThrow())
+                .isSameAs(accountRepository.findLoginByUsername("admin").orElseThrow());
+    }
+
+    private static LoginRequest login(String username, String password) {
+        LoginRequest request = new LoginRequest();
+        request.setUsername(username);
+        request.setPassword(password);
+        return request;
+    }
+}
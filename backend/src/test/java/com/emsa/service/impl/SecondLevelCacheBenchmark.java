@@ -0,0 +1,117 @@
+package com.emsa.service.impl;
+
+import com.emsa.EmsaApplication;
+import com.emsa.dto.response.CursorPage;
+import com.emsa.entity.Account;
+import com.emsa.entity.Project;
+import com.emsa.entity.Task;
+import com.emsa.service.LeaveService;
+import com.emsa.service.TaskService;
+import com.emsa.support.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Latency of the task and leave-request list calls with the Hibernate second-level cache on and off
+ * ({@code EMSA_L2_CACHE}), on the H2 test profile with {@value #TASKS} extra tasks spread over the seeded accounts.
+ * The mappers resolve each row's lazy assignee, assigner and requester; with the cache on those come from the
+ * Account region instead of one SELECT per distinct account. The statements one call issues are printed at
+ * setup. H2 runs in process, so a saved statement is worth far less here than a MySQL round trip.
+ * Run with {@code mvn -Pbenchmark test-compile exec:exec -Dbenchmark=SecondLevelCacheBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SecondLevelCacheBenchmark {
+
+    private static final int TASKS = 300;
+    private static final int PAGE_SIZE = 200;
+
+    @Param({"true", "false"})
+    private boolean l2Cache;
+
+    private ConfigurableApplicationContext context;
+    private TaskService taskService;
+    private LeaveService leaveService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(EmsaApplication.class)
+                .profiles("test")
+                .properties("server.port=0")
+                .run("--EMSA_L2_CACHE=" + l2Cache);
+        taskService = context.getBean(TaskService.class);
+        leaveService = context.getBean(LeaveService.class);
+        seedTasks();
+
+        System.out.printf("l2Cache=%s: tasks %d statements, leave requests %d statements%n", l2Cache,
+                statements(this::tasks), statements(this::leaveRequests));
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearCounter() {
+        SqlStatementCounter.reset();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CursorPage<?> tasks() {
+        return taskService.getAllTasks(null, PAGE_SIZE);
+    }
+
+    @Benchmark
+    public CursorPage<?> leaveRequests() {
+        return leaveService.getAllRequests(null, PAGE_SIZE);
+    }
+
+    private void seedTasks() {
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        List<Long> accountIds = jdbcTemplate.queryForList("SELECT account_id FROM accounts", Long.class);
+        Long projectId = jdbcTemplate.queryForObject("SELECT MIN(project_id) FROM projects", Long.class);
+        EntityManagerFactory entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        new TransactionTemplate(context.getBean(PlatformTransactionManager.class)).executeWithoutResult(status -> {
+            EntityManager entityManager = entityManagerFactory.createEntityManager();
+            try {
+                entityManager.joinTransaction();
+                Project project = entityManager.getReference(Project.class, projectId);
+                for (int i = 0; i < TASKS; i++) {
+                    entityManager.persist(Task.builder()
+                            .project(project)
+                            .assignedTo(entityManager.getReference(Account.class, accountIds.get(i % accountIds.size())))
+                            .assignedBy(entityManager.getReference(Account.class, accountIds.get(0)))
+                            .title("bench-" + i)
+                            .status("TODO")
+                            .priority("MEDIUM")
+                            .build());
+                }
+            } finally {
+                entityManager.close();
+            }
+        });
+    }
+
+    // Warms the cache with one call, then counts the statements of the next
+    private static int statements(Supplier<?> call) {
+        call.get();
+        SqlStatementCounter.reset();
+        call.get();
+        return SqlStatementCounter.count();
+    }
+}
@@ -0,0 +1,122 @@
+package com.emsa.service.impl;
+
+import com.emsa.dto.request.KpiRequest;
+import com.emsa.dto.request.ProjectRequest;
+import com.emsa.dto.request.TaskRequest;
+import com.emsa.dto.response.AccountResponse;
+import com.emsa.dto.response.KpiResponse;
+import com.emsa.dto.response.TaskResponse;
+import com.emsa.entity.RoleName;
+import com.emsa.exception.BadRequestException;
+import com.emsa.exception.ConflictException;
+import com.emsa.service.KpiService;
+import com.emsa.service.ProjectService;
+import com.emsa.service.TaskService;
+import com.emsa.support.TestAccounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The task and KPI edit forms send the whole record back, so a save must name the version it was edited from
+ * and is refused once the record has moved on, instead of putting the old values back.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestAccounts.class)
+class StaleEditTest {
+
+    @Autowired private ProjectService projectService;
+    @Autowired private TaskService taskService;
+    @Autowired private KpiService kpiService;
+    @Autowired private TestAccounts testAccounts;
+
+    private AccountResponse manager;
+    private AccountResponse employee;
+
+    @BeforeEach
+    void setUp() {
+        manager = testAccounts.create(RoleName.MANAGER, null, null);
+        employee = testAccounts.create(RoleName.EMPLOYEE, null, manager.getAccountId());
+    }
+
+    @Test
+    void taskEditNeedsAVersion() {
+        TaskResponse task = task();
+        TaskRequest edit = taskForm(task);
+        edit.setVersion(null);
+
+        assertThatThrownBy(() -> taskService.updateTask(task.getTaskId(), edit, manager.getAccountId()))
+                .isInstanceOf(BadRequestException.class);
+    }
+
+    @Test
+    void staleTaskEditDoesNotUndoAStatusChange() {
+        TaskResponse task = task();
+        TaskRequest managerForm = taskForm(task);
+
+        TaskRequest done = taskForm(task);
+        done.setStatus("DONE");
+        taskService.updateTask(task.getTaskId(), done, employee.getAccountId());
+
+        managerForm.setPriority("HIGH");
+        assertThatThrownBy(() -> taskService.updateTask(task.getTaskId(), managerForm, manager.getAccountId()))
+                .isInstanceOf(ConflictException.class);
+        TaskResponse saved = taskService.getTaskById(task.getTaskId());
+        assertThat(saved.getStatus()).isEqualTo("DONE");
+        assertThat(saved.getPriority()).isEqualTo("MEDIUM");
+    }
+
+    @Test
+    void staleKpiEditIsRefused() {
+        KpiRequest request = new KpiRequest();
+        request.setEmployeeId(employee.getAccountId());
+        request.setTitle("Tickets closed");
+        request.setTargetValue(BigDecimal.TEN);
+        KpiResponse kpi = kpiService.createKpi(manager.getAccountId(), request);
+        request.setVersion(null);
+
+        assertThatThrownBy(() -> kpiService.updateKpi(kpi.getKpiId(), request, manager.getAccountId()))
+                .isInstanceOf(BadRequestException.class);
+
+        request.setVersion(kpi.getVersion());
+        request.setStatus("COMPLETED");
+        kpiService.updateKpi(kpi.getKpiId(), request, manager.getAccountId());
+        request.setStatus("PENDING");
+        assertThatThrownBy(() -> kpiService.updateKpi(kpi.getKpiId(), request, manager.getAccountId()))
+                .isInstanceOf(ConflictException.class);
+        assertThat(kpiService.getKpiById(kpi.getKpiId()).getStatus()).isEqualTo("COMPLETED");
+    }
+
+    private TaskResponse task() {
+        ProjectRequest project = new ProjectRequest();
+        project.setProjectName("Stale " + System.nanoTime());
+        TaskRequest task = new TaskRequest();
+        task.setProjectId(projectService.createProject(project, manager.getAccountId()).getProjectId());
+        task.setAssignedToId(employee.getAccountId());
+        task.setTitle("Edited twice");
+        return taskService.createTask(task, manager.getAccountId());
+    }
+
+    // What the edit modal submits: every field of the task as loaded
+    private static TaskRequest taskForm(TaskResponse task) {
+        TaskRequest form = new TaskRequest();
+        form.setProjectId(task.getProjectId());
+        form.setAssignedToId(task.getAssignedToId());
+        form.setTitle(task.getTitle());
+        form.setDescription(task.getDescription());
+        form.setStatus(task.getStatus());
+        form.setPriority(task.getPriority());
+        form.setDueDate(task.getDueDate());
+        form.setVersion(task.getVersion());
+        return form;
+    }
+}
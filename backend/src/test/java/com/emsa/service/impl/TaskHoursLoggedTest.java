@@ -0,0 +1,101 @@
+package com.emsa.service.impl;
+
+import com.emsa.dto.request.ProjectRequest;
+import com.emsa.dto.request.TaskRequest;
+import com.emsa.dto.request.WorkLogRequest;
+import com.emsa.dto.response.AccountResponse;
+import com.emsa.entity.RoleName;
+import com.emsa.entity.Task;
+import com.emsa.repository.ProjectStatsRepository;
+import com.emsa.repository.TaskRepository;
+import com.emsa.service.ProjectService;
+import com.emsa.service.TaskService;
+import com.emsa.service.WorkLogService;
+import com.emsa.support.TestAccounts;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/** Task.hoursLogged moves only through the work-log increment, never through a save of a loaded task. */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(TestAccounts.class)
+class TaskHoursLoggedTest {
+
+    @Autowired private ProjectService projectService;
+    @Autowired private TaskService taskService;
+    @Autowired private WorkLogService workLogService;
+    @Autowired private TaskRepository taskRepository;
+    @Autowired private ProjectStatsRepository projectStatsRepository;
+    @Autowired private PlatformTransactionManager transactionManager;
+    @Autowired private TestAccounts testAccounts;
+
+    private AccountResponse manager;
+    private AccountResponse employee;
+    private Long projectId;
+    private Long taskId;
+
+    @BeforeEach
+    void setUp() {
+        manager = testAccounts.create(RoleName.MANAGER, null, null);
+        employee = testAccounts.create(RoleName.EMPLOYEE, null, manager.getAccountId());
+        ProjectRequest project = new ProjectRequest();
+        project.setProjectName("Hours " + System.nanoTime());
+        projectId = projectService.createProject(project, manager.getAccountId()).getProjectId();
+        TaskRequest task = new TaskRequest();
+        task.setProjectId(projectId);
+        task.setAssignedToId(employee.getAccountId());
+        task.setTitle("Logged task");
+        taskId = taskService.createTask(task, manager.getAccountId()).getTaskId();
+    }
+
+    // A work log commits between an editor loading the task and saving it; the save must keep the new total
+    @Test
+    void savingAStaleTaskKeepsHoursLoggedMeanwhile() {
+        TransactionTemplate editor = new TransactionTemplate(transactionManager);
+        TransactionTemplate workLog = new TransactionTemplate(transactionManager);
+        workLog.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        editor.executeWithoutResult(status -> {
+            Task task = taskRepository.findById(taskId).orElseThrow();
+            workLog.executeWithoutResult(inner -> logHours(2.0));
+            task.setTitle("Renamed");
+            taskRepository.saveAndFlush(task);
+        });
+
+        assertThat(taskRepository.findHoursLogged(taskId)).isEqualTo(2.0);
+        assertThat(taskRepository.findById(taskId).orElseThrow().getTitle()).isEqualTo("Renamed");
+    }
+
+    @Test
+    void projectHoursFollowLogsEditsAndDeletes() {
+        logHours(2.0);
+        TaskRequest edit = new TaskRequest();
+        edit.setStatus("IN_PROGRESS");
+        edit.setVersion(taskService.getTaskById(taskId).getVersion());
+        taskService.updateTask(taskId, edit, manager.getAccountId());
+        logHours(1.5);
+
+        assertThat(taskRepository.findHoursLogged(taskId)).isEqualTo(3.5);
+        assertThat(projectStatsRepository.findById(projectId).orElseThrow().getTotalHours()).isEqualTo(3.5);
+
+        taskService.deleteTask(taskId);
+
+        assertThat(projectStatsRepository.findById(projectId).orElseThrow().getTotalHours()).isZero();
+    }
+
+    private void logHours(double hours) {
+        WorkLogRequest request = new WorkLogRequest();
+        request.setTaskId(taskId);
+        request.setHours(hours);
+        workLogService.logHours(employee.getAccountId(), request);
+    }
+}
@@ -0,0 +1,34 @@
+package com.emsa.support;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records the SQL Hibernate prepares on the current thread, so a test can count the statements one call
+ * issues without picking up the scheduler, search index or audit writer threads. Registered for the test
+ * profile as hibernate.session_factory.statement_inspector.
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> STATEMENTS = ThreadLocal.withInitial(ArrayList::new);
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get().add(sql);
+        return sql;
+    }
+
+    public static void reset() {
+        STATEMENTS.get().clear();
+    }
+
+    public static List<String> statements() {
+        return List.copyOf(STATEMENTS.get());
+    }
+
+    public static int count() {
+        return STATEMENTS.get().size();
+    }
+}
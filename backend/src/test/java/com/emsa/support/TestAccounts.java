@@ -0,0 +1,48 @@
+package com.emsa.support;
+
+import com.emsa.dto.request.CreateAccountRequest;
+import com.emsa.dto.request.LoginRequest;
+import com.emsa.dto.response.AccountResponse;
+import com.emsa.entity.RoleName;
+import com.emsa.service.AccountService;
+import com.emsa.service.AuthService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/** Creates throwaway accounts through the service layer and signs them in. */
+@TestComponent
+public class TestAccounts {
+
+    public static final String PASSWORD = "secret123";
+
+    private static final AtomicInteger SEQUENCE = new AtomicInteger();
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private AuthService authService;
+
+    public AccountResponse create(RoleName role, Long departmentId, Long managerId) {
+        String username = "test" + role.name().toLowerCase() + SEQUENCE.incrementAndGet() + "x" + System.nanoTime();
+        CreateAccountRequest request = new CreateAccountRequest();
+        request.setUsername(username);
+        request.setEmail(username + "@emsa.test");
+        request.setPassword(PASSWORD);
+        request.setRole(role);
+        request.setFirstName("Test");
+        request.setLastName(username);
+        request.setDepartmentId(departmentId);
+        request.setReportingManagerId(managerId);
+        return accountService.createAccount(request);
+    }
+
+    public String bearerToken(AccountResponse account) {
+        LoginRequest login = new LoginRequest();
+        login.setUsername(account.getUsername());
+        login.setPassword(PASSWORD);
+        return "Bearer " + authService.login(login).getToken();
+    }
+}
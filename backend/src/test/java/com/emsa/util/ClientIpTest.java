@@ -0,0 +1,55 @@
+package com.emsa.util;
+
+import com.emsa.entity.RoleName;
+import com.emsa.support.TestAccounts;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.client.TestRestTemplate;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs on a real Tomcat, where the remote-IP valve applies X-Forwarded-For. Only a made-up address is trusted as
+ * a proxy here, so the test client on loopback is an ordinary caller and its forwarded header must be ignored.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+                properties = "server.tomcat.remoteip.internal-proxies=192\\.0\\.2\\.1")
+@ActiveProfiles("test")
+@Import({TestAccounts.class, ClientIpTest.EchoController.class})
+class ClientIpTest {
+
+    @Autowired
+    private TestRestTemplate restTemplate;
+
+    @Autowired
+    private TestAccounts testAccounts;
+
+    @Test
+    void forwardedForFromAnUntrustedCallerIsIgnored() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.AUTHORIZATION, testAccounts.bearerToken(testAccounts.create(RoleName.EMPLOYEE, null, null)));
+        headers.set("X-Forwarded-For", "203.0.113.7");
+
+        String ip = restTemplate.exchange("/test/client-ip", HttpMethod.GET, new HttpEntity<>(headers), String.class)
+                .getBody();
+
+        assertThat(ip).isNotBlank().isNotEqualTo("203.0.113.7");
+    }
+
+    @RestController
+    static class EchoController {
+
+        @GetMapping("/test/client-ip")
+        String clientIp() {
+            return ClientIp.current();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.emsa.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CsvTest {
+
+    @Test
+    void formulaLikeTextIsPrefixedWithAQuote() throws IOException {
+        assertThat(field("=HYPERLINK(\"http://x\")")).isEqualTo("\"'=HYPERLINK(\"\"http://x\"\")\"");
+        assertThat(field("+1+2")).isEqualTo("'+1+2");
+        assertThat(field("-2+3")).isEqualTo("'-2+3");
+        assertThat(field("@SUM(A1)")).isEqualTo("'@SUM(A1)");
+        assertThat(field("\t=1")).isEqualTo("'\t=1");
+        assertThat(field("\r=1")).isEqualTo("\"'\r=1\"");
+    }
+
+    @Test
+    void ordinaryTextIsWrittenAsIs() throws IOException {
+        assertThat(field("Jane Doe")).isEqualTo("Jane Doe");
+        assertThat(field("a=b")).isEqualTo("a=b");
+        assertThat(field("")).isEmpty();
+        assertThat(field(null)).isEmpty();
+        assertThat(field("Doe, Jane")).isEqualTo("\"Doe, Jane\"");
+    }
+
+    @Test
+    void numbersKeepTheirSign() throws IOException {
+        StringWriter out = new StringWriter();
+        Csv.writeNumber(out, "-12.5");
+        assertThat(out).hasToString("-12.5");
+    }
+
+    @Test
+    void quotedFieldsReadBack() throws IOException {
+        StringWriter out = new StringWriter();
+        Csv.writeField(out, "say \"hi\", then\nleave");
+        out.write(',');
+        Csv.writeField(out, "plain");
+        out.write(Csv.LINE_END);
+
+        List<String> record = Csv.readRecord(new BufferedReader(new StringReader(out.toString())));
+
+        assertThat(record).containsExactly("say \"hi\", then\nleave", "plain");
+    }
+
+    private static String field(String value) throws IOException {
+        StringWriter out = new StringWriter();
+        Csv.writeField(out, value);
+        return out.toString();
+    }
+}
@@ -0,0 +1,44 @@
+-- Monthly RANGE partitioning for audit_logs (MySQL 8).
+-- Run once against an existing emsa_db: mysql -u root -p emsa_db < 009_audit_logs_partitioning.sql
+--
+-- MySQL requires every unique key of a partitioned table to contain the partitioning column, so the
+-- primary key becomes (log_id, created_at), and partitioned tables cannot have foreign keys.
+-- One partition is created per month from the oldest row up to three months ahead, plus a catch-all pmax.
+-- After this, AuditLogPartitionMaintenance adds upcoming months and drops expired ones.
+
+USE emsa_db;
+
+SET @fk = (SELECT CONSTRAINT_NAME FROM information_schema.TABLE_CONSTRAINTS
+           WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'audit_logs' AND CONSTRAINT_TYPE = 'FOREIGN KEY' LIMIT 1);
+SET @ddl = IF(@fk IS NULL, 'DO 0', CONCAT('ALTER TABLE audit_logs DROP FOREIGN KEY ', @fk));
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
+
+UPDATE audit_logs SET created_at = CURRENT_TIMESTAMP WHERE created_at IS NULL;
+
+ALTER TABLE audit_logs
+    MODIFY created_at DATETIME(6) NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (log_id, created_at);
+
+CREATE INDEX idx_audit_logs_account ON audit_logs (account_id, log_id);
+CREATE INDEX idx_audit_logs_entity  ON audit_logs (entity_name, entity_id, log_id);
+CREATE INDEX idx_audit_logs_action  ON audit_logs (action, log_id);
+CREATE INDEX idx_audit_logs_created ON audit_logs (created_at, log_id);
+
+SET @first = DATE_FORMAT(COALESCE((SELECT MIN(created_at) FROM audit_logs), CURRENT_DATE), '%Y-%m-01');
+SET SESSION group_concat_max_len = 1000000;
+
+WITH RECURSIVE months (m) AS (
+    SELECT CAST(@first AS DATE)
+    UNION ALL
+    SELECT m + INTERVAL 1 MONTH FROM months WHERE m < DATE_FORMAT(CURRENT_DATE, '%Y-%m-01') + INTERVAL 3 MONTH
+)
+SELECT GROUP_CONCAT(CONCAT('PARTITION p', DATE_FORMAT(m, '%Y%m'),
+                           ' VALUES LESS THAN (''', m + INTERVAL 1 MONTH, ''')')
+                    ORDER BY m SEPARATOR ', ')
+INTO @partitions
+FROM months;
+
+SET @ddl = CONCAT('ALTER TABLE audit_logs PARTITION BY RANGE COLUMNS (created_at) (',
+                  @partitions, ', PARTITION pmax VALUES LESS THAN (MAXVALUE))');
+PREPARE stmt FROM @ddl; EXECUTE stmt; DEALLOCATE PREPARE stmt;
@@ -0,0 +1,23 @@
+-- Pooled table-generated ids (MySQL 8).
+-- Run once against an existing emsa_db: mysql -u root -p emsa_db < 012_id_sequences.sql
+--
+-- Entities other than AuditLog now take their ids from id_sequences in blocks of 50 (Hibernate pooled-lo),
+-- which lets Hibernate batch inserts. next_val is the first id of the next block, so it is seeded just past
+-- the highest existing id. The application does the same check at startup (IdSequenceInitializer).
+
+USE emsa_db;
+
+CREATE TABLE IF NOT EXISTS id_sequences (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val      BIGINT
+);
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'accounts', COALESCE(MAX(account_id), 0) + 1 FROM accounts
+UNION ALL SELECT 'departments', COALESCE(MAX(department_id), 0) + 1 FROM departments
+UNION ALL SELECT 'kpis', COALESCE(MAX(kpi_id), 0) + 1 FROM kpis
+UNION ALL SELECT 'leave_requests', COALESCE(MAX(request_id), 0) + 1 FROM leave_requests
+UNION ALL SELECT 'performance_reviews', COALESCE(MAX(review_id), 0) + 1 FROM performance_reviews
+UNION ALL SELECT 'projects', COALESCE(MAX(project_id), 0) + 1 FROM projects
+UNION ALL SELECT 'tasks', COALESCE(MAX(task_id), 0) + 1 FROM tasks
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
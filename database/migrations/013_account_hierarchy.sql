@@ -0,0 +1,27 @@
+-- Org-chart closure table (MySQL 8).
+-- Run once against an existing emsa_db: mysql -u root -p emsa_db < 013_account_hierarchy.sql
+--
+-- account_hierarchy holds one row per (manager, report) pair at any depth, plus a depth-0 row per account,
+-- so team, subtree and chain-of-command queries are single index range scans. The application fills the
+-- table at startup when it does not cover every account, so creating it empty is also fine.
+
+USE emsa_db;
+
+CREATE TABLE IF NOT EXISTS account_hierarchy (
+    ancestor_id   BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth         INT    NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    INDEX idx_account_hierarchy_descendant (descendant_id, depth)
+);
+
+DELETE FROM account_hierarchy;
+
+INSERT INTO account_hierarchy (ancestor_id, descendant_id, depth)
+WITH RECURSIVE chain (ancestor_id, descendant_id, depth) AS (
+    SELECT account_id, account_id, 0 FROM accounts
+    UNION ALL
+    SELECT c.ancestor_id, a.account_id, c.depth + 1
+    FROM chain c JOIN accounts a ON a.reporting_manager_id = c.descendant_id
+)
+SELECT ancestor_id, descendant_id, depth FROM chain;
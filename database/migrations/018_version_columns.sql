@@ -0,0 +1,15 @@
+-- Optimistic locking (MySQL 8).
+-- Run once against an existing emsa_db: mysql -u root -p emsa_db < 018_version_columns.sql
+--
+-- Every update now checks and bumps a version column (JPA @Version), so concurrent read-modify-write cycles
+-- on the same row are detected instead of silently overwriting each other. Existing rows start at 0.
+
+USE emsa_db;
+
+ALTER TABLE departments         ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE accounts            ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE kpis                ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projects            ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks               ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE leave_requests      ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE performance_reviews ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
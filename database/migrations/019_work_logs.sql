@@ -0,0 +1,58 @@
+-- Work-log ledger (MySQL 8).
+-- Run once against an existing emsa_db: mysql -u root -p emsa_db < 019_work_logs.sql
+--
+-- Hours are now appended to work_logs instead of overwriting tasks.hours_logged, which becomes a rollup
+-- together with work_log_daily (timesheet buckets) and account_work_totals. Existing task hours are carried
+-- over as one opening-balance entry per task, dated the task's last update and booked to its assignee.
+-- Hours on unassigned tasks stay on the task only.
+
+USE emsa_db;
+
+CREATE TABLE IF NOT EXISTS work_logs (
+    log_id      BIGINT AUTO_INCREMENT PRIMARY KEY,
+    task_id     BIGINT NOT NULL,
+    account_id  BIGINT NOT NULL,
+    work_date   DATE NOT NULL,
+    hours       DOUBLE NOT NULL,
+    note        VARCHAR(255),
+    created_at  DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_work_logs_task (task_id, log_id),
+    INDEX idx_work_logs_account_date (account_id, work_date),
+    CONSTRAINT fk_work_log_task FOREIGN KEY (task_id) REFERENCES tasks(task_id) ON DELETE CASCADE,
+    CONSTRAINT fk_work_log_account FOREIGN KEY (account_id) REFERENCES accounts(account_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS work_log_daily (
+    account_id  BIGINT NOT NULL,
+    project_id  BIGINT NOT NULL,
+    work_date   DATE NOT NULL,
+    hours       DOUBLE NOT NULL,
+    entries     INT NOT NULL,
+    PRIMARY KEY (account_id, project_id, work_date),
+    INDEX idx_work_log_daily_project (project_id, work_date),
+    CONSTRAINT fk_work_log_daily_account FOREIGN KEY (account_id) REFERENCES accounts(account_id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS account_work_totals (
+    account_id  BIGINT PRIMARY KEY,
+    total_hours DOUBLE NOT NULL,
+    entries     BIGINT NOT NULL,
+    CONSTRAINT fk_work_total_account FOREIGN KEY (account_id) REFERENCES accounts(account_id) ON DELETE CASCADE
+);
+
+INSERT INTO work_logs (task_id, account_id, work_date, hours, note)
+SELECT task_id, assigned_to_id, DATE(updated_at), hours_logged, 'Opening balance'
+FROM tasks
+WHERE hours_logged > 0 AND assigned_to_id IS NOT NULL;
+
+INSERT INTO work_log_daily (account_id, project_id, work_date, hours, entries)
+SELECT w.account_id, t.project_id, w.work_date, SUM(w.hours), COUNT(*)
+FROM work_logs w JOIN tasks t ON t.task_id = w.task_id
+GROUP BY w.account_id, t.project_id, w.work_date;
+
+INSERT INTO account_work_totals (account_id, total_hours, entries)
+SELECT account_id, SUM(hours), COUNT(*) FROM work_logs GROUP BY account_id;
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'work_logs', COALESCE(MAX(log_id), 0) + 1 FROM work_logs
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
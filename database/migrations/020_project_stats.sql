@@ -0,0 +1,44 @@
+-- Project progress rollups (MySQL 8).
+-- Run once against an existing emsa_db: mysql -u root -p emsa_db < 020_project_stats.sql
+--
+-- project_stats holds per-project task counts by status and priority, overdue tasks, total hours and last
+-- activity, updated by the application with every task change. The reconciliation job fills missing rows at
+-- startup, so creating the table empty is also fine; the INSERT below just saves it the work.
+
+USE emsa_db;
+
+CREATE TABLE IF NOT EXISTS project_stats (
+    project_id            BIGINT PRIMARY KEY,
+    total_tasks           BIGINT NOT NULL DEFAULT 0,
+    todo_tasks            BIGINT NOT NULL DEFAULT 0,
+    in_progress_tasks     BIGINT NOT NULL DEFAULT 0,
+    review_tasks          BIGINT NOT NULL DEFAULT 0,
+    done_tasks            BIGINT NOT NULL DEFAULT 0,
+    low_priority_tasks    BIGINT NOT NULL DEFAULT 0,
+    medium_priority_tasks BIGINT NOT NULL DEFAULT 0,
+    high_priority_tasks   BIGINT NOT NULL DEFAULT 0,
+    overdue_tasks         BIGINT NOT NULL DEFAULT 0,
+    total_hours           DOUBLE NOT NULL DEFAULT 0,
+    last_activity_at      DATETIME,
+    CONSTRAINT fk_project_stats_project FOREIGN KEY (project_id) REFERENCES projects(project_id) ON DELETE CASCADE
+);
+
+INSERT INTO project_stats (project_id, total_tasks, todo_tasks, in_progress_tasks, review_tasks, done_tasks,
+                           low_priority_tasks, medium_priority_tasks, high_priority_tasks, overdue_tasks,
+                           total_hours, last_activity_at)
+SELECT p.project_id,
+       COUNT(t.task_id),
+       COALESCE(SUM(t.status = 'TODO'), 0),
+       COALESCE(SUM(t.status = 'IN_PROGRESS'), 0),
+       COALESCE(SUM(t.status = 'REVIEW'), 0),
+       COALESCE(SUM(t.status = 'DONE'), 0),
+       COALESCE(SUM(t.priority = 'LOW'), 0),
+       COALESCE(SUM(t.priority = 'MEDIUM'), 0),
+       COALESCE(SUM(t.priority = 'HIGH'), 0),
+       COALESCE(SUM(t.due_date < CURDATE() AND (t.status IS NULL OR t.status <> 'DONE')), 0),
+       COALESCE(SUM(t.hours_logged), 0),
+       MAX(t.updated_at)
+FROM projects p
+LEFT JOIN tasks t ON t.project_id = p.project_id
+GROUP BY p.project_id
+ON DUPLICATE KEY UPDATE project_id = project_id;
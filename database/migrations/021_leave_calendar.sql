@@ -0,0 +1,11 @@
+-- Leave calendar index (MySQL 8).
+-- Run once against an existing emsa_db: mysql -u root -p emsa_db < 021_leave_calendar.sql
+--
+-- Overlap checks on submit and the team calendar look up one account's requests ending on or after a date;
+-- with the end date second in the key that is a range scan instead of a read of the account's whole history.
+-- Department and organisation calendars are served from an in-memory interval index loaded at startup.
+
+USE emsa_db;
+
+ALTER TABLE leave_requests
+    ADD INDEX idx_leave_requests_account_end (account_id, end_date, start_date);
@@ -0,0 +1,65 @@
+-- Typed KPI values, measurement series and attainment rollups (MySQL 8).
+-- Run once against an existing emsa_db: mysql -u root -p emsa_db < 022_kpi_measurements.sql
+--
+-- kpis.target_value and achieved_value become DECIMAL. The first number in each old text value is kept, and
+-- the text around it becomes the unit ('3 releases' -> 3 'releases', '95%' -> 95 '%'). Values without a
+-- number become NULL. Each KPI with an achieved value gets it as its first measurement, dated its last update.
+-- kpi_rollups is created empty and filled by the application's reconciliation at startup.
+
+USE emsa_db;
+
+ALTER TABLE kpis
+    ADD COLUMN target_number    DECIMAL(14,4) AFTER achieved_value,
+    ADD COLUMN achieved_number  DECIMAL(14,4) AFTER target_number,
+    ADD COLUMN unit             VARCHAR(30) AFTER achieved_number,
+    ADD COLUMN attainment       DOUBLE AFTER unit,
+    ADD COLUMN last_measured_on DATE AFTER attainment;
+
+UPDATE kpis SET
+    target_number   = CAST(REGEXP_SUBSTR(target_value, '-?[0-9]+(\\.[0-9]+)?') AS DECIMAL(14,4)),
+    achieved_number = CAST(REGEXP_SUBSTR(achieved_value, '-?[0-9]+(\\.[0-9]+)?') AS DECIMAL(14,4)),
+    unit = NULLIF(TRIM(REGEXP_REPLACE(COALESCE(target_value, achieved_value, ''), '-?[0-9]+(\\.[0-9]+)?', '', 1, 1)), '');
+
+UPDATE kpis SET
+    last_measured_on = CASE WHEN achieved_number IS NOT NULL THEN DATE(updated_at) END,
+    attainment = CASE WHEN target_number > 0 AND achieved_number IS NOT NULL
+                      THEN LEAST(1, GREATEST(0, achieved_number / target_number)) END;
+
+ALTER TABLE kpis
+    DROP COLUMN target_value,
+    DROP COLUMN achieved_value,
+    RENAME COLUMN target_number TO target_value,
+    RENAME COLUMN achieved_number TO achieved_value;
+
+CREATE TABLE IF NOT EXISTS kpi_measurements (
+    measurement_id  BIGINT AUTO_INCREMENT PRIMARY KEY,
+    kpi_id          BIGINT NOT NULL,
+    measured_value  DECIMAL(14,4) NOT NULL,
+    measured_on     DATE NOT NULL,
+    recorded_by_id  BIGINT,
+    note            VARCHAR(255),
+    created_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_kpi_measurements_kpi_date (kpi_id, measured_on),
+    CONSTRAINT fk_kpi_measurement_kpi FOREIGN KEY (kpi_id) REFERENCES kpis(kpi_id) ON DELETE CASCADE,
+    CONSTRAINT fk_kpi_measurement_recorded_by FOREIGN KEY (recorded_by_id) REFERENCES accounts(account_id) ON DELETE SET NULL
+);
+
+CREATE TABLE IF NOT EXISTS kpi_rollups (
+    scope_type      VARCHAR(20) NOT NULL,
+    scope_id        BIGINT NOT NULL,
+    kpi_count       BIGINT NOT NULL DEFAULT 0,
+    measured_count  BIGINT NOT NULL DEFAULT 0,
+    achieved_count  BIGINT NOT NULL DEFAULT 0,
+    attainment_sum  DOUBLE NOT NULL DEFAULT 0,
+    updated_at      DATETIME,
+    PRIMARY KEY (scope_type, scope_id)
+);
+
+INSERT INTO kpi_measurements (kpi_id, measured_value, measured_on, recorded_by_id, note)
+SELECT kpi_id, achieved_value, last_measured_on, employee_id, 'Opening value'
+FROM kpis
+WHERE achieved_value IS NOT NULL;
+
+INSERT INTO id_sequences (sequence_name, next_val)
+SELECT 'kpi_measurements', COALESCE(MAX(measurement_id), 0) + 1 FROM kpi_measurements
+ON DUPLICATE KEY UPDATE next_val = GREATEST(next_val, VALUES(next_val));
@@ -0,0 +1,23 @@
+-- Review cycles and calibration index (MySQL 8).
+-- Run once against an existing emsa_db: mysql -u root -p emsa_db < 023_review_calibration.sql
+--
+-- Calibration groups a cycle's reviews by reviewer, department and rating; the covering index lets that
+-- aggregate read the index alone instead of review rows with their TEXT columns. review_cycles records
+-- which cycles are closed; existing cycles start open.
+
+USE emsa_db;
+
+ALTER TABLE performance_reviews
+    ADD INDEX idx_performance_reviews_cycle (cycle_name, reviewer_id, rating, employee_id, increment_recommended);
+
+CREATE TABLE IF NOT EXISTS review_cycles (
+    cycle_name      VARCHAR(100) PRIMARY KEY,
+    status          VARCHAR(20) NOT NULL DEFAULT 'OPEN',
+    closed_by_id    BIGINT,
+    closed_at       DATETIME,
+    created_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_review_cycle_closed_by FOREIGN KEY (closed_by_id) REFERENCES accounts(account_id) ON DELETE SET NULL
+);
+
+INSERT IGNORE INTO review_cycles (cycle_name, status)
+SELECT DISTINCT cycle_name, 'OPEN' FROM performance_reviews WHERE cycle_name IS NOT NULL;
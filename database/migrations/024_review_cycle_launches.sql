@@ -0,0 +1,33 @@
+-- Review cycle launches (MySQL 8).
+-- Run once against an existing emsa_db: mysql -u root -p emsa_db < 024_review_cycle_launches.sql
+--
+-- A launch creates the DRAFT reviews of a cycle for a manager's subtree or a department in the background,
+-- committing its progress with every chunk so it can resume. Finding who has no review in the cycle yet is
+-- an index probe on (employee_id, cycle_name).
+
+USE emsa_db;
+
+ALTER TABLE performance_reviews
+    ADD INDEX idx_performance_reviews_employee_cycle (employee_id, cycle_name);
+
+CREATE TABLE IF NOT EXISTS review_cycle_launches (
+    launch_id       BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cycle_name      VARCHAR(100) NOT NULL,
+    scope           VARCHAR(20) NOT NULL,
+    scope_id        BIGINT NOT NULL,
+    status          VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    total_count     BIGINT NOT NULL DEFAULT 0,
+    created_count   BIGINT NOT NULL DEFAULT 0,
+    skipped_count   BIGINT NOT NULL DEFAULT 0,
+    last_account_id BIGINT,
+    error_message   VARCHAR(500),
+    started_by_id   BIGINT,
+    started_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at      DATETIME,
+    finished_at     DATETIME,
+    INDEX idx_review_cycle_launches_cycle (cycle_name, status),
+    CONSTRAINT fk_review_launch_started_by FOREIGN KEY (started_by_id) REFERENCES accounts(account_id) ON DELETE SET NULL
+);
+
+INSERT INTO id_sequences (sequence_name, next_val) VALUES ('review_cycle_launches', 1)
+ON DUPLICATE KEY UPDATE next_val = next_val;
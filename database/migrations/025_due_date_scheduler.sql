@@ -0,0 +1,25 @@
+-- Due-date scheduler (MySQL 8).
+-- Run once against an existing emsa_db: mysql -u root -p emsa_db < 025_due_date_scheduler.sql
+--
+-- The scheduler loads the open tasks, KPIs and pending leave requests dated around today with a range scan of
+-- these due-date indexes, at startup and nightly, instead of reading the whole tables. Every event it fires is
+-- recorded in due_events; the unique key is what keeps an event from firing again after a restart.
+
+USE emsa_db;
+
+ALTER TABLE tasks ADD INDEX idx_tasks_due (due_date);
+ALTER TABLE kpis ADD INDEX idx_kpis_due (due_date);
+ALTER TABLE leave_requests ADD INDEX idx_leave_requests_status_start (status, start_date);
+
+CREATE TABLE IF NOT EXISTS due_events (
+    event_id    BIGINT AUTO_INCREMENT PRIMARY KEY,
+    source      VARCHAR(20) NOT NULL,
+    source_id   BIGINT NOT NULL,
+    event_type  VARCHAR(20) NOT NULL,
+    due_date    DATE NOT NULL,
+    owner_id    BIGINT,
+    fired_at    DATETIME NOT NULL,
+    UNIQUE KEY uk_due_events_event (source, source_id, event_type, due_date),
+    INDEX idx_due_events_owner (owner_id, fired_at),
+    INDEX idx_due_events_fired (fired_at)
+);
@@ -9,13 +9,20 @@
 CREATE DATABASE IF NOT EXISTS emsa_db CHARACTER SET utf8mb4 COLLATE utf8mb4_unicode_ci;
 USE emsa_db;
 
+-- Id blocks for the pooled table generators (every table below except audit_logs)
+CREATE TABLE IF NOT EXISTS id_sequences (
+    sequence_name VARCHAR(255) NOT NULL PRIMARY KEY,
+    next_val      BIGINT
+);
+
 -- Departments Table
 CREATE TABLE IF NOT EXISTS departments (
     department_id   BIGINT AUTO_INCREMENT PRIMARY KEY,
     department_name VARCHAR(100) NOT NULL UNIQUE,
     description     VARCHAR(255),
     created_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    updated_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+    updated_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version         BIGINT NOT NULL DEFAULT 0
 );
 
 -- Accounts Table (Users, Employees, Managers, Admins)
@@ -39,10 +46,22 @@ CREATE TABLE IF NOT EXISTS accounts (
     is_active               TINYINT(1) NOT NULL DEFAULT 1,
     created_at              DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at              DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version                 BIGINT NOT NULL DEFAULT 0,
+    INDEX idx_accounts_department_role (department_id, role),
     CONSTRAINT fk_account_department FOREIGN KEY (department_id) REFERENCES departments(department_id) ON DELETE SET NULL,
     CONSTRAINT fk_account_manager FOREIGN KEY (reporting_manager_id) REFERENCES accounts(account_id) ON DELETE SET NULL
 );
 
+-- Closure of accounts.reporting_manager_id: every (manager, report) pair at any depth, plus depth-0 self rows.
+-- Maintained by the application; no FKs so subtree moves can delete and re-insert rows freely.
+CREATE TABLE IF NOT EXISTS account_hierarchy (
+    ancestor_id   BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth         INT    NOT NULL,
+    PRIMARY KEY (ancestor_id, descendant_id),
+    INDEX idx_account_hierarchy_descendant (descendant_id, depth)
+);
+
 -- KPIs Table
 CREATE TABLE IF NOT EXISTS kpis (
     kpi_id          BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -50,16 +69,48 @@ CREATE TABLE IF NOT EXISTS kpis (
     assigned_by_id  BIGINT NOT NULL,
     title           VARCHAR(150) NOT NULL,
     description     TEXT,
-    target_value    VARCHAR(100),
-    achieved_value  VARCHAR(100),
+    target_value    DECIMAL(14,4),
+    achieved_value  DECIMAL(14,4),
+    unit            VARCHAR(30),
+    attainment      DOUBLE,
+    last_measured_on DATE,
     status          VARCHAR(30) DEFAULT 'PENDING',
     due_date        DATETIME,
     created_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version         BIGINT NOT NULL DEFAULT 0,
+    INDEX idx_kpis_due (due_date),
     CONSTRAINT fk_kpi_employee FOREIGN KEY (employee_id) REFERENCES accounts(account_id) ON DELETE CASCADE,
     CONSTRAINT fk_kpi_assigned_by FOREIGN KEY (assigned_by_id) REFERENCES accounts(account_id) ON DELETE CASCADE
 );
 
+-- KPI Measurements Table (append-only readings; kpis.achieved_value is the latest by date)
+CREATE TABLE IF NOT EXISTS kpi_measurements (
+    measurement_id  BIGINT AUTO_INCREMENT PRIMARY KEY,
+    kpi_id          BIGINT NOT NULL,
+    measured_value  DECIMAL(14,4) NOT NULL,
+    measured_on     DATE NOT NULL,
+    recorded_by_id  BIGINT,
+    note            VARCHAR(255),
+    created_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_kpi_measurements_kpi_date (kpi_id, measured_on),
+    CONSTRAINT fk_kpi_measurement_kpi FOREIGN KEY (kpi_id) REFERENCES kpis(kpi_id) ON DELETE CASCADE,
+    CONSTRAINT fk_kpi_measurement_recorded_by FOREIGN KEY (recorded_by_id) REFERENCES accounts(account_id) ON DELETE SET NULL
+);
+
+-- KPI Rollups Table (attainment per employee, manager subtree and department, maintained by the application
+-- on every KPI change; reconciled hourly against kpis)
+CREATE TABLE IF NOT EXISTS kpi_rollups (
+    scope_type      VARCHAR(20) NOT NULL,
+    scope_id        BIGINT NOT NULL,
+    kpi_count       BIGINT NOT NULL DEFAULT 0,
+    measured_count  BIGINT NOT NULL DEFAULT 0,
+    achieved_count  BIGINT NOT NULL DEFAULT 0,
+    attainment_sum  DOUBLE NOT NULL DEFAULT 0,
+    updated_at      DATETIME,
+    PRIMARY KEY (scope_type, scope_id)
+);
+
 -- Projects Table
 CREATE TABLE IF NOT EXISTS projects (
     project_id      BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -71,6 +122,7 @@ CREATE TABLE IF NOT EXISTS projects (
     status          VARCHAR(30) DEFAULT 'ACTIVE',
     created_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version         BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT fk_project_manager FOREIGN KEY (manager_id) REFERENCES accounts(account_id) ON DELETE SET NULL
 );
 
@@ -88,11 +140,67 @@ CREATE TABLE IF NOT EXISTS tasks (
     hours_logged    DOUBLE DEFAULT 0.0,
     created_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version         BIGINT NOT NULL DEFAULT 0,
+    INDEX idx_tasks_due (due_date),
     CONSTRAINT fk_task_project FOREIGN KEY (project_id) REFERENCES projects(project_id) ON DELETE CASCADE,
     CONSTRAINT fk_task_assigned_to FOREIGN KEY (assigned_to_id) REFERENCES accounts(account_id) ON DELETE SET NULL,
     CONSTRAINT fk_task_assigned_by FOREIGN KEY (assigned_by_id) REFERENCES accounts(account_id) ON DELETE SET NULL
 );
 
+-- Project Stats Table (per-project task rollup maintained by the application on every task change;
+-- reconciled hourly against tasks)
+CREATE TABLE IF NOT EXISTS project_stats (
+    project_id            BIGINT PRIMARY KEY,
+    total_tasks           BIGINT NOT NULL DEFAULT 0,
+    todo_tasks            BIGINT NOT NULL DEFAULT 0,
+    in_progress_tasks     BIGINT NOT NULL DEFAULT 0,
+    review_tasks          BIGINT NOT NULL DEFAULT 0,
+    done_tasks            BIGINT NOT NULL DEFAULT 0,
+    low_priority_tasks    BIGINT NOT NULL DEFAULT 0,
+    medium_priority_tasks BIGINT NOT NULL DEFAULT 0,
+    high_priority_tasks   BIGINT NOT NULL DEFAULT 0,
+    overdue_tasks         BIGINT NOT NULL DEFAULT 0,
+    total_hours           DOUBLE NOT NULL DEFAULT 0,
+    last_activity_at      DATETIME,
+    CONSTRAINT fk_project_stats_project FOREIGN KEY (project_id) REFERENCES projects(project_id) ON DELETE CASCADE
+);
+
+-- Work Logs Table (append-only time entries; tasks.hours_logged, work_log_daily and account_work_totals are
+-- rollups incremented by the application with every entry)
+CREATE TABLE IF NOT EXISTS work_logs (
+    log_id      BIGINT AUTO_INCREMENT PRIMARY KEY,
+    task_id     BIGINT NOT NULL,
+    account_id  BIGINT NOT NULL,
+    work_date   DATE NOT NULL,
+    hours       DOUBLE NOT NULL,
+    note        VARCHAR(255),
+    created_at  DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    INDEX idx_work_logs_task (task_id, log_id),
+    INDEX idx_work_logs_account_date (account_id, work_date),
+    CONSTRAINT fk_work_log_task FOREIGN KEY (task_id) REFERENCES tasks(task_id) ON DELETE CASCADE,
+    CONSTRAINT fk_work_log_account FOREIGN KEY (account_id) REFERENCES accounts(account_id) ON DELETE CASCADE
+);
+
+-- Hours per employee, project and day (no project FK: buckets outlive deleted projects)
+CREATE TABLE IF NOT EXISTS work_log_daily (
+    account_id  BIGINT NOT NULL,
+    project_id  BIGINT NOT NULL,
+    work_date   DATE NOT NULL,
+    hours       DOUBLE NOT NULL,
+    entries     INT NOT NULL,
+    PRIMARY KEY (account_id, project_id, work_date),
+    INDEX idx_work_log_daily_project (project_id, work_date),
+    CONSTRAINT fk_work_log_daily_account FOREIGN KEY (account_id) REFERENCES accounts(account_id) ON DELETE CASCADE
+);
+
+-- Lifetime hours per employee
+CREATE TABLE IF NOT EXISTS account_work_totals (
+    account_id  BIGINT PRIMARY KEY,
+    total_hours DOUBLE NOT NULL,
+    entries     BIGINT NOT NULL,
+    CONSTRAINT fk_work_total_account FOREIGN KEY (account_id) REFERENCES accounts(account_id) ON DELETE CASCADE
+);
+
 -- Leave Requests Table
 CREATE TABLE IF NOT EXISTS leave_requests (
     request_id      BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -106,6 +214,9 @@ CREATE TABLE IF NOT EXISTS leave_requests (
     review_comment  VARCHAR(255),
     created_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version         BIGINT NOT NULL DEFAULT 0,
+    INDEX idx_leave_requests_account_end (account_id, end_date, start_date),
+    INDEX idx_leave_requests_status_start (status, start_date),
     CONSTRAINT fk_leave_account FOREIGN KEY (account_id) REFERENCES accounts(account_id) ON DELETE CASCADE,
     CONSTRAINT fk_leave_reviewer FOREIGN KEY (reviewed_by_id) REFERENCES accounts(account_id) ON DELETE SET NULL
 );
@@ -123,13 +234,61 @@ CREATE TABLE IF NOT EXISTS performance_reviews (
     increment_recommended   DOUBLE,
     created_at              DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
     updated_at              DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    version                 BIGINT NOT NULL DEFAULT 0,
     CONSTRAINT fk_review_employee FOREIGN KEY (employee_id) REFERENCES accounts(account_id) ON DELETE CASCADE,
-    CONSTRAINT fk_review_reviewer FOREIGN KEY (reviewer_id) REFERENCES accounts(account_id) ON DELETE CASCADE
+    CONSTRAINT fk_review_reviewer FOREIGN KEY (reviewer_id) REFERENCES accounts(account_id) ON DELETE CASCADE,
+    INDEX idx_performance_reviews_cycle (cycle_name, reviewer_id, rating, employee_id, increment_recommended),
+    INDEX idx_performance_reviews_employee_cycle (employee_id, cycle_name)
+);
+
+-- Review cycle state; a cycle without a row is open. Reviews of a closed cycle are frozen.
+CREATE TABLE IF NOT EXISTS review_cycles (
+    cycle_name      VARCHAR(100) PRIMARY KEY,
+    status          VARCHAR(20) NOT NULL DEFAULT 'OPEN',
+    closed_by_id    BIGINT,
+    closed_at       DATETIME,
+    created_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT fk_review_cycle_closed_by FOREIGN KEY (closed_by_id) REFERENCES accounts(account_id) ON DELETE SET NULL
+);
+
+-- Background jobs creating a cycle's DRAFT reviews; progress and cursor are committed with every chunk
+CREATE TABLE IF NOT EXISTS review_cycle_launches (
+    launch_id       BIGINT AUTO_INCREMENT PRIMARY KEY,
+    cycle_name      VARCHAR(100) NOT NULL,
+    scope           VARCHAR(20) NOT NULL,
+    scope_id        BIGINT NOT NULL,
+    status          VARCHAR(20) NOT NULL DEFAULT 'RUNNING',
+    total_count     BIGINT NOT NULL DEFAULT 0,
+    created_count   BIGINT NOT NULL DEFAULT 0,
+    skipped_count   BIGINT NOT NULL DEFAULT 0,
+    last_account_id BIGINT,
+    error_message   VARCHAR(500),
+    started_by_id   BIGINT,
+    started_at      DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at      DATETIME,
+    finished_at     DATETIME,
+    INDEX idx_review_cycle_launches_cycle (cycle_name, status),
+    CONSTRAINT fk_review_launch_started_by FOREIGN KEY (started_by_id) REFERENCES accounts(account_id) ON DELETE SET NULL
 );
 
--- Audit Logs Table
+-- Due Events Table (reminders, overdue and escalation events fired by the application's due-date scheduler;
+-- the unique key keeps each event from firing twice across restarts)
+CREATE TABLE IF NOT EXISTS due_events (
+    event_id    BIGINT AUTO_INCREMENT PRIMARY KEY,
+    source      VARCHAR(20) NOT NULL,
+    source_id   BIGINT NOT NULL,
+    event_type  VARCHAR(20) NOT NULL,
+    due_date    DATE NOT NULL,
+    owner_id    BIGINT,
+    fired_at    DATETIME NOT NULL,
+    UNIQUE KEY uk_due_events_event (source, source_id, event_type, due_date),
+    INDEX idx_due_events_owner (owner_id, fired_at),
+    INDEX idx_due_events_fired (fired_at)
+);
+
+-- Audit Logs Table (monthly partitions; no FK because MySQL does not support them on partitioned tables)
 CREATE TABLE IF NOT EXISTS audit_logs (
-    log_id      BIGINT AUTO_INCREMENT PRIMARY KEY,
+    log_id      BIGINT AUTO_INCREMENT,
     account_id  BIGINT,
     action      VARCHAR(100) NOT NULL,
     entity_name VARCHAR(100),
@@ -137,5 +296,12 @@ CREATE TABLE IF NOT EXISTS audit_logs (
     details     TEXT,
     ip_address  VARCHAR(50),
     created_at  DATETIME NOT NULL DEFAULT CURRENT_TIMESTAMP,
-    CONSTRAINT fk_audit_account FOREIGN KEY (account_id) REFERENCES accounts(account_id) ON DELETE SET NULL
+    PRIMARY KEY (log_id, created_at),
+    INDEX idx_audit_logs_account (account_id, log_id),
+    INDEX idx_audit_logs_entity (entity_name, entity_id, log_id),
+    INDEX idx_audit_logs_action (action, log_id),
+    INDEX idx_audit_logs_created (created_at, log_id)
+)
+PARTITION BY RANGE COLUMNS (created_at) (
+    PARTITION pmax VALUES LESS THAN (MAXVALUE)
 );
@@ -54,11 +54,30 @@ INSERT INTO tasks (project_id, assigned_to_id, assigned_by_id, title, descriptio
 (1, 5, 2, 'Implement REST APIs', 'Develop backend REST endpoints for the new features', 'TODO', 'HIGH', '2024-05-15', 0.0),
 (2, 6, 3, 'Create onboarding checklist', 'Draft a comprehensive employee onboarding checklist', 'DONE', 'MEDIUM', '2024-03-31', 8.0);
 
--- KPIs
-INSERT INTO kpis (employee_id, assigned_by_id, title, description, target_value, achieved_value, status, due_date) VALUES
-(4, 2, 'Complete 3 feature releases', 'Deliver 3 major features in Q1', '3 releases', '2 releases', 'IN_PROGRESS', '2024-03-31 23:59:59'),
-(5, 2, 'Reduce bug count by 30%', 'Improve code quality and reduce production bugs', '30% reduction', NULL, 'PENDING', '2024-06-30 23:59:59'),
-(6, 3, 'Process 100% new hires on time', 'Ensure all onboarding is completed within 5 days', '100%', '95%', 'IN_PROGRESS', '2024-12-31 23:59:59');
+-- Work logs, with the rollups the application keeps in step with them
+INSERT INTO work_logs (task_id, account_id, work_date, hours) VALUES
+(1, 4, '2024-04-08', 8.0),
+(1, 4, '2024-04-09', 4.5),
+(3, 6, '2024-03-25', 8.0);
+
+INSERT INTO work_log_daily (account_id, project_id, work_date, hours, entries)
+SELECT w.account_id, t.project_id, w.work_date, SUM(w.hours), COUNT(*)
+FROM work_logs w JOIN tasks t ON t.task_id = w.task_id
+GROUP BY w.account_id, t.project_id, w.work_date;
+
+INSERT INTO account_work_totals (account_id, total_hours, entries)
+SELECT account_id, SUM(hours), COUNT(*) FROM work_logs GROUP BY account_id;
+
+-- KPIs (attainment = achieved / target, capped at 1)
+INSERT INTO kpis (employee_id, assigned_by_id, title, description, target_value, achieved_value, unit, attainment, last_measured_on, status, due_date) VALUES
+(4, 2, 'Complete 3 feature releases', 'Deliver 3 major features in Q1', 3, 2, 'releases', 2 / 3, '2024-03-15', 'IN_PROGRESS', '2024-03-31 23:59:59'),
+(5, 2, 'Reduce bug count by 30%', 'Improve code quality and reduce production bugs', 30, NULL, '% reduction', NULL, NULL, 'PENDING', '2024-06-30 23:59:59'),
+(6, 3, 'Process 100% new hires on time', 'Ensure all onboarding is completed within 5 days', 100, 95, '%', 0.95, '2024-03-15', 'IN_PROGRESS', '2024-12-31 23:59:59');
+
+INSERT INTO kpi_measurements (kpi_id, measured_value, measured_on, recorded_by_id) VALUES
+(1, 1, '2024-02-15', 4),
+(1, 2, '2024-03-15', 4),
+(3, 95, '2024-03-15', 6);
 
 -- Leave Requests
 INSERT INTO leave_requests (account_id, request_type, description, start_date, end_date, status) VALUES
@@ -67,6 +86,8 @@ INSERT INTO leave_requests (account_id, request_type, description, start_date, e
 (6, 'REIMBURSEMENT', 'Training course reimbursement - $250', NULL, NULL, 'PENDING');
 
 -- Performance Reviews
+INSERT INTO review_cycles (cycle_name, status) VALUES ('Q4 2023 Annual Review', 'OPEN');
+
 INSERT INTO performance_reviews (employee_id, reviewer_id, cycle_name, self_appraisal, manager_feedback, rating, status, increment_recommended) VALUES
 (4, 2, 'Q4 2023 Annual Review', 'I have successfully delivered 2 major features and mentored junior developers.', 'Charlie has shown excellent technical skills and leadership.', 4, 'APPROVED', 10.0),
 (5, 2, 'Q4 2023 Annual Review', NULL, NULL, NULL, 'DRAFT', NULL);
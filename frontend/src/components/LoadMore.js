@@ -0,0 +1,22 @@
+import React, { useState } from 'react';
+
+// Footer for keyset-paged lists: fetches the page after `cursor`; hidden once the last page is loaded
+export default function LoadMore({ cursor, onLoad }) {
+  const [loading, setLoading] = useState(false);
+
+  if (!cursor) return null;
+
+  const handleClick = async () => {
+    setLoading(true);
+    try { await onLoad(cursor); }
+    finally { setLoading(false); }
+  };
+
+  return (
+    <div style={{ textAlign: 'center', marginTop: 16 }}>
+      <button className="btn btn-secondary" onClick={handleClick} disabled={loading}>
+        {loading ? 'Loading...' : 'Load more'}
+      </button>
+    </div>
+  );
+}
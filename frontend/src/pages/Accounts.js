@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from 'react';
-import { accountApi, departmentApi } from '../services/api';
+import { accountApi, departmentApi, listItems, nextCursor } from '../services/api';
+import LoadMore from '../components/LoadMore';
 
 const ROLES = ['ADMIN', 'MANAGER', 'EMPLOYEE', 'USER'];
 const ROLE_COLORS = { ADMIN: 'badge-admin', MANAGER: 'badge-manager', EMPLOYEE: 'badge-employee', USER: 'badge-user' };
@@ -14,6 +15,7 @@ export default function Accounts() {
   const [editAccount, setEditAccount] = useState(null);
   const [filterRole, setFilterRole] = useState('ALL');
   const [search, setSearch] = useState('');
+  const [cursor, setCursor] = useState(null);
   const [form, setForm] = useState({ username: '', email: '', password: '', role: 'EMPLOYEE', firstName: '', lastName: '', designation: '', departmentId: '', phoneNumber: '', hireDate: '' });
   const [showResetModal, setShowResetModal] = useState(null);
   const [newPassword, setNewPassword] = useState('');
@@ -27,7 +29,8 @@ export default function Accounts() {
     try {
       setLoading(true);
       const [accsRes, deptsRes] = await Promise.all([accountApi.getAll(), departmentApi.getAll()]);
-      setAccounts(accsRes.data.data || []);
+      setAccounts(listItems(accsRes));
+      setCursor(nextCursor(accsRes));
       setDepartments(deptsRes.data.data || []);
     } catch (e) { 
       console.error('Load failed:', e.message);
@@ -47,6 +50,14 @@ export default function Accounts() {
     finally { setLoading(false); }
   };
 
+  const loadMore = async (after) => {
+    try {
+      const res = await accountApi.getAll({ cursor: after });
+      setAccounts(prev => [...prev, ...listItems(res)]);
+      setCursor(nextCursor(res));
+    } catch (e) { setError('Failed to load more accounts'); }
+  };
+
   const handleSubmit = async (e) => {
     e.preventDefault();
     setError(''); setSuccess('');
@@ -114,7 +125,7 @@ export default function Accounts() {
       <div className="page-header">
         <div>
           <h1 className="page-title">All Accounts</h1>
-          <p className="page-subtitle">Manage all system accounts ({accounts.length} total)</p>
+          <p className="page-subtitle">Manage all system accounts ({accounts.length}{cursor ? '+' : ''} total)</p>
         </div>
         <button className="btn btn-primary" onClick={() => { resetForm(); setEditAccount(null); setShowModal(true); }}>
           + Create Account
@@ -164,6 +175,7 @@ export default function Accounts() {
           </tbody>
         </table>
       </div>
+      <LoadMore cursor={cursor} onLoad={loadMore} />
 
       {/* Create/Edit Modal */}
       {showModal && (
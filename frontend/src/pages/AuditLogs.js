@@ -1,11 +1,13 @@
 import React, { useState, useEffect } from 'react';
-import { auditApi } from '../services/api';
+import { auditApi, listItems, nextCursor } from '../services/api';
+import LoadMore from '../components/LoadMore';
 
 export default function AuditLogs() {
   const [logs, setLogs] = useState([]);
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState('');
   const [search, setSearch] = useState('');
+  const [cursor, setCursor] = useState(null);
 
   // eslint-disable-next-line react-hooks/exhaustive-deps
   useEffect(() => { load(); }, []);
@@ -14,7 +16,8 @@ export default function AuditLogs() {
     try {
       setLoading(true);
       const res = await auditApi.getAll();
-      setLogs(res.data.data || []);
+      setLogs(listItems(res));
+      setCursor(nextCursor(res));
     } catch (e) { 
       console.error('Load failed:', e.message);
       setError('Failed to load audit logs');
@@ -28,6 +31,14 @@ export default function AuditLogs() {
     finally { setLoading(false); }
   };
 
+  const loadMore = async (after) => {
+    try {
+      const res = await auditApi.getAll({ cursor: after });
+      setLogs(prev => [...prev, ...listItems(res)]);
+      setCursor(nextCursor(res));
+    } catch (e) { setError('Failed to load more audit logs'); }
+  };
+
   const filtered = logs.filter(l =>
     l.action?.toLowerCase().includes(search.toLowerCase()) ||
     l.accountUsername?.toLowerCase().includes(search.toLowerCase()) ||
@@ -70,6 +81,7 @@ export default function AuditLogs() {
           </tbody>
         </table>
       </div>
+      <LoadMore cursor={cursor} onLoad={loadMore} />
     </div>
   );
 }
@@ -1,6 +1,6 @@
 import React, { useState, useEffect } from 'react';
 import { useAuth } from '../context/AuthContext';
-import { accountApi, projectApi, taskApi, leaveApi, departmentApi } from '../services/api';
+import { dashboardApi } from '../services/api';
 
 function StatCard({ icon, label, value, bg, color }) {
   return (
@@ -31,50 +31,14 @@ export default function Dashboard() {
   const loadData = async () => {
     try {
       setLoading(true);
-      console.log('Dashboard: Starting loadData, user.role:', user?.role);
-      
-      const tasks = await taskApi.getMe().catch(e => {
-        console.error('Dashboard: taskApi.getMe() failed:', e.message);
-        return { data: { data: [] } };
-      });
-      setRecentTasks(tasks.data.data?.slice(0, 5) || []);
-
-      const requests = await leaveApi.getMe().catch(e => {
-        console.error('Dashboard: leaveApi.getMe() failed:', e.message);
-        return { data: { data: [] } };
-      });
-      setRecentRequests(requests.data.data?.slice(0, 3) || []);
-
-      const s = {};
-
-      if (isAdmin()) {
-        console.log('Dashboard: Loading ADMIN stats...');
-        const [accs, depts, projs] = await Promise.allSettled([
-          accountApi.getAll().catch(e => { console.error('getAll() failed:', e.message); return { data: { data: [] } }; }),
-          departmentApi.getAll().catch(e => { console.error('getAll() failed:', e.message); return { data: { data: [] } }; }),
-          projectApi.getAll().catch(e => { console.error('getAll() failed:', e.message); return { data: { data: [] } }; }),
-        ]);
-        console.log('Dashboard: ADMIN stats resolved. accs:', accs.status, 'depts:', depts.status, 'projs:', projs.status);
-        s.totalAccounts = accs.status === 'fulfilled' ? accs.value.data.data?.length : 0;
-        s.totalDepts = depts.status === 'fulfilled' ? depts.value.data.data?.length : 0;
-        s.totalProjects = projs.status === 'fulfilled' ? projs.value.data.data?.length : 0;
-        s.activeProjects = projs.status === 'fulfilled' ? projs.value.data.data?.filter(p => p.status === 'ACTIVE').length : 0;
-      } else if (isManager()) {
-        console.log('Dashboard: Loading MANAGER stats...');
-        const [team, projs] = await Promise.allSettled([
-          accountApi.getTeam().catch(e => { console.error('getTeam() failed:', e.message); return { data: { data: [] } }; }),
-          projectApi.getMine().catch(e => { console.error('getMine() failed:', e.message); return { data: { data: [] } }; }),
-        ]);
-        s.teamSize = team.status === 'fulfilled' ? team.value.data.data?.length : 0;
-        s.myProjects = projs.status === 'fulfilled' ? projs.value.data.data?.length : 0;
+      const res = await dashboardApi.get();
+      const d = res.data.data || {};
+      setRecentTasks(d.recentTasks || []);
+      setRecentRequests(d.recentRequests || []);
+      setStats(d);
+      if (d.unavailable?.length) {
+        console.warn('Dashboard: sections unavailable:', d.unavailable.join(', '));
       }
-
-      s.myTasks = tasks.data.data?.length || 0;
-      s.pendingTasks = tasks.data.data?.filter(t => t.status === 'TODO' || t.status === 'IN_PROGRESS').length || 0;
-      s.myRequests = requests.data.data?.length || 0;
-      s.pendingRequests = requests.data.data?.filter(r => r.status === 'PENDING').length || 0;
-      console.log('Dashboard: Stats loaded:', s);
-      setStats(s);
     } catch (e) {
       console.error('Dashboard loadData error:', e);
     } finally {
@@ -109,7 +73,7 @@ export default function Dashboard() {
         {isAdmin() && (
           <>
             <StatCard icon="👥" label="Total Accounts" value={stats.totalAccounts || 0} bg="rgba(99,102,241,0.15)" color="#818cf8" />
-            <StatCard icon="🏢" label="Departments" value={stats.totalDepts || 0} bg="rgba(20,184,166,0.15)" color="#2dd4bf" />
+            <StatCard icon="🏢" label="Departments" value={stats.totalDepartments || 0} bg="rgba(20,184,166,0.15)" color="#2dd4bf" />
             <StatCard icon="📁" label="Total Projects" value={stats.totalProjects || 0} bg="rgba(245,158,11,0.15)" color="#fbbf24" />
             <StatCard icon="🟢" label="Active Projects" value={stats.activeProjects || 0} bg="rgba(34,197,94,0.15)" color="#4ade80" />
           </>
@@ -15,7 +15,7 @@ export default function Kpis() {
   const [success, setSuccess] = useState('');
   const [showModal, setShowModal] = useState(false);
   const [editKpi, setEditKpi] = useState(null);
-  const [form, setForm] = useState({ employeeId: '', title: '', description: '', targetValue: '', achievedValue: '', status: 'PENDING', dueDate: '' });
+  const [form, setForm] = useState({ employeeId: '', title: '', description: '', targetValue: '', achievedValue: '', unit: '', status: 'PENDING', dueDate: '' });
 
   // eslint-disable-next-line react-hooks/exhaustive-deps
   useEffect(() => { load(); }, []);
@@ -49,11 +49,17 @@ export default function Kpis() {
   const handleSubmit = async (e) => {
     e.preventDefault(); setError(''); setSuccess('');
     try {
-      const payload = { ...form, employeeId: Number(form.employeeId) };
+      const payload = { ...form, employeeId: Number(form.employeeId),
+        targetValue: form.targetValue === '' ? null : Number(form.targetValue),
+        achievedValue: form.achievedValue === '' ? null : Number(form.achievedValue) };
       if (editKpi) { await kpiApi.update(editKpi.kpiId, payload); setSuccess('KPI updated!'); }
       else { await kpiApi.create(payload); setSuccess('KPI created!'); }
       setShowModal(false); setEditKpi(null); load();
-    } catch (e) { setError(e.response?.data?.message || 'Operation failed'); }
+    } catch (e) {
+      setError(e.response?.data?.message || 'Operation failed');
+      // Someone else saved first: drop the stale form and show their version
+      if (e.response?.status === 409) { setShowModal(false); setEditKpi(null); load(); }
+    }
   };
 
   const handleDelete = async (id) => {
@@ -64,7 +70,7 @@ export default function Kpis() {
 
   const openEdit = (k) => {
     setEditKpi(k);
-    setForm({ employeeId: k.employeeId, title: k.title, description: k.description || '', targetValue: k.targetValue || '', achievedValue: k.achievedValue || '', status: k.status, dueDate: k.dueDate ? k.dueDate.substring(0, 10) : '' });
+    setForm({ employeeId: k.employeeId, title: k.title, description: k.description || '', targetValue: k.targetValue ?? '', achievedValue: k.achievedValue ?? '', unit: k.unit || '', status: k.status, dueDate: k.dueDate ? k.dueDate.substring(0, 10) : '', version: k.version });
     setShowModal(true);
   };
 
@@ -81,7 +87,7 @@ export default function Kpis() {
           <p className="page-subtitle">Key Performance Indicators</p>
         </div>
         {canCreate && (
-          <button className="btn btn-primary" onClick={() => { setEditKpi(null); setForm({ employeeId: '', title: '', description: '', targetValue: '', achievedValue: '', status: 'PENDING', dueDate: '' }); setShowModal(true); }}>
+          <button className="btn btn-primary" onClick={() => { setEditKpi(null); setForm({ employeeId: '', title: '', description: '', targetValue: '', achievedValue: '', unit: '', status: 'PENDING', dueDate: '' }); setShowModal(true); }}>
             + Add KPI
           </button>
         )}
@@ -90,17 +96,18 @@ export default function Kpis() {
       <div className="table-container">
         <table>
           <thead>
-            <tr><th>Title</th><th>Employee</th><th>Target</th><th>Achieved</th><th>Status</th><th>Due Date</th><th>Assigned By</th>{canCreate && <th>Actions</th>}</tr>
+            <tr><th>Title</th><th>Employee</th><th>Target</th><th>Achieved</th><th>Attainment</th><th>Status</th><th>Due Date</th><th>Assigned By</th>{canCreate && <th>Actions</th>}</tr>
           </thead>
           <tbody>
             {kpis.length === 0 ? (
-              <tr><td colSpan="8" style={{ textAlign: 'center', padding: 32, color: 'var(--text-muted)' }}>No KPIs found</td></tr>
+              <tr><td colSpan="9" style={{ textAlign: 'center', padding: 32, color: 'var(--text-muted)' }}>No KPIs found</td></tr>
             ) : kpis.map(k => (
               <tr key={k.kpiId}>
                 <td style={{ fontWeight: 500, color: 'var(--text-primary)' }}>{k.title}</td>
                 <td style={{ fontSize: 12 }}>{k.employeeName}</td>
-                <td style={{ fontSize: 12 }}>{k.targetValue || '—'}</td>
-                <td style={{ fontSize: 12 }}>{k.achievedValue || '—'}</td>
+                <td style={{ fontSize: 12 }}>{k.targetValue != null ? `${k.targetValue} ${k.unit || ''}` : '—'}</td>
+                <td style={{ fontSize: 12 }}>{k.achievedValue != null ? `${k.achievedValue} ${k.unit || ''}` : '—'}</td>
+                <td style={{ fontSize: 12 }}>{k.attainmentPercent != null ? `${k.attainmentPercent}%` : '—'}</td>
                 <td><span className={`badge ${STATUS_BADGE[k.status] || 'badge-todo'}`}>{k.status}</span></td>
                 <td style={{ fontSize: 12 }}>{k.dueDate ? k.dueDate.substring(0, 10) : '—'}</td>
                 <td style={{ fontSize: 12 }}>{k.assignedByName}</td>
@@ -144,13 +151,17 @@ export default function Kpis() {
               <div className="grid-2">
                 <div className="form-group">
                   <label className="form-label">Target Value</label>
-                  <input className="form-control" value={form.targetValue} onChange={e => setForm({ ...form, targetValue: e.target.value })} />
+                  <input className="form-control" type="number" step="any" min="0" value={form.targetValue} onChange={e => setForm({ ...form, targetValue: e.target.value })} />
                 </div>
                 <div className="form-group">
                   <label className="form-label">Achieved Value</label>
-                  <input className="form-control" value={form.achievedValue} onChange={e => setForm({ ...form, achievedValue: e.target.value })} />
+                  <input className="form-control" type="number" step="any" value={form.achievedValue} onChange={e => setForm({ ...form, achievedValue: e.target.value })} />
                 </div>
               </div>
+              <div className="form-group">
+                <label className="form-label">Unit</label>
+                <input className="form-control" placeholder="e.g. %, releases, hours" maxLength={30} value={form.unit} onChange={e => setForm({ ...form, unit: e.target.value })} />
+              </div>
               <div className="grid-2">
                 <div className="form-group">
                   <label className="form-label">Status</label>
@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from 'react';
-import { leaveApi } from '../services/api';
+import { leaveApi, listItems, nextCursor } from '../services/api';
+import LoadMore from '../components/LoadMore';
 import { useAuth } from '../context/AuthContext';
 
 const TYPES = ['LEAVE', 'WFH', 'REIMBURSEMENT', 'HR_REQUEST'];
@@ -17,17 +18,20 @@ export default function LeaveRequests() {
   const [form, setForm] = useState({ requestType: 'LEAVE', description: '', startDate: '', endDate: '' });
   const [reviewForm, setReviewForm] = useState({ status: 'APPROVED', reviewComment: '' });
   const [tab, setTab] = useState('mine');
+  const [cursor, setCursor] = useState(null);
 
   useEffect(() => { load(); }, [tab]);
 
   const load = async () => {
     try {
       setLoading(true);
+      setCursor(null);
       let res;
       if (tab === 'mine') res = await leaveApi.getMe();
       else if (tab === 'team') res = await leaveApi.getTeam();
       else res = await leaveApi.getAll();
-      setRequests(res.data.data || []);
+      setRequests(listItems(res));
+      setCursor(nextCursor(res));
     } catch (e) { 
       console.error('Load failed:', e.message);
       setError('Failed to load requests');
@@ -41,6 +45,15 @@ export default function LeaveRequests() {
     finally { setLoading(false); }
   };
 
+  // Only the all-requests tab is paged; the mine and team tabs return plain lists
+  const loadMore = async (after) => {
+    try {
+      const res = await leaveApi.getAll({ cursor: after });
+      setRequests(prev => [...prev, ...listItems(res)]);
+      setCursor(nextCursor(res));
+    } catch (e) { setError('Failed to load more requests'); }
+  };
+
   const handleSubmit = async (e) => {
     e.preventDefault(); setError(''); setSuccess('');
     try {
@@ -110,6 +123,7 @@ export default function LeaveRequests() {
           </tbody>
         </table>
       </div>
+      <LoadMore cursor={cursor} onLoad={loadMore} />
 
       {/* Submit Modal */}
       {showModal && (
@@ -1,8 +1,9 @@
 import React, { useState, useEffect } from 'react';
-import { reviewApi, accountApi } from '../services/api';
+import { reviewApi, accountApi, listItems, nextCursor } from '../services/api';
+import LoadMore from '../components/LoadMore';
 import { useAuth } from '../context/AuthContext';
 
-const STATUS_BADGE = { DRAFT: 'badge-todo', SUBMITTED: 'badge-pending', REVIEWED: 'badge-in-progress', APPROVED: 'badge-approved' };
+const STATUS_BADGE = { DRAFT: 'badge-todo', SUBMITTED: 'badge-pending', REVIEWED: 'badge-in-progress', APPROVED: 'badge-approved', INCOMPLETE: 'badge-rejected' };
 
 export default function Performance() {
   const { isAdmin, isManager, isEmployee } = useAuth();
@@ -15,6 +16,7 @@ export default function Performance() {
   const [showModal, setShowModal] = useState(false);
   const [selfModal, setSelfModal] = useState(null);
   const [selfText, setSelfText] = useState('');
+  const [cursor, setCursor] = useState(null);
   const [form, setForm] = useState({ employeeId: '', cycleName: '', managerFeedback: '', rating: '', status: 'DRAFT', incrementRecommended: '' });
 
   // eslint-disable-next-line react-hooks/exhaustive-deps
@@ -24,7 +26,8 @@ export default function Performance() {
     try {
       setLoading(true);
       const res = isAdmin() ? await reviewApi.getAll() : await reviewApi.getMe();
-      setReviews(res.data.data || []);
+      setReviews(listItems(res));
+      setCursor(nextCursor(res));
       if (canCreate) {
         const empRes = await accountApi.getByRole('EMPLOYEE');
         setEmployees(empRes.data.data || []);
@@ -46,6 +49,14 @@ export default function Performance() {
     finally { setLoading(false); }
   };
 
+  const loadMore = async (after) => {
+    try {
+      const res = await reviewApi.getAll({ cursor: after });
+      setReviews(prev => [...prev, ...listItems(res)]);
+      setCursor(nextCursor(res));
+    } catch (e) { setError('Failed to load more reviews'); }
+  };
+
   const handleSubmit = async (e) => {
     e.preventDefault(); setError(''); setSuccess('');
     try {
@@ -118,6 +129,7 @@ export default function Performance() {
           </tbody>
         </table>
       </div>
+      <LoadMore cursor={cursor} onLoad={loadMore} />
 
       {/* Create Review Modal */}
       {showModal && (
@@ -126,6 +126,12 @@ export default function Projects() {
             <div style={{ display: 'flex', gap: 16, fontSize: 12, color: 'var(--text-muted)', marginBottom: 12 }}>
               <span>📅 {p.startDate || '—'} → {p.endDate || '—'}</span>
               <span>📋 {p.taskCount} tasks</span>
+              <span>⏱ {p.totalHours || 0}h</span>
+              {p.overdueTasks > 0 && <span style={{ color: '#ef4444' }}>⚠️ {p.overdueTasks} overdue</span>}
+            </div>
+            <div style={{ fontSize: 12, color: 'var(--text-muted)', marginBottom: 12 }}>
+              ✅ {p.progressPercent || 0}% done
+              {p.lastActivityAt && <span> · last activity {new Date(p.lastActivityAt).toLocaleDateString()}</span>}
             </div>
             {canManage && (
               <div style={{ display: 'flex', gap: 8 }}>
@@ -1,5 +1,6 @@
 import React, { useState, useEffect } from 'react';
-import { taskApi, projectApi, accountApi } from '../services/api';
+import { taskApi, projectApi, accountApi, workLogApi, listItems, nextCursor } from '../services/api';
+import LoadMore from '../components/LoadMore';
 import { useAuth } from '../context/AuthContext';
 
 const STATUS_OPTS = ['TODO', 'IN_PROGRESS', 'REVIEW', 'DONE'];
@@ -8,7 +9,7 @@ const STATUS_BADGE = { TODO: 'badge-todo', IN_PROGRESS: 'badge-in-progress', REV
 const PRIORITY_COLOR = { LOW: '#22c55e', MEDIUM: '#f59e0b', HIGH: '#ef4444' };
 
 export default function Tasks() {
-  const { isAdmin, isManager } = useAuth();
+  const { user, isAdmin, isManager } = useAuth();
   const canManage = isAdmin() || isManager();
   const [tasks, setTasks] = useState([]);
   const [projects, setProjects] = useState([]);
@@ -19,7 +20,8 @@ export default function Tasks() {
   const [showModal, setShowModal] = useState(false);
   const [editTask, setEditTask] = useState(null);
   const [filterStatus, setFilterStatus] = useState('ALL');
-  const [form, setForm] = useState({ projectId: '', assignedToId: '', title: '', description: '', status: 'TODO', priority: 'MEDIUM', dueDate: '', hoursLogged: 0 });
+  const [cursor, setCursor] = useState(null);
+  const [form, setForm] = useState({ projectId: '', assignedToId: '', title: '', description: '', status: 'TODO', priority: 'MEDIUM', dueDate: '' });
 
   // eslint-disable-next-line react-hooks/exhaustive-deps
   useEffect(() => { load(); }, []);
@@ -34,7 +36,8 @@ export default function Tasks() {
       } else {
         res = await taskApi.getMe();   // EMPLOYEE/USER/MANAGER see only their tasks
       }
-      setTasks(res.data.data || []);
+      setTasks(listItems(res));
+      setCursor(nextCursor(res));
       
       // Load projects only for ADMIN (for task creation)
       if (isAdmin()) {
@@ -75,6 +78,14 @@ export default function Tasks() {
     finally { setLoading(false); }
   };
 
+  const loadMore = async (after) => {
+    try {
+      const res = await taskApi.getAll({ cursor: after });
+      setTasks(prev => [...prev, ...listItems(res)]);
+      setCursor(nextCursor(res));
+    } catch (e) { setError('Failed to load more tasks'); }
+  };
+
   const handleSubmit = async (e) => {
     e.preventDefault(); setError(''); setSuccess('');
     try {
@@ -82,7 +93,11 @@ export default function Tasks() {
       if (editTask) { await taskApi.update(editTask.taskId, payload); setSuccess('Task updated!'); }
       else { await taskApi.create(payload); setSuccess('Task created!'); }
       setShowModal(false); setEditTask(null); load();
-    } catch (e) { setError(e.response?.data?.message || 'Operation failed'); }
+    } catch (e) {
+      setError(e.response?.data?.message || 'Operation failed');
+      // Someone else saved first: drop the stale form and show their version
+      if (e.response?.status === 409) { setShowModal(false); setEditTask(null); load(); }
+    }
   };
 
   const handleDelete = async (id) => {
@@ -91,9 +106,18 @@ export default function Tasks() {
     catch (e) { setError('Failed to delete task'); }
   };
 
+  // Hours are appended to the task's work log, never overwritten
+  const handleLogHours = async (t) => {
+    const hours = window.prompt(`Hours worked today on "${t.title}" (steps of 0.25)`);
+    if (!hours) return;
+    setError(''); setSuccess('');
+    try { await workLogApi.log({ taskId: t.taskId, hours: Number(hours) }); setSuccess('Hours logged!'); load(); }
+    catch (e) { setError(e.response?.data?.message || 'Failed to log hours'); }
+  };
+
   const openEdit = (t) => {
     setEditTask(t);
-    setForm({ projectId: t.projectId, assignedToId: t.assignedToId || '', title: t.title, description: t.description || '', status: t.status, priority: t.priority, dueDate: t.dueDate || '', hoursLogged: t.hoursLogged || 0 });
+    setForm({ projectId: t.projectId, assignedToId: t.assignedToId || '', title: t.title, description: t.description || '', status: t.status, priority: t.priority, dueDate: t.dueDate || '', version: t.version });
     setShowModal(true);
   };
 
@@ -112,7 +136,7 @@ export default function Tasks() {
           <p className="page-subtitle">{tasks.length} tasks total</p>
         </div>
         {canManage && (
-          <button className="btn btn-primary" onClick={() => { setEditTask(null); setForm({ projectId: '', assignedToId: '', title: '', description: '', status: 'TODO', priority: 'MEDIUM', dueDate: '', hoursLogged: 0 }); setShowModal(true); }}>
+          <button className="btn btn-primary" onClick={() => { setEditTask(null); setForm({ projectId: '', assignedToId: '', title: '', description: '', status: 'TODO', priority: 'MEDIUM', dueDate: '' }); setShowModal(true); }}>
             + New Task
           </button>
         )}
@@ -144,7 +168,12 @@ export default function Tasks() {
                 <td><span style={{ fontSize: 12, fontWeight: 600, color: PRIORITY_COLOR[t.priority] }}>● {t.priority}</span></td>
                 <td><span className={`badge ${STATUS_BADGE[t.status] || 'badge-todo'}`}>{t.status}</span></td>
                 <td style={{ fontSize: 12 }}>{t.dueDate || '—'}</td>
-                <td style={{ fontSize: 12 }}>{t.hoursLogged}h</td>
+                <td style={{ fontSize: 12 }}>
+                  {t.hoursLogged}h
+                  {t.assignedToId === user?.id && (
+                    <button className="btn btn-secondary btn-sm" style={{ marginLeft: 6 }} title="Log hours" onClick={() => handleLogHours(t)}>⏱</button>
+                  )}
+                </td>
                 {canManage && (
                   <td>
                     <div style={{ display: 'flex', gap: 6 }}>
@@ -158,6 +187,7 @@ export default function Tasks() {
           </tbody>
         </table>
       </div>
+      <LoadMore cursor={cursor} onLoad={loadMore} />
 
       {showModal && (
         <div className="modal-overlay" onClick={e => e.target === e.currentTarget && setShowModal(false)}>
@@ -210,10 +240,6 @@ export default function Tasks() {
                   <label className="form-label">Due Date</label>
                   <input className="form-control" type="date" value={form.dueDate} onChange={e => setForm({ ...form, dueDate: e.target.value })} />
                 </div>
-                <div className="form-group">
-                  <label className="form-label">Hours Logged</label>
-                  <input className="form-control" type="number" step="0.5" min="0" value={form.hoursLogged} onChange={e => setForm({ ...form, hoursLogged: e.target.value })} />
-                </div>
               </div>
               <div style={{ display: 'flex', gap: 8, justifyContent: 'flex-end' }}>
                 <button type="button" className="btn btn-secondary" onClick={() => setShowModal(false)}>Cancel</button>
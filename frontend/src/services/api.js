@@ -33,9 +33,14 @@ export const authApi = {
   logout: () => api.post('/auth/logout'),
 };
 
+// Dashboard (counts and recent items for the caller's role in one request)
+export const dashboardApi = {
+  get: () => api.get('/dashboard'),
+};
+
 // Accounts
 export const accountApi = {
-  getAll: () => api.get('/accounts'),
+  getAll: (params) => api.get('/accounts', { params }),
   getById: (id) => api.get(`/accounts/${id}`),
   getMe: () => api.get('/accounts/me'),
   create: (data) => api.post('/accounts', data),
@@ -67,6 +72,11 @@ export const kpiApi = {
   getById: (id) => api.get(`/kpis/${id}`),
   update: (id, data) => api.put(`/kpis/${id}`, data),
   delete: (id) => api.delete(`/kpis/${id}`),
+  recordMeasurement: (id, data) => api.post(`/kpis/${id}/measurements`, data),
+  getMeasurements: (id) => api.get(`/kpis/${id}/measurements`),
+  getMyRollup: () => api.get('/kpis/rollups/me'),
+  getTeamRollup: () => api.get('/kpis/rollups/team'),
+  getRollups: (scope, ids) => api.get(`/kpis/rollups/${scope}`, { params: ids ? { ids: ids.join(',') } : {} }),
 };
 
 // Projects
@@ -82,7 +92,7 @@ export const projectApi = {
 
 // Tasks
 export const taskApi = {
-  getAll: () => api.get('/tasks'),
+  getAll: (params) => api.get('/tasks', { params }),
   getMe: () => api.get('/tasks/me'),
   getByProject: (id) => api.get(`/tasks/project/${id}`),
   getById: (id) => api.get(`/tasks/${id}`),
@@ -91,31 +101,73 @@ export const taskApi = {
   delete: (id) => api.delete(`/tasks/${id}`),
 };
 
+// Work logs (time entries) and weekly timesheets; weekOf is any date in the week
+export const workLogApi = {
+  log: (data) => api.post('/work-logs', data),
+  getByTask: (taskId) => api.get(`/work-logs/task/${taskId}`),
+  getMyTimesheet: (weekOf) => api.get('/work-logs/timesheet/me', { params: { weekOf } }),
+  getEmployeeTimesheet: (id, weekOf) => api.get(`/work-logs/timesheet/employee/${id}`, { params: { weekOf } }),
+  getProjectTimesheet: (id, weekOf) => api.get(`/work-logs/timesheet/project/${id}`, { params: { weekOf } }),
+};
+
 // Leave Requests
 export const leaveApi = {
   submit: (data) => api.post('/leave-requests', data),
   getMe: () => api.get('/leave-requests/me'),
-  getAll: () => api.get('/leave-requests'),
+  getAll: (params) => api.get('/leave-requests', { params }),
   getTeam: () => api.get('/leave-requests/team'),
   getById: (id) => api.get(`/leave-requests/${id}`),
   review: (id, data) => api.patch(`/leave-requests/${id}/review`, data),
+  calendar: (params) => api.get('/leave-requests/calendar', { params }),
 };
 
 // Performance Reviews
 export const reviewApi = {
   create: (data) => api.post('/performance-reviews', data),
-  getAll: () => api.get('/performance-reviews'),
+  getAll: (params) => api.get('/performance-reviews', { params }),
   getMe: () => api.get('/performance-reviews/me'),
   getByEmployee: (id) => api.get(`/performance-reviews/employee/${id}`),
   getById: (id) => api.get(`/performance-reviews/${id}`),
   update: (id, data) => api.put(`/performance-reviews/${id}`, data),
   selfAppraisal: (id, data) => api.patch(`/performance-reviews/${id}/self-appraisal`, data),
+  getCycles: () => api.get('/performance-reviews/cycles'),
+  closeCycle: (name) => api.post(`/performance-reviews/cycles/${encodeURIComponent(name)}/close`),
+  // data: { scope: 'SUBTREE' | 'DEPARTMENT', scopeId }
+  launchCycle: (name, data) => api.post(`/performance-reviews/cycles/${encodeURIComponent(name)}/launch`, data),
+  getLaunches: (name) => api.get(`/performance-reviews/cycles/${encodeURIComponent(name)}/launches`),
+  getLaunch: (id) => api.get(`/performance-reviews/cycles/launches/${id}`),
+  resumeLaunch: (id) => api.post(`/performance-reviews/cycles/launches/${id}/resume`),
+  getCalibration: (name) => api.get(`/performance-reviews/cycles/${encodeURIComponent(name)}/calibration`),
 };
 
 // Audit Logs
 export const auditApi = {
-  getAll: () => api.get('/audit-logs'),
-  getByAccount: (id) => api.get(`/audit-logs/account/${id}`),
+  getAll: (params) => api.get('/audit-logs', { params }),
+  getByAccount: (id, params) => api.get(`/audit-logs/account/${id}`, { params }),
+  search: (params) => api.get('/audit-logs/search', { params }),
+};
+
+// params: { q, type: 'ACCOUNT,PROJECT,TASK' (optional), limit }
+export const searchApi = {
+  search: (params) => api.get('/search', { params }),
+};
+
+// Reminders, overdue and escalation events; params: { days } (default 14)
+export const dueEventApi = {
+  getMine: (params) => api.get('/due-events/me', { params }),
+  getTeam: (params) => api.get('/due-events/team', { params }),
+};
+
+// Paged list endpoints return { items, nextCursor, hasMore }; plain list endpoints return an array
+export const listItems = (res) => {
+  const data = res.data.data;
+  return Array.isArray(data) ? data : (data?.items || []);
+};
+
+// Cursor to send as ?cursor= for the next page, or null on the last page and for plain lists
+export const nextCursor = (res) => {
+  const data = res.data.data;
+  return data && !Array.isArray(data) && data.hasMore ? data.nextCursor : null;
 };
 
 export default api;